@@ -15,8 +15,19 @@
 
 package net.consensys.linea.blockcapture;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 import com.google.gson.Gson;
 import net.consensys.linea.blockcapture.reapers.Reaper;
@@ -42,6 +53,8 @@ public class BlockCapturer implements ConflationAwareOperationTracer {
 
   private static final int MAX_BLOCK_ARG_SIZE = 8;
 
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
   /**
    * The {@link Reaper} will collect all the data that will need to be mimicked to replay the block.
    */
@@ -187,4 +200,51 @@ public class BlockCapturer implements ConflationAwareOperationTracer {
     Gson gson = new Gson();
     return gson.toJson(this.reaper.collapse(this.worldUpdater));
   }
+
+  /**
+   * Stream the JSON serialization of the captured conflation to the given writer, building the
+   * account and storage snapshots one at a time as they are written out.
+   *
+   * @param writer where to write the capture
+   */
+  public void writeJson(Writer writer) throws IOException {
+    final ConflationSnapshotWriter out = new ConflationSnapshotWriter(writer);
+    this.reaper.collapse(this.worldUpdater, out);
+  }
+
+  /**
+   * Stream the gzipped JSON serialization of the captured conflation to the given output stream.
+   * The stream is left open.
+   *
+   * @param stream where to write the compressed capture
+   */
+  public void writeGzip(OutputStream stream) throws IOException {
+    final GZIPOutputStream gzip = new GZIPOutputStream(stream, GZIP_BUFFER_SIZE);
+    final Writer writer =
+        new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), GZIP_BUFFER_SIZE);
+    this.writeJson(writer);
+    writer.flush();
+    gzip.finish();
+  }
+
+  /**
+   * Stream the gzipped JSON serialization of the captured conflation to the given file. The capture
+   * is first written to a temporary file, which is then atomically moved to its final location so
+   * that readers never observe a partial capture. The temporary file is deleted if writing fails.
+   *
+   * @param path the file to write
+   */
+  public void writeGzip(Path path) throws IOException {
+    final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tmpPath))) {
+        this.writeGzip(stream);
+      }
+      Files.move(
+          tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tmpPath);
+      throw e;
+    }
+  }
 }
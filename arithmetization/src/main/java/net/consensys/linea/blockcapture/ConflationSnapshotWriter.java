@@ -0,0 +1,83 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.blockcapture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+
+/**
+ * Incrementally writes the JSON serialization of a {@link ConflationSnapshot}, one snapshot at a
+ * time. The output is identical to what {@link Gson} would produce for the whole {@link
+ * ConflationSnapshot} object, but only a single account, storage slot or block is ever held in
+ * memory.
+ */
+public class ConflationSnapshotWriter implements Closeable {
+  public static final String BLOCKS = "blocks";
+  public static final String ACCOUNTS = "accounts";
+  public static final String STORAGE = "storage";
+  public static final String BLOCK_HASHES = "blockHashes";
+
+  private final Gson gson = new Gson();
+  private final JsonWriter out;
+
+  public ConflationSnapshotWriter(final Writer writer) {
+    this.out = new JsonWriter(writer);
+  }
+
+  public void beginConflation() throws IOException {
+    this.out.beginObject();
+  }
+
+  public void endConflation() throws IOException {
+    this.out.endObject();
+    this.out.flush();
+  }
+
+  /**
+   * Open the JSON array holding one of the lists of a {@link ConflationSnapshot}.
+   *
+   * @param name the name of the {@link ConflationSnapshot} component
+   */
+  public void beginSection(final String name) throws IOException {
+    this.out.name(name);
+    this.out.beginArray();
+  }
+
+  public void endSection() throws IOException {
+    this.out.endArray();
+  }
+
+  /**
+   * Serialize a single snapshot into the current section.
+   *
+   * @param snapshot the snapshot to write
+   * @param type the type of the snapshot
+   */
+  public void write(final Object snapshot, final Type type) {
+    this.gson.toJson(snapshot, type, this.out);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.out.close();
+  }
+}
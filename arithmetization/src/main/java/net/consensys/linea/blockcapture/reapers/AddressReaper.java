@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
 import org.hyperledger.besu.datatypes.Address;
@@ -43,4 +44,17 @@ public class AddressReaper {
         .flatMap(a -> AccountSnapshot.from(a, world).stream())
         .toList();
   }
+
+  /**
+   * Collapse recorded set of touched accounts, handing each account snapshot to the given sink as
+   * soon as it has been built rather than accumulating them.
+   *
+   * @param world The world state to use for extracting current account balances, etc.
+   * @param sink The consumer of the account snapshots
+   */
+  public void collapse(final WorldView world, final Consumer<AccountSnapshot> sink) {
+    for (Address address : this.touchedAccounts) {
+      AccountSnapshot.from(address, world).ifPresent(sink);
+    }
+  }
 }
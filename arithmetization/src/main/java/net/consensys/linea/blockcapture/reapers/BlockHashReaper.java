@@ -17,6 +17,8 @@ package net.consensys.linea.blockcapture.reapers;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import net.consensys.linea.blockcapture.snapshots.BlockHashSnapshot;
 import org.hyperledger.besu.datatypes.Hash;
@@ -38,4 +40,16 @@ public class BlockHashReaper {
         .map(e -> BlockHashSnapshot.of(e.getKey(), e.getValue()))
         .toList();
   }
+
+  /**
+   * Collapse recorded set of touched block hashes, handing each block hash snapshot to the given
+   * sink.
+   *
+   * @param sink The consumer of the block hash snapshots
+   */
+  public void collapse(final Consumer<BlockHashSnapshot> sink) {
+    for (Map.Entry<Long, Hash> e : this.touchedBlockHashes.entrySet()) {
+      sink.accept(BlockHashSnapshot.of(e.getKey(), e.getValue()));
+    }
+  }
 }
@@ -15,10 +15,12 @@
 
 package net.consensys.linea.blockcapture.reapers;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import net.consensys.linea.blockcapture.ConflationSnapshotWriter;
 import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
 import net.consensys.linea.blockcapture.snapshots.BlockHashSnapshot;
 import net.consensys.linea.blockcapture.snapshots.BlockSnapshot;
@@ -146,4 +148,37 @@ public class Reaper {
     // Done
     return new ConflationSnapshot(this.blocks, accounts, storage, hashes);
   }
+
+  /**
+   * Same as {@link #collapse(WorldUpdater)}, except that the snapshots are handed over to the
+   * given writer as soon as they are built, so that the whole replay never needs to be held in
+   * memory at once.
+   *
+   * @param world the state before the conflation execution
+   * @param writer the writer the replay is streamed to
+   */
+  public void collapse(final WorldUpdater world, final ConflationSnapshotWriter writer)
+      throws IOException {
+    writer.beginConflation();
+    // Stream blocks
+    writer.beginSection(ConflationSnapshotWriter.BLOCKS);
+    for (BlockSnapshot block : this.blocks) {
+      writer.write(block, BlockSnapshot.class);
+    }
+    writer.endSection();
+    // Stream accounts
+    writer.beginSection(ConflationSnapshotWriter.ACCOUNTS);
+    this.conflationAddresses.collapse(world, a -> writer.write(a, AccountSnapshot.class));
+    writer.endSection();
+    // Stream storage
+    writer.beginSection(ConflationSnapshotWriter.STORAGE);
+    this.conflationStorage.collapse(world, s -> writer.write(s, StorageSnapshot.class));
+    writer.endSection();
+    // Stream block hashes
+    writer.beginSection(ConflationSnapshotWriter.BLOCK_HASHES);
+    this.conflationHashes.collapse(h -> writer.write(h, BlockHashSnapshot.class));
+    writer.endSection();
+    // Done
+    writer.endConflation();
+  }
 }
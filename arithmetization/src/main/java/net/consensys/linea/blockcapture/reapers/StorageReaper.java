@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import net.consensys.linea.blockcapture.snapshots.StorageSnapshot;
 import org.apache.tuweni.units.bigints.UInt256;
@@ -49,14 +50,24 @@ public class StorageReaper {
    */
   public List<StorageSnapshot> collapse(final WorldView world) {
     final List<StorageSnapshot> storage = new ArrayList<>();
+    this.collapse(world, storage::add);
+    return storage;
+  }
+
+  /**
+   * Collapse the recorded set of storage locations, handing each storage snapshot to the given sink
+   * as soon as it has been built rather than accumulating them.
+   *
+   * @param world The world state to use for extracting current storage location values.
+   * @param sink The consumer of the storage snapshots
+   */
+  public void collapse(final WorldView world, final Consumer<StorageSnapshot> sink) {
     for (Map.Entry<Address, Set<UInt256>> e : touchedLocations.entrySet()) {
       final Address address = e.getKey();
 
-      e.getValue().stream()
-          .flatMap(key -> StorageSnapshot.from(address, key, world).stream())
-          .forEach(storage::add);
+      for (UInt256 key : e.getValue()) {
+        StorageSnapshot.from(address, key, world).ifPresent(sink);
+      }
     }
-
-    return storage;
   }
 }
@@ -18,6 +18,7 @@ package net.consensys.linea.plugins;
 import org.hyperledger.besu.plugin.ServiceManager;
 import org.hyperledger.besu.plugin.services.BesuEvents;
 import org.hyperledger.besu.plugin.services.BesuService;
+import org.hyperledger.besu.plugin.services.BlockchainService;
 import org.hyperledger.besu.plugin.services.PicoCLIOptions;
 import org.hyperledger.besu.plugin.services.RpcEndpointService;
 import org.hyperledger.besu.plugin.services.TraceService;
@@ -45,6 +46,10 @@ public class BesuServiceProvider {
     return getBesuService(context, TraceService.class);
   }
 
+  public static BlockchainService getBlockchainService(final ServiceManager context) {
+    return getBesuService(context, BlockchainService.class);
+  }
+
   public static PicoCLIOptions getPicoCLIOptionsService(final ServiceManager context) {
     return getBesuService(context, PicoCLIOptions.class);
   }
@@ -31,6 +31,7 @@ import net.consensys.linea.plugins.BesuServiceProvider;
 import net.consensys.linea.plugins.LineaOptionsPluginConfiguration;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.RequestLimiterDispatcher;
+import net.consensys.linea.zktracer.TracerWarmUp;
 import org.hyperledger.besu.plugin.BesuPlugin;
 import org.hyperledger.besu.plugin.ServiceManager;
 import org.hyperledger.besu.plugin.services.sync.SynchronizationService;
@@ -173,6 +174,7 @@ public class TracerReadinessPlugin extends AbstractLineaOptionsPlugin {
             RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
 
     return synchronizationService.isInitialSyncPhaseDone()
+        && !TracerWarmUp.inProgress()
         // TODO: Temporarily disabled.
         //        && isInSync.get()
         && !requestLimiter.isNodeAtMaxCapacity();
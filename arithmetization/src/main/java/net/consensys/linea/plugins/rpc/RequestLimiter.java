@@ -15,6 +15,8 @@
 
 package net.consensys.linea.plugins.rpc;
 
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Semaphore;
 import java.util.function.Function;
@@ -28,14 +30,58 @@ import org.hyperledger.besu.plugin.services.rpc.RpcMethodError;
 public class RequestLimiter {
 
   private final Semaphore semaphore;
+  private final RpcExecutor executor;
+  private final Duration requestTimeout;
   private final RpcMethodError UNAVAILABLE_EXCEPTION = new UnavailableException();
 
+  /**
+   * @param concurrentRequestsCount the maximal number of requests processed at the same time
+   * @param requestTimeout how long a request may run, forever if null or zero
+   */
   @Builder
-  public RequestLimiter(int concurrentRequestsCount) {
+  public RequestLimiter(int concurrentRequestsCount, Duration requestTimeout) {
     this.semaphore = new Semaphore(concurrentRequestsCount);
+    this.requestTimeout = Objects.requireNonNullElse(requestTimeout, Duration.ZERO);
+    this.executor = new RpcExecutor(concurrentRequestsCount, this.requestTimeout);
   }
 
+  /**
+   * @return how long a request may run, {@link Duration#ZERO} meaning forever
+   */
+  public Duration requestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Process a request off the calling thread, on the tracing pool.
+   *
+   * @param request the request
+   * @param processingFunc the processing of the request
+   * @return the response
+   */
   public <T extends PluginRpcRequest, R> R execute(T request, Function<T, R> processingFunc) {
+    return this.limit(release -> executor.run(() -> processingFunc.apply(request), release));
+  }
+
+  /**
+   * Process a request off the calling thread, first on the tracing pool, then its I/O-bound
+   * conclusion on a virtual thread.
+   *
+   * @param request the request
+   * @param tracing the CPU-bound part of the processing of the request
+   * @param io the I/O-bound conclusion of the processing of the request
+   * @return the response
+   */
+  public <T extends PluginRpcRequest, I, R> R execute(
+      T request, Function<T, I> tracing, Function<I, R> io) {
+    return this.limit(release -> executor.run(() -> tracing.apply(request), io, release));
+  }
+
+  /**
+   * Process a request while holding a permit. The permit is released by the processing once its
+   * work has stopped, which may be after the response to a timed out request.
+   */
+  private <R> R limit(Function<Runnable, R> processing) {
     if (!semaphore.tryAcquire()) {
       throw new PluginRpcEndpointException(
           UNAVAILABLE_EXCEPTION,
@@ -43,8 +89,10 @@ public class RequestLimiter {
     }
 
     try {
-      return processingFunc.apply(request);
-    } catch (Exception ex) {
+      return processing.apply(semaphore::release);
+    } catch (PluginRpcEndpointException ex) {
+      throw ex;
+    } catch (RuntimeException ex) {
       final Optional<String> message = Optional.ofNullable(ex.getMessage());
       final boolean blockNotFound =
           message.map(s -> s.toLowerCase().contains("block not found")).orElse(false);
@@ -52,11 +100,14 @@ public class RequestLimiter {
       throw new PluginRpcEndpointException(
           blockNotFound ? RpcErrorType.BLOCK_NOT_FOUND : RpcErrorType.PLUGIN_INTERNAL_ERROR,
           ex.getMessage());
-    } finally {
-      semaphore.release();
     }
   }
 
+  /** Stop the threads processing the requests, interrupting those in progress. */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
   public int availableConcurrentRequestSlots() {
     return semaphore.availablePermits();
   }
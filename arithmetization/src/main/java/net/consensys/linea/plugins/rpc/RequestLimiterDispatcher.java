@@ -15,6 +15,7 @@
 
 package net.consensys.linea.plugins.rpc;
 
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -27,10 +28,27 @@ public class RequestLimiterDispatcher {
     return ENDPOINT_LIMITER_MAP.get(serviceKey);
   }
 
+  /**
+   * Stop the threads of the limiter of the given service, if any. The limiter is shared by several
+   * plugins, so it is kept, still reporting its available slots, but rejects every new request.
+   *
+   * @param serviceKey the key of the service
+   */
+  public static void shutdownLimiter(final String serviceKey) {
+    final RequestLimiter limiter = ENDPOINT_LIMITER_MAP.get(serviceKey);
+    if (limiter != null) {
+      limiter.shutdown();
+    }
+  }
+
   public static void setLimiterIfMissing(
-      final String serviceKey, final int concurrentRequestsLimit) {
-    ENDPOINT_LIMITER_MAP.putIfAbsent(
+      final String serviceKey, final RpcConfiguration rpcConfiguration) {
+    ENDPOINT_LIMITER_MAP.computeIfAbsent(
         serviceKey,
-        RequestLimiter.builder().concurrentRequestsCount(concurrentRequestsLimit).build());
+        key ->
+            RequestLimiter.builder()
+                .concurrentRequestsCount(rpcConfiguration.concurrentRequestsLimit())
+                .requestTimeout(Duration.ofSeconds(rpcConfiguration.requestTimeoutSeconds()))
+                .build());
   }
 }
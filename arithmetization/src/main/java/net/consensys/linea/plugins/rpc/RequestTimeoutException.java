@@ -0,0 +1,44 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc;
+
+import java.time.Duration;
+
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
+import org.hyperledger.besu.plugin.services.rpc.RpcMethodError;
+
+public class RequestTimeoutException implements RpcMethodError {
+  private static final RpcMethodError TIMEOUT_EXCEPTION = new RequestTimeoutException();
+
+  /**
+   * @param timeout the timeout which expired
+   * @return the error reported for a request which did not complete within its timeout
+   */
+  public static PluginRpcEndpointException after(final Duration timeout) {
+    return new PluginRpcEndpointException(
+        TIMEOUT_EXCEPTION, "Request cancelled after %s".formatted(timeout));
+  }
+
+  @Override
+  public int getCode() {
+    return -32603;
+  }
+
+  @Override
+  public String getMessage() {
+    return "Timeout expired";
+  }
+}
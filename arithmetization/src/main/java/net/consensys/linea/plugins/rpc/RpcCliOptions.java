@@ -25,6 +25,8 @@ public class RpcCliOptions implements LineaCliOptions {
   static final String RPC_CONCURRENT_REQUESTS_LIMIT =
       "--plugin-linea-rpc-concurrent-requests-limit";
 
+  static final String RPC_REQUEST_TIMEOUT = "--plugin-linea-rpc-request-timeout";
+
   @CommandLine.Option(
       required = true,
       names = {RPC_CONCURRENT_REQUESTS_LIMIT},
@@ -33,6 +35,14 @@ public class RpcCliOptions implements LineaCliOptions {
       description = "Number of allowed concurrent requests")
   private int concurrentRequestsLimit = 1;
 
+  @CommandLine.Option(
+      names = {RPC_REQUEST_TIMEOUT},
+      hidden = true,
+      paramLabel = "<SECONDS>",
+      description =
+          "Seconds after which a request gets cancelled, 0 for none (default: ${DEFAULT-VALUE})")
+  private long requestTimeoutSeconds = 0;
+
   private RpcCliOptions() {}
 
   /**
@@ -53,6 +63,7 @@ public class RpcCliOptions implements LineaCliOptions {
   static RpcCliOptions fromConfig(final RpcConfiguration config) {
     final RpcCliOptions options = create();
     options.concurrentRequestsLimit = config.concurrentRequestsLimit();
+    options.requestTimeoutSeconds = config.requestTimeoutSeconds();
     return options;
   }
 
@@ -63,13 +74,17 @@ public class RpcCliOptions implements LineaCliOptions {
    */
   @Override
   public RpcConfiguration toDomainObject() {
-    return RpcConfiguration.builder().concurrentRequestsLimit(concurrentRequestsLimit).build();
+    return RpcConfiguration.builder()
+        .concurrentRequestsLimit(concurrentRequestsLimit)
+        .requestTimeoutSeconds(requestTimeoutSeconds)
+        .build();
   }
 
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add(RPC_CONCURRENT_REQUESTS_LIMIT, concurrentRequestsLimit)
+        .add(RPC_REQUEST_TIMEOUT, requestTimeoutSeconds)
         .toString();
   }
 }
@@ -18,6 +18,12 @@ package net.consensys.linea.plugins.rpc;
 import lombok.Builder;
 import net.consensys.linea.plugins.LineaOptionsConfiguration;
 
-/** The Linea tracer configuration private to this repo. */
+/**
+ * The Linea tracer configuration private to this repo.
+ *
+ * @param concurrentRequestsLimit the maximal number of requests processed at the same time
+ * @param requestTimeoutSeconds how long a request may run before being cancelled, 0 meaning forever
+ */
 @Builder(toBuilder = true)
-public record RpcConfiguration(int concurrentRequestsLimit) implements LineaOptionsConfiguration {}
+public record RpcConfiguration(int concurrentRequestsLimit, long requestTimeoutSeconds)
+    implements LineaOptionsConfiguration {}
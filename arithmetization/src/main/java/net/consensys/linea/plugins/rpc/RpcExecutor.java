@@ -0,0 +1,215 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the heavy part of RPC requests off the JSON-RPC handler threads: the CPU-bound tracing on a
+ * bounded pool of platform threads, and the I/O-bound follow-ups (e.g. writing files) on virtual
+ * threads, so that the tracing pool is free for the next request as soon as a trace is computed.
+ *
+ * <p>The handler thread waits for the completion of the request, for at most the configured
+ * timeout. Should the timeout expire or the handler thread be interrupted, e.g. because the
+ * request got abandoned, the work of the request is cancelled by interrupting the thread running
+ * it. As the work may not react to the interruption right away, callers bounding the number of
+ * requests in flight are told when the work of a request has actually stopped, rather than when
+ * its response is sent.
+ */
+@Slf4j
+public class RpcExecutor {
+  private final ExecutorService tracingPool;
+  private final ExecutorService ioPool;
+
+  /** How long a request may run; {@link Duration#ZERO} means forever. */
+  private final Duration timeout;
+
+  public RpcExecutor(final int tracingThreads, final Duration timeout) {
+    this.tracingPool =
+        Executors.newFixedThreadPool(
+            Math.max(1, tracingThreads),
+            Thread.ofPlatform().name("linea-rpc-tracing-", 0).daemon().factory());
+    this.ioPool =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("linea-rpc-io-", 0).factory());
+    this.timeout = timeout;
+  }
+
+  /**
+   * Run a CPU-bound task on the tracing pool.
+   *
+   * @param tracing the task
+   * @return the result of the task
+   * @param <R> the type of the result
+   */
+  public <R> R run(final Callable<R> tracing) {
+    return run(tracing, () -> {});
+  }
+
+  /**
+   * Run a CPU-bound task on the tracing pool.
+   *
+   * @param tracing the task
+   * @param onStopped called once the task is over, or will never start, even if the request timed
+   *     out earlier
+   * @return the result of the task
+   * @param <R> the type of the result
+   */
+  public <R> R run(final Callable<R> tracing, final Runnable onStopped) {
+    final Work work = new Work(onStopped);
+    try {
+      return await(tracingPool.submit(work.wrap(tracing)), deadline());
+    } finally {
+      work.end();
+    }
+  }
+
+  /**
+   * Run a CPU-bound task on the tracing pool, then an I/O-bound task on its result on a virtual
+   * thread, both within the same timeout.
+   *
+   * @param tracing the CPU-bound task
+   * @param io the I/O-bound task
+   * @return the result of the I/O-bound task
+   * @param <I> the type of the result of the CPU-bound task
+   * @param <R> the type of the result
+   */
+  public <I, R> R run(final Callable<I> tracing, final Function<I, R> io) {
+    return run(tracing, io, () -> {});
+  }
+
+  /**
+   * Run a CPU-bound task on the tracing pool, then an I/O-bound task on its result on a virtual
+   * thread, both within the same timeout.
+   *
+   * @param tracing the CPU-bound task
+   * @param io the I/O-bound task
+   * @param onStopped called once both tasks are over, or will never start, even if the request
+   *     timed out earlier
+   * @return the result of the I/O-bound task
+   * @param <I> the type of the result of the CPU-bound task
+   * @param <R> the type of the result
+   */
+  public <I, R> R run(
+      final Callable<I> tracing, final Function<I, R> io, final Runnable onStopped) {
+    final Work work = new Work(onStopped);
+    try {
+      final long deadline = deadline();
+      final I intermediate = await(tracingPool.submit(work.wrap(tracing)), deadline);
+      return await(ioPool.submit(work.wrap(() -> io.apply(intermediate))), deadline);
+    } finally {
+      work.end();
+    }
+  }
+
+  /**
+   * Stop the pools, interrupting the work of the requests in progress. Requests submitted afterward
+   * are rejected.
+   */
+  public void shutdown() {
+    tracingPool.shutdownNow();
+    ioPool.shutdownNow();
+  }
+
+  private long deadline() {
+    return timeout.isZero() ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+  }
+
+  private <R> R await(final Future<R> future, final long deadline) {
+    try {
+      if (deadline == Long.MAX_VALUE) {
+        return future.get();
+      }
+      return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      log.warn("[RPC] request cancelled after {}", timeout);
+      throw RequestTimeoutException.after(timeout);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Request interrupted", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * The work of a request, i.e. the tasks it submitted, so as to tell when none of them runs any
+   * more. Once the request is over, tasks that did not start yet never will.
+   */
+  private static final class Work {
+    private final Runnable onStopped;
+    private int running = 0;
+    private boolean over = false;
+    private boolean stopped = false;
+
+    Work(final Runnable onStopped) {
+      this.onStopped = onStopped;
+    }
+
+    <R> Callable<R> wrap(final Callable<R> task) {
+      return () -> {
+        if (!start()) {
+          return null;
+        }
+        try {
+          return task.call();
+        } finally {
+          finish();
+        }
+      };
+    }
+
+    private synchronized boolean start() {
+      if (over) {
+        return false;
+      }
+      running++;
+      return true;
+    }
+
+    private synchronized void finish() {
+      running--;
+      stopIfIdle();
+    }
+
+    /** No further task of the request will be awaited. */
+    synchronized void end() {
+      over = true;
+      stopIfIdle();
+    }
+
+    private void stopIfIdle() {
+      if (over && running == 0 && !stopped) {
+        stopped = true;
+        onStopped.run();
+      }
+    }
+  }
+}
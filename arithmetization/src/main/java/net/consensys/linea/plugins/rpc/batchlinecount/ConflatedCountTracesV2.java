@@ -87,14 +87,19 @@ public class ConflatedCountTracesV2 {
     final long toBlock = params.endBlockNumber();
     final ZkTracer tracer = new ZkTracer();
 
-    traceService.trace(
-        fromBlock,
-        toBlock,
-        worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
-        tracer::traceEndConflation,
-        tracer);
-
-    Map<String, Integer> counts = tracer.getModulesLineCount();
+    final Map<String, Integer> counts;
+    try {
+      traceService.trace(
+          fromBlock,
+          toBlock,
+          worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
+          tracer::traceEndConflation,
+          tracer);
+
+      counts = tracer.getModulesLineCount();
+    } finally {
+      tracer.release();
+    }
     log.info(
         "[TRACING] counting lines for conflated blocks {}-{} computed in {}",
         fromBlock,
@@ -60,7 +60,7 @@ public class ConflatedLineCountsEndpointServicePlugin extends AbstractLineaShare
 
     RequestLimiterDispatcher.setLimiterIfMissing(
         RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY,
-        rpcConfiguration.concurrentRequestsLimit());
+        rpcConfiguration);
     final RequestLimiter reqLimiter =
         RequestLimiterDispatcher.getLimiter(
             RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
@@ -84,4 +84,11 @@ public class ConflatedLineCountsEndpointServicePlugin extends AbstractLineaShare
   /** Start the RPC service. This method loads the OpCodes. */
   @Override
   public void start() {}
+
+  @Override
+  public void stop() {
+    super.stop();
+    RequestLimiterDispatcher.shutdownLimiter(
+        RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
+  }
 }
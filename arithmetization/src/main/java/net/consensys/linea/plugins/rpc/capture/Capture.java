@@ -15,7 +15,21 @@
 
 package net.consensys.linea.plugins.rpc.capture;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-/** FileTrace represents an execution trace. */
-public record Capture(@JsonProperty("capture") String capture) {}
+/**
+ * FileTrace represents an execution trace. It either holds the capture itself, or the path of the
+ * gzipped file the capture has been written to.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Capture(
+    @JsonProperty("capture") String capture, @JsonProperty("captureFile") String captureFile) {
+  public static Capture inline(String capture) {
+    return new Capture(capture, null);
+  }
+
+  public static Capture toFile(String captureFile) {
+    return new Capture(null, captureFile);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.plugins.rpc.capture;
+
+import com.google.common.base.MoreObjects;
+import net.consensys.linea.plugins.LineaCliOptions;
+import picocli.CommandLine;
+
+class CaptureCliOptions implements LineaCliOptions {
+
+  static final String CONFIG_KEY = "capture-endpoint-config";
+
+  static final String CAPTURE_OUTPUT_PATH = "--plugin-linea-capture-output-path";
+
+  @CommandLine.Option(
+      names = {CAPTURE_OUTPUT_PATH},
+      hidden = true,
+      paramLabel = "<PATH>",
+      description =
+          "Path to where captures are written as gzipped files; captures are returned inline in "
+              + "the RPC response when unset")
+  private String captureOutputPath = null;
+
+  private CaptureCliOptions() {}
+
+  /**
+   * Create Linea cli options.
+   *
+   * @return the Linea cli options
+   */
+  static CaptureCliOptions create() {
+    return new CaptureCliOptions();
+  }
+
+  /**
+   * Linea cli options from config.
+   *
+   * @param config the config
+   * @return the Linea cli options
+   */
+  static CaptureCliOptions fromConfig(final CaptureConfiguration config) {
+    final CaptureCliOptions options = create();
+    options.captureOutputPath = config.captureOutputPath();
+    return options;
+  }
+
+  /**
+   * To domain object Linea factory configuration.
+   *
+   * @return the Linea factory configuration
+   */
+  @Override
+  public CaptureConfiguration toDomainObject() {
+    return CaptureConfiguration.builder().captureOutputPath(captureOutputPath).build();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add(CAPTURE_OUTPUT_PATH, captureOutputPath).toString();
+  }
+}
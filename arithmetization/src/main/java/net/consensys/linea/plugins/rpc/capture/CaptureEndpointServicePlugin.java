@@ -15,7 +15,10 @@
 
 package net.consensys.linea.plugins.rpc.capture;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.auto.service.AutoService;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +38,9 @@ import org.hyperledger.besu.plugin.services.RpcEndpointService;
 @AutoService(BesuPlugin.class)
 @Slf4j
 public class CaptureEndpointServicePlugin extends AbstractLineaRequiredPlugin {
+  private ServiceManager besuContext;
+  private RpcEndpointService rpcEndpointService;
+  private CaptureToFile captureToFile;
 
   /**
    * Register the RPC service.
@@ -43,10 +49,21 @@ public class CaptureEndpointServicePlugin extends AbstractLineaRequiredPlugin {
    */
   @Override
   public void doRegister(final ServiceManager context) {
-    CaptureToFile method = new CaptureToFile(context);
+    besuContext = context;
+    rpcEndpointService = BesuServiceProvider.getRpcEndpointService(context);
+  }
+
+  @Override
+  public void beforeExternalServices() {
+    super.beforeExternalServices();
+
+    final CaptureConfiguration configuration =
+        (CaptureConfiguration) getConfigurationByKey(CaptureCliOptions.CONFIG_KEY).optionsConfig();
+    final Optional<Path> outputDirectory =
+        Optional.ofNullable(configuration.captureOutputPath()).map(Paths::get);
 
-    RpcEndpointService service = BesuServiceProvider.getRpcEndpointService(context);
-    createAndRegister(method, service);
+    captureToFile = new CaptureToFile(besuContext, outputDirectory);
+    createAndRegister(captureToFile, rpcEndpointService);
   }
 
   /**
@@ -63,10 +80,20 @@ public class CaptureEndpointServicePlugin extends AbstractLineaRequiredPlugin {
 
   @Override
   public Map<String, LineaOptionsPluginConfiguration> getLineaPluginConfigMap() {
-    return Map.of();
+    final CaptureCliOptions captureCliOptions = CaptureCliOptions.create();
+
+    return Map.of(CaptureCliOptions.CONFIG_KEY, captureCliOptions.asPluginConfig());
   }
 
   /** Start the RPC service. This method loads the OpCodes. */
   @Override
   public void start() {}
+
+  @Override
+  public void stop() {
+    super.stop();
+    if (captureToFile != null) {
+      captureToFile.shutdown();
+    }
+  }
 }
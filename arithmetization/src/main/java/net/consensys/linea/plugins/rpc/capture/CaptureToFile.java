@@ -15,9 +15,18 @@
 
 package net.consensys.linea.plugins.rpc.capture;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
 import com.google.common.base.Stopwatch;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.blockcapture.BlockCapturer;
+import net.consensys.linea.plugins.rpc.RpcExecutor;
 import org.hyperledger.besu.plugin.ServiceManager;
 import org.hyperledger.besu.plugin.services.TraceService;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
@@ -31,10 +40,25 @@ import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
 @Slf4j
 public class CaptureToFile {
   private final ServiceManager besuContext;
+  private final Optional<Path> outputDirectory;
   private TraceService traceService;
 
-  public CaptureToFile(final ServiceManager besuContext) {
+  /** Captures one conflation at a time, off the JSON-RPC handler threads. */
+  private final RpcExecutor executor = new RpcExecutor(1, Duration.ZERO);
+
+  /**
+   * @param besuContext the Besu context
+   * @param outputDirectory where captures are written, as configured by the node operator; they
+   *     are returned inline when empty
+   */
+  public CaptureToFile(final ServiceManager besuContext, final Optional<Path> outputDirectory) {
     this.besuContext = besuContext;
+    this.outputDirectory = outputDirectory;
+  }
+
+  /** Stop the capture thread, interrupting the capture in progress. */
+  public void shutdown() {
+    executor.shutdown();
   }
 
   public String getNamespace() {
@@ -52,11 +76,15 @@ public class CaptureToFile {
    * @return an execution file trace.
    */
   public Capture execute(final PluginRpcRequest request) {
+    final CaptureParams params = CaptureParams.createTraceParams(request.getParams());
+    return executor.run(() -> capture(params), capturer -> write(params, capturer));
+  }
+
+  private BlockCapturer capture(final CaptureParams params) {
     if (this.traceService == null) {
       this.traceService = getTraceService();
     }
 
-    CaptureParams params = CaptureParams.createTraceParams(request.getParams());
     final long fromBlock = params.fromBlock();
     final long toBlock = params.toBlock();
     final BlockCapturer tracer = new BlockCapturer();
@@ -72,7 +100,34 @@ public class CaptureToFile {
         tracer::traceEndConflation,
         tracer);
     log.info("[CAPTURE] capture for {}-{} computed in {}", fromBlock, toBlock, sw);
-    return new Capture(tracer.toJson());
+    return tracer;
+  }
+
+  private Capture write(final CaptureParams params, final BlockCapturer tracer) {
+    final long fromBlock = params.fromBlock();
+    final long toBlock = params.toBlock();
+    final Stopwatch sw = Stopwatch.createStarted();
+
+    try {
+      if (outputDirectory.isPresent()) {
+        Files.createDirectories(outputDirectory.get());
+        final Path path =
+            outputDirectory
+                .get()
+                .resolve("capture-%d-%d.json.gz".formatted(fromBlock, toBlock))
+                .toAbsolutePath();
+        tracer.writeGzip(path);
+        log.info("[CAPTURE] capture for {}-{} written to {} in {}", fromBlock, toBlock, path, sw);
+        return Capture.toFile(path.toString());
+      }
+
+      final StringWriter writer = new StringWriter();
+      tracer.writeJson(writer);
+      log.info("[CAPTURE] capture for {}-{} serialized in {}", fromBlock, toBlock, sw);
+      return Capture.inline(writer.toString());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   private TraceService getTraceService() {
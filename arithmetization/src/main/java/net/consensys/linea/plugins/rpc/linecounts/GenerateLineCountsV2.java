@@ -98,14 +98,18 @@ public class GenerateLineCountsV2 {
                     requestedBlockNumber,
                     blockNumber -> {
                       final ZkTracer tracer = new ZkTracer();
-                      traceService.trace(
-                          blockNumber,
-                          blockNumber,
-                          worldStateBeforeTracing -> tracer.traceStartConflation(1),
-                          tracer::traceEndConflation,
-                          tracer);
-
-                      return tracer.getModulesLineCount();
+                      try {
+                        traceService.trace(
+                            blockNumber,
+                            blockNumber,
+                            worldStateBeforeTracing -> tracer.traceStartConflation(1),
+                            tracer::traceEndConflation,
+                            tracer);
+
+                        return tracer.getModulesLineCount();
+                      } finally {
+                        tracer.release();
+                      }
                     }));
 
     log.info("Line count for {} returned in {}", requestedBlockNumber, sw);
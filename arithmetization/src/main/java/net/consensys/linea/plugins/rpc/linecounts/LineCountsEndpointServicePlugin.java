@@ -54,7 +54,7 @@ public class LineCountsEndpointServicePlugin extends AbstractLineaPrivateOptions
 
     RequestLimiterDispatcher.setLimiterIfMissing(
         RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY,
-        rpcConfiguration().concurrentRequestsLimit());
+        rpcConfiguration());
     final RequestLimiter reqLimiter =
         RequestLimiterDispatcher.getLimiter(
             RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
@@ -78,4 +78,11 @@ public class LineCountsEndpointServicePlugin extends AbstractLineaPrivateOptions
   /** Start the RPC service. This method loads the OpCodes. */
   @Override
   public void start() {}
+
+  @Override
+  public void stop() {
+    super.stop();
+    RequestLimiterDispatcher.shutdownLimiter(
+        RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
+  }
 }
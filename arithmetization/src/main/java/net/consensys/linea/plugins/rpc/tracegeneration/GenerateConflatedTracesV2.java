@@ -22,14 +22,24 @@ import java.util.Optional;
 import com.google.common.base.Stopwatch;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.BesuServiceProvider;
+import net.consensys.linea.plugins.rpc.HeapBudgetExceededError;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.Validator;
 import net.consensys.linea.tracewriter.TraceWriter;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.container.CapacityPlanner;
+import net.consensys.linea.zktracer.container.HeapBudget;
+import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.exceptions.HeapBudgetExceededException;
 import net.consensys.linea.zktracer.json.JsonConverter;
+import net.consensys.linea.zktracer.module.rom.RomSegmentCache;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.ServiceManager;
+import org.hyperledger.besu.plugin.services.BlockchainService;
 import org.hyperledger.besu.plugin.services.TraceService;
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
+import org.hyperledger.besu.plugin.services.rpc.RpcMethodError;
 
 /**
  * Sets up an RPC endpoint for generating conflated file trace. This class provides an RPC endpoint
@@ -40,12 +50,21 @@ import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
 @Slf4j
 public class GenerateConflatedTracesV2 {
   private static final JsonConverter CONVERTER = JsonConverter.builder().build();
+  private static final String CAPACITY_HISTORY_FILE = "capacity.properties";
+  private static final RpcMethodError HEAP_BUDGET_EXCEEDED = new HeapBudgetExceededError();
 
   private final RequestLimiter requestLimiter;
 
   private final Path tracesOutputPath;
+  private final TraceArtifactIndex artifactIndex;
+  private final CapacityPlanner capacityPlanner;
+  private final long heapBudget;
+  private final int shardParallelism;
+  private final boolean deferMmuMicroInstructions;
+  private final RomSegmentCache romSegmentCache;
   private final ServiceManager besuContext;
   private TraceService traceService;
+  private BlockchainService blockchainService;
 
   public GenerateConflatedTracesV2(
       final ServiceManager besuContext,
@@ -54,6 +73,17 @@ public class GenerateConflatedTracesV2 {
     this.besuContext = besuContext;
     this.requestLimiter = requestLimiter;
     this.tracesOutputPath = Paths.get(endpointConfiguration.tracesOutputPath());
+    this.shardParallelism = endpointConfiguration.shardParallelism();
+    this.artifactIndex =
+        new TraceArtifactIndex(
+            tracesOutputPath,
+            endpointConfiguration.tracesDiskBudget(),
+            shardParallelism > 0,
+            requestLimiter.requestTimeout());
+    this.capacityPlanner = CapacityPlanner.load(tracesOutputPath.resolve(CAPACITY_HISTORY_FILE));
+    this.heapBudget = endpointConfiguration.heapBudget();
+    this.deferMmuMicroInstructions = endpointConfiguration.deferMmuMicroInstructions();
+    this.romSegmentCache = new RomSegmentCache(endpointConfiguration.romSegmentCacheCapacity());
   }
 
   public String getNamespace() {
@@ -71,15 +101,31 @@ public class GenerateConflatedTracesV2 {
    * @return an execution file trace.
    */
   public TraceFile execute(final PluginRpcRequest request) {
-    return requestLimiter.execute(request, this::generateTraceFile);
-  }
+    final TraceRequestParams params;
+    try {
+      params = parseParams(request);
+    } catch (Exception ex) {
+      throw new PluginRpcEndpointException(RpcErrorType.PLUGIN_INTERNAL_ERROR, ex.getMessage());
+    }
 
-  private TraceFile generateTraceFile(PluginRpcRequest request) {
-    Stopwatch sw = Stopwatch.createStarted();
+    // Identical requests are served from, or coalesced onto, the same trace file; only requests
+    // actually tracing count against the concurrent requests limit. The trace is computed on the
+    // tracing pool, and written to file on a virtual thread.
+    final Path path =
+        artifactIndex.getOrCompute(
+            params.startBlockNumber(),
+            params.endBlockNumber(),
+            params.expectedTracesEngineVersion(),
+            () ->
+                requestLimiter.execute(
+                    request,
+                    r -> computeTrace(params),
+                    traceWriter -> writeTraceFile(params, traceWriter)));
 
-    this.traceService =
-        Optional.ofNullable(traceService).orElse(BesuServiceProvider.getTraceService(besuContext));
+    return new TraceFile(params.expectedTracesEngineVersion(), path.toString());
+  }
 
+  private static TraceRequestParams parseParams(final PluginRpcRequest request) {
     final Object[] rawParams = request.getParams();
 
     Validator.validatePluginRpcRequestParams(rawParams);
@@ -89,29 +135,138 @@ public class GenerateConflatedTracesV2 {
 
     params.validate();
 
+    return params;
+  }
+
+  TraceWriter computeTrace(final TraceRequestParams params) {
+    Stopwatch sw = Stopwatch.createStarted();
+
+    initServices();
+
     final long fromBlock = params.startBlockNumber();
     final long toBlock = params.endBlockNumber();
-    final ZkTracer tracer = new ZkTracer();
-    final TraceWriter traceWriter = new TraceWriter(tracer);
+    final ZkTracer tracer = newTracer();
+    tracer.setCapacityPlanner(capacityPlanner);
+    tracer.setHeapBudget(new HeapBudget(heapBudget));
 
-    traceService.trace(
-        fromBlock,
-        toBlock,
-        worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
-        tracer::traceEndConflation,
-        tracer);
+    try {
+      traceService.trace(
+          fromBlock,
+          toBlock,
+          worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
+          tracer::traceEndConflation,
+          tracer);
+    } catch (RuntimeException e) {
+      // Hand the off-heap memory of the tracer back, as no trace writer will ever release it
+      tracer.release();
+      final HeapBudgetExceededException exceeded = heapBudgetExceeded(e);
+      if (exceeded == null) {
+        throw e;
+      }
+      log.warn("[TRACING] trace for {}-{} aborted: {}", fromBlock, toBlock, exceeded.getMessage());
+      throw new PluginRpcEndpointException(
+          HEAP_BUDGET_EXCEEDED,
+          "block=%d, dominantModule=%s, dominantFootprint=%d, footprint=%d, budget=%d"
+              .formatted(
+                  exceeded.getBlockNumber(),
+                  exceeded.getDominantModule(),
+                  exceeded.getDominantFootprint(),
+                  exceeded.getFootprint(),
+                  exceeded.getBudget()));
+    }
 
     log.info("[TRACING] trace for {}-{} computed in {}", fromBlock, toBlock, sw);
-    sw.reset().start();
+    return new TraceWriter(tracer);
+  }
 
-    final Path path =
-        traceWriter.writeTraceToFile(
-            tracesOutputPath,
-            params.startBlockNumber(),
-            params.endBlockNumber(),
-            params.expectedTracesEngineVersion());
-    log.info("[TRACING] trace for {}-{} serialized to {} in {}", path, toBlock, fromBlock, sw);
+  /**
+   * Trace the chain head block, discarding its trace, so that the first requests find the tracing
+   * code already compiled. Failures are only logged, as the node may not be able to retrace its
+   * head yet.
+   */
+  public void warmUp() {
+    try {
+      initServices();
+      final long head = blockchainService.getChainHeadHeader().getNumber();
+      if (head == 0) {
+        return;
+      }
 
-    return new TraceFile(params.expectedTracesEngineVersion(), path.toString());
+      final Stopwatch sw = Stopwatch.createStarted();
+      final ZkTracer tracer = newTracer();
+      try {
+        traceService.trace(
+            head,
+            head,
+            worldStateBeforeTracing -> tracer.traceStartConflation(1),
+            tracer::traceEndConflation,
+            tracer);
+      } finally {
+        tracer.release();
+      }
+      log.info("[TRACING] warmed up on chain head block {} in {}", head, sw);
+    } catch (Exception e) {
+      log.warn("[TRACING] unable to warm up on the chain head block: {}", e.getMessage());
+    }
+  }
+
+  private void initServices() {
+    this.traceService =
+        Optional.ofNullable(traceService).orElse(BesuServiceProvider.getTraceService(besuContext));
+    this.blockchainService =
+        Optional.ofNullable(blockchainService)
+            .orElse(BesuServiceProvider.getBlockchainService(besuContext));
+  }
+
+  private ZkTracer newTracer() {
+    final ZkTracer tracer = new ZkTracer();
+    tracer.getHub().mmu().deferMicroInstructions(deferMmuMicroInstructions);
+    tracer.getHub().rom().setSegmentCache(romSegmentCache);
+    // The traced blocks are already on chain, so their receipts (and logs blooms) are known
+    tracer.getHub().rlpTxnRcpt().receiptSource(blockchainService::getReceiptsByBlockHash);
+    return tracer;
+  }
+
+  /** Besu may wrap the exceptions thrown by the tracer, so look for one along the causes. */
+  private static HeapBudgetExceededException heapBudgetExceeded(final Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof HeapBudgetExceededException exceeded) {
+        return exceeded;
+      }
+    }
+    return null;
+  }
+
+  private Path writeTraceFile(final TraceRequestParams params, final TraceWriter traceWriter) {
+    final Stopwatch sw = Stopwatch.createStarted();
+    final Path path;
+    try {
+      // Sharded traces are returned as the path of their manifest
+      path =
+          shardParallelism > 0
+              ? traceWriter.writeShardedTraceToDirectory(
+                  tracesOutputPath,
+                  params.startBlockNumber(),
+                  params.endBlockNumber(),
+                  params.expectedTracesEngineVersion(),
+                  Module::moduleKey,
+                  shardParallelism)
+              : traceWriter.writeTraceToFile(
+                  tracesOutputPath,
+                  params.startBlockNumber(),
+                  params.endBlockNumber(),
+                  params.expectedTracesEngineVersion());
+    } finally {
+      traceWriter.release();
+    }
+    log.info(
+        "[TRACING] trace for {}-{} serialized to {} in {}",
+        params.startBlockNumber(),
+        params.endBlockNumber(),
+        path,
+        sw);
+    capacityPlanner.save(tracesOutputPath.resolve(CAPACITY_HISTORY_FILE));
+
+    return path;
   }
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.plugins.rpc.RequestTimeoutException;
+import net.consensys.linea.tracewriter.TraceWriter;
+
+/**
+ * Keeps track of the conflated trace files, or sharded trace directories, written by {@link
+ * TraceWriter} in the traces output directory, so that:
+ *
+ * <ul>
+ *   <li>a request for a range which has already been fully written returns the existing file
+ *       immediately;
+ *   <li>concurrent requests for the same range and engine version are coalesced onto a single
+ *       in-flight computation;
+ *   <li>the oldest trace files are deleted whenever the directory grows beyond its disk budget.
+ * </ul>
+ *
+ * Trace files, and the manifests of sharded traces, are only ever moved to their final name once
+ * fully written, so the presence of the final file is enough to know that the trace is complete.
+ */
+@Slf4j
+public class TraceArtifactIndex {
+  private static final String TRACE_FILE_EXTENSION = ".lt";
+  private static final String SHARDS_DIRECTORY_EXTENSION = ".shards";
+
+  private final Path tracesOutputPath;
+
+  /** The maximal size (in bytes) of all the trace files in the directory; 0 means no limit. */
+  private final long diskBudget;
+
+  /** Whether traces are written as sharded directories, identified by their manifest. */
+  private final boolean sharded;
+
+  /** How long a request waits for an identical one; {@link Duration#ZERO} means forever. */
+  private final Duration timeout;
+
+  private final Map<TraceRange, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+  private record TraceRange(long startBlockNumber, long endBlockNumber, String engineVersion) {}
+
+  public TraceArtifactIndex(final Path tracesOutputPath, final long diskBudget) {
+    this(tracesOutputPath, diskBudget, false);
+  }
+
+  public TraceArtifactIndex(
+      final Path tracesOutputPath, final long diskBudget, final boolean sharded) {
+    this(tracesOutputPath, diskBudget, sharded, Duration.ZERO);
+  }
+
+  public TraceArtifactIndex(
+      final Path tracesOutputPath,
+      final long diskBudget,
+      final boolean sharded,
+      final Duration timeout) {
+    this.tracesOutputPath = tracesOutputPath;
+    this.diskBudget = diskBudget;
+    this.sharded = sharded;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Look for an already fully written trace file, or sharded trace manifest, for the given range.
+   *
+   * @param startBlockNumber first block of the range
+   * @param endBlockNumber last block of the range
+   * @param engineVersion version of the tracer having produced the file
+   * @return the absolute path of the trace file or manifest, if it exists
+   */
+  public Optional<Path> lookup(
+      final long startBlockNumber, final long endBlockNumber, final String engineVersion) {
+    final Path path =
+        sharded
+            ? TraceWriter.shardManifestPath(
+                tracesOutputPath, startBlockNumber, endBlockNumber, engineVersion)
+            : TraceWriter.traceFilePath(
+                tracesOutputPath, startBlockNumber, endBlockNumber, engineVersion);
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    // Mark the trace as recently used, so that it is the last to be garbage-collected
+    final Path artifact = artifactOf(path);
+    try {
+      Files.setLastModifiedTime(artifact, FileTime.from(Instant.now()));
+    } catch (IOException e) {
+      log.warn("[TRACING] unable to touch {}: {}", artifact, e.getMessage());
+    }
+    return Optional.of(path.toAbsolutePath());
+  }
+
+  /** The file or directory holding the trace whose path is returned to the requester. */
+  private Path artifactOf(final Path path) {
+    return sharded ? path.getParent() : path;
+  }
+
+  /**
+   * Return the trace file for the given range, either an already existing one, the one being
+   * computed by a concurrent identical request, or else the one produced by the given computation.
+   * Waiting for an identical request is bounded by the request timeout.
+   *
+   * @param startBlockNumber first block of the range
+   * @param endBlockNumber last block of the range
+   * @param engineVersion version of the tracer producing the file
+   * @param computation the trace generation, only run if no other request is already running it
+   * @return the absolute path of the trace file
+   */
+  public Path getOrCompute(
+      final long startBlockNumber,
+      final long endBlockNumber,
+      final String engineVersion,
+      final Supplier<Path> computation) {
+    final Optional<Path> existing = lookup(startBlockNumber, endBlockNumber, engineVersion);
+    if (existing.isPresent()) {
+      log.info(
+          "[TRACING] trace for {}-{} already exists at {}",
+          startBlockNumber,
+          endBlockNumber,
+          existing.get());
+      return existing.get();
+    }
+
+    final TraceRange key = new TraceRange(startBlockNumber, endBlockNumber, engineVersion);
+    final CompletableFuture<Path> ownFuture = new CompletableFuture<>();
+    final CompletableFuture<Path> future = inFlight.putIfAbsent(key, ownFuture);
+
+    if (future != null) {
+      log.info(
+          "[TRACING] trace for {}-{} already in progress, waiting for it",
+          startBlockNumber,
+          endBlockNumber);
+      try {
+        if (timeout.isZero()) {
+          return future.get();
+        }
+        return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        // The identical request keeps going, and its trace will be returned to the next ones
+        log.warn(
+            "[TRACING] gave up waiting for trace {}-{} after {}",
+            startBlockNumber,
+            endBlockNumber,
+            timeout);
+        throw RequestTimeoutException.after(timeout);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Request interrupted", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
+    try {
+      // The file may have landed between the lookup and the registration of this computation
+      final Path path =
+          lookup(startBlockNumber, endBlockNumber, engineVersion).orElseGet(computation);
+      ownFuture.complete(path);
+      enforceDiskBudget(path);
+      return path;
+    } catch (RuntimeException e) {
+      ownFuture.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, ownFuture);
+    }
+  }
+
+  /**
+   * Delete the least recently used trace files and sharded trace directories until the directory
+   * fits within its disk budget.
+   *
+   * @param keep a trace file or manifest which must never be deleted, typically the one which just
+   *     got produced
+   */
+  synchronized void enforceDiskBudget(final Path keep) {
+    if (diskBudget <= 0) {
+      return;
+    }
+
+    final List<TraceArtifact> artifacts = new ArrayList<>();
+    try (Stream<Path> files = Files.list(tracesOutputPath)) {
+      for (Path file : files.toList()) {
+        final String name = file.getFileName().toString();
+        final BasicFileAttributes attributes =
+            Files.readAttributes(file, BasicFileAttributes.class);
+        if (name.endsWith(TRACE_FILE_EXTENSION) && attributes.isRegularFile()) {
+          artifacts.add(
+              new TraceArtifact(
+                  file, attributes.size(), attributes.lastModifiedTime().toMillis()));
+        } else if (name.endsWith(SHARDS_DIRECTORY_EXTENSION) && attributes.isDirectory()) {
+          artifacts.add(
+              new TraceArtifact(
+                  file, directorySize(file), attributes.lastModifiedTime().toMillis()));
+        }
+      }
+    } catch (IOException e) {
+      log.warn("[TRACING] unable to list trace files in {}: {}", tracesOutputPath, e.getMessage());
+      return;
+    }
+
+    long totalSize = artifacts.stream().mapToLong(TraceArtifact::size).sum();
+    artifacts.sort(Comparator.comparingLong(TraceArtifact::lastModified));
+
+    for (TraceArtifact artifact : artifacts) {
+      if (totalSize <= diskBudget) {
+        break;
+      }
+      if (artifact.path().toAbsolutePath().equals(artifactOf(keep).toAbsolutePath())) {
+        continue;
+      }
+      try {
+        delete(artifact.path());
+        totalSize -= artifact.size();
+        log.info("[TRACING] deleted trace file {} to fit the disk budget", artifact.path());
+      } catch (IOException e) {
+        log.warn("[TRACING] unable to delete {}: {}", artifact.path(), e.getMessage());
+      }
+    }
+  }
+
+  private static long directorySize(final Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      long size = 0;
+      for (Path file : files.toList()) {
+        if (Files.isRegularFile(file)) {
+          size += Files.size(file);
+        }
+      }
+      return size;
+    }
+  }
+
+  private static void delete(final Path path) throws IOException {
+    if (!Files.isDirectory(path)) {
+      Files.deleteIfExists(path);
+      return;
+    }
+    try (Stream<Path> files = Files.walk(path)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  private record TraceArtifact(Path path, long size, long lastModified) {}
+}
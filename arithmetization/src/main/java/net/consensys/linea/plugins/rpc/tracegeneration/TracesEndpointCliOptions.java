@@ -29,6 +29,24 @@ class TracesEndpointCliOptions implements LineaCliOptions {
   static final String CONFLATED_TRACE_GENERATION_CONCURRENT_REQUESTS_LIMIT =
       "--plugin-linea-conflated-trace-generation-concurrent-requests-limit";
 
+  static final String CONFLATED_TRACE_GENERATION_TRACES_DISK_BUDGET =
+      "--plugin-linea-conflated-trace-generation-traces-disk-budget";
+
+  static final String CONFLATED_TRACE_GENERATION_HEAP_BUDGET =
+      "--plugin-linea-conflated-trace-generation-heap-budget";
+
+  static final String CONFLATED_TRACE_GENERATION_WARM_UP =
+      "--plugin-linea-conflated-trace-generation-warm-up";
+
+  static final String CONFLATED_TRACE_GENERATION_SHARD_PARALLELISM =
+      "--plugin-linea-conflated-trace-generation-shard-parallelism";
+
+  static final String CONFLATED_TRACE_GENERATION_DEFER_MMU_MICRO_INSTRUCTIONS =
+      "--plugin-linea-conflated-trace-generation-defer-mmu-micro-instructions";
+
+  static final String CONFLATED_TRACE_GENERATION_ROM_SEGMENT_CACHE_CAPACITY =
+      "--plugin-linea-conflated-trace-generation-rom-segment-cache-capacity";
+
   @CommandLine.Option(
       required = true,
       names = {CONFLATED_TRACE_GENERATION_TRACES_OUTPUT_PATH},
@@ -37,6 +55,65 @@ class TracesEndpointCliOptions implements LineaCliOptions {
       description = "Path to where traces will be written")
   private String tracesOutputPath = null;
 
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_TRACES_DISK_BUDGET},
+      hidden = true,
+      paramLabel = "<BYTES>",
+      description =
+          "Maximal size (in bytes) of the trace files kept in the traces output path, the least "
+              + "recently used ones being deleted beyond it; 0 means unlimited (default: 0)")
+  private long tracesDiskBudget = 0;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_HEAP_BUDGET},
+      hidden = true,
+      paramLabel = "<BYTES>",
+      description =
+          "Maximal estimated memory footprint (in bytes) of a conflation being traced, checked at "
+              + "every block boundary, the request failing beyond it; 0 means unlimited "
+              + "(default: 0)")
+  private long heapBudget = 0;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_WARM_UP},
+      hidden = true,
+      arity = "1",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Warm the tracer up on a synthetic block and on the chain head block when the plugin "
+              + "starts, before reporting it as ready (default: true)")
+  private boolean warmUp = true;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_SHARD_PARALLELISM},
+      hidden = true,
+      paramLabel = "<THREADS>",
+      description =
+          "If positive, write each trace as a directory holding one trace file per module, plus a "
+              + "manifest describing them, with up to this many files written concurrently; 0 "
+              + "writes a single trace file (default: 0)")
+  private int shardParallelism = 0;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_DEFER_MMU_MICRO_INSTRUCTIONS},
+      hidden = true,
+      arity = "1",
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Only build the MMIO micro-instructions of the MMU when the trace is written, rather "
+              + "than when the MMU is called, building them in parallel (default: false)")
+  private boolean deferMmuMicroInstructions = false;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_ROM_SEGMENT_CACHE_CAPACITY},
+      hidden = true,
+      paramLabel = "<BYTES>",
+      description =
+          "Maximal size (in bytes) of the ROM rows of the bytecodes kept across conflations, so "
+              + "that they are copied rather than traced again; it counts toward the heap budget, "
+              + "and 0 disables the cache (default: 0)")
+  private long romSegmentCacheCapacity = 0;
+
   private TracesEndpointCliOptions() {}
 
   /**
@@ -57,6 +134,12 @@ class TracesEndpointCliOptions implements LineaCliOptions {
   static TracesEndpointCliOptions fromConfig(final TracesEndpointConfiguration config) {
     final TracesEndpointCliOptions options = create();
     options.tracesOutputPath = config.tracesOutputPath();
+    options.tracesDiskBudget = config.tracesDiskBudget();
+    options.heapBudget = config.heapBudget();
+    options.warmUp = config.warmUp();
+    options.shardParallelism = config.shardParallelism();
+    options.deferMmuMicroInstructions = config.deferMmuMicroInstructions();
+    options.romSegmentCacheCapacity = config.romSegmentCacheCapacity();
     return options;
   }
 
@@ -67,13 +150,27 @@ class TracesEndpointCliOptions implements LineaCliOptions {
    */
   @Override
   public TracesEndpointConfiguration toDomainObject() {
-    return TracesEndpointConfiguration.builder().tracesOutputPath(tracesOutputPath).build();
+    return TracesEndpointConfiguration.builder()
+        .tracesOutputPath(tracesOutputPath)
+        .tracesDiskBudget(tracesDiskBudget)
+        .heapBudget(heapBudget)
+        .warmUp(warmUp)
+        .shardParallelism(shardParallelism)
+        .deferMmuMicroInstructions(deferMmuMicroInstructions)
+        .romSegmentCacheCapacity(romSegmentCacheCapacity)
+        .build();
   }
 
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add(CONFLATED_TRACE_GENERATION_TRACES_OUTPUT_PATH, tracesOutputPath)
+        .add(CONFLATED_TRACE_GENERATION_TRACES_DISK_BUDGET, tracesDiskBudget)
+        .add(CONFLATED_TRACE_GENERATION_HEAP_BUDGET, heapBudget)
+        .add(CONFLATED_TRACE_GENERATION_WARM_UP, warmUp)
+        .add(CONFLATED_TRACE_GENERATION_SHARD_PARALLELISM, shardParallelism)
+        .add(CONFLATED_TRACE_GENERATION_DEFER_MMU_MICRO_INSTRUCTIONS, deferMmuMicroInstructions)
+        .add(CONFLATED_TRACE_GENERATION_ROM_SEGMENT_CACHE_CAPACITY, romSegmentCacheCapacity)
         .toString();
   }
 }
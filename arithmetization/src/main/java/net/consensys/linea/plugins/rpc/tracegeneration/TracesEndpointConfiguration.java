@@ -20,5 +20,12 @@ import net.consensys.linea.plugins.LineaOptionsConfiguration;
 
 /** The Linea tracer configuration private to this repo. */
 @Builder(toBuilder = true)
-public record TracesEndpointConfiguration(String tracesOutputPath)
+public record TracesEndpointConfiguration(
+    String tracesOutputPath,
+    long tracesDiskBudget,
+    long heapBudget,
+    boolean warmUp,
+    int shardParallelism,
+    boolean deferMmuMicroInstructions,
+    long romSegmentCacheCapacity)
     implements LineaOptionsConfiguration {}
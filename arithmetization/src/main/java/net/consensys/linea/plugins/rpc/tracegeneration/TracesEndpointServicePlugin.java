@@ -30,6 +30,7 @@ import net.consensys.linea.plugins.LineaOptionsPluginConfiguration;
 import net.consensys.linea.plugins.exception.TraceOutputException;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.RequestLimiterDispatcher;
+import net.consensys.linea.zktracer.TracerWarmUp;
 import org.hyperledger.besu.plugin.BesuPlugin;
 import org.hyperledger.besu.plugin.ServiceManager;
 import org.hyperledger.besu.plugin.services.RpcEndpointService;
@@ -45,6 +46,8 @@ import org.hyperledger.besu.plugin.services.RpcEndpointService;
 public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlugin {
   private ServiceManager besuContext;
   private RpcEndpointService rpcEndpointService;
+  private TracesEndpointConfiguration endpointConfiguration;
+  private GenerateConflatedTracesV2 generateConflatedTraces;
 
   @Override
   public Map<String, LineaOptionsPluginConfiguration> getLineaPluginConfigMap() {
@@ -69,7 +72,7 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
   public void beforeExternalServices() {
     super.beforeExternalServices();
 
-    final TracesEndpointConfiguration endpointConfiguration =
+    endpointConfiguration =
         (TracesEndpointConfiguration)
             getConfigurationByKey(TracesEndpointCliOptions.CONFIG_KEY).optionsConfig();
 
@@ -83,15 +86,15 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
 
     RequestLimiterDispatcher.setLimiterIfMissing(
         RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY,
-        rpcConfiguration().concurrentRequestsLimit());
+        rpcConfiguration());
     final RequestLimiter reqLimiter =
         RequestLimiterDispatcher.getLimiter(
             RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
 
-    final GenerateConflatedTracesV2 method =
+    generateConflatedTraces =
         new GenerateConflatedTracesV2(besuContext, reqLimiter, endpointConfiguration);
 
-    createAndRegister(method, rpcEndpointService);
+    createAndRegister(generateConflatedTraces, rpcEndpointService);
   }
 
   private Optional<Path> initTracesOutputPath(final String tracesOutputPathOption) {
@@ -118,7 +121,28 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
         method.getNamespace(), method.getName(), method::execute);
   }
 
-  /** Start the RPC service. This method loads the OpCodes. */
+  /**
+   * Start the RPC service. This starts warming the tracer up in the background, unless disabled, so
+   * that the first requests after a restart run at full speed without delaying the startup of the
+   * node; the tracer is not reported as ready in the meantime.
+   */
   @Override
-  public void start() {}
+  public void start() {
+    if (!endpointConfiguration.warmUp()) {
+      return;
+    }
+    TracerWarmUp.start(generateConflatedTraces::warmUp)
+        .exceptionally(
+            e -> {
+              log.warn("[TRACING] unable to warm the tracer up: {}", e.getMessage());
+              return null;
+            });
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    RequestLimiterDispatcher.shutdownLimiter(
+        RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.tracewriter;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Describes a trace written as one file per module (or group of modules) by {@link
+ * TraceWriter#writeShardedTraceToDirectory}. Each shard is a standalone trace file, with its own
+ * header only describing its own columns.
+ */
+public record TraceShardManifest(
+    @JsonProperty("startBlockNumber") long startBlockNumber,
+    @JsonProperty("endBlockNumber") long endBlockNumber,
+    @JsonProperty("tracesEngineVersion") String tracesEngineVersion,
+    @JsonProperty("shards") List<Shard> shards) {
+
+  /**
+   * A single trace file.
+   *
+   * @param name the name of the shard, typically the key of the module it holds
+   * @param file the name of the trace file, relative to the manifest
+   * @param modules the keys of the modules traced in this file
+   * @param size the size of the file in bytes
+   * @param crc32c the CRC32C checksum of the whole file, in hexadecimal
+   * @param columns the columns of the file
+   */
+  public record Shard(
+      @JsonProperty("name") String name,
+      @JsonProperty("file") String file,
+      @JsonProperty("modules") List<String> modules,
+      @JsonProperty("size") long size,
+      @JsonProperty("crc32c") String crc32c,
+      @JsonProperty("columns") List<Column> columns) {}
+
+  /**
+   * A column within a shard.
+   *
+   * @param name the fully qualified name of the column
+   * @param bytesPerElement the width of the column elements
+   * @param length the number of elements in the column
+   * @param offset the offset of the first element of the column in the shard file
+   */
+  public record Column(
+      @JsonProperty("name") String name,
+      @JsonProperty("bytesPerElement") int bytesPerElement,
+      @JsonProperty("length") int length,
+      @JsonProperty("offset") long offset) {}
+}
@@ -16,25 +16,47 @@
 package net.consensys.linea.tracewriter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
 
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.json.JsonConverter;
 
 @Slf4j
 @RequiredArgsConstructor
 public class TraceWriter {
   private static final String TRACE_FILE_EXTENSION = ".lt";
   private static final String TRACE_TEMP_FILE_EXTENSION = ".lt.tmp";
+  private static final String SHARDS_DIRECTORY_EXTENSION = ".shards";
+  private static final String MANIFEST_FILE_NAME = "manifest.json";
+  private static final JsonConverter CONVERTER = JsonConverter.builder().build();
+  private static final int CHECKSUM_BUFFER_SIZE = 1 << 20;
 
   private final ZkTracer tracer;
 
@@ -63,6 +85,199 @@ public class TraceWriter {
     return finalizedTraceFilePath.toAbsolutePath();
   }
 
+  /**
+   * The path at which {@link #writeTraceToFile} writes the trace of the given range once it is
+   * complete.
+   *
+   * @param tracesOutputDirPath the traces output directory
+   * @param startBlockNumber the first block of the range
+   * @param endBlockNumber the last block of the range
+   * @param expectedTracesEngineVersion the version of the tracer
+   * @return the path of the finalized trace file
+   */
+  public static Path traceFilePath(
+      final Path tracesOutputDirPath,
+      final long startBlockNumber,
+      final long endBlockNumber,
+      final String expectedTracesEngineVersion) {
+    return tracesOutputDirPath.resolve(
+        generateOutputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion)
+            + TRACE_FILE_EXTENSION);
+  }
+
+  /**
+   * The path at which {@link #writeShardedTraceToDirectory} writes the manifest of the given range
+   * once all its shards are complete.
+   *
+   * @param tracesOutputDirPath the traces output directory
+   * @param startBlockNumber the first block of the range
+   * @param endBlockNumber the last block of the range
+   * @param expectedTracesEngineVersion the version of the tracer
+   * @return the path of the finalized manifest
+   */
+  public static Path shardManifestPath(
+      final Path tracesOutputDirPath,
+      final long startBlockNumber,
+      final long endBlockNumber,
+      final String expectedTracesEngineVersion) {
+    return tracesOutputDirPath
+        .resolve(
+            generateOutputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion)
+                + SHARDS_DIRECTORY_EXTENSION)
+        .resolve(MANIFEST_FILE_NAME);
+  }
+
+  /**
+   * Write the trace as one standalone trace file per shard, in parallel, into a dedicated
+   * directory. Each shard is atomically moved to its final name as soon as it is complete, so that
+   * consumers may start loading it right away; the manifest describing all the shards is written
+   * last.
+   *
+   * @param tracesOutputDirPath the traces output directory
+   * @param startBlockNumber the first block of the conflation
+   * @param endBlockNumber the last block of the conflation
+   * @param expectedTracesEngineVersion the version of the tracer
+   * @param shardOf maps each module to the name of the shard it must be written to, e.g. {@link
+   *     Module#moduleKey()} for one file per module
+   * @param parallelism the maximal number of shards written concurrently
+   * @return the path of the manifest
+   */
+  @SneakyThrows(IOException.class)
+  public Path writeShardedTraceToDirectory(
+      final Path tracesOutputDirPath,
+      final long startBlockNumber,
+      final long endBlockNumber,
+      final String expectedTracesEngineVersion,
+      final Function<Module, String> shardOf,
+      final int parallelism) {
+    final Path shardsDirPath =
+        generateOutputFilePath(
+            tracesOutputDirPath,
+            generateOutputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion)
+                + SHARDS_DIRECTORY_EXTENSION);
+    Files.createDirectories(shardsDirPath);
+
+    // Group the modules by shard, preserving their commit order
+    final Map<String, List<Module>> shards = new LinkedHashMap<>();
+    for (Module module : tracer.getHub().getModulesToTrace()) {
+      shards.computeIfAbsent(shardOf.apply(module), k -> new ArrayList<>()).add(module);
+    }
+
+    // Shards holding modules whose commits depend on one another are written sequentially
+    final Map<String, String> sequence = new HashMap<>();
+    for (String shard : shards.keySet()) {
+      sequence.put(shard, shard);
+    }
+    for (Map.Entry<Module, Module> dependency :
+        tracer.getHub().getModuleCommitDependencies().entrySet()) {
+      final String dependent = sequenceOf(sequence, shardOf.apply(dependency.getKey()));
+      final String prerequisite = sequenceOf(sequence, shardOf.apply(dependency.getValue()));
+      sequence.put(dependent, prerequisite);
+    }
+    final Map<String, List<String>> sequences = new LinkedHashMap<>();
+    for (String shard : shards.keySet()) {
+      sequences.computeIfAbsent(sequenceOf(sequence, shard), k -> new ArrayList<>()).add(shard);
+    }
+
+    final Map<String, TraceShardManifest.Shard> writtenShards = new ConcurrentHashMap<>();
+    final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+    try {
+      final List<Future<?>> tasks = new ArrayList<>();
+      for (List<String> shardSequence : sequences.values()) {
+        tasks.add(
+            pool.submit(
+                () -> {
+                  for (String shard : shardSequence) {
+                    writtenShards.put(
+                        shard, writeShard(shardsDirPath, shard, shards.get(shard)));
+                  }
+                }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+
+    final TraceShardManifest manifest =
+        new TraceShardManifest(
+            startBlockNumber,
+            endBlockNumber,
+            expectedTracesEngineVersion,
+            shards.keySet().stream().map(writtenShards::get).toList());
+    final Path tmpManifestPath = shardsDirPath.resolve(MANIFEST_FILE_NAME + ".tmp");
+    Files.writeString(tmpManifestPath, CONVERTER.toJson(manifest));
+    final Path manifestPath =
+        Files.move(
+            tmpManifestPath,
+            shardsDirPath.resolve(MANIFEST_FILE_NAME),
+            StandardCopyOption.ATOMIC_MOVE);
+
+    return manifestPath.toAbsolutePath();
+  }
+
+  private static String sequenceOf(final Map<String, String> sequence, final String shard) {
+    String current = shard;
+    while (!sequence.get(current).equals(current)) {
+      current = sequence.get(current);
+    }
+    return current;
+  }
+
+  @SneakyThrows(IOException.class)
+  private TraceShardManifest.Shard writeShard(
+      final Path shardsDirPath, final String shard, final List<Module> modules) {
+    final Path tmpShardPath =
+        Files.createTempFile(shardsDirPath, shard + ".", TRACE_TEMP_FILE_EXTENSION);
+    final List<ColumnHeader> headers = tracer.writeModulesToFile(tmpShardPath, modules);
+
+    final String fileName = shard + TRACE_FILE_EXTENSION;
+    final Path shardPath =
+        Files.move(tmpShardPath, shardsDirPath.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+
+    // Data follows the header, i.e. the column count and the description of every column
+    long offset = headers.stream().mapToInt(ColumnHeader::headerSize).sum() + 4;
+    final List<TraceShardManifest.Column> columns = new ArrayList<>(headers.size());
+    for (ColumnHeader header : headers) {
+      columns.add(
+          new TraceShardManifest.Column(
+              header.name(), header.bytesPerElement(), header.length(), offset));
+      offset += header.dataSize();
+    }
+
+    return new TraceShardManifest.Shard(
+        shard,
+        fileName,
+        modules.stream().map(Module::moduleKey).toList(),
+        Files.size(shardPath),
+        checksum(shardPath),
+        columns);
+  }
+
+  private static String checksum(final Path path) throws IOException {
+    final CRC32C crc = new CRC32C();
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        crc.update(buffer);
+        buffer.clear();
+      }
+    }
+    return Long.toHexString(crc.getValue());
+  }
+
+  /** Release the tracer, once every trace file needed has been written. */
+  public void release() {
+    tracer.release();
+  }
+
   public Path writeToTmpFile(final Path rootDir, final String prefix, final String suffix) {
     Path traceFile;
     try {
@@ -99,7 +314,7 @@ public class TraceWriter {
     return tracesOutputDirPath.resolve(Paths.get(traceFileName));
   }
 
-  private String generateOutputFileName(
+  private static String generateOutputFileName(
       final long startBlockNumber,
       final long endBlockNumber,
       final String expectedTracesEngineVersion) {
@@ -22,6 +22,14 @@ public record ColumnHeader(String name, int bytesPerElement, int length) {
     return this.length() * this.bytesPerElement();
   }
 
+  /**
+   * @param row a row of the column
+   * @return the position of the row within the column data
+   */
+  public int offsetOf(final int row) {
+    return row * this.bytesPerElement();
+  }
+
   public int headerSize() {
     return 2
         + // i16: name size
@@ -0,0 +1,77 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An independent cursor over a range of rows of the columns of a module trace.
+ *
+ * <p>The generated traces write each column sequentially, from the current position of its buffer.
+ * Building a trace over the columns of a cursor makes it write the rows of this cursor, and only
+ * them, whatever the other cursors over the same buffers are doing; cursors over disjoint ranges
+ * of rows may hence be written to concurrently.
+ *
+ * @param columns views on the rows of the cursor, in the order of the module columns
+ * @param firstRow the first row of the cursor, within the whole columns
+ * @param rowCount the number of rows of the cursor
+ */
+public record RowCursor(List<MappedByteBuffer> columns, int firstRow, int rowCount) {
+  /**
+   * Open a cursor over some rows of the columns of a module trace.
+   *
+   * @param headers the headers of the module columns, in the order of the buffers
+   * @param buffers the buffers holding the whole module columns
+   * @param firstRow the first row of the cursor
+   * @param rowCount the number of rows of the cursor
+   * @return the cursor
+   */
+  public static RowCursor over(
+      final List<ColumnHeader> headers,
+      final List<MappedByteBuffer> buffers,
+      final int firstRow,
+      final int rowCount) {
+    checkArgument(
+        headers.size() == buffers.size(),
+        "%s headers for %s columns",
+        headers.size(),
+        buffers.size());
+    final List<MappedByteBuffer> columns = new ArrayList<>(buffers.size());
+    for (int i = 0; i < buffers.size(); i++) {
+      final ColumnHeader header = headers.get(i);
+      final int from = header.offsetOf(firstRow);
+      columns.add(buffers.get(i).slice(from, header.offsetOf(firstRow + rowCount) - from));
+    }
+    return new RowCursor(columns, firstRow, rowCount);
+  }
+
+  /**
+   * Move the position of the given buffers right after the last row of this cursor, e.g. so that
+   * a trace built over them carries on after it.
+   *
+   * @param headers the headers of the module columns, in the order of the buffers
+   * @param buffers the buffers holding the whole module columns
+   */
+  public void seekPast(final List<ColumnHeader> headers, final List<MappedByteBuffer> buffers) {
+    for (int i = 0; i < buffers.size(); i++) {
+      buffers.get(i).position(headers.get(i).offsetOf(firstRow + rowCount));
+    }
+  }
+}
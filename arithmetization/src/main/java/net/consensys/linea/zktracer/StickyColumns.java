@@ -0,0 +1,192 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes the columns holding the same value over a run of consecutive rows of a module trace once,
+ * rather than on every row of the run.
+ *
+ * <p>The first row of a run is traced as usual, through the generated setters and {@code
+ * validateRow()}, and then {@link #capture() captured}. The following rows only set the varying
+ * columns, are checked with {@link #checkRow()} and validated with {@code fillAndValidateRow()},
+ * which leaves the sticky columns blank. Finally, {@link #fillRows(int)} bulk-copies the captured
+ * values of the sticky columns into these rows.
+ *
+ * <p>As {@code fillAndValidateRow()} does not check anything, {@link #checkRow()} takes over the
+ * filled-check of the generated {@code validateRow()}: every column which is neither sticky nor
+ * declared unused must have been set exactly once, and no sticky column may have been set.
+ */
+public final class StickyColumns {
+  private final List<ColumnHeader> headers;
+  private final List<MappedByteBuffer> buffers;
+  private final boolean[] sticky;
+  private final boolean[] unused;
+
+  /** The position of every column buffer at the start of the current row. */
+  private final int[] rowStarts;
+
+  /** The position of every column buffer right after the captured row. */
+  private final int[] runStarts;
+
+  /** The value of every sticky column on the captured row. */
+  private final byte[][] values;
+
+  private int checkedRows = -1;
+
+  private StickyColumns(
+      final List<ColumnHeader> headers,
+      final List<MappedByteBuffer> buffers,
+      final boolean[] sticky,
+      final boolean[] unused) {
+    this.headers = headers;
+    this.buffers = buffers;
+    this.sticky = sticky;
+    this.unused = unused;
+    this.rowStarts = new int[buffers.size()];
+    this.runStarts = new int[buffers.size()];
+    this.values = new byte[buffers.size()][];
+    for (int i = 0; i < buffers.size(); i++) {
+      if (sticky[i]) {
+        values[i] = new byte[headers.get(i).bytesPerElement()];
+      }
+    }
+  }
+
+  /**
+   * Declare the sticky columns of the runs of a module trace.
+   *
+   * @param headers the headers of the module columns, in the order of the buffers
+   * @param buffers the column buffers the module trace writes into
+   * @param stickyColumns the names of the columns holding the same value over a run
+   * @param unusedColumns the names of the columns deliberately left blank on the rows of a run
+   * @return the sticky columns
+   */
+  public static StickyColumns of(
+      final List<ColumnHeader> headers,
+      final List<MappedByteBuffer> buffers,
+      final Collection<String> stickyColumns,
+      final Collection<String> unusedColumns) {
+    checkArgument(
+        headers.size() == buffers.size(),
+        "%s headers for %s columns",
+        headers.size(),
+        buffers.size());
+    final boolean[] sticky = flags(headers, stickyColumns);
+    final boolean[] unused = flags(headers, unusedColumns);
+    for (int i = 0; i < headers.size(); i++) {
+      checkArgument(
+          !(sticky[i] && unused[i]), "%s is both sticky and unused", headers.get(i).name());
+    }
+    return new StickyColumns(headers, buffers, sticky, unused);
+  }
+
+  private static boolean[] flags(final List<ColumnHeader> headers, final Collection<String> names) {
+    final boolean[] flags = new boolean[headers.size()];
+    for (String name : names) {
+      int index = -1;
+      for (int i = 0; i < headers.size(); i++) {
+        if (headers.get(i).name().equals(name)) {
+          index = i;
+          break;
+        }
+      }
+      checkArgument(index >= 0, "unknown column %s", name);
+      flags[index] = true;
+    }
+    return flags;
+  }
+
+  /** Start a run, taking the values of the sticky columns from the row which was just validated. */
+  public void capture() {
+    for (int i = 0; i < buffers.size(); i++) {
+      final int position = buffers.get(i).position();
+      rowStarts[i] = position;
+      runStarts[i] = position;
+      if (sticky[i]) {
+        buffers.get(i).get(position - values[i].length, values[i]);
+      }
+    }
+    checkedRows = 0;
+  }
+
+  /**
+   * Check the row being traced, right before it gets validated with {@code fillAndValidateRow()}.
+   *
+   * @throws IllegalStateException if a column has not been filled, or if a sticky one has
+   */
+  public void checkRow() {
+    checkState(checkedRows >= 0, "no run has been captured");
+    for (int i = 0; i < buffers.size(); i++) {
+      final ColumnHeader header = headers.get(i);
+      final int written = buffers.get(i).position() - rowStarts[i];
+      if (sticky[i] && written != 0) {
+        throw new IllegalStateException(header.name() + " is sticky and may not be set");
+      }
+      if (!sticky[i] && !unused[i] && written != header.bytesPerElement()) {
+        throw new IllegalStateException(header.name() + " has not been filled");
+      }
+      rowStarts[i] += header.bytesPerElement();
+    }
+    checkedRows++;
+  }
+
+  /**
+   * Write the captured values of the sticky columns into the rows traced since the capture.
+   *
+   * @param n the number of rows traced since the capture
+   */
+  public void fillRows(final int n) {
+    checkState(n == checkedRows, "%s rows to fill, but %s rows checked", n, checkedRows);
+    for (int i = 0; i < buffers.size(); i++) {
+      if (sticky[i]) {
+        repeat(buffers.get(i), runStarts[i], values[i], n);
+      }
+    }
+    checkedRows = -1;
+  }
+
+  /**
+   * Write the given value a number of times in a row into the given buffer, through bulk copies
+   * doubling the filled range at each step. The position of the buffer is left untouched.
+   *
+   * @param buffer the buffer to write into
+   * @param index the position at which to start writing
+   * @param value the value to repeat
+   * @param count the number of times to write the value
+   */
+  public static void repeat(
+      final ByteBuffer buffer, final int index, final byte[] value, final int count) {
+    if (count == 0) {
+      return;
+    }
+    buffer.put(index, value);
+    final int total = value.length * count;
+    int filled = value.length;
+    while (filled < total) {
+      final int length = Math.min(filled, total - filled);
+      buffer.put(index + filled, buffer, index, length);
+      filled += length;
+    }
+  }
+}
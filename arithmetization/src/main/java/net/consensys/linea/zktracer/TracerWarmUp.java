@@ -0,0 +1,253 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.zktracer.opcode.OpCodes;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.consensus.clique.CliqueBlockHeaderFunctions;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+
+/**
+ * Warms a freshly started JVM up for tracing. The first conflation traced by a JVM otherwise pays
+ * for loading and initializing the modules and their (huge) generated traces, for parsing the
+ * spillings definitions, and for running the commit of every module interpreted.
+ *
+ * <p>The warm-up loads every class of the tracer, as an empty block only reaches a handful of them,
+ * traces a synthetic empty block through every hook of every module, then commits the trace of
+ * every module to a temporary file, which is deleted afterwards. Whilst it runs, the tracer should
+ * not be reported as ready.
+ */
+@Slf4j
+public final class TracerWarmUp {
+  private static final long SYNTHETIC_BLOCK_GAS_LIMIT = 30_000_000L;
+
+  /** The package holding the classes loaded by the warm-up. */
+  private static final String TRACER_PACKAGE = "net/consensys/linea";
+
+  /** The number of warm-ups currently running. */
+  private static final AtomicInteger IN_PROGRESS = new AtomicInteger();
+
+  private TracerWarmUp() {}
+
+  /**
+   * @return whether a warm-up is running, in which case the tracer should not be reported as ready
+   */
+  public static boolean inProgress() {
+    return IN_PROGRESS.get() > 0;
+  }
+
+  /**
+   * Trace and commit a synthetic empty block.
+   *
+   * @return how long the warm-up took
+   */
+  public static Duration run() {
+    return run(() -> {});
+  }
+
+  /**
+   * Trace and commit a synthetic empty block, then run an additional warm-up workload, e.g.
+   * tracing actual blocks.
+   *
+   * @param workload the additional warm-up workload
+   * @return how long the warm-up took
+   */
+  public static Duration run(final Runnable workload) {
+    IN_PROGRESS.incrementAndGet();
+    try {
+      return warmUp(workload);
+    } finally {
+      IN_PROGRESS.decrementAndGet();
+    }
+  }
+
+  /**
+   * Start the warm-up on a background thread, so as not to hold the caller up, e.g. the startup
+   * of the node. The warm-up is reported {@link #inProgress()} as soon as this method returns.
+   *
+   * @param workload the additional warm-up workload
+   * @return the completion of the warm-up, with how long it took
+   */
+  public static CompletableFuture<Duration> start(final Runnable workload) {
+    IN_PROGRESS.incrementAndGet();
+    final CompletableFuture<Duration> done = new CompletableFuture<>();
+    try {
+      Thread.ofPlatform()
+          .name("linea-tracer-warm-up")
+          .daemon()
+          .start(
+              () -> {
+                try {
+                  done.complete(warmUp(workload));
+                } catch (Throwable e) {
+                  done.completeExceptionally(e);
+                } finally {
+                  IN_PROGRESS.decrementAndGet();
+                }
+              });
+    } catch (RuntimeException e) {
+      IN_PROGRESS.decrementAndGet();
+      done.completeExceptionally(e);
+    }
+    return done;
+  }
+
+  private static Duration warmUp(final Runnable workload) {
+    final long start = System.nanoTime();
+    log.info("[TRACING] loaded {} tracer classes", loadTracerClasses());
+    traceSyntheticBlock();
+    workload.run();
+
+    final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    log.info("[TRACING] tracer warmed up in {} ms", elapsed.toMillis());
+    return elapsed;
+  }
+
+  private static void traceSyntheticBlock() {
+    // Index the opcodes, should no module have done it yet
+    OpCodes.of(0);
+
+    final ZkTracer tracer = new ZkTracer();
+    final BlockHeader header = syntheticBlockHeader();
+    final BlockBody body = new BlockBody(List.of(), List.of());
+    tracer.traceStartConflation(1);
+    tracer.traceStartBlock(header, body);
+    tracer.traceEndBlock(header, body);
+    tracer.traceEndConflation(null);
+
+    Path traceFile = null;
+    try {
+      traceFile = Files.createTempFile("linea-tracer-warm-up", ".lt");
+      tracer.writeToFile(traceFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deleteQuietly(traceFile);
+      tracer.release();
+    }
+  }
+
+  /**
+   * Load, without initializing them, the classes of the tracer held by the same jar (or directory)
+   * as this class, so that those only reached by actual transactions are loaded too.
+   *
+   * @return the number of classes loaded
+   */
+  private static int loadTracerClasses() {
+    final CodeSource source = TracerWarmUp.class.getProtectionDomain().getCodeSource();
+    if (source == null) {
+      return 0;
+    }
+    try {
+      final Path location = Path.of(source.getLocation().toURI());
+      if (Files.isDirectory(location)) {
+        return loadClasses(location);
+      }
+      try (FileSystem jar = FileSystems.newFileSystem(location)) {
+        return loadClasses(jar.getPath("/"));
+      }
+    } catch (IOException | URISyntaxException e) {
+      log.warn("[TRACING] unable to list the tracer classes: {}", e.getMessage());
+      return 0;
+    }
+  }
+
+  private static int loadClasses(final Path root) throws IOException {
+    final Path tracerRoot = root.resolve(TRACER_PACKAGE);
+    if (!Files.isDirectory(tracerRoot)) {
+      return 0;
+    }
+
+    final ClassLoader loader = TracerWarmUp.class.getClassLoader();
+    final String separator = root.getFileSystem().getSeparator();
+    int loaded = 0;
+    try (Stream<Path> files = Files.walk(tracerRoot)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        final String name = root.relativize(file).toString();
+        if (!name.endsWith(".class") || name.endsWith("-info.class")) {
+          continue;
+        }
+        final String className =
+            name.substring(0, name.length() - ".class".length()).replace(separator, ".");
+        try {
+          Class.forName(className, false, loader);
+          loaded++;
+        } catch (ClassNotFoundException | LinkageError e) {
+          // e.g. a class depending on an optional library which is absent
+          log.debug("[TRACING] unable to load {}: {}", className, e.getMessage());
+        }
+      }
+    }
+    return loaded;
+  }
+
+  private static BlockHeader syntheticBlockHeader() {
+    return BlockHeaderBuilder.create()
+        .parentHash(Hash.ZERO)
+        .ommersHash(Hash.EMPTY_LIST_HASH)
+        .coinbase(Address.ZERO)
+        .stateRoot(Hash.EMPTY_TRIE_HASH)
+        .transactionsRoot(Hash.EMPTY_TRIE_HASH)
+        .receiptsRoot(Hash.EMPTY_TRIE_HASH)
+        .logsBloom(LogsBloomFilter.empty())
+        .difficulty(Difficulty.ONE)
+        .number(1)
+        .gasLimit(SYNTHETIC_BLOCK_GAS_LIMIT)
+        .gasUsed(0)
+        .timestamp(1)
+        .extraData(Bytes.EMPTY)
+        .mixHash(Hash.ZERO)
+        .prevRandao(Bytes32.ZERO)
+        .nonce(0)
+        .baseFee(Wei.of(7))
+        .blockHeaderFunctions(new CliqueBlockHeaderFunctions())
+        .buildBlockHeader();
+  }
+
+  private static void deleteQuietly(final Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("[TRACING] unable to delete {}: {}", path, e.getMessage());
+    }
+  }
+}
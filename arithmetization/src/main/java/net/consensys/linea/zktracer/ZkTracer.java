@@ -29,8 +29,11 @@ import java.util.Optional;
 import java.util.Set;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.config.LineaL1L2BridgeSharedConfiguration;
+import net.consensys.linea.zktracer.container.CapacityPlanner;
+import net.consensys.linea.zktracer.container.HeapBudget;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.exceptions.TracingExceptions;
 import net.consensys.linea.zktracer.module.DebugMode;
@@ -76,6 +79,15 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   private final Optional<DebugMode> debugMode;
   private Hash hashOfLastTransactionTraced = Hash.EMPTY;
 
+  /** Estimates how large the containers filled while tracing the conflation will grow. */
+  @Setter private CapacityPlanner capacityPlanner = new CapacityPlanner();
+
+  /** Bounds the estimated memory footprint of the conflation, checked at every block boundary. */
+  @Setter private HeapBudget heapBudget = HeapBudget.UNLIMITED;
+
+  /** The cumulated gas used by the blocks started so far in the conflation. */
+  private long conflationGasUsed;
+
   /** Accumulate all the exceptions that happened at tracing time. */
   @Getter private final List<Exception> tracingExceptions = new FiniteList<>(50);
 
@@ -112,9 +124,20 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   }
 
   public void writeToFile(final Path filename) {
+    writeModulesToFile(filename, hub.getModulesToTrace());
+  }
+
+  /**
+   * Write the trace of a subset of the modules as a standalone trace file, with a header only
+   * describing their own columns.
+   *
+   * @param filename the trace file to write
+   * @param modules the modules to trace, in commit order
+   * @return the headers of the columns written, in the order they appear in the file
+   */
+  public List<ColumnHeader> writeModulesToFile(final Path filename, final List<Module> modules) {
     maybeThrowTracingExceptions();
 
-    final List<Module> modules = hub.getModulesToTrace();
     final List<ColumnHeader> traceMap =
         modules.stream().flatMap(m -> m.columnsHeaders().stream()).toList();
     final int headerSize = traceMap.stream().mapToInt(ColumnHeader::headerSize).sum() + 4;
@@ -147,12 +170,16 @@ public class ZkTracer implements ConflationAwareOperationTracer {
       log.error("Error while writing to the file {}", filename);
       throw new RuntimeException(e);
     }
+
+    return traceMap;
   }
 
   @Override
   public void traceStartConflation(final long numBlocksInConflation) {
     try {
+      this.conflationGasUsed = 0;
       hub.traceStartConflation(numBlocksInConflation);
+      this.heapBudget.start(hub.getModulesToTrace());
       this.debugMode.ifPresent(x -> x.traceStartConflation(numBlocksInConflation));
     } catch (final Exception e) {
       this.tracingExceptions.add(e);
@@ -163,6 +190,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   public void traceEndConflation(final WorldView state) {
     try {
       this.hub.traceEndConflation(state);
+      this.hub.recordCapacity(this.capacityPlanner, this.conflationGasUsed);
       this.debugMode.ifPresent(DebugMode::traceEndConflation);
     } catch (final Exception e) {
       this.tracingExceptions.add(e);
@@ -173,9 +201,16 @@ public class ZkTracer implements ConflationAwareOperationTracer {
     }
   }
 
+  private void ensureCapacity(final long blockGasUsed) {
+    this.conflationGasUsed += blockGasUsed;
+    this.hub.ensureCapacity(this.capacityPlanner, this.conflationGasUsed);
+  }
+
   @Override
   public void traceStartBlock(final ProcessableBlockHeader processableBlockHeader) {
     try {
+      // The gas used by a block being built is unknown yet, so nothing is pre-sized for it
+      this.ensureCapacity(0);
       this.hub.traceStartBlock(processableBlockHeader);
       this.debugMode.ifPresent(DebugMode::traceEndConflation);
     } catch (final Exception e) {
@@ -186,6 +221,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   @Override
   public void traceStartBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
     try {
+      this.ensureCapacity(blockHeader.getGasUsed());
       this.hub.traceStartBlock(blockHeader);
       this.debugMode.ifPresent(x -> x.traceStartBlock(blockHeader, blockBody));
     } catch (final Exception e) {
@@ -201,6 +237,9 @@ public class ZkTracer implements ConflationAwareOperationTracer {
     } catch (final Exception e) {
       this.tracingExceptions.add(e);
     }
+
+    // Not gathered with the other exceptions: the conflation must be aborted right away
+    this.heapBudget.check(blockHeader.getNumber(), hub.getModulesToTrace());
   }
 
   public void tracePrepareTransaction(WorldView worldView, Transaction transaction) {
@@ -307,9 +346,33 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   public void popTransaction(final PendingTransaction pendingTransaction) {
     if (hashOfLastTransactionTraced.equals(pendingTransaction.getTransaction().getHash())) {
       hub.popTransaction();
+      hashOfLastTransactionTraced = Hash.EMPTY;
     }
   }
 
+  /**
+   * Capture the current tracing state, e.g. before trying out a bundle of transactions.
+   *
+   * @return a token to later roll back to with {@link #rollbackTo(Hub.Checkpoint)}
+   */
+  public Hub.Checkpoint checkpoint() {
+    return hub.checkpoint();
+  }
+
+  /** When called, erase all tracing related to the transactions included after the checkpoint. */
+  public void rollbackTo(final Hub.Checkpoint checkpoint) {
+    hub.rollbackTo(checkpoint);
+    hashOfLastTransactionTraced = Hash.EMPTY;
+  }
+
+  /**
+   * Hand the off-heap memory of this tracer over to the next tracers of the process, once its trace
+   * has been written or its lines counted. The tracer must not be used anymore afterward.
+   */
+  public void release() {
+    hub.mmu().payloads().free();
+  }
+
   private void maybeThrowTracingExceptions() {
     if (!this.tracingExceptions.isEmpty()) {
       throw new TracingExceptions(this.tracingExceptions);
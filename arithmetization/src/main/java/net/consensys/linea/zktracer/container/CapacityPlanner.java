@@ -0,0 +1,137 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estimates how many elements the containers filled while tracing a conflation will end up
+ * holding, so that they may be allocated once and for all rather than repeatedly regrown.
+ *
+ * <p>Estimates are proportional to the gas used by the conflation: for every container, the
+ * planner remembers the largest number of elements per unit of gas used observed in previous
+ * conflations, slowly decaying so that a single outlier does not inflate every following
+ * conflation. The gas limit is not used, as blocks typically use a small fraction of it. Before any
+ * conflation has been observed, no container gets an estimate. The history may be persisted, so as
+ * to survive restarts.
+ */
+@Slf4j
+public final class CapacityPlanner {
+  /** The key of the transactions of the conflation. */
+  public static final String TRANSACTIONS = "HUB_TRANSACTIONS";
+
+  /** The key of the call frames of the conflation. */
+  public static final String CALL_FRAMES = "HUB_CALL_FRAMES";
+
+  /** The key of the logs of the conflation. */
+  public static final String LOGS = "HUB_LOGS";
+
+  /** No container is ever pre-sized beyond this many elements. */
+  static final int MAX_CAPACITY = 1 << 20;
+
+  /** How much of a past estimate is retained when a smaller conflation is observed. */
+  static final double DECAY = 0.9;
+
+  private final Map<String, Double> elementsPerGas = new ConcurrentHashMap<>();
+
+  /**
+   * @param key the key of a container, e.g. a module key
+   * @param gasUsed the cumulated gas used by the blocks of the conflation
+   * @return the expected number of elements of the container, or 0 if unknown
+   */
+  public int expectedSize(final String key, final long gasUsed) {
+    final Double ratio = elementsPerGas.get(key);
+    if (ratio == null || gasUsed <= 0) {
+      return 0;
+    }
+    return (int) Math.min(MAX_CAPACITY, Math.round(ratio * gasUsed));
+  }
+
+  /**
+   * Remember the size reached by a container over a whole conflation.
+   *
+   * @param key the key of the container, e.g. a module key
+   * @param size the number of elements of the container at the end of the conflation
+   * @param gasUsed the cumulated gas used by the blocks of the conflation
+   */
+  public void record(final String key, final int size, final long gasUsed) {
+    if (gasUsed <= 0) {
+      return;
+    }
+    final double observed = (double) size / gasUsed;
+    elementsPerGas.merge(key, observed, (past, now) -> Math.max(now, DECAY * past));
+  }
+
+  /**
+   * Load the history persisted by {@link #save(Path)}, if any.
+   *
+   * @param path the file holding the history
+   * @return a planner initialized with the history
+   */
+  public static CapacityPlanner load(final Path path) {
+    final CapacityPlanner planner = new CapacityPlanner();
+    if (!Files.isRegularFile(path)) {
+      return planner;
+    }
+    final Properties history = new Properties();
+    try (InputStream in = Files.newInputStream(path)) {
+      history.load(in);
+      for (String key : history.stringPropertyNames()) {
+        planner.elementsPerGas.put(key, Double.parseDouble(history.getProperty(key)));
+      }
+    } catch (IOException | NumberFormatException e) {
+      log.warn("[TRACING] ignoring unreadable capacity history {}: {}", path, e.getMessage());
+    }
+    return planner;
+  }
+
+  /**
+   * Persist the history of this planner, replacing any previous one.
+   *
+   * @param path the file to hold the history
+   */
+  public synchronized void save(final Path path) {
+    final Properties history = new Properties();
+    elementsPerGas.forEach((key, ratio) -> history.setProperty(key, Double.toString(ratio)));
+    try {
+      final Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), "capacity", ".tmp");
+      boolean moved = false;
+      try {
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+          history.store(out, "Container elements per unit of gas used");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        moved = true;
+      } finally {
+        if (!moved) {
+          Files.deleteIfExists(tmp);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("[TRACING] unable to save capacity history to {}: {}", path, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.exceptions.HeapBudgetExceededException;
+
+/**
+ * Keeps a running estimate of the memory retained by the modules while tracing a conflation, and
+ * aborts the conflation as soon as it grows beyond a budget, rather than letting the JVM run out of
+ * heap once most of the work has been done.
+ *
+ * <p>The estimate of every module is its number of lines times the width of a line of its trace,
+ * plus whatever payloads it retains on top of its lines (see {@link Module#footprint(int)}). It is
+ * only checked at block boundaries, so a single block may overshoot the budget.
+ */
+@Accessors(fluent = true)
+public final class HeapBudget {
+  /** A budget which never gets exceeded. */
+  public static final HeapBudget UNLIMITED = new HeapBudget(0);
+
+  /** The maximal estimated footprint (in bytes) of a conflation; 0 means no limit. */
+  @Getter private final long budget;
+
+  /** The width (in bytes) of a line of the trace of every module, by module key. */
+  private final Map<String, Integer> bytesPerLine = new ConcurrentHashMap<>();
+
+  public HeapBudget(final long budget) {
+    this.budget = budget;
+  }
+
+  /**
+   * Measure the width of the lines of the given modules. Must be called whilst the modules are
+   * still empty, so that computing their column headers is cheap.
+   *
+   * @param modules the modules whose footprint will be checked
+   */
+  public void start(final List<Module> modules) {
+    if (budget <= 0) {
+      return;
+    }
+    for (Module m : modules) {
+      bytesPerLine.computeIfAbsent(
+          m.moduleKey(),
+          k -> m.columnsHeaders().stream().mapToInt(ColumnHeader::bytesPerElement).sum());
+    }
+  }
+
+  /**
+   * Estimate the footprint of the given modules, and abort if it exceeds the budget.
+   *
+   * @param blockNumber the block which has just been traced
+   * @param modules the modules whose footprint to check
+   * @throws HeapBudgetExceededException if the footprint exceeds the budget
+   */
+  public void check(final long blockNumber, final List<Module> modules) {
+    if (budget <= 0) {
+      return;
+    }
+    long footprint = 0;
+    String dominantModule = "";
+    long dominantFootprint = -1;
+    for (Module m : modules) {
+      final long moduleFootprint = m.footprint(bytesPerLine.getOrDefault(m.moduleKey(), 0));
+      footprint += moduleFootprint;
+      if (moduleFootprint > dominantFootprint) {
+        dominantModule = m.moduleKey();
+        dominantFootprint = moduleFootprint;
+      }
+    }
+    if (footprint > budget) {
+      throw new HeapBudgetExceededException(
+          blockNumber, footprint, budget, dominantModule, dominantFootprint);
+    }
+  }
+}
@@ -25,4 +25,12 @@ public interface StackedContainer {
 
   /** Erase the modifications brought while in the latest modification context. */
   void pop();
+
+  /**
+   * Erase the modifications brought while in every modification context entered after the first
+   * <code>contextCount</code> ones, as if they had all been popped.
+   *
+   * @param contextCount the number of modification contexts to keep
+   */
+  void rollback(int contextCount);
 }
@@ -36,6 +36,11 @@ public interface CountingOnlyModule extends Module {
     counts().pop();
   }
 
+  @Override
+  default void rollbackToTransaction(final int transactionCount) {
+    counts().rollback(transactionCount);
+  }
+
   @Override
   default int lineCount() {
     return counts().lineCount();
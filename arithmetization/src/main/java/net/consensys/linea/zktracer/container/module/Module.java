@@ -57,10 +57,29 @@ public interface Module {
   /** Called when a transaction execution is cancelled; should revert the state of the module. */
   void popTransaction();
 
+  /**
+   * Called when tracing is rolled back to a checkpoint; should revert the state of the module to
+   * what it was right after the given number of transactions of the conflation had been traced.
+   *
+   * @param transactionCount the number of transactions to keep
+   */
+  void rollbackToTransaction(int transactionCount);
+
   int lineCount();
 
   List<ColumnHeader> columnsHeaders();
 
+  /**
+   * Estimate the memory retained by the module for the conflation so far. This is called at every
+   * block boundary, so it must be cheap, and must not force any deferred computation.
+   *
+   * @param bytesPerLine the width (in bytes) of a line of the trace of the module
+   * @return the estimated footprint of the module, in bytes
+   */
+  default long footprint(final int bytesPerLine) {
+    return (long) lineCount() * bytesPerLine;
+  }
+
   default void commit(List<MappedByteBuffer> buffers) {
     throw new UnsupportedOperationException();
   }
@@ -36,6 +36,11 @@ public interface OperationListModule<E extends ModuleOperation> extends Module {
     operations().pop();
   }
 
+  @Override
+  default void rollbackToTransaction(final int transactionCount) {
+    operations().rollback(transactionCount);
+  }
+
   @Override
   default int lineCount() {
     return operations().lineCount();
@@ -40,6 +40,11 @@ public interface OperationSetModule<E extends ModuleOperation> extends Module {
     operations().pop();
   }
 
+  @Override
+  default void rollbackToTransaction(final int transactionCount) {
+    operations().rollback(transactionCount);
+  }
+
   @Override
   default int lineCount() {
     return operations().lineCount();
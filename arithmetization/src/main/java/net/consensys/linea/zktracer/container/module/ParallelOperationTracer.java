@@ -0,0 +1,107 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container.module;
+
+import java.nio.MappedByteBuffer;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.RowCursor;
+import net.consensys.linea.zktracer.container.ModuleOperation;
+
+/**
+ * Traces a sorted list of operations concurrently. As the number of rows generated by every
+ * operation is known in advance, the operations are split into chunks, each of which gets traced
+ * by its own worker, through its own trace, over its own {@link RowCursor} on a disjoint range of
+ * rows of the column buffers, starting from their current position.
+ *
+ * <p>This is only valid for operations whose tracing only depends on the operation itself and on
+ * its stamp, and which trace exactly {@link ModuleOperation#lineCount()} rows.
+ */
+public final class ParallelOperationTracer {
+  /** Below this many operations per worker, tracing concurrently is not worth it. */
+  static final int MIN_OPERATIONS_PER_CHUNK = 1 << 12;
+
+  private ParallelOperationTracer() {}
+
+  /**
+   * Trace a single operation.
+   *
+   * @param <E> the type of the operations
+   * @param <T> the type of the module trace
+   */
+  @FunctionalInterface
+  public interface OperationTracer<E, T> {
+    void trace(E operation, int stamp, T trace);
+  }
+
+  /**
+   * Trace every operation, the i-th one having stamp i + 1. Once done, the position of every
+   * buffer is set right after the rows of the last operation, so that the module may trace
+   * additional rows with a new trace.
+   *
+   * @param operations the sorted operations
+   * @param headers the headers of the module columns, in the order of the buffers
+   * @param buffers the column buffers
+   * @param traceFactory builds a module trace writing into the given buffers
+   * @param tracer traces a single operation
+   * @param <E> the type of the operations
+   * @param <T> the type of the module trace
+   */
+  public static <E extends ModuleOperation, T> void trace(
+      final List<E> operations,
+      final List<ColumnHeader> headers,
+      final List<MappedByteBuffer> buffers,
+      final Function<List<MappedByteBuffer>, T> traceFactory,
+      final OperationTracer<E, T> tracer) {
+    final int parallelism = Runtime.getRuntime().availableProcessors();
+    final int chunkCount = Math.min(parallelism, operations.size() / MIN_OPERATIONS_PER_CHUNK);
+
+    if (chunkCount <= 1) {
+      final T trace = traceFactory.apply(buffers);
+      for (int i = 0; i < operations.size(); i++) {
+        tracer.trace(operations.get(i), i + 1, trace);
+      }
+      return;
+    }
+
+    final int firstRow =
+        buffers.isEmpty() ? 0 : buffers.get(0).position() / headers.get(0).bytesPerElement();
+    final RowOffsets rows = RowOffsets.of(operations, firstRow);
+    final int[] chunkStarts = new int[chunkCount + 1];
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      chunkStarts[chunk + 1] = (int) ((long) operations.size() * (chunk + 1) / chunkCount);
+    }
+
+    IntStream.range(0, chunkCount)
+        .parallel()
+        .forEach(
+            chunk -> {
+              final int from = chunkStarts[chunk];
+              final int to = chunkStarts[chunk + 1];
+              final RowCursor cursor =
+                  RowCursor.over(headers, buffers, rows.firstRow(from), rows.rowCount(from, to));
+              final T trace = traceFactory.apply(cursor.columns());
+              for (int i = from; i < to; i++) {
+                tracer.trace(operations.get(i), i + 1, trace);
+              }
+            });
+
+    RowCursor.over(headers, buffers, firstRow, rows.end() - firstRow).seekPast(headers, buffers);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container.module;
+
+import java.util.List;
+
+import net.consensys.linea.zktracer.container.ModuleOperation;
+
+/**
+ * The first row of each operation of a sorted list within the module trace, precomputed from
+ * their line counts, so that any operation can be traced independently of the others.
+ */
+public final class RowOffsets {
+  /** The first row of every operation, followed by the total number of rows. */
+  private final int[] firstRows;
+
+  private RowOffsets(final int[] firstRows) {
+    this.firstRows = firstRows;
+  }
+
+  /**
+   * @param operations the operations, in the order they will be traced
+   * @param firstRow the row of the first operation
+   * @return the rows of the operations
+   */
+  public static RowOffsets of(
+      final List<? extends ModuleOperation> operations, final int firstRow) {
+    final int[] firstRows = new int[operations.size() + 1];
+    firstRows[0] = firstRow;
+    for (int i = 0; i < operations.size(); i++) {
+      firstRows[i + 1] = firstRows[i] + operations.get(i).lineCount();
+    }
+    return new RowOffsets(firstRows);
+  }
+
+  /**
+   * @param operation the index of an operation, or the number of operations
+   * @return the first row of this operation, or the row following the last operation
+   */
+  public int firstRow(final int operation) {
+    return firstRows[operation];
+  }
+
+  /**
+   * @param from the index of the first operation
+   * @param to the index following the last operation
+   * @return the number of rows of the operations
+   */
+  public int rowCount(final int from, final int to) {
+    return firstRows[to] - firstRows[from];
+  }
+
+  /**
+   * @return the row following the last operation
+   */
+  public int end() {
+    return firstRows[firstRows.length - 1];
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container.stacked;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Records, for an append-only container, the position at which each of its still live modification
+ * contexts (i.e. transactions) started. This is what allows the stacked containers to roll back
+ * any number of contexts at once, in time proportional to the amount of discarded elements rather
+ * than to the size of the container.
+ */
+final class ContextBoundaries {
+  private int[] starts = new int[64];
+  private int contextCount = 0;
+
+  /**
+   * Open a new modification context.
+   *
+   * @param position the current size of the container
+   */
+  void enter(final int position) {
+    if (contextCount == starts.length) {
+      starts = Arrays.copyOf(starts, 2 * starts.length);
+    }
+    starts[contextCount++] = position;
+  }
+
+  /**
+   * Close the latest modification context.
+   *
+   * @return the position at which the container must be truncated
+   */
+  int pop() {
+    return contextCount == 0 ? 0 : starts[--contextCount];
+  }
+
+  /**
+   * Close every modification context opened after the first <code>keptContexts</code> ones.
+   *
+   * @param keptContexts the number of modification contexts to keep
+   * @param end the current size of the container
+   * @return the position at which the container must be truncated
+   */
+  int rollback(final int keptContexts, final int end) {
+    Preconditions.checkArgument(
+        keptContexts >= 0 && keptContexts <= contextCount,
+        "cannot roll back to %s contexts out of %s",
+        keptContexts,
+        contextCount);
+    if (keptContexts == contextCount) {
+      return end;
+    }
+    contextCount = keptContexts;
+    return starts[keptContexts];
+  }
+
+  /**
+   * @return the position at which the latest modification context started
+   */
+  int currentStart() {
+    return contextCount == 0 ? 0 : starts[contextCount - 1];
+  }
+
+  int contextCount() {
+    return contextCount;
+  }
+
+  void clear() {
+    contextCount = 0;
+  }
+}
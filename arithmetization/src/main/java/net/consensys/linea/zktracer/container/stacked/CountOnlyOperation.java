@@ -16,41 +16,51 @@
 package net.consensys.linea.zktracer.container.stacked;
 
 import com.google.common.base.Preconditions;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
+import net.consensys.linea.zktracer.container.StackedContainer;
 
 @Accessors(fluent = true)
 @RequiredArgsConstructor
-public class CountOnlyOperation {
+public class CountOnlyOperation implements StackedContainer {
 
-  private int countCommitedToTheConflation = 0;
-  @Getter private int countInTransaction = 0;
+  private int count = 0;
+  private final ContextBoundaries boundaries = new ContextBoundaries();
 
   /**
-   * when we enter a transaction, the previous transaction is definitely added to the block and
-   * can't be pop
+   * when we enter a transaction, we remember the count reached so far, so that this transaction
+   * (and any later one) can be popped or rolled back
    */
+  @Override
   public void enter() {
-    countCommitedToTheConflation += countInTransaction;
-    countInTransaction = 0;
+    boundaries.enter(count);
   }
 
+  @Override
   public void pop() {
-    countInTransaction = 0;
+    count = boundaries.pop();
+  }
+
+  @Override
+  public void rollback(final int contextCount) {
+    count = boundaries.rollback(contextCount, count);
   }
 
   public void add(final int operationCount) {
     Preconditions.checkArgument(operationCount >= 0, "operationCount must be positive");
-    countInTransaction += operationCount;
+    count += operationCount;
+  }
+
+  public int countInTransaction() {
+    return count - boundaries.currentStart();
   }
 
   public int lineCount() {
-    return countCommitedToTheConflation + countInTransaction;
+    return count;
   }
 
   public void clear() {
-    countCommitedToTheConflation = 0;
-    countInTransaction = 0;
+    count = 0;
+    boundaries.clear();
   }
 }
@@ -20,69 +20,86 @@ import java.util.Collection;
 import java.util.List;
 
 import com.google.common.base.Preconditions;
-import lombok.Getter;
-import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.container.StackedContainer;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Implements a system of pseudo-stacked squashed List where {@link
- * ModuleOperationStackedList#operationsCommitedToTheConflation} represents the List of all
- * operations since the beginning of the conflation and {@link
- * ModuleOperationStackedList#operationsInTransaction} represents the operations added by the last
- * transaction. We can pop only the operations added by last transaction. The line counting is done
- * by a separate {@link CountOnlyOperation}.
+ * ModuleOperationStackedList#operations} holds all the operations since the beginning of the
+ * conflation, in order, and {@link ModuleOperationStackedList#operationsInTransaction} is a view on
+ * the operations added by the last transaction. The position at which every transaction started is
+ * recorded, so that we can pop the last transaction, or roll back any number of them at once. The
+ * line counting is done by a separate {@link CountOnlyOperation}.
  *
  * @param <E> the type of elements stored in the set
  */
-@Accessors(fluent = true)
-public class ModuleOperationStackedList<E extends ModuleOperation> {
-  private final List<E> operationsCommitedToTheConflation;
-  @Getter private final List<E> operationsInTransaction;
+public class ModuleOperationStackedList<E extends ModuleOperation> implements StackedContainer {
+  private final ArrayList<E> operations;
+  private final ContextBoundaries boundaries = new ContextBoundaries();
   private final CountOnlyOperation lineCounter = new CountOnlyOperation();
   private boolean conflationFinished = false;
 
   public ModuleOperationStackedList() {
-    operationsCommitedToTheConflation = new ArrayList<>();
-    operationsInTransaction = new ArrayList<>();
+    operations = new ArrayList<>();
   }
 
   /** Prefer this constructor as we preallocate more needed memory */
   public ModuleOperationStackedList(
       final int expectedConflationNumberOperations, final int expectedTransactionNumberOperations) {
-    operationsCommitedToTheConflation = new ArrayList<>(expectedConflationNumberOperations);
-    operationsInTransaction = new ArrayList<>(expectedTransactionNumberOperations);
+    operations =
+        new ArrayList<>(expectedConflationNumberOperations + expectedTransactionNumberOperations);
   }
 
   /**
-   * when we enter a transaction, the previous transaction is definitely added to the block and
-   * can't be pop
+   * Make room for the operations expected in the conflation.
+   *
+   * @param expectedConflationNumberOperations the expected number of operations
    */
+  public void ensureCapacity(final int expectedConflationNumberOperations) {
+    operations.ensureCapacity(expectedConflationNumberOperations);
+  }
+
+  /** when we enter a transaction, we remember where its operations start */
+  @Override
   public void enter() {
-    operationsCommitedToTheConflation.addAll(operationsInTransaction);
-    operationsInTransaction.clear();
+    boundaries.enter(operations.size());
     lineCounter.enter();
   }
 
+  @Override
   public void pop() {
-    operationsInTransaction.clear();
+    truncate(boundaries.pop());
     lineCounter.pop();
   }
 
+  @Override
+  public void rollback(final int contextCount) {
+    truncate(boundaries.rollback(contextCount, operations.size()));
+    lineCounter.rollback(contextCount);
+  }
+
+  private void truncate(final int size) {
+    operations.subList(size, operations.size()).clear();
+  }
+
+  /**
+   * @return a view on the operations added by the last transaction
+   */
+  public List<E> operationsInTransaction() {
+    return operations.subList(boundaries.currentStart(), operations.size());
+  }
+
   public E getFirst() {
-    return operationsCommitedToTheConflation.isEmpty()
-        ? operationsInTransaction.getFirst()
-        : operationsCommitedToTheConflation.getFirst();
+    return operations.getFirst();
   }
 
   public E getLast() {
-    return operationsInTransaction.isEmpty()
-        ? operationsCommitedToTheConflation.getLast()
-        : operationsInTransaction.getLast();
+    return operations.getLast();
   }
 
   public int size() {
-    return operationsInTransaction.size() + operationsCommitedToTheConflation.size();
+    return operations.size();
   }
 
   public int lineCount() {
@@ -90,16 +107,12 @@ public class ModuleOperationStackedList<E extends ModuleOperation> {
   }
 
   public E get(int index) {
-    if (index < operationsCommitedToTheConflation.size()) {
-      return operationsCommitedToTheConflation.get(index);
-    } else {
-      return operationsInTransaction.get(index - operationsCommitedToTheConflation.size());
-    }
+    return operations.get(index);
   }
 
   public List<E> getAll() {
     Preconditions.checkState(conflationFinished, "Conflation not finished");
-    return operationsCommitedToTheConflation;
+    return operations;
   }
 
   public boolean isEmpty() {
@@ -107,12 +120,12 @@ public class ModuleOperationStackedList<E extends ModuleOperation> {
   }
 
   public boolean contains(Object o) {
-    return operationsInTransaction.contains(o) || operationsCommitedToTheConflation.contains(o);
+    return operations.contains(o);
   }
 
   public boolean add(E e) {
     lineCounter.add(e.lineCount());
-    return operationsInTransaction.add(e);
+    return operations.add(e);
   }
 
   public boolean addAll(@NotNull Collection<? extends E> c) {
@@ -124,15 +137,13 @@ public class ModuleOperationStackedList<E extends ModuleOperation> {
   }
 
   public void clear() {
-    operationsCommitedToTheConflation.clear();
-    operationsInTransaction.clear();
+    operations.clear();
+    boundaries.clear();
     lineCounter.clear();
   }
 
   public void finishConflation() {
     conflationFinished = true;
-    operationsCommitedToTheConflation.addAll(operationsInTransaction);
-    operationsInTransaction.clear();
-    lineCounter.enter(); // this is not mandatory but it is more consistent
+    this.enter(); // this is not mandatory but it is more consistent
   }
 }
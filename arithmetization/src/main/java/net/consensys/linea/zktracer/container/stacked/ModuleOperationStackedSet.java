@@ -15,7 +15,7 @@
 
 package net.consensys.linea.zktracer.container.stacked;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -31,11 +31,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implements a system of pseudo-stacked squashed sets where {@link
- * ModuleOperationStackedSet#operationsCommitedToTheConflation()} represents the set of all
- * operations since the beginning of the conflation and {@link
- * ModuleOperationStackedSet#operationsInTransaction()} represents the operations added by the last
- * transaction. We can pop only the operations added by last transaction. The line counting is done
- * by a separate {@link CountOnlyOperation}.
+ * ModuleOperationStackedSet#operationsCommitedToTheConflation()} represents the operations added
+ * before the last transaction and {@link ModuleOperationStackedSet#operationsInTransaction()}
+ * represents the operations added by the last transaction. We can pop the last transaction, or roll
+ * back any number of transactions at once. The line counting is done by a separate {@link
+ * CountOnlyOperation}.
  *
  * @param <E> the type of elements stored in the set
  */
@@ -62,18 +62,22 @@ public class ModuleOperationStackedSet<E extends ModuleOperation> extends Stacke
    * ModuleOperationStackedSet#operationsCommitedToTheConflation()}. {@link
    * ModuleOperationStackedSet#operationsInTransaction()} is further reset to be empty.
    */
+  @Override
   public void enter() {
     super.enter();
     lineCounter.enter();
   }
 
+  @Override
   public void pop() {
     super.pop();
     lineCounter.pop();
   }
 
-  public int size() {
-    return operationsInTransaction().size() + operationsCommitedToTheConflation().size();
+  @Override
+  public void rollback(final int contextCount) {
+    super.rollback(contextCount);
+    lineCounter.rollback(contextCount);
   }
 
   public int lineCount() {
@@ -82,31 +86,25 @@ public class ModuleOperationStackedSet<E extends ModuleOperation> extends Stacke
 
   public Set<E> getAll() {
     Preconditions.checkState(conflationFinished, "Conflation not finished");
-    return operationsCommitedToTheConflation();
+    return elements();
   }
 
   public boolean isEmpty() {
     return size() == 0;
   }
 
-  public boolean contains(Object o) {
-    return operationsInTransaction().contains(o) || operationsCommitedToTheConflation().contains(o);
-  }
-
+  @Override
   public boolean add(E e) {
-    if (!operationsCommitedToTheConflation().contains(e)) {
-      final boolean isNew = operationsInTransaction().add(e);
-      if (isNew) {
-        lineCounter.add(e.lineCount());
-      }
-      return isNew;
+    final boolean isNew = super.add(e);
+    if (isNew) {
+      lineCounter.add(e.lineCount());
     } else {
       log.trace(
-          "Operation of type {} was already in operationsCommitedToTheConflation hashset, reference is ",
+          "Operation of type {} was already in the conflation hashset, reference is {}",
           e.getClass().getName(),
           e);
     }
-    return false;
+    return isNew;
   }
 
   public boolean containsAll(@NotNull Collection<?> c) {
@@ -126,22 +124,25 @@ public class ModuleOperationStackedSet<E extends ModuleOperation> extends Stacke
     return r;
   }
 
+  @Override
   public void clear() {
-    operationsCommitedToTheConflation().clear();
-    operationsInTransaction().clear();
+    super.clear();
     lineCounter.clear();
   }
 
   public void finishConflation() {
     conflationFinished = true;
-    operationsCommitedToTheConflation().addAll(operationsInTransaction());
-    operationsInTransaction().clear();
-    lineCounter.enter(); // this is not mandatory but it is more consistent
+    this.enter(); // this is not mandatory but it is more consistent
   }
 
+  /**
+   * @param comparator the order in which the operations must be traced
+   * @return the operations of the conflation, sorted (concurrently, for large conflations)
+   */
+  @SuppressWarnings("unchecked")
   public List<E> sortOperations(Comparator<E> comparator) {
-    final List<E> sortedOperations = new ArrayList<>(getAll());
-    sortedOperations.sort(comparator);
-    return sortedOperations;
+    final E[] sortedOperations = (E[]) getAll().toArray(new ModuleOperation[0]);
+    Arrays.parallelSort(sortedOperations, comparator);
+    return Arrays.asList(sortedOperations);
   }
 }
@@ -15,50 +15,108 @@
 
 package net.consensys.linea.zktracer.container.stacked;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
-import lombok.Getter;
-import lombok.experimental.Accessors;
+import net.consensys.linea.zktracer.container.StackedContainer;
 
-@Accessors(fluent = true)
-@Getter
-public class StackedSet<E> {
-  private final Set<E> operationsCommitedToTheConflation;
-  private final Set<E> operationsInTransaction;
+/**
+ * Implements a system of pseudo-stacked squashed sets, where all the elements added since the
+ * beginning of the conflation live in a single set. The elements are further logged in insertion
+ * order, alongside the position in this log at which every transaction started, so that we can pop
+ * the last transaction, or roll back any number of them at once, by only removing the discarded
+ * elements from the set.
+ *
+ * @param <E> the type of elements stored in the set
+ */
+public class StackedSet<E> implements StackedContainer {
+  private final Set<E> elements;
+  private final List<E> insertionLog;
+  private final ContextBoundaries boundaries = new ContextBoundaries();
 
   public StackedSet() {
-    operationsCommitedToTheConflation = new HashSet<>();
-    operationsInTransaction = new HashSet<>();
+    elements = new HashSet<>();
+    insertionLog = new ArrayList<>();
   }
 
   /** Prefer this constructor as we preallocate more needed memory */
   public StackedSet(
       final int expectedConflationNumberOperations, final int expectedTransactionNumberOperations) {
-    operationsCommitedToTheConflation = new HashSet<>(expectedConflationNumberOperations);
-    operationsInTransaction = new HashSet<>(expectedTransactionNumberOperations);
+    elements = new HashSet<>(expectedConflationNumberOperations);
+    insertionLog =
+        new ArrayList<>(expectedConflationNumberOperations + expectedTransactionNumberOperations);
   }
 
   /**
-   * Upon entering a new transaction, the set of operations generated by the previous transaction
-   * {@link ModuleOperationStackedSet#operationsInTransaction()} (which is empty if no such
-   * transaction exists) is added to the set of committed operations {@link
-   * ModuleOperationStackedSet#operationsCommitedToTheConflation()}. {@link
-   * ModuleOperationStackedSet#operationsInTransaction()} is further reset to be empty.
+   * Upon entering a new transaction, the elements generated by the previous transaction (if any)
+   * become part of {@link StackedSet#operationsCommitedToTheConflation()}, and {@link
+   * StackedSet#operationsInTransaction()} is further reset to be empty.
    */
+  @Override
   public void enter() {
-    operationsCommitedToTheConflation().addAll(operationsInTransaction());
-    operationsInTransaction().clear();
+    boundaries.enter(insertionLog.size());
   }
 
+  @Override
   public void pop() {
-    operationsInTransaction().clear();
+    truncate(boundaries.pop());
+  }
+
+  @Override
+  public void rollback(final int contextCount) {
+    truncate(boundaries.rollback(contextCount, insertionLog.size()));
+  }
+
+  private void truncate(final int size) {
+    final List<E> discarded = insertionLog.subList(size, insertionLog.size());
+    for (E e : discarded) {
+      elements.remove(e);
+    }
+    discarded.clear();
   }
 
   public boolean add(E e) {
-    if (!operationsCommitedToTheConflation().contains(e)) {
-      return operationsInTransaction().add(e);
+    if (elements.add(e)) {
+      insertionLog.add(e);
+      return true;
     }
     return false;
   }
+
+  public boolean contains(Object o) {
+    return elements.contains(o);
+  }
+
+  public int size() {
+    return elements.size();
+  }
+
+  /**
+   * @return all the elements added since the beginning of the conflation
+   */
+  protected Set<E> elements() {
+    return elements;
+  }
+
+  /**
+   * @return the elements added before the last transaction, in insertion order
+   */
+  public List<E> operationsCommitedToTheConflation() {
+    return insertionLog.subList(0, boundaries.currentStart());
+  }
+
+  /**
+   * @return the elements added by the last transaction, in insertion order
+   */
+  public List<E> operationsInTransaction() {
+    return insertionLog.subList(boundaries.currentStart(), insertionLog.size());
+  }
+
+  public void clear() {
+    elements.clear();
+    insertionLog.clear();
+    boundaries.clear();
+  }
 }
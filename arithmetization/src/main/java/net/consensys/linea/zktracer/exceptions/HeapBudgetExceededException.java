@@ -0,0 +1,58 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Raised when the estimated memory footprint of a conflation being traced exceeds its budget; see
+ * {@link net.consensys.linea.zktracer.container.HeapBudget}.
+ */
+@Getter
+public class HeapBudgetExceededException extends RuntimeException {
+  /** The block at the end of which the budget was found exceeded. */
+  private final long blockNumber;
+
+  /** The estimated footprint (in bytes) of the conflation. */
+  private final long footprint;
+
+  /** The budget (in bytes) of the conflation. */
+  private final long budget;
+
+  /** The module with the largest estimated footprint. */
+  private final String dominantModule;
+
+  /** The estimated footprint (in bytes) of the dominant module. */
+  private final long dominantFootprint;
+
+  public HeapBudgetExceededException(
+      final long blockNumber,
+      final long footprint,
+      final long budget,
+      final String dominantModule,
+      final long dominantFootprint) {
+    super(
+        String.format(
+            "estimated footprint of %d bytes exceeds the budget of %d bytes at block %d, "
+                + "%s retaining %d bytes",
+            footprint, budget, blockNumber, dominantModule, dominantFootprint));
+    this.blockNumber = blockNumber;
+    this.footprint = footprint;
+    this.budget = budget;
+    this.dominantModule = dominantModule;
+    this.dominantFootprint = dominantFootprint;
+  }
+}
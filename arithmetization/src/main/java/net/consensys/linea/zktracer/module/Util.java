@@ -28,15 +28,16 @@ import org.hyperledger.besu.datatypes.TransactionType;
 /** Utility class that provides various helper methods. */
 public class Util {
   /**
-   * Converts the bits of an unsigned byte into an array of Booleans.
+   * Converts the bits of an unsigned byte into an array of booleans, most significant bit first.
    *
    * @param b The unsigned byte to be converted.
-   * @return A Boolean array containing the bits of the input byte.
+   * @return A boolean array containing the bits of the input byte.
    */
-  public static Boolean[] byteBits(final UnsignedByte b) {
-    final Boolean[] bits = new Boolean[8];
+  public static boolean[] byteBits(final UnsignedByte b) {
+    final int value = b.toInteger();
+    final boolean[] bits = new boolean[8];
     for (int i = 0; i < 8; i++) {
-      bits[7 - i] = b.shiftRight(i).mod(2).toInteger() == 1;
+      bits[i] = ((value >> (7 - i)) & 1) == 1;
     }
     return bits;
   }
@@ -25,6 +25,7 @@ import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes32;
@@ -60,11 +61,12 @@ public class Add implements OperationSetModule<AddOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-    int stamp = 0;
-    for (AddOperation op : sortOperations(new AddOperationComparator())) {
-      op.trace(++stamp, trace);
-    }
+    ParallelOperationTracer.trace(
+        sortOperations(new AddOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (op, stamp, trace) -> op.trace(stamp, trace));
   }
 
   public BigInteger callADD(Bytes32 arg1, Bytes32 arg2) {
@@ -25,6 +25,7 @@ import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.bytestheta.BaseBytes;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes32;
@@ -57,12 +58,12 @@ public class Bin implements OperationSetModule<BinOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (BinOperation op : operations.sortOperations(new BinOperationComparator())) {
-      op.traceBinOperation(++stamp, trace);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new BinOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (op, stamp, trace) -> op.traceBinOperation(stamp, trace));
   }
 
   @Override
@@ -17,11 +17,6 @@ package net.consensys.linea.zktracer.module.bin;
 
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGEMO;
-import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Stream;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -44,7 +39,7 @@ public class BinOperation extends ModuleOperation {
   @EqualsAndHashCode.Include private final BaseBytes arg2;
 
   private int ctMax;
-  private List<Boolean> lastEightBits = List.of(false);
+  private int lastByte = 0;
   private boolean bit4 = false;
   private int low4 = 0;
   private boolean isSmall = false;
@@ -115,35 +110,16 @@ public class BinOperation extends ModuleOperation {
     return BaseBytes.fromBytes32(Bytes32.leftPad(Bytes.ofUnsignedShort(result)));
   }
 
-  private List<Boolean> getLastEightBits() {
-    final int leastByteOfArg1 = arg1().getByte(31) & 0xff;
-    return bitDecomposition(leastByteOfArg1, 8).bitDecList();
+  private int getLastByte() {
+    return arg1().getByte(31) & 0xff;
   }
 
   private boolean getBit4() {
-    return getLastEightBits().get(3);
+    return ((lastByte >> 4) & 1) == 1;
   }
 
   private int getLow4() {
-    int r = 0;
-    for (int k = 0; k < 4; k++) {
-      if (lastEightBits.get(7 - k)) {
-        r += (int) Math.pow(2, k);
-      }
-    }
-    return r;
-  }
-
-  private List<Boolean> getBit1() {
-    return plateau(pivotThreshold);
-  }
-
-  private List<Boolean> plateau(final int threshold) {
-    ArrayList<Boolean> output = new ArrayList<>(16);
-    for (int ct = 0; ct < 16; ct++) {
-      output.add(ct, ct >= threshold);
-    }
-    return output;
+    return lastByte & 0xf;
   }
 
   private int getPivot() {
@@ -173,12 +149,8 @@ public class BinOperation extends ModuleOperation {
     }
   }
 
-  private List<Boolean> getFirstEightBits() {
-    return bitDecomposition(pivot, 8).bitDecList();
-  }
-
   private void compute() {
-    this.lastEightBits = getLastEightBits();
+    this.lastByte = getLastByte();
     this.bit4 = getBit4();
     this.low4 = getLow4();
     this.isSmall = isSmall();
@@ -200,11 +172,11 @@ public class BinOperation extends ModuleOperation {
     final Bytes arg1Lo = this.arg1.getLow().slice(offset, length);
     final Bytes arg2Hi = this.arg2.getHigh().slice(offset, length);
     final Bytes arg2Lo = this.arg2.getLow().slice(offset, length);
-    final Bytes resHi = this.getResult().getHigh().slice(offset, length);
-    final Bytes resLo = this.getResult().getLow().slice(offset, length);
-    final List<Boolean> bit1 = this.getBit1();
-    final List<Boolean> bits =
-        Stream.concat(this.getFirstEightBits().stream(), this.lastEightBits.stream()).toList();
+    final BaseBytes result = this.getResult();
+    final Bytes resHi = result.getHigh().slice(offset, length);
+    final Bytes resLo = result.getLow().slice(offset, length);
+    // The bits of the pivot followed by those of the last byte of arg1, most significant first
+    final int bits = this.pivot << 8 | this.lastByte;
     for (int ct = 0; ct <= this.ctMax; ct++) {
       trace
           .stamp(stamp)
@@ -224,11 +196,11 @@ public class BinOperation extends ModuleOperation {
           .isByte(this.opCode() == OpCode.BYTE)
           .isSignextend(this.opCode() == OpCode.SIGNEXTEND)
           .small(this.isSmall)
-          .bits(bits.get(ct))
+          .bits(((bits >> (LLARGEMO - ct)) & 1) == 1)
           .bitB4(this.bit4)
           .low4(UnsignedByte.of(this.low4))
-          .neg(bits.get(0))
-          .bit1(bit1.get(ct))
+          .neg(((bits >> LLARGEMO) & 1) == 1)
+          .bit1(ct >= this.pivotThreshold)
           .pivot(UnsignedByte.of(this.pivot))
           .byte1(UnsignedByte.of(arg1Hi.get(ct)))
           .byte2(UnsignedByte.of(arg1Lo.get(ct)))
@@ -80,6 +80,9 @@ public class Blockdata implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     final int numberOfBlock = conflationFinished ? operations.size() : operations.size() + 1;
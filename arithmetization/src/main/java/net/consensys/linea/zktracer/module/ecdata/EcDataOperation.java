@@ -56,6 +56,7 @@ import java.util.List;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.module.ecdata.bn254.Bn254G2;
 import net.consensys.linea.zktracer.module.ext.Ext;
 import net.consensys.linea.zktracer.module.hub.fragment.scenario.PrecompileScenarioFragment;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
@@ -64,8 +65,6 @@ import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
-import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
-import org.hyperledger.besu.crypto.altbn128.Fq2;
 
 @Accessors(fluent = true)
 public class EcDataOperation extends ModuleOperation {
@@ -543,10 +542,9 @@ public class EcDataOperation extends ModuleOperation {
       boolean largePointIsAtInfinity = callToWellFormedCoordinatesReturnedValues.getRight();
 
       // Check if the large point is on G2
-      final Fq2 bX = Fq2.create(bXRe.toUnsignedBigInteger(), bXIm.toUnsignedBigInteger());
-      final Fq2 bY = Fq2.create(bYRe.toUnsignedBigInteger(), bYIm.toUnsignedBigInteger());
-      final AltBn128Fq2Point b = new AltBn128Fq2Point(bX, bY);
-      if (!atLeastOneLargePointIsNotOnG2 && (!b.isOnCurve() || !b.isInGroup())) {
+      if (!atLeastOneLargePointIsNotOnG2
+          && !G2MembershipCache.SHARED.isOnG2(
+              rightPaddedCallData.slice(64 + bytesOffset, Bn254G2.ENCODING_SIZE))) {
         atLeastOneLargePointIsNotOnG2 = true;
         firstLargePointNotOnG2 = true;
         notOnG2AccMax = true;
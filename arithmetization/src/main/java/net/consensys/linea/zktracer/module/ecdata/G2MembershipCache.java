@@ -0,0 +1,73 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.consensys.linea.zktracer.module.ecdata.bn254.Bn254G2;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A bounded memo of the G2 membership of the large points of ECPAIRING calls, keyed by their
+ * 128-byte encoding. zk-verifier contracts pair against the same few verification key points over
+ * and over, whose membership then only ever gets checked once. The least recently used points are
+ * evicted first.
+ */
+public final class G2MembershipCache {
+  /** The default maximal number of points held by a cache. */
+  static final int DEFAULT_CAPACITY = 4096;
+
+  /** The cache shared by all the tracers of the process. */
+  public static final G2MembershipCache SHARED = new G2MembershipCache(DEFAULT_CAPACITY);
+
+  private final Map<Bytes, Boolean> memberships;
+
+  public G2MembershipCache(final int capacity) {
+    this.memberships =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Bytes, Boolean> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * @param encoding the {@link Bn254G2#ENCODING_SIZE} bytes of a large point
+   * @return whether it is a point of G2, see {@link Bn254G2#isOnG2(Bytes)}
+   */
+  public boolean isOnG2(final Bytes encoding) {
+    synchronized (this) {
+      final Boolean known = memberships.get(encoding);
+      if (known != null) {
+        return known;
+      }
+    }
+    final boolean membership = Bn254G2.isOnG2(encoding);
+    synchronized (this) {
+      memberships.put(encoding.copy(), membership);
+    }
+    return membership;
+  }
+
+  /**
+   * @return the number of points held by this cache
+   */
+  public synchronized int size() {
+    return memberships.size();
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata.bn254;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic in the base field F_p of BN254 (alt_bn128). Elements are represented in Montgomery
+ * form as four little-endian 64-bit limbs; all operations return fresh arrays and never modify
+ * their inputs.
+ */
+public final class Bn254Fp {
+  public static final BigInteger P =
+      new BigInteger(
+          "21888242871839275222246405745257275088696311157297823662689037894645226208583");
+
+  static final int LIMBS = 4;
+
+  private static final long[] MODULUS = limbs(P);
+
+  /** -p^-1 mod 2^64 */
+  private static final long INV = P.modInverse(BigInteger.ONE.shiftLeft(64)).negate().longValue();
+
+  /** R^2 mod p, with R = 2^256, used to enter the Montgomery domain */
+  private static final long[] R2 = limbs(BigInteger.ONE.shiftLeft(512).mod(P));
+
+  private static final long[] RAW_ONE = new long[] {1, 0, 0, 0};
+
+  public static final long[] ZERO = new long[LIMBS];
+  public static final long[] ONE = limbs(BigInteger.ONE.shiftLeft(256).mod(P));
+
+  private Bn254Fp() {}
+
+  /**
+   * @param value a non-negative integer strictly smaller than p
+   * @return its Montgomery representation
+   */
+  public static long[] of(BigInteger value) {
+    return mul(limbs(value), R2);
+  }
+
+  /**
+   * @param bytes 32 big-endian bytes
+   * @param offset the offset of the first byte
+   * @return the big-endian integer as raw (non-Montgomery) limbs
+   */
+  static long[] fromBytes(byte[] bytes, int offset) {
+    final long[] r = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      long limb = 0;
+      for (int j = 0; j < 8; j++) {
+        limb = (limb << 8) | (bytes[offset + 8 * (LIMBS - 1 - i) + j] & 0xffL);
+      }
+      r[i] = limb;
+    }
+    return r;
+  }
+
+  /**
+   * @param raw raw (non-Montgomery) limbs
+   * @return whether they hold an integer strictly smaller than p
+   */
+  static boolean isCanonical(long[] raw) {
+    return compare(raw, MODULUS) < 0;
+  }
+
+  /**
+   * @param raw raw (non-Montgomery) limbs, reduced in place
+   * @return the same limbs, holding their former value modulo p
+   */
+  static long[] reduce(long[] raw) {
+    // 2^256 < 6p, hence at most 5 subtractions for any 256-bit value
+    while (!isCanonical(raw)) {
+      subtractModulus(raw);
+    }
+    return raw;
+  }
+
+  /**
+   * @param raw canonical raw limbs
+   * @return their Montgomery representation
+   */
+  static long[] toMontgomery(long[] raw) {
+    return mul(raw, R2);
+  }
+
+  public static BigInteger toBigInteger(long[] a) {
+    final long[] raw = mul(a, RAW_ONE);
+    BigInteger r = BigInteger.ZERO;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      r = r.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(raw[i])));
+    }
+    return r;
+  }
+
+  public static boolean isZero(long[] a) {
+    return (a[0] | a[1] | a[2] | a[3]) == 0;
+  }
+
+  public static boolean equals(long[] a, long[] b) {
+    return ((a[0] ^ b[0]) | (a[1] ^ b[1]) | (a[2] ^ b[2]) | (a[3] ^ b[3])) == 0;
+  }
+
+  public static long[] add(long[] a, long[] b) {
+    final long[] r = new long[LIMBS];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long s = a[i] + b[i];
+      final long t = s + carry;
+      carry = (Long.compareUnsigned(s, a[i]) < 0 || Long.compareUnsigned(t, s) < 0) ? 1 : 0;
+      r[i] = t;
+    }
+    // p < 2^254, hence a + b < 2^255 never overflows the limbs
+    if (compare(r, MODULUS) >= 0) {
+      subtractModulus(r);
+    }
+    return r;
+  }
+
+  public static long[] sub(long[] a, long[] b) {
+    final long[] r = new long[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long d = a[i] - b[i];
+      final long t = d - borrow;
+      borrow =
+          (Long.compareUnsigned(a[i], b[i]) < 0 || Long.compareUnsigned(d, borrow) < 0) ? 1 : 0;
+      r[i] = t;
+    }
+    if (borrow != 0) {
+      long carry = 0;
+      for (int i = 0; i < LIMBS; i++) {
+        final long s = r[i] + MODULUS[i];
+        final long t = s + carry;
+        carry = (Long.compareUnsigned(s, r[i]) < 0 || Long.compareUnsigned(t, s) < 0) ? 1 : 0;
+        r[i] = t;
+      }
+    }
+    return r;
+  }
+
+  public static long[] neg(long[] a) {
+    return isZero(a) ? ZERO : sub(ZERO, a);
+  }
+
+  public static long[] dbl(long[] a) {
+    return add(a, a);
+  }
+
+  /** Montgomery multiplication, using the coarsely integrated operand scanning method. */
+  public static long[] mul(long[] a, long[] b) {
+    long t0 = 0, t1 = 0, t2 = 0, t3 = 0, t4 = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long bi = b[i];
+
+      // t += a * b[i]
+      long lo = a[0] * bi;
+      long hi = unsignedMultiplyHigh(a[0], bi);
+      long s = lo + t0;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t0 = s;
+      long carry = hi;
+
+      lo = a[1] * bi;
+      hi = unsignedMultiplyHigh(a[1], bi);
+      s = lo + t1;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t1 = s + carry;
+      hi += Long.compareUnsigned(t1, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      lo = a[2] * bi;
+      hi = unsignedMultiplyHigh(a[2], bi);
+      s = lo + t2;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t2 = s + carry;
+      hi += Long.compareUnsigned(t2, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      lo = a[3] * bi;
+      hi = unsignedMultiplyHigh(a[3], bi);
+      s = lo + t3;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t3 = s + carry;
+      hi += Long.compareUnsigned(t3, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      s = t4 + carry;
+      final long t5 = Long.compareUnsigned(s, t4) < 0 ? 1 : 0;
+      t4 = s;
+
+      // t = (t + m * p) / 2^64
+      final long m = t0 * INV;
+      lo = m * MODULUS[0];
+      hi = unsignedMultiplyHigh(m, MODULUS[0]);
+      s = lo + t0;
+      carry = hi + (Long.compareUnsigned(s, lo) < 0 ? 1 : 0);
+
+      lo = m * MODULUS[1];
+      hi = unsignedMultiplyHigh(m, MODULUS[1]);
+      s = lo + t1;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t0 = s + carry;
+      hi += Long.compareUnsigned(t0, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      lo = m * MODULUS[2];
+      hi = unsignedMultiplyHigh(m, MODULUS[2]);
+      s = lo + t2;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t1 = s + carry;
+      hi += Long.compareUnsigned(t1, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      lo = m * MODULUS[3];
+      hi = unsignedMultiplyHigh(m, MODULUS[3]);
+      s = lo + t3;
+      hi += Long.compareUnsigned(s, lo) < 0 ? 1 : 0;
+      t2 = s + carry;
+      hi += Long.compareUnsigned(t2, s) < 0 ? 1 : 0;
+      carry = hi;
+
+      t3 = t4 + carry;
+      t4 = t5 + (Long.compareUnsigned(t3, t4) < 0 ? 1 : 0);
+    }
+
+    final long[] r = new long[] {t0, t1, t2, t3};
+    if (t4 != 0 || compare(r, MODULUS) >= 0) {
+      subtractModulus(r);
+    }
+    return r;
+  }
+
+  public static long[] square(long[] a) {
+    return mul(a, a);
+  }
+
+  /**
+   * @param a a field element
+   * @param exponent a non-negative exponent
+   * @return a^exponent
+   */
+  public static long[] pow(long[] a, BigInteger exponent) {
+    long[] r = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      r = square(r);
+      if (exponent.testBit(i)) {
+        r = mul(r, a);
+      }
+    }
+    return r;
+  }
+
+  public static long[] inverse(long[] a) {
+    return pow(a, P.subtract(BigInteger.TWO));
+  }
+
+  private static void subtractModulus(long[] r) {
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long d = r[i] - MODULUS[i];
+      final long t = d - borrow;
+      borrow =
+          (Long.compareUnsigned(r[i], MODULUS[i]) < 0 || Long.compareUnsigned(d, borrow) < 0)
+              ? 1
+              : 0;
+      r[i] = t;
+    }
+  }
+
+  private static int compare(long[] a, long[] b) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int c = Long.compareUnsigned(a[i], b[i]);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return 0;
+  }
+
+  private static long unsignedMultiplyHigh(long x, long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static long[] limbs(BigInteger value) {
+    final long[] r = new long[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = value.shiftRight(64 * i).longValue();
+    }
+    return r;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata.bn254;
+
+import java.math.BigInteger;
+
+/**
+ * An element c0 + c1·u of the quadratic extension F_p2 = F_p[u] / (u^2 + 1) of the BN254 base
+ * field, with both coefficients in the Montgomery form of {@link Bn254Fp}.
+ */
+public final class Bn254Fp2 {
+  public static final Bn254Fp2 ZERO = new Bn254Fp2(Bn254Fp.ZERO, Bn254Fp.ZERO);
+  public static final Bn254Fp2 ONE = new Bn254Fp2(Bn254Fp.ONE, Bn254Fp.ZERO);
+
+  final long[] c0;
+  final long[] c1;
+
+  Bn254Fp2(long[] c0, long[] c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  public static Bn254Fp2 of(BigInteger c0, BigInteger c1) {
+    return new Bn254Fp2(Bn254Fp.of(c0), Bn254Fp.of(c1));
+  }
+
+  public BigInteger real() {
+    return Bn254Fp.toBigInteger(c0);
+  }
+
+  public BigInteger imaginary() {
+    return Bn254Fp.toBigInteger(c1);
+  }
+
+  public boolean isZero() {
+    return Bn254Fp.isZero(c0) && Bn254Fp.isZero(c1);
+  }
+
+  public Bn254Fp2 add(Bn254Fp2 b) {
+    return new Bn254Fp2(Bn254Fp.add(c0, b.c0), Bn254Fp.add(c1, b.c1));
+  }
+
+  public Bn254Fp2 sub(Bn254Fp2 b) {
+    return new Bn254Fp2(Bn254Fp.sub(c0, b.c0), Bn254Fp.sub(c1, b.c1));
+  }
+
+  public Bn254Fp2 neg() {
+    return new Bn254Fp2(Bn254Fp.neg(c0), Bn254Fp.neg(c1));
+  }
+
+  public Bn254Fp2 dbl() {
+    return new Bn254Fp2(Bn254Fp.dbl(c0), Bn254Fp.dbl(c1));
+  }
+
+  /**
+   * @return the image of this element under the Frobenius endomorphism x -> x^p
+   */
+  public Bn254Fp2 conjugate() {
+    return new Bn254Fp2(c0, Bn254Fp.neg(c1));
+  }
+
+  public Bn254Fp2 mul(Bn254Fp2 b) {
+    // Karatsuba: the imaginary part a0·b1 + a1·b0 is (a0 + a1)(b0 + b1) - a0·b0 - a1·b1
+    final long[] v0 = Bn254Fp.mul(c0, b.c0);
+    final long[] v1 = Bn254Fp.mul(c1, b.c1);
+    final long[] m = Bn254Fp.mul(Bn254Fp.add(c0, c1), Bn254Fp.add(b.c0, b.c1));
+    return new Bn254Fp2(Bn254Fp.sub(v0, v1), Bn254Fp.sub(Bn254Fp.sub(m, v0), v1));
+  }
+
+  public Bn254Fp2 square() {
+    // (a0 + a1·u)^2 = (a0 + a1)(a0 - a1) + 2·a0·a1·u
+    final long[] r0 = Bn254Fp.mul(Bn254Fp.add(c0, c1), Bn254Fp.sub(c0, c1));
+    final long[] r1 = Bn254Fp.dbl(Bn254Fp.mul(c0, c1));
+    return new Bn254Fp2(r0, r1);
+  }
+
+  public Bn254Fp2 inverse() {
+    // 1 / (a0 + a1·u) = (a0 - a1·u) / (a0^2 + a1^2)
+    final long[] norm = Bn254Fp.add(Bn254Fp.square(c0), Bn254Fp.square(c1));
+    final long[] inv = Bn254Fp.inverse(norm);
+    return new Bn254Fp2(Bn254Fp.mul(c0, inv), Bn254Fp.neg(Bn254Fp.mul(c1, inv)));
+  }
+
+  public Bn254Fp2 pow(BigInteger exponent) {
+    Bn254Fp2 r = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      r = r.square();
+      if (exponent.testBit(i)) {
+        r = r.mul(this);
+      }
+    }
+    return r;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Bn254Fp2 b && Bn254Fp.equals(c0, b.c0) && Bn254Fp.equals(c1, b.c1);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(c0[0] ^ c1[0]);
+  }
+
+  @Override
+  public String toString() {
+    return real() + " + " + imaginary() + "·u";
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata.bn254;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A point of the sextic twist E'(F_p2): y^2 = x^3 + 3 / (9 + u) of BN254, in Jacobian coordinates
+ * (X, Y, Z) standing for the affine point (X / Z^2, Y / Z^3); the point at infinity has Z = 0.
+ *
+ * <p>Membership of G2, the subgroup of order r, is decided with the endomorphism ψ (untwist,
+ * Frobenius, twist) rather than by a full multiplication by r: for BN curves, a point Q of the
+ * twist is in G2 if and only if ψ(Q) = [6x^2]Q, where x is the BN parameter (El Housni, Guillevic
+ * and Piellard, <i>Co-factor clearing and subgroup membership testing on pairing-friendly
+ * curves</i>, 2022). This halves the length of the scalar multiplication.
+ */
+public final class Bn254G2 {
+  /** The size of the EVM encoding of a point: Im(x), Re(x), Im(y), Re(y), 32 bytes each. */
+  public static final int ENCODING_SIZE = 128;
+
+  /** The BN parameter x of BN254. */
+  static final BigInteger X = new BigInteger("4965661367192848881");
+
+  /** 6x^2, the eigenvalue of ψ on G2. */
+  static final BigInteger PSI_EIGENVALUE = X.pow(2).multiply(BigInteger.valueOf(6));
+
+  /** ξ = 9 + u, the non-residue defining the twist. */
+  private static final Bn254Fp2 XI = Bn254Fp2.of(BigInteger.valueOf(9), BigInteger.ONE);
+
+  /** b' = 3 / ξ, the constant coefficient of the twist. */
+  static final Bn254Fp2 B = XI.inverse().mul(Bn254Fp2.of(BigInteger.valueOf(3), BigInteger.ZERO));
+
+  private static final BigInteger P_MINUS_ONE = Bn254Fp.P.subtract(BigInteger.ONE);
+  private static final Bn254Fp2 PSI_X = XI.pow(P_MINUS_ONE.divide(BigInteger.valueOf(3)));
+  private static final Bn254Fp2 PSI_Y = XI.pow(P_MINUS_ONE.divide(BigInteger.TWO));
+
+  public static final Bn254G2 INFINITY = new Bn254G2(Bn254Fp2.ONE, Bn254Fp2.ONE, Bn254Fp2.ZERO);
+
+  final Bn254Fp2 x;
+  final Bn254Fp2 y;
+  final Bn254Fp2 z;
+
+  Bn254G2(Bn254Fp2 x, Bn254Fp2 y, Bn254Fp2 z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  public static Bn254G2 affine(Bn254Fp2 x, Bn254Fp2 y) {
+    return new Bn254G2(x, y, Bn254Fp2.ONE);
+  }
+
+  /**
+   * Decide whether the given EVM encoding of a point (as found in ECPAIRING call data) is a point
+   * of G2, i.e. either the point at infinity (all zeroes) or a point of the twist of order r.
+   * Coordinates are taken modulo p, as Besu's {@code AltBn128Fq2Point} does: whether they are
+   * canonical is checked separately, by the well-formedness of the coordinates.
+   *
+   * @param encoding the {@link #ENCODING_SIZE} bytes of a large point
+   * @return whether it is a point of G2
+   */
+  public static boolean isOnG2(Bytes encoding) {
+    final byte[] bytes = encoding.toArrayUnsafe();
+    final long[] xIm = Bn254Fp.reduce(Bn254Fp.fromBytes(bytes, 0));
+    final long[] xRe = Bn254Fp.reduce(Bn254Fp.fromBytes(bytes, 32));
+    final long[] yIm = Bn254Fp.reduce(Bn254Fp.fromBytes(bytes, 64));
+    final long[] yRe = Bn254Fp.reduce(Bn254Fp.fromBytes(bytes, 96));
+
+    final Bn254Fp2 x = new Bn254Fp2(Bn254Fp.toMontgomery(xRe), Bn254Fp.toMontgomery(xIm));
+    final Bn254Fp2 y = new Bn254Fp2(Bn254Fp.toMontgomery(yRe), Bn254Fp.toMontgomery(yIm));
+    if (x.isZero() && y.isZero()) {
+      return true;
+    }
+
+    final Bn254G2 point = affine(x, y);
+    return point.isOnCurve() && point.isInSubgroup();
+  }
+
+  public boolean isInfinity() {
+    return z.isZero();
+  }
+
+  public boolean isOnCurve() {
+    if (isInfinity()) {
+      return true;
+    }
+    // Y^2 = X^3 + b'·Z^6
+    final Bn254Fp2 z2 = z.square();
+    final Bn254Fp2 z6 = z2.square().mul(z2);
+    return y.square().equals(x.square().mul(x).add(B.mul(z6)));
+  }
+
+  /**
+   * @return whether this point, assumed to be on the twist, is of order r
+   */
+  public boolean isInSubgroup() {
+    return psi().equals(multiply(PSI_EIGENVALUE));
+  }
+
+  /**
+   * @return ψ(this), computed coordinate-wise as the Frobenius endomorphism twisted by ξ
+   */
+  public Bn254G2 psi() {
+    return new Bn254G2(x.conjugate().mul(PSI_X), y.conjugate().mul(PSI_Y), z.conjugate());
+  }
+
+  public Bn254G2 negate() {
+    return new Bn254G2(x, y.neg(), z);
+  }
+
+  public Bn254G2 dbl() {
+    if (isInfinity() || y.isZero()) {
+      return INFINITY;
+    }
+    // dbl-2009-l
+    final Bn254Fp2 a = x.square();
+    final Bn254Fp2 b = y.square();
+    final Bn254Fp2 c = b.square();
+    final Bn254Fp2 d = x.add(b).square().sub(a).sub(c).dbl();
+    final Bn254Fp2 e = a.dbl().add(a);
+    final Bn254Fp2 f = e.square();
+    final Bn254Fp2 x3 = f.sub(d.dbl());
+    final Bn254Fp2 y3 = e.mul(d.sub(x3)).sub(c.dbl().dbl().dbl());
+    final Bn254Fp2 z3 = y.mul(z).dbl();
+    return new Bn254G2(x3, y3, z3);
+  }
+
+  public Bn254G2 add(Bn254G2 q) {
+    if (isInfinity()) {
+      return q;
+    }
+    if (q.isInfinity()) {
+      return this;
+    }
+    // add-2007-bl
+    final Bn254Fp2 z1z1 = z.square();
+    final Bn254Fp2 z2z2 = q.z.square();
+    final Bn254Fp2 u1 = x.mul(z2z2);
+    final Bn254Fp2 u2 = q.x.mul(z1z1);
+    final Bn254Fp2 s1 = y.mul(q.z).mul(z2z2);
+    final Bn254Fp2 s2 = q.y.mul(z).mul(z1z1);
+    final Bn254Fp2 h = u2.sub(u1);
+    final Bn254Fp2 r = s2.sub(s1).dbl();
+    if (h.isZero()) {
+      return r.isZero() ? dbl() : INFINITY;
+    }
+    final Bn254Fp2 i = h.dbl().square();
+    final Bn254Fp2 j = h.mul(i);
+    final Bn254Fp2 v = u1.mul(i);
+    final Bn254Fp2 x3 = r.square().sub(j).sub(v.dbl());
+    final Bn254Fp2 y3 = r.mul(v.sub(x3)).sub(s1.mul(j).dbl());
+    final Bn254Fp2 z3 = z.add(q.z).square().sub(z1z1).sub(z2z2).mul(h);
+    return new Bn254G2(x3, y3, z3);
+  }
+
+  /**
+   * @param k a non-negative scalar
+   * @return [k]this
+   */
+  public Bn254G2 multiply(BigInteger k) {
+    Bn254G2 r = INFINITY;
+    for (int i = k.bitLength() - 1; i >= 0; i--) {
+      r = r.dbl();
+      if (k.testBit(i)) {
+        r = r.add(this);
+      }
+    }
+    return r;
+  }
+
+  /**
+   * @return the affine coordinates (x, y) of this point, or null for the point at infinity
+   */
+  public Bn254Fp2[] toAffine() {
+    if (isInfinity()) {
+      return null;
+    }
+    final Bn254Fp2 zInv = z.inverse();
+    final Bn254Fp2 zInv2 = zInv.square();
+    return new Bn254Fp2[] {x.mul(zInv2), y.mul(zInv2).mul(zInv)};
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof Bn254G2 q)) {
+      return false;
+    }
+    if (isInfinity() || q.isInfinity()) {
+      return isInfinity() && q.isInfinity();
+    }
+    // X1·Z2^2 = X2·Z1^2 and Y1·Z2^3 = Y2·Z1^3
+    final Bn254Fp2 z1z1 = z.square();
+    final Bn254Fp2 z2z2 = q.z.square();
+    return x.mul(z2z2).equals(q.x.mul(z1z1))
+        && y.mul(z2z2).mul(q.z).equals(q.y.mul(z1z1).mul(z));
+  }
+
+  @Override
+  public int hashCode() {
+    final Bn254Fp2[] affine = toAffine();
+    return affine == null ? 0 : affine[0].hashCode();
+  }
+}
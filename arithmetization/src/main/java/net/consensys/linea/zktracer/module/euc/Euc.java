@@ -26,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 import org.apache.tuweni.bytes.Bytes;
@@ -51,10 +52,12 @@ public class Euc implements OperationSetModule<EucOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-    for (EucOperation eucOperation : operations.sortOperations(new EucOperationComparator())) {
-      eucOperation.trace(trace);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new EucOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (eucOperation, stamp, trace) -> eucOperation.trace(trace));
   }
 
   public EucOperation callEUC(final Bytes dividend, final Bytes divisor) {
@@ -24,6 +24,7 @@ import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.exp.ExpCall;
@@ -56,13 +57,15 @@ public class Exp implements OperationSetModule<ExpOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (ExpOperation expOp : operations.sortOperations(new ExpOperationComparator())) {
-      expOp.traceComputation(++stamp, trace);
-      expOp.traceMacro(stamp, trace);
-      expOp.tracePreprocessing(stamp, trace);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new ExpOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (expOp, stamp, trace) -> {
+          expOp.traceComputation(stamp, trace);
+          expOp.traceMacro(stamp, trace);
+          expOp.tracePreprocessing(stamp, trace);
+        });
   }
 }
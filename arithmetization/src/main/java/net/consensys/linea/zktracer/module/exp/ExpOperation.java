@@ -106,9 +106,9 @@ public class ExpOperation extends ModuleOperation {
       final ModexpMetadata modexpMetadata = modexplogExpCall.getModexpMetadata();
       final int bbsInt = modexpMetadata.bbs().toUnsignedBigInteger().intValueExact();
       final int ebsInt = modexpMetadata.ebs().toUnsignedBigInteger().intValueExact();
-      checkArgument(modexpMetadata.callData().size() - 96 - bbsInt >= 0);
+      checkArgument(modexpMetadata.callDataSize() - 96 - bbsInt >= 0);
       EWord rawLead = modexpMetadata.rawLeadingWord();
-      int cdsCutoff = Math.min(modexpMetadata.callData().size() - 96 - bbsInt, 32);
+      int cdsCutoff = Math.min(modexpMetadata.callDataSize() - 96 - bbsInt, 32);
       int ebsCutoff = Math.min(ebsInt, 32);
       BigInteger leadLog =
           BigInteger.valueOf(LeadLogTrimLead.fromArgs(rawLead, cdsCutoff, ebsCutoff).leadLog());
@@ -23,10 +23,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.OpCodeData;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -48,18 +50,19 @@ public class Ext implements OperationSetModule<ExtOperation> {
   @Override
   public void tracePreOpcode(final MessageFrame frame) {
     final OpCodeData opCode = hub.opCodeData();
+    final WordPool words = hub.wordPool();
     operations.add(
         new ExtOperation(
             opCode.mnemonic(),
-            Bytes32.leftPad(frame.getStackItem(0)),
-            Bytes32.leftPad(frame.getStackItem(1)),
-            Bytes32.leftPad(frame.getStackItem(2))));
+            words.word(frame.getStackItem(0)),
+            words.word(frame.getStackItem(1)),
+            words.word(frame.getStackItem(2))));
   }
 
   public Bytes call(OpCode opCode, Bytes _arg1, Bytes _arg2, Bytes _arg3) {
-    final Bytes32 arg1 = Bytes32.leftPad(_arg1);
-    final Bytes32 arg2 = Bytes32.leftPad(_arg2);
-    final Bytes32 arg3 = Bytes32.leftPad(_arg3);
+    final Bytes32 arg1 = hub.wordPool().word(_arg1);
+    final Bytes32 arg2 = hub.wordPool().word(_arg2);
+    final Bytes32 arg3 = hub.wordPool().word(_arg3);
     final ExtOperation op = new ExtOperation(opCode, arg1, arg2, arg3);
     final Bytes result = op.compute();
     operations.add(op);
@@ -81,11 +84,11 @@ public class Ext implements OperationSetModule<ExtOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (ExtOperation operation : operations.sortOperations(new ExtOperationComparator())) {
-      operation.trace(trace, ++stamp);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new ExtOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (operation, stamp, trace) -> operation.trace(trace, stamp));
   }
 }
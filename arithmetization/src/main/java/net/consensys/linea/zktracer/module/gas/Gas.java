@@ -24,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.module.hub.defer.PostOpcodeDefer;
@@ -64,10 +65,12 @@ public class Gas implements OperationSetModule<GasOperation>, PostOpcodeDefer {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-    for (GasOperation gasOperation : operations.sortOperations(new GasOperationComparator())) {
-      gasOperation.trace(trace);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new GasOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (gasOperation, stamp, trace) -> gasOperation.trace(trace));
   }
 
   @Override
@@ -32,6 +32,7 @@ import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -40,7 +41,9 @@ import lombok.Getter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.CapacityPlanner;
 import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.container.module.OperationListModule;
 import net.consensys.linea.zktracer.module.add.Add;
 import net.consensys.linea.zktracer.module.bin.Bin;
 import net.consensys.linea.zktracer.module.blake2fmodexpdata.BlakeModexpData;
@@ -53,7 +56,6 @@ import net.consensys.linea.zktracer.module.ext.Ext;
 import net.consensys.linea.zktracer.module.gas.Gas;
 import net.consensys.linea.zktracer.module.hub.defer.DeferRegistry;
 import net.consensys.linea.zktracer.module.hub.fragment.ContextFragment;
-import net.consensys.linea.zktracer.module.hub.fragment.StackFragment;
 import net.consensys.linea.zktracer.module.hub.section.*;
 import net.consensys.linea.zktracer.module.hub.section.call.CallSection;
 import net.consensys.linea.zktracer.module.hub.section.copy.CallDataCopySection;
@@ -66,6 +68,7 @@ import net.consensys.linea.zktracer.module.hub.section.halt.SelfdestructSection;
 import net.consensys.linea.zktracer.module.hub.section.halt.StopSection;
 import net.consensys.linea.zktracer.module.hub.signals.Exceptions;
 import net.consensys.linea.zktracer.module.hub.signals.PlatformController;
+import net.consensys.linea.zktracer.module.hub.transients.DeploymentInfo;
 import net.consensys.linea.zktracer.module.hub.transients.Transients;
 import net.consensys.linea.zktracer.module.limits.Keccak;
 import net.consensys.linea.zktracer.module.limits.L2Block;
@@ -106,6 +109,7 @@ import net.consensys.linea.zktracer.module.txndata.TxnData;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.OpCodeData;
+import net.consensys.linea.zktracer.opcode.gas.projector.GasProjection;
 import net.consensys.linea.zktracer.opcode.gas.projector.GasProjector;
 import net.consensys.linea.zktracer.runtime.callstack.CallFrame;
 import net.consensys.linea.zktracer.runtime.callstack.CallFrameType;
@@ -115,6 +119,7 @@ import net.consensys.linea.zktracer.runtime.stack.StackLine;
 import net.consensys.linea.zktracer.types.Bytecode;
 import net.consensys.linea.zktracer.types.MemoryRange;
 import net.consensys.linea.zktracer.types.TransactionProcessingMetadata;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Transaction;
@@ -133,7 +138,8 @@ import org.hyperledger.besu.plugin.data.ProcessableBlockHeader;
 @Accessors(fluent = true)
 public class Hub implements Module {
 
-  public static final GasProjector GAS_PROJECTOR = new GasProjector();
+  /** computes, and holds for the duration of its pre-execution, the gas cost of an instruction */
+  @Getter private final GasProjector gasProjector = new GasProjector();
 
   /** accumulate the trace information for the Hub */
   @Getter public final State state = new State();
@@ -182,9 +188,12 @@ public class Hub implements Module {
 
   @Getter private final BigInteger chainId;
 
+  /** Interns the words shared by the stack and the arithmetic modules */
+  @Getter private final WordPool wordPool = new WordPool();
+
   /** List of all modules of the ZK-evm */
   // stateless modules
-  @Getter private final Wcp wcp = new Wcp();
+  @Getter private final Wcp wcp = new Wcp(wordPool);
 
   private final Add add = new Add();
   private final Bin bin = new Bin();
@@ -193,19 +202,19 @@ public class Hub implements Module {
   @Getter private final Ext ext = new Ext(this);
   @Getter private final Gas gas = new Gas(wcp);
   private final Mul mul = new Mul(this);
-  private final Mod mod = new Mod();
+  private final Mod mod = new Mod(wordPool);
   private final Shf shf = new Shf();
   @Getter private final Trm trm = new Trm();
 
   // other
   private final Blockdata blockdata;
   @Getter private final RomLex romLex = new RomLex(this);
-  private final Rom rom = new Rom(romLex);
+  @Getter private final Rom rom = new Rom(romLex);
   private final RlpTxn rlpTxn = new RlpTxn(romLex);
   private final Mmio mmio;
 
   private final TxnData txnData = new TxnData(wcp, euc);
-  private final RlpTxnRcpt rlpTxnRcpt = new RlpTxnRcpt();
+  @Getter private final RlpTxnRcpt rlpTxnRcpt = new RlpTxnRcpt();
   private final LogInfo logInfo = new LogInfo(rlpTxnRcpt);
   private final LogData logData = new LogData(rlpTxnRcpt);
   @Getter private final RlpAddr rlpAddr = new RlpAddr(this, trm);
@@ -336,6 +345,17 @@ public class Hub implements Module {
         .toList();
   }
 
+  /**
+   * List the modules whose trace may only be committed once the trace of another module has been,
+   * as their commit reads data computed by the other module's commit. Modules not appearing here
+   * may be committed in any order, or concurrently.
+   *
+   * @return a map from each dependent module to the module to commit before it
+   */
+  public Map<Module, Module> getModuleCommitDependencies() {
+    return Map.of(mmio, mmu);
+  }
+
   /**
    * List all the modules for which to generate counters. Intersects with, but is not equal to
    * {@code getModulesToTrace}.
@@ -436,6 +456,7 @@ public class Hub implements Module {
   @Override
   public void enterTransaction() {
     // Note: txStack.enter(); happens at traceStartTransaction as it requires world, etc
+    this.forgetUndoLogs();
     state.enter();
     transients.conflation().stackHeightChecksForStackUnderflows().enter();
     transients.conflation().stackHeightChecksForStackOverflows().enter();
@@ -455,9 +476,100 @@ public class Hub implements Module {
     }
   }
 
+  /**
+   * A point, between two transactions of the current block, to which tracing may be rolled back.
+   *
+   * @param transactionCount the number of transactions traced in the conflation
+   * @param blockCount the number of blocks started in the conflation
+   * @param callFrameCount the number of {@link CallFrame} created in the conflation
+   * @param postConflationDeferCount the number of actions deferred to the end of the conflation
+   * @param deploymentInfoModificationCount the number of modifications of the deployment info
+   * @param storageSlotUpdateCount the number of updates of the storage slot occurrences
+   */
+  public record Checkpoint(
+      int transactionCount,
+      int blockCount,
+      int callFrameCount,
+      int postConflationDeferCount,
+      int deploymentInfoModificationCount,
+      int storageSlotUpdateCount) {}
+
+  /** The first checkpoint taken in the current block, if any. */
+  private Checkpoint earliestCheckpoint = null;
+
+  /**
+   * Capture the current tracing state, so that every transaction traced afterward may later be
+   * discarded with {@link #rollbackTo(Checkpoint)}. Must be called between two transactions.
+   *
+   * @return a token describing the current tracing state
+   */
+  public Checkpoint checkpoint() {
+    final Checkpoint checkpoint =
+        new Checkpoint(
+            txStack.getTransactions().size(),
+            state.firstAndLastStorageSlotOccurrences.size(),
+            callStack.futureId(),
+            defers.postConflationDeferCount(),
+            transients.conflation().deploymentInfo().modificationCount(),
+            state.storageSlotUpdateCount());
+    if (earliestCheckpoint == null) {
+      earliestCheckpoint = checkpoint;
+    }
+    return checkpoint;
+  }
+
+  /**
+   * Drop the undo logs of the deployment info and of the storage slot occurrences which are no
+   * longer needed. Once a transaction starts, the previous one may no longer be popped, so only
+   * the modifications made since the first checkpoint of the current block may still be reverted.
+   */
+  private void forgetUndoLogs() {
+    final DeploymentInfo deploymentInfo = transients.conflation().deploymentInfo();
+    if (earliestCheckpoint == null) {
+      deploymentInfo.forget(deploymentInfo.modificationCount());
+      state.forgetStorageSlotUpdates(state.storageSlotUpdateCount());
+    } else {
+      deploymentInfo.forget(earliestCheckpoint.deploymentInfoModificationCount());
+      state.forgetStorageSlotUpdates(earliestCheckpoint.storageSlotUpdateCount());
+    }
+  }
+
+  /**
+   * Discard every transaction traced since the given checkpoint was taken, in time proportional to
+   * the discarded tracing work. Must be called between two transactions, in the same block as the
+   * checkpoint.
+   *
+   * @param checkpoint a token obtained from {@link #checkpoint()}
+   */
+  public void rollbackTo(final Checkpoint checkpoint) {
+    checkArgument(
+        checkpoint.blockCount() == state.firstAndLastStorageSlotOccurrences.size(),
+        "can not roll back to a checkpoint taken in another block");
+    checkArgument(
+        checkpoint.transactionCount() <= txStack.getTransactions().size(),
+        "can not roll back to a checkpoint taken after the current state");
+
+    this.rollbackToTransaction(checkpoint.transactionCount());
+    defers.rollback(checkpoint.postConflationDeferCount(), checkpoint.callFrameCount());
+    callStack.rollback(checkpoint.callFrameCount());
+    transients.conflation().deploymentInfo().rollback(checkpoint.deploymentInfoModificationCount());
+  }
+
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    txStack.rollback(transactionCount);
+    state.rollback(transactionCount);
+    transients.conflation().stackHeightChecksForStackUnderflows().rollback(transactionCount);
+    transients.conflation().stackHeightChecksForStackOverflows().rollback(transactionCount);
+    for (Module m : modules) {
+      m.rollbackToTransaction(transactionCount);
+    }
+  }
+
   /** Tracing Operation, triggered by Besu hook */
   @Override
   public void traceStartConflation(long blockCount) {
+    wordPool.clear();
     for (Module m : modules) {
       m.traceStartConflation(blockCount);
     }
@@ -477,6 +589,8 @@ public class Hub implements Module {
   @Override
   public void traceStartBlock(final ProcessableBlockHeader processableBlockHeader) {
     state.firstAndLastStorageSlotOccurrences.add(new HashMap<>());
+    // Checkpoints may not be rolled back to from another block
+    earliestCheckpoint = null;
     this.transients().block().update(processableBlockHeader);
     txStack.resetBlock();
     for (Module m : modules) {
@@ -484,6 +598,42 @@ public class Hub implements Module {
     }
   }
 
+  /**
+   * Make room in the long-lived containers and in the operation lists of the modules for what the
+   * conflation is expected to hold.
+   *
+   * @param planner the capacity planner
+   * @param gasUsed the cumulated gas used by the blocks started so far in the conflation
+   */
+  public void ensureCapacity(final CapacityPlanner planner, final long gasUsed) {
+    callStack.ensureCapacity(planner.expectedSize(CapacityPlanner.CALL_FRAMES, gasUsed));
+    txStack.ensureCapacity(planner.expectedSize(CapacityPlanner.TRANSACTIONS, gasUsed));
+    transients.conflation().ensureCapacity(planner.expectedSize(CapacityPlanner.LOGS, gasUsed));
+    for (Module m : modules) {
+      if (m instanceof OperationListModule<?> listModule) {
+        listModule.operations().ensureCapacity(planner.expectedSize(m.moduleKey(), gasUsed));
+      }
+    }
+  }
+
+  /**
+   * Record the sizes reached by the containers over the conflation, for the planning of the next
+   * ones.
+   *
+   * @param planner the capacity planner
+   * @param gasUsed the cumulated gas used by the blocks of the conflation
+   */
+  public void recordCapacity(final CapacityPlanner planner, final long gasUsed) {
+    planner.record(CapacityPlanner.CALL_FRAMES, callStack.callFrames().size(), gasUsed);
+    planner.record(CapacityPlanner.TRANSACTIONS, txStack.getTransactions().size(), gasUsed);
+    planner.record(CapacityPlanner.LOGS, transients.conflation().logs().size(), gasUsed);
+    for (Module m : modules) {
+      if (m instanceof OperationListModule<?> listModule) {
+        planner.record(m.moduleKey(), listModule.operations().size(), gasUsed);
+      }
+    }
+  }
+
   @Override
   public void traceEndBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
     for (Module m : modules) {
@@ -882,6 +1032,13 @@ public class Hub implements Module {
     return callStack.currentCallFrame().frame();
   }
 
+  /**
+   * @return the gas projection of the instruction currently executed by the current frame
+   */
+  public GasProjection gasProjection() {
+    return gasProjector.of(messageFrame(), opCode());
+  }
+
   private void handleStack(MessageFrame frame) {
     this.currentFrame()
         .stack()
@@ -958,30 +1115,31 @@ public class Hub implements Module {
         // TODO: when we call this from contextReenter, pch.exceptions is not the one from the
         // caller/creater ?
         if (Exceptions.none(pch.exceptions())) {
-          result = frame.getStackItem(0).copy();
+          result = wordPool.intern(frame.getStackItem(0).copy());
         }
 
-        // This works because we are certain that the stack chunks are the first.
-        ((StackFragment) section.fragments().get(i))
-            .stackOps()
-            .get(line.resultColumn() - 1)
-            .value(result);
+        section.setStackItemValue(i, line.resultColumn() - 1, result);
       }
     }
   }
 
   void processStateExec(MessageFrame frame) {
-    pch.setup(frame);
-
-    this.handleStack(frame);
-    this.triggerModules(frame);
-
-    if (currentFrame().stack().isOk()) {
-      this.traceOpcode(frame);
-    } else {
-      this.squashCurrentFrameOutputData();
-      this.squashParentFrameReturnData();
-      new EarlyExceptionSection(this);
+    gasProjector.open(frame, opCode());
+    try {
+      pch.setup(frame);
+
+      this.handleStack(frame);
+      this.triggerModules(frame);
+
+      if (currentFrame().stack().isOk()) {
+        this.traceOpcode(frame);
+      } else {
+        this.squashCurrentFrameOutputData();
+        this.squashParentFrameReturnData();
+        new EarlyExceptionSection(this);
+      }
+    } finally {
+      gasProjector.close();
     }
 
     if (Exceptions.any(pch().exceptions()) || opCode() == REVERT) {
@@ -1003,23 +1161,27 @@ public class Hub implements Module {
     return state.txCount();
   }
 
+  private TraceSection newStackOnlySection() {
+    return new StackOnlySection(this);
+  }
+
   void traceOpcode(MessageFrame frame) {
 
     // TODO: supremely ugly hack, somebody please clean up this mess
     failureConditionForCreates = false;
 
     switch (this.opCodeData().instructionFamily()) {
-      case ADD, MOD, SHF, BIN, WCP, EXT, BATCH, PUSH_POP, DUP, SWAP -> new StackOnlySection(this);
+      case ADD, MOD, SHF, BIN, WCP, EXT, BATCH, PUSH_POP, DUP, SWAP -> newStackOnlySection();
       case MACHINE_STATE -> {
         switch (this.opCode()) {
           case OpCode.MSIZE -> new MsizeSection(this);
-          default -> new StackOnlySection(this);
+          default -> newStackOnlySection();
         }
       }
       case MUL -> {
         switch (this.opCode()) {
           case OpCode.EXP -> new ExpSection(this);
-          case OpCode.MUL -> new StackOnlySection(this);
+          case OpCode.MUL -> newStackOnlySection();
           default -> throw new IllegalStateException(
               String.format("opcode %s not part of the MUL instruction family", this.opCode()));
         }
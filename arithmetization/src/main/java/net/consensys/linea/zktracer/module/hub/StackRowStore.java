@@ -0,0 +1,119 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.hub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.consensys.linea.zktracer.module.hub.fragment.StackFragment;
+import net.consensys.linea.zktracer.runtime.stack.Stack;
+import net.consensys.linea.zktracer.runtime.stack.StackItem;
+import net.consensys.linea.zktracer.types.EWord;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A columnar store for the stack rows of the simplest sections of a transaction trace, i.e. those
+ * which are only made of stack rows. Instead of a {@link StackFragment} holding four {@link
+ * StackItem}, every row is stored as four entries in a handful of primitive arrays, whilst the
+ * stack words themselves are interned in a table shared by all the rows of the transaction.
+ */
+public final class StackRowStore {
+  private static final int ITEMS_PER_ROW = 4;
+  private static final int INITIAL_ROW_CAPACITY = 256;
+
+  private short[] heights = new short[INITIAL_ROW_CAPACITY * ITEMS_PER_ROW];
+  private int[] stamps = new int[INITIAL_ROW_CAPACITY * ITEMS_PER_ROW];
+  private int[] values = new int[INITIAL_ROW_CAPACITY * ITEMS_PER_ROW];
+  private boolean[] pops = new boolean[INITIAL_ROW_CAPACITY * ITEMS_PER_ROW];
+  private int rowCount = 0;
+
+  /** The stack words of the transaction; the empty word always sits at index 0 */
+  private final List<Bytes> words = new ArrayList<>(List.of(Bytes.EMPTY));
+
+  private final Map<Bytes, Integer> wordIndices = new HashMap<>(Map.of(Bytes.EMPTY, 0));
+
+  /**
+   * Append a stack row.
+   *
+   * @param items the four stack items of the row
+   * @return the index of the new row
+   */
+  public int addRow(List<StackItem> items) {
+    if (rowCount * ITEMS_PER_ROW == heights.length) {
+      final int newLength = 2 * heights.length;
+      heights = Arrays.copyOf(heights, newLength);
+      stamps = Arrays.copyOf(stamps, newLength);
+      values = Arrays.copyOf(values, newLength);
+      pops = Arrays.copyOf(pops, newLength);
+    }
+
+    final int row = rowCount++;
+    for (int i = 0; i < ITEMS_PER_ROW; i++) {
+      final StackItem item = items.get(i);
+      final int cell = row * ITEMS_PER_ROW + i;
+      heights[cell] = item.height();
+      stamps[cell] = item.stackStamp();
+      values[cell] = this.intern(item.value());
+      pops[cell] = item.action() == Stack.POP;
+    }
+    return row;
+  }
+
+  /**
+   * Retroactively set the value of a stack item, e.g. once the result of an instruction is known.
+   *
+   * @param row the index of the row
+   * @param item the 0-based index of the item within the row
+   * @param value the value of the item
+   */
+  public void setValue(int row, int item, Bytes value) {
+    values[row * ITEMS_PER_ROW + item] = this.intern(value);
+  }
+
+  /**
+   * Trace the four stack items of a row.
+   *
+   * @param trace the HUB trace
+   * @param row the index of the row
+   * @return the value of the last item, which is the pushed value for PUSH instructions
+   */
+  public EWord traceRow(Trace trace, int row) {
+    EWord lastValue = EWord.ZERO;
+    for (int i = 0; i < ITEMS_PER_ROW; i++) {
+      final int cell = row * ITEMS_PER_ROW + i;
+      lastValue = EWord.of(words.get(values[cell]));
+      StackFragment.traceStackItem(trace, i, heights[cell], lastValue, pops[cell], stamps[cell]);
+    }
+    return lastValue;
+  }
+
+  public int rowCount() {
+    return rowCount;
+  }
+
+  private int intern(Bytes value) {
+    final Integer index = wordIndices.get(value);
+    if (index != null) {
+      return index;
+    }
+    words.add(value);
+    wordIndices.put(value, words.size() - 1);
+    return words.size() - 1;
+  }
+}
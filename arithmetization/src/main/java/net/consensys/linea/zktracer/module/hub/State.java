@@ -15,8 +15,11 @@
 
 package net.consensys.linea.zktracer.module.hub;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import java.util.*;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +39,12 @@ public class State implements StackedContainer {
   @Accessors(fluent = true)
   private final CountOnlyOperation lineCounter = new CountOnlyOperation();
 
+  /** For every storage slot occurrence update which may still be reverted, how to revert it */
+  private final List<StorageSlotUndo> storageSlotUndoLog = new ArrayList<>();
+
+  /** The number of storage slot occurrence updates which may no longer be reverted */
+  private int forgottenStorageSlotUpdateCount = 0;
+
   State() {}
 
   public TxState current() {
@@ -61,13 +70,40 @@ public class State implements StackedContainer {
       StorageSlotIdentifier slotIdentifier, StorageFragment storageFragment) {
     final HashMap<StorageSlotIdentifier, StorageFragmentPair> current =
         firstAndLastStorageSlotOccurrences.getLast();
-    if (current.containsKey(slotIdentifier)) {
-      current.get(slotIdentifier).update(storageFragment);
+    final StorageFragmentPair occurrences = current.get(slotIdentifier);
+    storageSlotUndoLog.add(
+        new StorageSlotUndo(
+            current,
+            slotIdentifier,
+            occurrences == null ? null : occurrences.getFinalOccurrence()));
+    if (occurrences != null) {
+      occurrences.update(storageFragment);
     } else {
       current.put(slotIdentifier, new State.StorageFragmentPair(storageFragment));
     }
   }
 
+  /**
+   * Records how to revert a call to {@link #updateOrInsertStorageSlotOccurrence}.
+   *
+   * @param occurrences the first and last occurrences of the block which were modified
+   * @param slotIdentifier the storage slot
+   * @param previousFinalOccurrence the previous last occurrence of the slot, or null if the slot
+   *     had not been accessed before in the block
+   */
+  private record StorageSlotUndo(
+      HashMap<StorageSlotIdentifier, StorageFragmentPair> occurrences,
+      StorageSlotIdentifier slotIdentifier,
+      StorageFragment previousFinalOccurrence) {
+    void undo() {
+      if (previousFinalOccurrence == null) {
+        occurrences.remove(slotIdentifier);
+      } else {
+        occurrences.get(slotIdentifier).setFinalOccurrence(previousFinalOccurrence);
+      }
+    }
+  }
+
   @Getter
   public static class StorageFragmentPair {
     final StorageFragment firstOccurrence;
@@ -83,6 +119,29 @@ public class State implements StackedContainer {
     }
   }
 
+  /**
+   * @return the number of storage slot occurrence updates made so far
+   */
+  int storageSlotUpdateCount() {
+    return forgottenStorageSlotUpdateCount + storageSlotUndoLog.size();
+  }
+
+  /**
+   * Drop the records reverting the first <code>updateCount</code> storage slot occurrence updates,
+   * which may then no longer be reverted.
+   *
+   * @param updateCount the number of updates to make definitive
+   */
+  void forgetStorageSlotUpdates(final int updateCount) {
+    final int forgotten =
+        Math.min(updateCount, storageSlotUpdateCount()) - forgottenStorageSlotUpdateCount;
+    if (forgotten <= 0) {
+      return;
+    }
+    storageSlotUndoLog.subList(0, forgotten).clear();
+    forgottenStorageSlotUpdateCount += forgotten;
+  }
+
   // initialized here
   public ArrayList<HashMap<StorageSlotIdentifier, StorageFragmentPair>>
       firstAndLastStorageSlotOccurrences = new ArrayList<>();
@@ -119,15 +178,33 @@ public class State implements StackedContainer {
     } else {
       state.push(this.current().spinOff());
     }
+    this.current().storageSlotUpdatesAtStart = storageSlotUpdateCount();
     lineCounter.enter();
   }
 
   @Override
   public void pop() {
-    state.pop();
+    this.popTxState();
     lineCounter.pop();
   }
 
+  @Override
+  public void rollback(final int contextCount) {
+    while (state.size() > contextCount) {
+      this.popTxState();
+    }
+    lineCounter.rollback(contextCount);
+  }
+
+  private void popTxState() {
+    final int start = state.pop().storageSlotUpdatesAtStart - forgottenStorageSlotUpdateCount;
+    checkState(start >= 0, "can not revert storage slot updates which have been forgotten");
+    for (int i = storageSlotUndoLog.size() - 1; i >= start; i--) {
+      storageSlotUndoLog.get(i).undo();
+    }
+    storageSlotUndoLog.subList(start, storageSlotUndoLog.size()).clear();
+  }
+
   /** Describes the Hub state during a given transaction. */
   @Accessors(fluent = true)
   @Getter
@@ -135,6 +212,10 @@ public class State implements StackedContainer {
     Stamps stamps;
     TxTrace txTrace;
 
+    /** The number of storage slot occurrence updates made before this transaction */
+    @Getter(AccessLevel.NONE)
+    private int storageSlotUpdatesAtStart;
+
     TxState() {
       stamps = new Stamps();
       txTrace = new TxTrace();
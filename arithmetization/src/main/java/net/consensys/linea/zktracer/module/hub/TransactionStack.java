@@ -16,7 +16,6 @@
 package net.consensys.linea.zktracer.module.hub;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -29,12 +28,21 @@ import org.hyperledger.besu.evm.worldstate.WorldView;
 
 @Getter
 public class TransactionStack implements StackedContainer {
-  private final List<TransactionProcessingMetadata> transactions =
-      new ArrayList<>(200); // TODO: write the allocated memory from .toml file
+  private final ArrayList<TransactionProcessingMetadata> transactions = new ArrayList<>(200);
   private int currentAbsNumber;
   private int relativeTransactionNumber;
   @Setter @Getter public TxInitializationSection initializationSection;
 
+  /**
+   * Make room for the transactions expected in the conflation, as estimated from its gas used by
+   * a {@link net.consensys.linea.zktracer.container.CapacityPlanner}.
+   *
+   * @param expectedTransactions the expected number of transactions
+   */
+  public void ensureCapacity(final int expectedTransactions) {
+    transactions.ensureCapacity(expectedTransactions);
+  }
+
   public TransactionProcessingMetadata current() {
     return transactions.getLast();
   }
@@ -61,6 +69,14 @@ public class TransactionStack implements StackedContainer {
     this.relativeTransactionNumber -= 1;
   }
 
+  @Override
+  public void rollback(final int contextCount) {
+    final int discarded = this.transactions.size() - contextCount;
+    this.transactions.subList(contextCount, this.transactions.size()).clear();
+    this.currentAbsNumber -= discarded;
+    this.relativeTransactionNumber -= discarded;
+  }
+
   public void resetBlock() {
     this.relativeTransactionNumber = 0;
   }
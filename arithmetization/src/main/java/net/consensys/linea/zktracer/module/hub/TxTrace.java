@@ -32,6 +32,19 @@ public class TxTrace {
   /** The {@link TraceSection} of which this transaction trace is made of */
   @Getter private final List<TraceSection> trace = new ArrayList<>();
 
+  /** The stack rows of the sections only made of stack rows, allocated upon first use */
+  private StackRowStore stackRows = null;
+
+  /**
+   * @return the columnar store holding the stack rows of the stack-only sections
+   */
+  public StackRowStore stackRows() {
+    if (this.stackRows == null) {
+      this.stackRows = new StackRowStore();
+    }
+    return this.stackRows;
+  }
+
   public int size() {
     return this.trace.size();
   }
@@ -112,7 +125,7 @@ public class TxTrace {
     int lineCount = 0;
     for (TraceSection s : trace) {
       if (s.exceptionalContextFragment != null) s.fragments().add(s.exceptionalContextFragment);
-      lineCount += s.fragments().size();
+      lineCount += s.lineCount();
     }
     return lineCount;
   }
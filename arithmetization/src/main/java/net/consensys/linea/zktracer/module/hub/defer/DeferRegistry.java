@@ -221,6 +221,33 @@ public class DeferRegistry
     }
   }
 
+  /**
+   * @return the number of actions currently deferred to the end of the conflation
+   */
+  public int postConflationDeferCount() {
+    return postConflationDefers.size();
+  }
+
+  /**
+   * Forget every action scheduled by transactions which are being rolled back, i.e. the actions
+   * deferred to the end of the conflation after the first <code>postConflationDeferCount</code>
+   * ones, and those attached to a discarded {@link CallFrame}. Must only be called between
+   * transactions.
+   *
+   * @param postConflationDeferCount the number of actions deferred to the end of the conflation to
+   *     keep
+   * @param callFrameCount the number of {@link CallFrame} kept in the {@link CallStack}
+   */
+  public void rollback(final int postConflationDeferCount, final int callFrameCount) {
+    postConflationDefers.subList(postConflationDeferCount, postConflationDefers.size()).clear();
+    postOpcodeDefers.clear();
+    contextEntryDefers.clear();
+    postTransactionDefers.clear();
+    contextExitDefers.keySet().removeIf(id -> id >= callFrameCount);
+    contextReEntryDefers.keySet().removeIf(callFrame -> callFrame.id() >= callFrameCount);
+    rollbackDefers.keySet().removeIf(callFrame -> callFrame.id() >= callFrameCount);
+  }
+
   public void unscheduleForContextReEntry(ContextReEntryDefer defer, CallFrame callFrame) {
     contextReEntryDefers.get(callFrame).remove(defer);
   }
@@ -22,7 +22,6 @@ import static net.consensys.linea.zktracer.opcode.InstructionFamily.*;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -36,6 +35,7 @@ import net.consensys.linea.zktracer.module.hub.signals.Exceptions;
 import net.consensys.linea.zktracer.module.hub.signals.TracedException;
 import net.consensys.linea.zktracer.opcode.InstructionFamily;
 import net.consensys.linea.zktracer.opcode.OpCode;
+import net.consensys.linea.zktracer.opcode.OpCodeData;
 import net.consensys.linea.zktracer.opcode.gas.MxpType;
 import net.consensys.linea.zktracer.opcode.gas.projector.GasProjection;
 import net.consensys.linea.zktracer.runtime.stack.Stack;
@@ -149,70 +149,95 @@ public final class StackFragment implements TraceFragment {
 
   @Override
   public Trace trace(Trace trace) {
-
-    final List<Function<Bytes, Trace>> valHiTracers =
-        List.of(
-            trace::pStackStackItemValueHi1,
-            trace::pStackStackItemValueHi2,
-            trace::pStackStackItemValueHi3,
-            trace::pStackStackItemValueHi4);
-
-    final List<Function<Bytes, Trace>> valLoTracers =
-        List.of(
-            trace::pStackStackItemValueLo1,
-            trace::pStackStackItemValueLo2,
-            trace::pStackStackItemValueLo3,
-            trace::pStackStackItemValueLo4);
-
-    final List<Function<Boolean, Trace>> popTracers =
-        List.of(
-            trace::pStackStackItemPop1,
-            trace::pStackStackItemPop2,
-            trace::pStackStackItemPop3,
-            trace::pStackStackItemPop4);
-
-    final List<Function<Short, Trace>> heightTracers =
-        List.of(
-            trace::pStackStackItemHeight1,
-            trace::pStackStackItemHeight2,
-            trace::pStackStackItemHeight3,
-            trace::pStackStackItemHeight4);
-
-    final List<Function<Integer, Trace>> stampTracers =
-        List.of(
-            trace::pStackStackItemStamp1,
-            trace::pStackStackItemStamp2,
-            trace::pStackStackItemStamp3,
-            trace::pStackStackItemStamp4);
-
     EWord pushValue = EWord.ZERO;
-    var it = stackOps.listIterator();
-    while (it.hasNext()) {
-      var i = it.nextIndex();
-      var op = it.next();
+    for (int i = 0; i < stackOps.size(); i++) {
+      final StackItem op = stackOps.get(i);
       final EWord eValue = EWord.of(op.value());
       if (stack.getCurrentOpcodeData().isPush()) {
         pushValue = eValue;
       }
-
-      heightTracers.get(i).apply(op.height());
-      valHiTracers.get(i).apply(eValue.hi());
-      valLoTracers.get(i).apply(eValue.lo());
-      popTracers.get(i).apply(op.action() == Stack.POP);
-      stampTracers.get(i).apply(op.stackStamp());
+      traceStackItem(trace, i, op.height(), eValue, op.action() == Stack.POP, op.stackStamp());
     }
 
-    final InstructionFamily currentInstFamily = stack.getCurrentOpcodeData().instructionFamily();
     final TracedException tracedException = commonFragmentValues.tracedException();
+    tracedExceptionSanityChecks(this.opCode, this.exceptions, tracedException);
+
+    return traceInstruction(
+        trace,
+        stack.getCurrentOpcodeData(),
+        staticGas,
+        pushValue,
+        jumpDestinationVettingRequired,
+        tracedException,
+        hashInfoFlag,
+        hashInfoKeccak,
+        this.traceLog());
+  }
+
+  /**
+   * Trace one of the four stack items of a stack row.
+   *
+   * @param trace the HUB trace
+   * @param i the 0-based index of the item within the row
+   * @param height the height of the item
+   * @param value the value popped or pushed
+   * @param pop whether the item is popped
+   * @param stamp the stack stamp of the item
+   */
+  public static void traceStackItem(
+      Trace trace, int i, short height, EWord value, boolean pop, int stamp) {
+    switch (i) {
+      case 0 -> trace
+          .pStackStackItemHeight1(height)
+          .pStackStackItemValueHi1(value.hi())
+          .pStackStackItemValueLo1(value.lo())
+          .pStackStackItemPop1(pop)
+          .pStackStackItemStamp1(stamp);
+      case 1 -> trace
+          .pStackStackItemHeight2(height)
+          .pStackStackItemValueHi2(value.hi())
+          .pStackStackItemValueLo2(value.lo())
+          .pStackStackItemPop2(pop)
+          .pStackStackItemStamp2(stamp);
+      case 2 -> trace
+          .pStackStackItemHeight3(height)
+          .pStackStackItemValueHi3(value.hi())
+          .pStackStackItemValueLo3(value.lo())
+          .pStackStackItemPop3(pop)
+          .pStackStackItemStamp3(stamp);
+      case 3 -> trace
+          .pStackStackItemHeight4(height)
+          .pStackStackItemValueHi4(value.hi())
+          .pStackStackItemValueLo4(value.lo())
+          .pStackStackItemPop4(pop)
+          .pStackStackItemStamp4(stamp);
+      default -> throw new IllegalArgumentException("a stack row holds at most four items");
+    }
+  }
 
-    this.tracedExceptionSanityChecks(tracedException);
+  /**
+   * Trace the instruction-related columns of a stack row.
+   *
+   * @return the HUB trace
+   */
+  public static Trace traceInstruction(
+      Trace trace,
+      OpCodeData opCodeData,
+      long staticGas,
+      EWord pushValue,
+      boolean jumpDestinationVettingRequired,
+      TracedException tracedException,
+      boolean hashInfoFlag,
+      EWord hashInfoKeccak,
+      boolean logInfoFlag) {
+    final InstructionFamily currentInstFamily = opCodeData.instructionFamily();
 
     return trace
         .peekAtStack(true)
         // Instruction details
-        .pStackAlpha(UnsignedByte.of(stack.getCurrentOpcodeData().stackSettings().alpha()))
-        .pStackDelta(UnsignedByte.of(stack.getCurrentOpcodeData().stackSettings().delta()))
-        .pStackInstruction(Bytes.of(stack.getCurrentOpcodeData().value()))
+        .pStackAlpha(UnsignedByte.of(opCodeData.stackSettings().alpha()))
+        .pStackDelta(UnsignedByte.of(opCodeData.stackSettings().delta()))
+        .pStackInstruction(Bytes.of(opCodeData.value()))
         .pStackStaticGas(staticGas)
         // Opcode families
         .pStackAccFlag(currentInstFamily == ACCOUNT)
@@ -240,15 +265,15 @@ public final class StackFragment implements TraceFragment {
         .pStackSwapFlag(currentInstFamily == SWAP)
         .pStackTxnFlag(currentInstFamily == TRANSACTION)
         .pStackWcpFlag(currentInstFamily == WCP)
-        .pStackDecFlag1(stack.getCurrentOpcodeData().stackSettings().flag1())
-        .pStackDecFlag2(stack.getCurrentOpcodeData().stackSettings().flag2())
-        .pStackDecFlag3(stack.getCurrentOpcodeData().stackSettings().flag3())
-        .pStackDecFlag4(stack.getCurrentOpcodeData().stackSettings().flag4())
+        .pStackDecFlag1(opCodeData.stackSettings().flag1())
+        .pStackDecFlag2(opCodeData.stackSettings().flag2())
+        .pStackDecFlag3(opCodeData.stackSettings().flag3())
+        .pStackDecFlag4(opCodeData.stackSettings().flag4())
         .pStackMxpFlag(
-            Optional.ofNullable(stack.getCurrentOpcodeData().billing())
+            Optional.ofNullable(opCodeData.billing())
                 .map(b -> b.type() != MxpType.NONE)
                 .orElse(false))
-        .pStackStaticFlag(stack.getCurrentOpcodeData().stackSettings().forbiddenInStatic())
+        .pStackStaticFlag(opCodeData.stackSettings().forbiddenInStatic())
         .pStackPushValueHi(pushValue.hi())
         .pStackPushValueLo(pushValue.lo())
         .pStackJumpDestinationVettingRequired(jumpDestinationVettingRequired) // TODO: confirm this
@@ -268,11 +293,12 @@ public final class StackFragment implements TraceFragment {
         .pStackHashInfoFlag(hashInfoFlag)
         .pStackHashInfoKeccakHi(hashInfoKeccak.hi())
         .pStackHashInfoKeccakLo(hashInfoKeccak.lo())
-        .pStackLogInfoFlag(this.traceLog()) // TODO: confirm this
+        .pStackLogInfoFlag(logInfoFlag) // TODO: confirm this
     ;
   }
 
-  private void tracedExceptionSanityChecks(TracedException tracedException) {
+  public static void tracedExceptionSanityChecks(
+      OpCode opCode, short exceptions, TracedException tracedException) {
     switch (tracedException) {
       case NONE -> checkArgument(Exceptions.none(exceptions));
       case INVALID_OPCODE -> checkArgument(Exceptions.invalidOpcode(exceptions));
@@ -289,7 +315,7 @@ public final class StackFragment implements TraceFragment {
       case MAX_CODE_SIZE_EXCEPTION -> checkArgument(Exceptions.maxCodeSizeException(exceptions));
       case UNDEFINED -> throw new RuntimeException(
           "tracedException remained UNDEFINED but "
-              + Exceptions.prettyStringOf(this.opCode, exceptions));
+              + Exceptions.prettyStringOf(opCode, exceptions));
     }
   }
 }
@@ -224,11 +224,11 @@ public class CommonFragmentValues {
   }
 
   private long computeGasCost() {
-    return Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).upfrontGasCost();
+    return hub.gasProjection().upfrontGasCost();
   }
 
   private long computeGasCostExcludingDeploymentCost() {
-    return Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).gasCostExcludingDeploymentCost();
+    return hub.gasProjection().gasCostExcludingDeploymentCost();
   }
 
   /**
@@ -278,11 +278,11 @@ public class CommonFragmentValues {
   }
 
   public void payGasPaidOutOfPocket(Hub hub) {
-    this.gasNext -= Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).gasPaidOutOfPocket();
+    this.gasNext -= hub.gasProjection().gasPaidOutOfPocket();
   }
 
   public void collectChildStipend(Hub hub) {
-    this.gasNext += Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).stipend();
+    this.gasNext += hub.gasProjection().stipend();
   }
 
   public long gasCostToTrace() {
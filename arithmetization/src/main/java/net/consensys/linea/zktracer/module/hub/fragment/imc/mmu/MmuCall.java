@@ -804,6 +804,16 @@ public class MmuCall implements TraceSubFragment, PostTransactionDefer {
         .pMiscMmuPhase(phase);
   }
 
+  /**
+   * Drop the references to the payloads of this call, once the MMU holds its own copy of them; the
+   * call itself is only traced by the HUB, which does not need them.
+   */
+  public void releasePayloads() {
+    this.sourceRamBytes = Optional.empty();
+    this.targetRamBytes = Optional.empty();
+    this.exoBytes = Optional.empty();
+  }
+
   @Override
   public void resolvePostTransaction(
       Hub hub, WorldView state, Transaction tx, boolean isSuccessful) {
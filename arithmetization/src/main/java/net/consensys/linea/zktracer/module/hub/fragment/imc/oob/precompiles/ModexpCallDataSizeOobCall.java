@@ -25,18 +25,22 @@ import lombok.Getter;
 import lombok.Setter;
 import net.consensys.linea.zktracer.module.hub.Trace;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 
 @Getter
 @Setter
-public class ModexpCallDataSizeOobCall extends OobCall {
+public class ModexpCallDataSizeOobCall extends OobCall implements ModexpOobCall {
+
+  final ModexpMetadata modexpMetadata;
 
   BigInteger cds;
   boolean extractBbs;
   boolean extractEbs;
   boolean extractMbs;
 
-  public ModexpCallDataSizeOobCall() {
+  public ModexpCallDataSizeOobCall(ModexpMetadata modexpMetadata) {
     super(OOB_INST_MODEXP_CDS);
+    this.modexpMetadata = modexpMetadata;
   }
 
   @Override
@@ -25,10 +25,13 @@ import lombok.Getter;
 import lombok.Setter;
 import net.consensys.linea.zktracer.module.hub.Trace;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 
 @Getter
 @Setter
-public class ModexpExtractOobCall extends OobCall {
+public class ModexpExtractOobCall extends OobCall implements ModexpOobCall {
+
+  final ModexpMetadata modexpMetadata;
 
   BigInteger cds;
   BigInteger bbs;
@@ -39,8 +42,9 @@ public class ModexpExtractOobCall extends OobCall {
   boolean extractExponent;
   boolean extractModulus;
 
-  public ModexpExtractOobCall() {
+  public ModexpExtractOobCall(ModexpMetadata modexpMetadata) {
     super(OOB_INST_MODEXP_EXTRACT);
+    this.modexpMetadata = modexpMetadata;
   }
 
   @Override
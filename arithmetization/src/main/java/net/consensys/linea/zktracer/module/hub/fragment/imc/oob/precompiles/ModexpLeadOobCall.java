@@ -25,11 +25,14 @@ import lombok.Getter;
 import lombok.Setter;
 import net.consensys.linea.zktracer.module.hub.Trace;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 import org.apache.tuweni.bytes.Bytes;
 
 @Getter
 @Setter
-public class ModexpLeadOobCall extends OobCall {
+public class ModexpLeadOobCall extends OobCall implements ModexpOobCall {
+
+  final ModexpMetadata modexpMetadata;
 
   BigInteger bbs;
   BigInteger cds;
@@ -40,8 +43,9 @@ public class ModexpLeadOobCall extends OobCall {
   int ebsCutoff;
   int subEbs32;
 
-  public ModexpLeadOobCall() {
+  public ModexpLeadOobCall(ModexpMetadata modexpMetadata) {
     super(OOB_INST_MODEXP_LEAD);
+    this.modexpMetadata = modexpMetadata;
   }
 
   @Override
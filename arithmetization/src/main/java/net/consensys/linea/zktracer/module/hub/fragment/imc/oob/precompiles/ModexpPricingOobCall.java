@@ -25,12 +25,14 @@ import lombok.Getter;
 import lombok.Setter;
 import net.consensys.linea.zktracer.module.hub.Trace;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 import org.apache.tuweni.bytes.Bytes;
 
 @Getter
 @Setter
-public class ModexpPricingOobCall extends OobCall {
+public class ModexpPricingOobCall extends OobCall implements ModexpOobCall {
 
+  final ModexpMetadata modexpMetadata;
   final BigInteger callGas;
   BigInteger returnAtCapacity;
   boolean ramSuccess;
@@ -40,8 +42,9 @@ public class ModexpPricingOobCall extends OobCall {
   BigInteger returnGas;
   boolean returnAtCapacityNonZero;
 
-  public ModexpPricingOobCall(long calleeGas) {
+  public ModexpPricingOobCall(ModexpMetadata modexpMetadata, long calleeGas) {
     super(OOB_INST_MODEXP_PRICING);
+    this.modexpMetadata = modexpMetadata;
     this.callGas = BigInteger.valueOf(calleeGas);
   }
 
@@ -25,11 +25,13 @@ import lombok.Getter;
 import lombok.Setter;
 import net.consensys.linea.zktracer.module.hub.Trace;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 
 @Getter
 @Setter
-public class ModexpXbsOobCall extends OobCall {
+public class ModexpXbsOobCall extends OobCall implements ModexpOobCall {
 
+  final ModexpMetadata modexpMetadata;
   final ModexpXbsCase modexpXbsCase;
   BigInteger xbsHi;
   BigInteger xbsLo;
@@ -39,8 +41,9 @@ public class ModexpXbsOobCall extends OobCall {
   BigInteger maxXbsYbs;
   boolean xbsNonZero;
 
-  public ModexpXbsOobCall(ModexpXbsCase modexpXbsCase) {
+  public ModexpXbsOobCall(ModexpMetadata modexpMetadata, ModexpXbsCase modexpXbsCase) {
     super(OOB_INST_MODEXP_XBS);
+    this.modexpMetadata = modexpMetadata;
     this.modexpXbsCase = modexpXbsCase;
   }
 
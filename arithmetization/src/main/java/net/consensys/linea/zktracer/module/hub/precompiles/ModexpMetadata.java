@@ -18,7 +18,6 @@ package net.consensys.linea.zktracer.module.hub.precompiles;
 import static net.consensys.linea.zktracer.module.Util.rightPaddedSlice;
 import static net.consensys.linea.zktracer.module.txndata.Trace.WORD_SIZE;
 import static net.consensys.linea.zktracer.types.Conversions.safeLongToInt;
-import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -28,6 +27,12 @@ import net.consensys.linea.zktracer.types.MemoryRange;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.evm.internal.Words;
 
+/**
+ * The parsed call data of a MODEXP call. It is shared by the hub subsection, the OOB calls, the EXP
+ * call and the BLAKE2f/MODEXP data module, and reads every field in place from the call data
+ * {@link MemoryRange}: nothing gets copied out of the caller memory, and the byte sizes are only
+ * parsed once.
+ */
 @Getter
 @Accessors(fluent = true)
 public class ModexpMetadata {
@@ -39,6 +44,15 @@ public class ModexpMetadata {
   private final MemoryRange callDataRange;
   @Setter private Bytes rawResult;
 
+  @Getter(lazy = true)
+  private final EWord bbs = EWord.of(rawBbs());
+
+  @Getter(lazy = true)
+  private final EWord ebs = EWord.of(rawEbs());
+
+  @Getter(lazy = true)
+  private final EWord mbs = EWord.of(rawMbs());
+
   public ModexpMetadata(MemoryRange callDataRange) {
     this.callDataRange = callDataRange;
   }
@@ -47,56 +61,32 @@ public class ModexpMetadata {
     return callDataRange.extract();
   }
 
+  public int callDataSize() {
+    return safeLongToInt(callDataRange.size());
+  }
+
   public boolean extractBbs() {
-    return callData().size() > BBS_MIN_OFFSET;
+    return callDataSize() > BBS_MIN_OFFSET;
   }
 
   public boolean extractEbs() {
-    return callData().size() > EBS_MIN_OFFSET;
+    return callDataSize() > EBS_MIN_OFFSET;
   }
 
   public boolean extractMbs() {
-    return callData().size() > MBS_MIN_OFFSET;
+    return callDataSize() > MBS_MIN_OFFSET;
   }
 
   public Bytes rawBbs() {
-    return rightPaddedSlice(callData(), BBS_MIN_OFFSET, WORD_SIZE);
+    return callDataRange.slice(BBS_MIN_OFFSET, WORD_SIZE);
   }
 
   public Bytes rawEbs() {
-    return rightPaddedSlice(callData(), EBS_MIN_OFFSET, WORD_SIZE);
+    return callDataRange.slice(EBS_MIN_OFFSET, WORD_SIZE);
   }
 
   public Bytes rawMbs() {
-    return rightPaddedSlice(callData(), MBS_MIN_OFFSET, WORD_SIZE);
-  }
-
-  private int bbsShift() {
-    return EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData().size());
-  }
-
-  public EWord bbs() {
-    return EWord.of(rawBbs().shiftRight(bbsShift()).shiftLeft(bbsShift()));
-  }
-
-  private int ebsShift() {
-    return extractEbs()
-        ? EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData().size() - EBS_MIN_OFFSET)
-        : 0;
-  }
-
-  public EWord ebs() {
-    return EWord.of(rawEbs().shiftRight(ebsShift()).shiftLeft(ebsShift()));
-  }
-
-  private int mbsShift() {
-    return extractMbs()
-        ? EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData().size() - MBS_MIN_OFFSET)
-        : 0;
-  }
-
-  public EWord mbs() {
-    return EWord.of(rawMbs().shiftRight(mbsShift()).shiftLeft(mbsShift()));
+    return callDataRange.slice(MBS_MIN_OFFSET, WORD_SIZE);
   }
 
   public int bbsInt() {
@@ -112,11 +102,11 @@ public class ModexpMetadata {
   }
 
   public boolean loadRawLeadingWord() {
-    return callData().size() > BASE_MIN_OFFSET + bbsInt() && !ebs().isZero();
+    return callDataSize() > BASE_MIN_OFFSET + bbsInt() && !ebs().isZero();
   }
 
   public boolean extractModulus() {
-    return (callData().size() > BASE_MIN_OFFSET + bbsInt() + ebsInt()) && !mbs().isZero();
+    return (callDataSize() > BASE_MIN_OFFSET + bbsInt() + ebsInt()) && !mbs().isZero();
   }
 
   public boolean extractBase() {
@@ -128,33 +118,15 @@ public class ModexpMetadata {
   }
 
   public Bytes base() {
-    Bytes unpadded = Bytes.EMPTY;
-    final int firstOffset = BASE_MIN_OFFSET;
-    if (callData().size() > firstOffset) {
-      final int sizeToExtract = Math.min(bbsInt(), callData().size() - firstOffset);
-      unpadded = callData().slice(BASE_MIN_OFFSET, sizeToExtract);
-    }
-    return rightPadTo(unpadded, bbsInt());
+    return callDataRange.slice(BASE_MIN_OFFSET, bbsInt());
   }
 
   public Bytes exp() {
-    Bytes unpadded = Bytes.EMPTY;
-    final int firstOffset = BASE_MIN_OFFSET + bbsInt();
-    if (callData().size() > firstOffset) {
-      final int sizeToExtract = Math.min(ebsInt(), callData().size() - firstOffset);
-      unpadded = callData().slice(BASE_MIN_OFFSET + bbsInt(), sizeToExtract);
-    }
-    return rightPadTo(unpadded, ebsInt());
+    return callDataRange.slice(BASE_MIN_OFFSET + bbsInt(), ebsInt());
   }
 
   public Bytes mod() {
-    Bytes unpadded = Bytes.EMPTY;
-    final int firstOffset = BASE_MIN_OFFSET + bbsInt() + ebsInt();
-    if (callData().size() > firstOffset) {
-      final int sizeToExtract = Math.min(mbsInt(), callData().size() - firstOffset);
-      unpadded = callData().slice(firstOffset, sizeToExtract);
-    }
-    return rightPadTo(unpadded, (int) Words.clampedToLong(mbs()));
+    return callDataRange.slice(BASE_MIN_OFFSET + bbsInt() + ebsInt(), mbsInt());
   }
 
   public boolean mbsNonZero() {
@@ -15,12 +15,105 @@
 
 package net.consensys.linea.zktracer.module.hub.section;
 
+import static net.consensys.linea.zktracer.runtime.stack.StackItem.empty;
+
+import java.util.List;
+
 import net.consensys.linea.zktracer.module.hub.Hub;
+import net.consensys.linea.zktracer.module.hub.StackRowStore;
+import net.consensys.linea.zktracer.module.hub.Trace;
+import net.consensys.linea.zktracer.module.hub.fragment.StackFragment;
+import net.consensys.linea.zktracer.module.hub.fragment.TraceFragment;
+import net.consensys.linea.zktracer.module.hub.signals.TracedException;
+import net.consensys.linea.zktracer.opcode.OpCodeData;
+import net.consensys.linea.zktracer.runtime.callstack.CallFrame;
+import net.consensys.linea.zktracer.runtime.stack.StackItem;
+import net.consensys.linea.zktracer.runtime.stack.StackLine;
+import net.consensys.linea.zktracer.types.EWord;
+import org.apache.tuweni.bytes.Bytes;
 
+/**
+ * A section only made of stack rows (and possibly of an exceptional context row). As there are
+ * millions of those per conflation, their stack rows are not stored as {@link StackFragment}s, but
+ * in the {@link StackRowStore} of the current transaction.
+ */
 public class StackOnlySection extends TraceSection {
+  private static final List<StackItem> EMPTY_ROW = List.of(empty(), empty(), empty(), empty());
+
+  private final StackRowStore stackRows;
+  private final OpCodeData opCodeData;
+  private final long staticGas;
+  private final int firstStackRow;
+  private final int stackRowCount;
+
   public StackOnlySection(Hub hub) {
-    super(hub, (short) (hub.opCode().getData().numberOfStackRows()));
+    super(hub, (short) 0);
+
+    final CallFrame currentFrame = hub.currentFrame();
+    this.stackRows = hub.state().current().txTrace().stackRows();
+    this.opCodeData = currentFrame.stack().getCurrentOpcodeData();
+    this.staticGas = hub.gasProjection().staticGas();
+
+    final List<StackLine> lines = currentFrame.pending().lines();
+    this.firstStackRow = this.stackRows.rowCount();
+    if (lines.isEmpty()) {
+      this.stackRowCount = currentFrame.opCodeData().numberOfStackRows();
+      for (int i = 0; i < this.stackRowCount; i++) {
+        this.stackRows.addRow(EMPTY_ROW);
+      }
+    } else {
+      this.stackRowCount = lines.size();
+      for (StackLine line : lines) {
+        this.stackRows.addRow(line.asStackItems());
+      }
+    }
+  }
+
+  @Override
+  protected int stackRowCount() {
+    return this.stackRowCount;
+  }
+
+  @Override
+  protected int nonStackRowCount() {
+    return this.fragments().size();
+  }
+
+  @Override
+  public int lineCount() {
+    return this.stackRowCount + this.fragments().size();
+  }
+
+  @Override
+  public void setStackItemValue(int line, int item, Bytes value) {
+    this.stackRows.setValue(this.firstStackRow + line, item, value);
+  }
+
+  @Override
+  public void trace(Trace hubTrace) {
+    final TracedException tracedException = commonValues.tracedException();
+    StackFragment.tracedExceptionSanityChecks(
+        opCodeData.mnemonic(), commonValues.exceptions, tracedException);
+
+    for (int i = 0; i < this.stackRowCount; i++) {
+      final EWord lastValue = this.stackRows.traceRow(hubTrace, this.firstStackRow + i);
+      StackFragment.traceInstruction(
+          hubTrace,
+          opCodeData,
+          staticGas,
+          opCodeData.isPush() ? lastValue : EWord.ZERO,
+          false,
+          tracedException,
+          false,
+          EWord.ZERO,
+          false);
+      this.traceCommonFragment(hubTrace, i, 0);
+    }
 
-    this.addStack(hub);
+    int nonStackLineCounter = 0;
+    for (TraceFragment fragment : this.fragments()) {
+      fragment.trace(hubTrace);
+      this.traceCommonFragment(hubTrace, this.stackRowCount - 1, ++nonStackLineCounter);
+    }
   }
 }
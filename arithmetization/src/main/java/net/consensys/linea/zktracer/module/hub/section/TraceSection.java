@@ -120,10 +120,8 @@ public class TraceSection {
   public void seal() {
     final HubProcessingPhase currentPhase = commonValues.hubProcessingPhase;
 
-    commonValues.numberOfNonStackRows(
-        (int) fragments.stream().filter(l -> !(l instanceof StackFragment)).count());
-    commonValues.TLI(
-        (int) fragments.stream().filter(l -> (l instanceof StackFragment)).count() == 2);
+    commonValues.numberOfNonStackRows(this.nonStackRowCount());
+    commonValues.TLI(this.stackRowCount() == 2);
     commonValues.codeFragmentIndex(
         currentPhase == TX_EXEC
             ? hub()
@@ -146,6 +144,27 @@ public class TraceSection {
     }
   }
 
+  /**
+   * @return the number of stack rows in this section
+   */
+  protected int stackRowCount() {
+    return (int) fragments.stream().filter(l -> (l instanceof StackFragment)).count();
+  }
+
+  /**
+   * @return the number of non-stack rows in this section
+   */
+  protected int nonStackRowCount() {
+    return (int) fragments.stream().filter(l -> !(l instanceof StackFragment)).count();
+  }
+
+  /**
+   * @return the number of rows of this section in the HUB trace
+   */
+  public int lineCount() {
+    return fragments.size();
+  }
+
   private int computeContextNumberNew() {
     final HubProcessingPhase currentPhase = commonValues.hubProcessingPhase;
     if (currentPhase == TX_WARM || currentPhase == TX_FINL || currentPhase == TX_SKIP) {
@@ -168,7 +187,7 @@ public class TraceSection {
                 new StackLine().asStackItems(),
                 hub.pch().exceptions(),
                 hub.pch().abortingConditions().snapshot(),
-                Hub.GAS_PROJECTOR.of(currentFrame.frame(), currentFrame.opCode()),
+                hub.gasProjection(),
                 currentFrame.isDeployment(),
                 commonValues));
       }
@@ -181,7 +200,7 @@ public class TraceSection {
                 line.asStackItems(),
                 hub.pch().exceptions(),
                 hub.pch().abortingConditions().snapshot(),
-                Hub.GAS_PROJECTOR.of(currentFrame.frame(), currentFrame.opCode()),
+                hub.gasProjection(),
                 currentFrame.isDeployment(),
                 commonValues));
       }
@@ -209,6 +228,18 @@ public class TraceSection {
     }
   }
 
+  /**
+   * Retroactively set the value of an item of one of the stack rows of this section.
+   *
+   * @param line the index of the stack row
+   * @param item the 0-based index of the item within the row
+   * @param value the value of the item
+   */
+  public void setStackItemValue(int line, int item, Bytes value) {
+    // This works because we are certain that the stack chunks are the first.
+    ((StackFragment) fragments.get(line)).stackOps().get(item).value(value);
+  }
+
   public void trace(Trace hubTrace) {
     int stackLineCounter = -1;
     int nonStackLineCounter = 0;
@@ -221,18 +252,30 @@ public class TraceSection {
       }
 
       specificFragment.trace(hubTrace);
-      final CommonFragment commonFragment =
-          new CommonFragment(
-              commonValues,
-              stackLineCounter,
-              nonStackLineCounter,
-              hub().state.stamps().mmu(),
-              hub().state.stamps().mxp());
-      commonFragment.trace(hubTrace);
-      hubTrace.fillAndValidateRow();
+      this.traceCommonFragment(hubTrace, stackLineCounter, nonStackLineCounter);
     }
   }
 
+  /**
+   * Trace the columns shared by all the rows of this section, and close the current row.
+   *
+   * @param hubTrace the HUB trace
+   * @param stackLineCounter the index of the last stack row traced so far
+   * @param nonStackLineCounter the number of non-stack rows traced so far
+   */
+  protected final void traceCommonFragment(
+      Trace hubTrace, int stackLineCounter, int nonStackLineCounter) {
+    final CommonFragment commonFragment =
+        new CommonFragment(
+            commonValues,
+            stackLineCounter,
+            nonStackLineCounter,
+            hub().state.stamps().mmu(),
+            hub().state.stamps().mxp());
+    commonFragment.trace(hubTrace);
+    hubTrace.fillAndValidateRow();
+  }
+
   public int hubStamp() {
     return commonValues.hubStamp;
   }
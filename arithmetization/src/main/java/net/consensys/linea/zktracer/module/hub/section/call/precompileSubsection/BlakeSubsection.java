@@ -47,9 +47,8 @@ public class BlakeSubsection extends PrecompileSubsection {
       return;
     }
 
-    final Bytes callData = getCallDataRange().extract();
-    final Bytes blakeR = callData.slice(0, 4);
-    final Bytes blakeF = callData.slice(212, 1);
+    final Bytes blakeR = getCallDataRange().slice(0, 4);
+    final Bytes blakeF = getCallDataRange().slice(212, 1);
 
     final boolean wellFormedF = blakeF.get(0) == 0 || blakeF.get(0) == 1;
     final long rounds = blakeR.toLong();
@@ -109,8 +108,7 @@ public class BlakeSubsection extends PrecompileSubsection {
       fourthImcFragment.callMmu(partialReturnDataCopyForBlake);
     }
 
-    // TODO: make it smarter
-    Bytes callData = getCallDataRange().extract();
+    final Bytes callData = extractCallData();
     final BlakeComponents blake2f =
         new BlakeComponents(
             callData, callData.slice(0, 4), callData.slice(212, 1), extractReturnData());
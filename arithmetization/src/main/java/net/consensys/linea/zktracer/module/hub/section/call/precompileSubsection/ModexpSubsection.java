@@ -80,7 +80,7 @@ public class ModexpSubsection extends PrecompileSubsection {
       return;
     }
 
-    final ModexpCallDataSizeOobCall firstOobCall = new ModexpCallDataSizeOobCall();
+    final ModexpCallDataSizeOobCall firstOobCall = new ModexpCallDataSizeOobCall(modexpMetaData);
     firstImcFragment.callOob(firstOobCall);
 
     final ImcFragment secondImcFragment = ImcFragment.empty(hub);
@@ -89,7 +89,8 @@ public class ModexpSubsection extends PrecompileSubsection {
       final MmuCall mmuCall = forModexpExtractBbs(hub, this, modexpMetaData);
       secondImcFragment.callMmu(mmuCall);
     }
-    final ModexpXbsOobCall secondOobCall = new ModexpXbsOobCall(OOB_INST_MODEXP_BBS);
+    final ModexpXbsOobCall secondOobCall =
+        new ModexpXbsOobCall(modexpMetaData, OOB_INST_MODEXP_BBS);
     secondImcFragment.callOob(secondOobCall);
 
     final ImcFragment thirdImcFragment = ImcFragment.empty(hub);
@@ -98,7 +99,7 @@ public class ModexpSubsection extends PrecompileSubsection {
       final MmuCall mmuCall = forModexpExtractEbs(hub, this, modexpMetaData);
       thirdImcFragment.callMmu(mmuCall);
     }
-    final ModexpXbsOobCall thirdOobCall = new ModexpXbsOobCall(OOB_INST_MODEXP_EBS);
+    final ModexpXbsOobCall thirdOobCall = new ModexpXbsOobCall(modexpMetaData, OOB_INST_MODEXP_EBS);
     thirdImcFragment.callOob(thirdOobCall);
 
     final ImcFragment fourthImcFragment = ImcFragment.empty(hub);
@@ -107,12 +108,13 @@ public class ModexpSubsection extends PrecompileSubsection {
       final MmuCall mmuCall = forModexpExtractMbs(hub, this, modexpMetaData);
       fourthImcFragment.callMmu(mmuCall);
     }
-    final ModexpXbsOobCall fourthOobCall = new ModexpXbsOobCall(OOB_INST_MODEXP_MBS);
+    final ModexpXbsOobCall fourthOobCall =
+        new ModexpXbsOobCall(modexpMetaData, OOB_INST_MODEXP_MBS);
     fourthImcFragment.callOob(fourthOobCall);
 
     final ImcFragment fifthImcFragment = ImcFragment.empty(hub);
     fragments().add(fifthImcFragment);
-    final ModexpLeadOobCall fifthOobCall = new ModexpLeadOobCall();
+    final ModexpLeadOobCall fifthOobCall = new ModexpLeadOobCall(modexpMetaData);
     fifthImcFragment.callOob(fifthOobCall);
     if (modexpMetaData.loadRawLeadingWord()) {
       final MmuCall mmuCall = forModexpLoadLead(hub, this, modexpMetaData);
@@ -124,13 +126,13 @@ public class ModexpSubsection extends PrecompileSubsection {
     final ImcFragment sixthImcFragment = ImcFragment.empty(hub);
     fragments().add(sixthImcFragment);
     final long calleeGas = callSection.stpCall.effectiveChildContextGasAllowance();
-    sixthOobCall = new ModexpPricingOobCall(calleeGas);
+    sixthOobCall = new ModexpPricingOobCall(modexpMetaData, calleeGas);
     sixthImcFragment.callOob(sixthOobCall);
 
     // We need to trigger the OOB before CALL's execution
     if (sixthOobCall.isRamSuccess()) {
       seventhImcFragment = ImcFragment.empty(hub);
-      final ModexpExtractOobCall seventhOobCall = new ModexpExtractOobCall();
+      final ModexpExtractOobCall seventhOobCall = new ModexpExtractOobCall(modexpMetaData);
       seventhImcFragment.callOob(seventhOobCall);
     }
   }
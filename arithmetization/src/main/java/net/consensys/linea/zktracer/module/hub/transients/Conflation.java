@@ -27,12 +27,22 @@ import net.consensys.linea.zktracer.runtime.LogData;
 @Getter
 public class Conflation {
   private final DeploymentInfo deploymentInfo = new DeploymentInfo();
-  private final List<LogData> logs = new ArrayList<>(100);
+  private final ArrayList<LogData> logs = new ArrayList<>(100);
   private final StackedSet<StackHeightCheck> stackHeightChecksForStackUnderflows =
       new StackedSet<>(256, 32);
   private final StackedSet<StackHeightCheck> stackHeightChecksForStackOverflows =
       new StackedSet<>(256, 32);
 
+  /**
+   * Make room for the logs expected in the conflation, as estimated from its gas used by a {@link
+   * net.consensys.linea.zktracer.container.CapacityPlanner}.
+   *
+   * @param expectedLogs the expected number of logs
+   */
+  public void ensureCapacity(final int expectedLogs) {
+    this.logs.ensureCapacity(expectedLogs);
+  }
+
   public int log(LogData logData) {
     this.logs.add(logData);
     return this.logs.size() - 1;
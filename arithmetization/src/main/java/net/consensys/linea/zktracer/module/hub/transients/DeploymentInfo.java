@@ -15,7 +15,11 @@
 
 package net.consensys.linea.zktracer.module.hub.transients;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -27,6 +31,12 @@ public class DeploymentInfo {
   private final Map<Address, Boolean> deploymentStatus = new HashMap<>();
   private final Map<Address, Bytes> initializationCodes = new HashMap<>();
 
+  /** For every modification which may still be reverted, in order, the action reverting it */
+  private final List<Runnable> undoLog = new ArrayList<>();
+
+  /** The number of modifications which may no longer be reverted */
+  private int forgottenModificationCount = 0;
+
   /**
    * Returns the deployment number of the given address; sets it to zero if it is the first
    * deployment of this address.
@@ -70,18 +80,63 @@ public class DeploymentInfo {
 
   private void incrementDeploymentNumber(Address address) {
     int currentDeploymentNumber = getDeploymentNumber(address);
-    deploymentNumber.put(address, currentDeploymentNumber + 1);
+    this.record(deploymentNumber, address, currentDeploymentNumber + 1);
   }
 
   private void markAsUnderDeployment(Address address) {
-    this.deploymentStatus.put(address, true);
+    this.record(this.deploymentStatus, address, true);
   }
 
   public final void markAsNotUnderDeployment(Address address) {
-    this.deploymentStatus.put(address, false);
+    this.record(this.deploymentStatus, address, false);
   }
 
   public void setInitializationCode(Address address, Bytes bytecode) {
-    this.initializationCodes.put(address, bytecode);
+    this.record(this.initializationCodes, address, bytecode);
+  }
+
+  private <V> void record(Map<Address, V> map, Address address, V value) {
+    final boolean existed = map.containsKey(address);
+    final V previous = map.put(address, value);
+    this.undoLog.add(existed ? () -> map.put(address, previous) : () -> map.remove(address));
+  }
+
+  /**
+   * @return the number of modifications made so far
+   */
+  public int modificationCount() {
+    return this.forgottenModificationCount + this.undoLog.size();
+  }
+
+  /**
+   * Revert every modification made after the first <code>modificationCount</code> ones.
+   *
+   * @param modificationCount the number of modifications to keep
+   */
+  public void rollback(final int modificationCount) {
+    checkArgument(
+        modificationCount >= this.forgottenModificationCount,
+        "can not revert modifications which have been forgotten");
+    final int kept = modificationCount - this.forgottenModificationCount;
+    for (int i = this.undoLog.size() - 1; i >= kept; i--) {
+      this.undoLog.get(i).run();
+    }
+    this.undoLog.subList(kept, this.undoLog.size()).clear();
+  }
+
+  /**
+   * Drop the actions reverting the first <code>modificationCount</code> modifications, which may
+   * then no longer be reverted.
+   *
+   * @param modificationCount the number of modifications to make definitive
+   */
+  public void forget(final int modificationCount) {
+    final int forgotten =
+        Math.min(modificationCount, this.modificationCount()) - this.forgottenModificationCount;
+    if (forgotten <= 0) {
+      return;
+    }
+    this.undoLog.subList(0, forgotten).clear();
+    this.forgottenModificationCount += forgotten;
   }
 }
@@ -66,6 +66,14 @@ public class L2Block implements Module {
     this.l2l1LogSizes.pop();
   }
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    while (this.sizesRlpEncodedTxs.size() > transactionCount) {
+      this.sizesRlpEncodedTxs.pop();
+      this.l2l1LogSizes.pop();
+    }
+  }
+
   @Override
   public int lineCount() {
     final int txCount = this.sizesRlpEncodedTxs.size();
@@ -135,7 +143,7 @@ public class L2Block implements Module {
     }
 
     this.sizesRlpEncodedTxs.push(
-        this.sizesRlpEncodedTxs.pop() + tx.getBesuTransaction().encoded().size());
+        this.sizesRlpEncodedTxs.pop() + tx.getEncodedTransaction().blockBodySize());
   }
 
   public int l2l1LogsCount() {
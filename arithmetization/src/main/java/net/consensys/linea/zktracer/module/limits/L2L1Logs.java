@@ -36,6 +36,9 @@ public class L2L1Logs implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     return this.l2Block.l2l1LogsCount();
@@ -51,6 +51,11 @@ public class LogData implements Module {
     lineCounter.pop();
   }
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    lineCounter.rollback(transactionCount);
+  }
+
   /* WARN: make sure this is called after rlpTxnRcpt as we need the operation of the current transaction */
   @Override
   public void traceEndTx(TransactionProcessingMetadata tx) {
@@ -49,6 +49,7 @@ import org.apache.tuweni.bytes.Bytes;
 public class Mmio implements Module {
   private final Mmu mmu;
   private final CountOnlyOperation lineCounter = new CountOnlyOperation();
+  private final MmioInstructions mmioInstructions = new MmioInstructions();
 
   @Override
   public String moduleKey() {
@@ -65,6 +66,11 @@ public class Mmio implements Module {
     lineCounter.pop();
   }
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    lineCounter.rollback(transactionCount);
+  }
+
   @Override
   public void traceEndTx(TransactionProcessingMetadata tx) {
     for (MmuOperation o : mmu.operations().operationsInTransaction()) {
@@ -77,6 +83,16 @@ public class Mmio implements Module {
     return lineCounter.lineCount();
   }
 
+  @Override
+  public long footprint(final int bytesPerLine) {
+    if (mmu.deferMicroInstructions()) {
+      // No MMIO line exists until the MMU micro-instructions get built; their payloads are
+      // accounted for by the MMU
+      return 0;
+    }
+    return Module.super.footprint(bytesPerLine);
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(lineCount());
@@ -84,6 +100,7 @@ public class Mmio implements Module {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
+    mmu.expandMicroInstructions();
     Trace trace = new Trace(buffers);
     int stamp = 0;
     for (MmuOperation mmuOperation : mmu.operations().getAll()) {
@@ -94,14 +111,7 @@ public class Mmio implements Module {
           currentMmioInstNumber < currentMmuData.mmuToMmioInstructions().size();
           currentMmioInstNumber++) {
 
-        final MmioInstructions mmioInstructions =
-            new MmioInstructions(currentMmuData, currentMmioInstNumber);
-        final MmioData mmioData =
-            mmioInstructions.compute(
-                currentMmuData
-                    .mmuToMmioInstructions()
-                    .get(currentMmioInstNumber)
-                    .mmioInstruction());
+        final MmioData mmioData = mmioInstructions.compute(currentMmuData, currentMmioInstNumber);
 
         trace(trace, mmioData, ++stamp);
       }
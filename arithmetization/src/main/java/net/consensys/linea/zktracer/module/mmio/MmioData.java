@@ -164,13 +164,14 @@ public class MmioData {
   }
 
   public static boolean isFastOperation(final int mmioInstruction) {
-    return List.of(
-            MMIO_INST_LIMB_VANISHES,
-            MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
-            MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
-            MMIO_INST_RAM_TO_RAM_TRANSPLANT,
-            MMIO_INST_RAM_VANISHES)
-        .contains(mmioInstruction);
+    return switch (mmioInstruction) {
+      case MMIO_INST_LIMB_VANISHES,
+          MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
+          MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
+          MMIO_INST_RAM_TO_RAM_TRANSPLANT,
+          MMIO_INST_RAM_VANISHES -> true;
+      default -> false;
+    };
   }
 
   public static int lineCountOfMmioInstruction(final int mmioInstruction) {
@@ -49,48 +49,35 @@ import net.consensys.linea.zktracer.module.mmio.instructions.RamToRamTwoTarget;
 import net.consensys.linea.zktracer.module.mmio.instructions.RamVanishes;
 import net.consensys.linea.zktracer.module.mmu.MmuData;
 
+/**
+ * Dispatches the MMIO instructions to their (stateless) implementations. A single instance is meant
+ * to be shared by all the MMU operations of a conflation.
+ */
 @Accessors(fluent = true)
 public class MmioInstructions {
   private final Map<Integer, MmioInstruction> mmioInstructionMap;
 
-  public MmioInstructions(final MmuData mmuData, final int mmioInstructionNumber) {
+  public MmioInstructions() {
     mmioInstructionMap =
         Map.ofEntries(
-            entry(MMIO_INST_LIMB_VANISHES, new LimbVanishes(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
-                new LimbToRamTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_ONE_TARGET,
-                new LimbToRamOneTarget(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_TWO_TARGET,
-                new LimbToRamTwoTarget(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
-                new RamToLimbTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_ONE_SOURCE,
-                new RamToLimbOneSource(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_TWO_SOURCE,
-                new RamToLimbTwoSource(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TRANSPLANT,
-                new RamToRamTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_PARTIAL, new RamToRamPartial(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TWO_TARGET,
-                new RamToRamTwoTarget(mmuData, mmioInstructionNumber)),
-            entry(MMIO_INST_RAM_EXCISION, new RamExcision(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TWO_SOURCE,
-                new RamToRamTwoSource(mmuData, mmioInstructionNumber)),
-            entry(MMIO_INST_RAM_VANISHES, new RamVanishes(mmuData, mmioInstructionNumber)));
+            entry(MMIO_INST_LIMB_VANISHES, new LimbVanishes()),
+            entry(MMIO_INST_LIMB_TO_RAM_TRANSPLANT, new LimbToRamTransplant()),
+            entry(MMIO_INST_LIMB_TO_RAM_ONE_TARGET, new LimbToRamOneTarget()),
+            entry(MMIO_INST_LIMB_TO_RAM_TWO_TARGET, new LimbToRamTwoTarget()),
+            entry(MMIO_INST_RAM_TO_LIMB_TRANSPLANT, new RamToLimbTransplant()),
+            entry(MMIO_INST_RAM_TO_LIMB_ONE_SOURCE, new RamToLimbOneSource()),
+            entry(MMIO_INST_RAM_TO_LIMB_TWO_SOURCE, new RamToLimbTwoSource()),
+            entry(MMIO_INST_RAM_TO_RAM_TRANSPLANT, new RamToRamTransplant()),
+            entry(MMIO_INST_RAM_TO_RAM_PARTIAL, new RamToRamPartial()),
+            entry(MMIO_INST_RAM_TO_RAM_TWO_TARGET, new RamToRamTwoTarget()),
+            entry(MMIO_INST_RAM_EXCISION, new RamExcision()),
+            entry(MMIO_INST_RAM_TO_RAM_TWO_SOURCE, new RamToRamTwoSource()),
+            entry(MMIO_INST_RAM_VANISHES, new RamVanishes()));
   }
 
-  public MmioData compute(final int mmioInstruction) {
-    return mmioInstructionMap.get(mmioInstruction).execute();
+  public MmioData compute(final MmuData mmuData, final int mmioInstructionNumber) {
+    final int mmioInstruction =
+        mmuData.mmuToMmioInstructions().get(mmioInstructionNumber).mmioInstruction();
+    return mmioInstructionMap.get(mmioInstruction).execute(mmuData, mmioInstructionNumber);
   }
 }
@@ -24,14 +24,9 @@ import net.consensys.linea.zktracer.module.mmu.MmuData;
 import net.consensys.linea.zktracer.types.Bytes16;
 
 public class LimbToRamOneTarget extends MmioInstruction {
-
-  public LimbToRamOneTarget(MmuData mmuData, int instructionNumber) {
-    super(mmuData, instructionNumber);
-  }
-
   @Override
-  public MmioData execute() {
-    final MmioData mmioData = super.execute();
+  public MmioData execute(final MmuData mmuData, final int instructionNumber) {
+    final MmioData mmioData = super.execute(mmuData, instructionNumber);
 
     mmioData.cnA(mmioData.targetContext());
     mmioData.cnB(0);
@@ -15,22 +15,17 @@
 
 package net.consensys.linea.zktracer.module.mmio.instructions;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.module.mmio.MmioData;
 import net.consensys.linea.zktracer.module.mmu.MmuData;
 import net.consensys.linea.zktracer.module.mmu.values.MmuToMmioConstantValues;
 import net.consensys.linea.zktracer.module.mmu.values.MmuToMmioInstruction;
 
-@RequiredArgsConstructor
-@Getter
-@Accessors(fluent = true)
+/**
+ * The computation of a single MMIO instruction. Implementations are stateless, so that a single
+ * instance of each may be shared by every MMU operation, and across threads.
+ */
 public class MmioInstruction {
-  protected final MmuData mmuData;
-  protected final int instructionNumber;
-
-  public MmioData execute() {
+  public MmioData execute(final MmuData mmuData, final int instructionNumber) {
     final MmuToMmioConstantValues mmuToMmioConstantValues = mmuData.mmuToMmioConstantValues();
     final MmuToMmioInstruction mmuToMmioInstruction =
         mmuData.mmuToMmioInstructions().get(instructionNumber);
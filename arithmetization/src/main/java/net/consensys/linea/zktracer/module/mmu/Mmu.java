@@ -18,34 +18,77 @@ package net.consensys.linea.zktracer.module.mmu;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationListModule;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedList;
 import net.consensys.linea.zktracer.module.euc.Euc;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.mmu.MmuCall;
+import net.consensys.linea.zktracer.module.mmu.instructions.MmuInstruction;
 import net.consensys.linea.zktracer.module.mmu.values.HubToMmuValues;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 
-@RequiredArgsConstructor
 @Accessors(fluent = true)
 public class Mmu implements OperationListModule<MmuOperation> {
   @Getter
   private final ModuleOperationStackedList<MmuOperation> operations =
       new ModuleOperationStackedList<>();
 
-  private final Euc euc;
-  private final Wcp wcp;
+  /** Holds the RAM and exo payloads of the operations, until the conflation is committed. */
+  @Getter private final MmuPayloadArena payloads = new MmuPayloadArena();
+
+  private final MmuInstructions mmuInstructions;
+
+  /**
+   * Whether the MMIO micro-instructions of the operations are only built when committing, rather
+   * than when the MMU is called. The EUC and WCP calls, and hence the MMU and MMIO line counts, are
+   * always computed when the MMU is called.
+   */
+  @Getter @Setter private boolean deferMicroInstructions = false;
+
+  public Mmu(final Euc euc, final Wcp wcp) {
+    this.mmuInstructions = new MmuInstructions(euc, wcp);
+  }
 
   @Override
   public String moduleKey() {
     return "MMU";
   }
 
+  @Override
+  public void traceStartConflation(final long blockCount) {
+    // The payloads of a previous conflation traced by this instance have been committed already
+    payloads.release();
+  }
+
+  @Override
+  public void enterTransaction() {
+    operations.enter();
+    payloads.enter();
+  }
+
+  @Override
+  public void popTransaction() {
+    operations.pop();
+    payloads.pop();
+  }
+
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    operations.rollback(transactionCount);
+    payloads.rollback(transactionCount);
+  }
+
+  @Override
+  public long footprint(final int bytesPerLine) {
+    return OperationListModule.super.footprint(bytesPerLine) + payloads.usedBytes();
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
@@ -53,6 +96,7 @@ public class Mmu implements OperationListModule<MmuOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
+    expandMicroInstructions();
     final Trace trace = new Trace(buffers);
 
     int mmuStamp = 0;
@@ -69,13 +113,33 @@ public class Mmu implements OperationListModule<MmuOperation> {
 
   public void call(final MmuCall mmuCall) {
     checkState(mmuCall.traceMe(), "Shouldn't compute if traceMe is false");
-    MmuData mmuData = new MmuData(mmuCall);
+    MmuData mmuData = new MmuData(mmuCall, payloads);
     mmuData.hubToMmuValues(
         HubToMmuValues.fromMmuCall(mmuCall, mmuData.exoLimbIsSource(), mmuData.exoLimbIsTarget()));
 
-    final MmuInstructions mmuInstructions = new MmuInstructions(euc, wcp);
-    mmuData = mmuInstructions.compute(mmuData);
+    final MmuInstruction instruction = mmuInstructions.preProcess(mmuData);
+    mmuCall.releasePayloads();
 
-    operations.add(new MmuOperation(mmuData));
+    final MmuOperation operation = new MmuOperation(mmuData);
+    if (deferMicroInstructions) {
+      operation.deferMicroInstructions(instruction);
+    } else {
+      instruction.setMicroInstructions(mmuData);
+    }
+    operations.add(operation);
+  }
+
+  /**
+   * Build the micro-instructions of every operation for which they have been deferred. They are
+   * independent of each other, so they are built in parallel.
+   */
+  public synchronized void expandMicroInstructions() {
+    final List<MmuOperation> pending = new ArrayList<>();
+    for (int i = 0; i < operations.size(); i++) {
+      if (operations.get(i).hasPendingMicroInstructions()) {
+        pending.add(operations.get(i));
+      }
+    }
+    pending.parallelStream().forEach(MmuOperation::expandMicroInstructions);
   }
 }
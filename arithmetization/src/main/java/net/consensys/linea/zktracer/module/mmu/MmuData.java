@@ -68,7 +68,7 @@ public class MmuData {
           MMU_INST_MODEXP_ZERO,
           MMU_INST_RAM_TO_EXO_WITH_PADDING);
 
-  public MmuData(final MmuCall mmuCall) {
+  public MmuData(final MmuCall mmuCall, final MmuPayloadArena payloads) {
     this(
         mmuCall,
         0,
@@ -87,9 +87,9 @@ public class MmuData {
         MMU_INST_EXO_IS_SOURCE.contains(mmuCall.instruction()),
         MMU_INST_EXO_IS_TARGET.contains(mmuCall.instruction()));
 
-    this.setSourceRamBytes();
-    this.setTargetRamBytes();
-    this.setExoBytes();
+    this.setSourceRamBytes(payloads);
+    this.setTargetRamBytes(payloads);
+    this.setExoBytes(payloads);
   }
 
   public int numberMmioInstructions() {
@@ -104,21 +104,21 @@ public class MmuData {
     mmuToMmioInstructions.add(mmuToMmioInstruction);
   }
 
-  public void setSourceRamBytes() {
+  public void setSourceRamBytes(final MmuPayloadArena payloads) {
     if (mmuCall.sourceRamBytes().isPresent()) {
-      sourceRamBytes(mmuCall.sourceRamBytes().get());
+      sourceRamBytes(payloads.store(mmuCall.sourceRamBytes().get()));
     }
   }
 
-  public void setTargetRamBytes() {
+  public void setTargetRamBytes(final MmuPayloadArena payloads) {
     if (mmuCall.targetRamBytes().isPresent()) {
-      targetRamBytes(mmuCall.targetRamBytes().get());
+      targetRamBytes(payloads.store(mmuCall.targetRamBytes().get()));
     }
   }
 
-  public void setExoBytes() {
+  public void setExoBytes(final MmuPayloadArena payloads) {
     if (mmuCall.exoBytes().isPresent()) {
-      exoBytes(mmuCall.exoBytes().get());
+      exoBytes(payloads.store(mmuCall.exoBytes().get()));
     }
   }
 }
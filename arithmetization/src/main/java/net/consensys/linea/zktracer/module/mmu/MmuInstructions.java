@@ -28,8 +28,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_RAM_TO_RAM_SANS_PADDING;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_RIGHT_PADDED_WORD_EXTRACTION;
 
-import lombok.Getter;
-import lombok.experimental.Accessors;
+import lombok.RequiredArgsConstructor;
 import net.consensys.linea.zktracer.module.euc.Euc;
 import net.consensys.linea.zktracer.module.mmu.instructions.AnyToRamWithPadding;
 import net.consensys.linea.zktracer.module.mmu.instructions.Blake;
@@ -38,6 +37,7 @@ import net.consensys.linea.zktracer.module.mmu.instructions.InvalidCodePrefix;
 import net.consensys.linea.zktracer.module.mmu.instructions.MLoad;
 import net.consensys.linea.zktracer.module.mmu.instructions.MStore;
 import net.consensys.linea.zktracer.module.mmu.instructions.MStore8;
+import net.consensys.linea.zktracer.module.mmu.instructions.MmuInstruction;
 import net.consensys.linea.zktracer.module.mmu.instructions.ModexpData;
 import net.consensys.linea.zktracer.module.mmu.instructions.ModexpZero;
 import net.consensys.linea.zktracer.module.mmu.instructions.RamToExoWithPadding;
@@ -45,89 +45,44 @@ import net.consensys.linea.zktracer.module.mmu.instructions.RamToRamSansPadding;
 import net.consensys.linea.zktracer.module.mmu.instructions.RightPaddedWordExtraction;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 
-@Accessors(fluent = true)
+/**
+ * Dispatches the MMU instructions to their implementations. The implementations hold the scratch
+ * state of a single call (their EUC/WCP call records end up in the {@link MmuData}), so only the
+ * one required by each call gets instantiated; the dispatcher itself is stateless and owned by the
+ * {@link Mmu}.
+ */
+@RequiredArgsConstructor
 class MmuInstructions {
-  @Getter private final MLoad mLoadPreComputation;
-  @Getter private final MStore mStorePreComputation;
-  private final MStore8 mStore8PreComputation;
-  private final InvalidCodePrefix invalidCodePrefix;
-  private final RightPaddedWordExtraction rightPaddedWordExtraction;
-  private final RamToExoWithPadding ramToExoWithPadding;
-  private final ExoToRamTransplants exoToRamTransplants;
-  private final RamToRamSansPadding ramToRamSansPadding;
-  private final AnyToRamWithPadding anyToRamWithPadding;
-
-  private final ModexpZero modexpZero;
-  private final ModexpData modexpData;
-  private final Blake blake;
+  private final Euc euc;
+  private final Wcp wcp;
 
-  MmuInstructions(Euc euc, Wcp wcp) {
-    this.mLoadPreComputation = new MLoad(euc, wcp);
-    this.mStorePreComputation = new MStore(euc, wcp);
-    this.mStore8PreComputation = new MStore8(euc);
-    this.invalidCodePrefix = new InvalidCodePrefix(euc, wcp);
-    this.rightPaddedWordExtraction = new RightPaddedWordExtraction(euc, wcp);
-    this.ramToExoWithPadding = new RamToExoWithPadding(euc, wcp);
-    this.exoToRamTransplants = new ExoToRamTransplants(euc);
-    this.ramToRamSansPadding = new RamToRamSansPadding(euc, wcp);
-    this.anyToRamWithPadding = new AnyToRamWithPadding(euc, wcp);
-    this.modexpZero = new ModexpZero();
-    this.modexpData = new ModexpData(euc, wcp);
-    this.blake = new Blake(euc, wcp);
+  /**
+   * Run the preprocessing of an MMU call, i.e. its EUC and WCP calls, which is enough to know its
+   * line count.
+   *
+   * @param mmuData the MMU call to preprocess
+   * @return the instruction, which still has to build the micro-instructions of the call
+   */
+  public MmuInstruction preProcess(final MmuData mmuData) {
+    final MmuInstruction instruction = newInstruction(mmuData.hubToMmuValues().mmuInstruction());
+    instruction.preProcess(mmuData);
+    return instruction;
   }
 
-  public MmuData compute(MmuData mmuData) {
-    int mmuInstruction = mmuData.hubToMmuValues().mmuInstruction();
-
+  private MmuInstruction newInstruction(final int mmuInstruction) {
     return switch (mmuInstruction) {
-      case MMU_INST_MLOAD -> {
-        mmuData = mLoadPreComputation.preProcess(mmuData);
-        yield mLoadPreComputation.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_MSTORE -> {
-        mmuData = mStorePreComputation.preProcess(mmuData);
-        yield mStorePreComputation.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_MSTORE8 -> {
-        mmuData = mStore8PreComputation.preProcess(mmuData);
-        yield mStore8PreComputation.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_INVALID_CODE_PREFIX -> {
-        mmuData = invalidCodePrefix.preProcess(mmuData);
-        yield invalidCodePrefix.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_RIGHT_PADDED_WORD_EXTRACTION -> {
-        mmuData = rightPaddedWordExtraction.preProcess(mmuData);
-        yield rightPaddedWordExtraction.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_RAM_TO_EXO_WITH_PADDING -> {
-        mmuData = ramToExoWithPadding.preProcess(mmuData);
-        yield ramToExoWithPadding.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_EXO_TO_RAM_TRANSPLANTS -> {
-        mmuData = exoToRamTransplants.preProcess(mmuData);
-        yield exoToRamTransplants.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_RAM_TO_RAM_SANS_PADDING -> {
-        mmuData = ramToRamSansPadding.preProcess(mmuData);
-        yield ramToRamSansPadding.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_ANY_TO_RAM_WITH_PADDING -> {
-        mmuData = anyToRamWithPadding.preProcess(mmuData);
-        yield anyToRamWithPadding.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_MODEXP_ZERO -> {
-        mmuData = modexpZero.preProcess(mmuData);
-        yield modexpZero.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_MODEXP_DATA -> {
-        mmuData = modexpData.preProcess(mmuData);
-        yield modexpData.setMicroInstructions(mmuData);
-      }
-      case MMU_INST_BLAKE -> {
-        mmuData = blake.preProcess(mmuData);
-        yield blake.setMicroInstructions(mmuData);
-      }
+      case MMU_INST_MLOAD -> new MLoad(euc, wcp);
+      case MMU_INST_MSTORE -> new MStore(euc, wcp);
+      case MMU_INST_MSTORE8 -> new MStore8(euc);
+      case MMU_INST_INVALID_CODE_PREFIX -> new InvalidCodePrefix(euc, wcp);
+      case MMU_INST_RIGHT_PADDED_WORD_EXTRACTION -> new RightPaddedWordExtraction(euc, wcp);
+      case MMU_INST_RAM_TO_EXO_WITH_PADDING -> new RamToExoWithPadding(euc, wcp);
+      case MMU_INST_EXO_TO_RAM_TRANSPLANTS -> new ExoToRamTransplants(euc);
+      case MMU_INST_RAM_TO_RAM_SANS_PADDING -> new RamToRamSansPadding(euc, wcp);
+      case MMU_INST_ANY_TO_RAM_WITH_PADDING -> new AnyToRamWithPadding(euc, wcp);
+      case MMU_INST_MODEXP_ZERO -> new ModexpZero();
+      case MMU_INST_MODEXP_DATA -> new ModexpData(euc, wcp);
+      case MMU_INST_BLAKE -> new Blake(euc, wcp);
       default -> throw new IllegalArgumentException(
           "Unexpected MMU instruction: %d".formatted(mmuInstruction));
     };
@@ -32,6 +32,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.module.mmu.instructions.MmuInstruction;
 import net.consensys.linea.zktracer.module.mmu.values.HubToMmuValues;
 import net.consensys.linea.zktracer.module.mmu.values.MmuEucCallRecord;
 import net.consensys.linea.zktracer.module.mmu.values.MmuOutAndBinValues;
@@ -48,6 +49,12 @@ import org.apache.tuweni.bytes.Bytes;
 public class MmuOperation extends ModuleOperation {
   @Getter private final MmuData mmuData;
 
+  /** The instruction still having to build the micro-instructions, if they have been deferred. */
+  private MmuInstruction pendingMicroInstructions = null;
+
+  /** The number of MMIO lines of the deferred micro-instructions. */
+  private int pendingMmioLineCount = 0;
+
   private boolean isMload;
   private boolean isMstore;
   private boolean isMstore8;
@@ -62,6 +69,34 @@ public class MmuOperation extends ModuleOperation {
   private boolean isModexpData;
   private boolean isBlake;
 
+  /**
+   * Postpone the computation of the micro-instructions of this operation until {@link
+   * #expandMicroInstructions()} is called.
+   *
+   * @param instruction the preprocessed instruction, able to build the micro-instructions
+   */
+  void deferMicroInstructions(final MmuInstruction instruction) {
+    this.pendingMicroInstructions = instruction;
+    this.pendingMmioLineCount = instruction.mmioLineCount(mmuData);
+  }
+
+  boolean hasPendingMicroInstructions() {
+    return pendingMicroInstructions != null;
+  }
+
+  /** Build the micro-instructions of this operation, if they have been deferred. */
+  void expandMicroInstructions() {
+    if (pendingMicroInstructions != null) {
+      pendingMicroInstructions.setMicroInstructions(mmuData);
+      pendingMicroInstructions = null;
+      checkState(
+          builtMmioLineCount() == pendingMmioLineCount,
+          "Expected %s MMIO lines, built %s",
+          pendingMmioLineCount,
+          builtMmioLineCount());
+    }
+  }
+
   public boolean traceMe() {
     return mmuData.mmuCall().traceMe();
   }
@@ -80,6 +115,10 @@ public class MmuOperation extends ModuleOperation {
 
   public int mmioLineCount() {
     checkState(traceMe(), "Cannot compute if traceMe is false");
+    return pendingMicroInstructions != null ? pendingMmioLineCount : builtMmioLineCount();
+  }
+
+  private int builtMmioLineCount() {
     int mmioLineCount = 0;
     for (int i = 0; i < mmuData().numberMmioInstructions(); i++) {
       mmioLineCount +=
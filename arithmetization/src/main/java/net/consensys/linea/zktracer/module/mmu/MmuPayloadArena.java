@@ -0,0 +1,228 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.mmu;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Preconditions;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An append-only, off-heap store for the RAM and exo payloads of the MMU operations of a
+ * conflation. These payloads (whole memory snapshots, call data, bytecode) must be kept until the
+ * conflation is committed, and are by far the largest part of the MMU footprint; keeping them in
+ * direct slabs takes them out of the heap, and hence out of the reach of the garbage collector.
+ *
+ * <p>Payloads are bump-allocated in the slabs and handed out as read-only {@link Bytes} views.
+ * Identical payloads (typically a contract bytecode, read by every call to the MMU touching it) are
+ * only ever stored once; they are recognized by their content, so that the arena never retains the
+ * on-heap payloads it was handed. Memory is never freed piecemeal: popping or rolling back
+ * transactions rewinds the allocation cursor to where they started, and {@link #release()} rewinds
+ * it completely, so that the slabs are reused by the next conflation. Once the tracer is done,
+ * {@link #free()} hands the slabs over to a pool shared by every arena of the process, as a tracer
+ * is typically created per request and direct buffers are only reclaimed by the garbage collector
+ * after a while.
+ */
+public final class MmuPayloadArena {
+  private static final int SLAB_SIZE = 1 << 20;
+
+  /** The maximal number of slabs kept in the pool, i.e. 256 MiB */
+  private static final int MAX_POOLED_SLABS = 256;
+
+  private static final Deque<ByteBuffer> SLAB_POOL = new ConcurrentLinkedDeque<>();
+  private static final AtomicInteger POOLED_SLAB_COUNT = new AtomicInteger();
+
+  private final List<ByteBuffer> slabs = new ArrayList<>();
+  private int currentSlab = 0;
+  private int slabPosition = 0;
+
+  /** The stored payloads, keyed by their off-heap view, compared by content */
+  private final Map<Bytes, Bytes> stored = new HashMap<>();
+
+  private final List<Bytes> storedLog = new ArrayList<>();
+
+  private final List<Mark> transactionStarts = new ArrayList<>();
+
+  private record Mark(int slab, int slabPosition, int storedCount) {}
+
+  /** Open a new transaction, which may later be popped or rolled back. */
+  public void enter() {
+    transactionStarts.add(new Mark(currentSlab, slabPosition, storedLog.size()));
+  }
+
+  /** Discard every payload stored since the latest transaction started. */
+  public void pop() {
+    if (transactionStarts.isEmpty()) {
+      release();
+      return;
+    }
+    rewind(transactionStarts.removeLast());
+  }
+
+  /**
+   * Discard every payload stored by the transactions opened after the first <code>
+   * transactionCount</code> ones.
+   *
+   * @param transactionCount the number of transactions to keep
+   */
+  public void rollback(final int transactionCount) {
+    Preconditions.checkArgument(
+        transactionCount >= 0 && transactionCount <= transactionStarts.size(),
+        "cannot roll back to %s transactions out of %s",
+        transactionCount,
+        transactionStarts.size());
+    if (transactionCount == transactionStarts.size()) {
+      return;
+    }
+    rewind(transactionStarts.get(transactionCount));
+    transactionStarts.subList(transactionCount, transactionStarts.size()).clear();
+  }
+
+  /**
+   * Discard every payload at once. The views previously handed out by {@link #store(Bytes)} must
+   * not be read anymore, as their memory will be overwritten.
+   */
+  public void release() {
+    currentSlab = 0;
+    slabPosition = 0;
+    stored.clear();
+    storedLog.clear();
+    transactionStarts.clear();
+  }
+
+  /**
+   * Discard every payload at once, and hand the slabs over to the pool shared by every arena, so
+   * that their memory is reused by the next tracer rather than waiting for the garbage collector.
+   * The views previously handed out by {@link #store(Bytes)} must not be read anymore.
+   */
+  public void free() {
+    release();
+    for (ByteBuffer slab : slabs) {
+      recycle(slab);
+    }
+    slabs.clear();
+  }
+
+  /**
+   * Copy a payload into the arena.
+   *
+   * @param payload the payload to store
+   * @return an off-heap view of the stored payload
+   */
+  public Bytes store(final Bytes payload) {
+    if (payload.isEmpty()) {
+      return Bytes.EMPTY;
+    }
+    final Bytes alreadyStored = stored.get(payload);
+    if (alreadyStored != null) {
+      return alreadyStored;
+    }
+
+    final int size = payload.size();
+    final ByteBuffer slab = slabFor(size);
+    slab.put(slabPosition, payload.toArrayUnsafe());
+    final Bytes view = Bytes.wrapByteBuffer(slab, slabPosition, size);
+    slabPosition += size;
+
+    stored.put(view, view);
+    storedLog.add(view);
+    return view;
+  }
+
+  /**
+   * @return the number of off-heap bytes currently in use, including the unused ends of full slabs
+   */
+  public long usedBytes() {
+    long total = slabPosition;
+    for (int i = 0; i < currentSlab; i++) {
+      total += slabs.get(i).capacity();
+    }
+    return total;
+  }
+
+  /**
+   * @return the number of slabs currently held by this arena, whether in use or not
+   */
+  public int slabCount() {
+    return slabs.size();
+  }
+
+  /**
+   * @return the number of slabs currently waiting in the pool shared by every arena
+   */
+  static int pooledSlabCount() {
+    return POOLED_SLAB_COUNT.get();
+  }
+
+  private ByteBuffer slabFor(final int size) {
+    if (currentSlab < slabs.size() && slabs.get(currentSlab).capacity() - slabPosition >= size) {
+      return slabs.get(currentSlab);
+    }
+
+    // Move on to the next slab, unless nothing has been written to the current one yet. Slabs past
+    // the cursor are never referenced, so one which is too small for this payload is replaced.
+    if (slabPosition > 0) {
+      currentSlab++;
+      slabPosition = 0;
+    }
+    if (currentSlab == slabs.size()) {
+      slabs.add(newSlab(size));
+    } else if (slabs.get(currentSlab).capacity() < size) {
+      recycle(slabs.set(currentSlab, newSlab(size)));
+    }
+    return slabs.get(currentSlab);
+  }
+
+  private static ByteBuffer newSlab(final int size) {
+    if (size <= SLAB_SIZE) {
+      final ByteBuffer pooled = SLAB_POOL.poll();
+      if (pooled != null) {
+        POOLED_SLAB_COUNT.decrementAndGet();
+        return pooled;
+      }
+    }
+    return ByteBuffer.allocateDirect(Math.max(SLAB_SIZE, size));
+  }
+
+  /** Hand a slab over to the pool, unless it is oversized or the pool is full. */
+  private static void recycle(final ByteBuffer slab) {
+    if (slab.capacity() != SLAB_SIZE) {
+      return;
+    }
+    if (POOLED_SLAB_COUNT.incrementAndGet() <= MAX_POOLED_SLABS) {
+      SLAB_POOL.push(slab);
+    } else {
+      POOLED_SLAB_COUNT.decrementAndGet();
+    }
+  }
+
+  private void rewind(final Mark mark) {
+    currentSlab = mark.slab();
+    slabPosition = mark.slabPosition();
+    final List<Bytes> discarded = storedLog.subList(mark.storedCount(), storedLog.size());
+    for (Bytes payload : discarded) {
+      stored.remove(payload);
+    }
+    discarded.clear();
+  }
+}
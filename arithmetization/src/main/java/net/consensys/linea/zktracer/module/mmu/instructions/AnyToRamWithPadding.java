@@ -25,6 +25,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TWO_TARGET;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_VANISHES;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Conversions.longToBytes;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
@@ -574,7 +575,7 @@ public class AnyToRamWithPadding implements MmuInstruction {
   }
 
   private void purePaddingOnlyMicroInstruction(MmuData mmuData) {
-    final int onlyMicroInst = onlyPaddingIsFull ? MMIO_INST_RAM_VANISHES : MMIO_INST_RAM_EXCISION;
+    final int onlyMicroInst = paddingMicroInstruction(onlyPaddingIsFull);
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
             .mmioInstruction(onlyMicroInst)
@@ -585,7 +586,7 @@ public class AnyToRamWithPadding implements MmuInstruction {
   }
 
   private void purePaddingFirstMicroInstruction(MmuData mmuData) {
-    final int firstMicroInst = firstPaddingIsFull ? MMIO_INST_RAM_VANISHES : MMIO_INST_RAM_EXCISION;
+    final int firstMicroInst = paddingMicroInstruction(firstPaddingIsFull);
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
             .mmioInstruction(firstMicroInst)
@@ -606,25 +607,14 @@ public class AnyToRamWithPadding implements MmuInstruction {
   private void purePaddingLastMicroInstruction(MmuData mmuData) {
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(lastPaddingIsFull ? MMIO_INST_RAM_VANISHES : MMIO_INST_RAM_EXCISION)
+            .mmioInstruction(paddingMicroInstruction(lastPaddingIsFull))
             .size(lastPaddingSize)
             .targetLimbOffset(maxTargetLimbOffset)
             .build());
   }
 
   private void someDataOnlyNonTrivialInstruction(MmuData mmuData) {
-    int onlyMmioInstruction;
-    if (dataSourceIsRam) {
-      onlyMmioInstruction =
-          onlyDataTransferSingleTarget
-              ? MMIO_INST_RAM_TO_RAM_PARTIAL
-              : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
-    } else {
-      onlyMmioInstruction =
-          onlyDataTransferSingleTarget
-              ? MMIO_INST_LIMB_TO_RAM_ONE_TARGET
-              : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
-    }
+    final int onlyMmioInstruction = dataTransferMicroInstruction(onlyDataTransferSingleTarget);
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -642,18 +632,7 @@ public class AnyToRamWithPadding implements MmuInstruction {
   }
 
   private void someDataFirstNonTrivialInstruction(MmuData mmuData) {
-    int firstMmioInstruction;
-    if (dataSourceIsRam) {
-      firstMmioInstruction =
-          firstDataTransferSingleTarget
-              ? MMIO_INST_RAM_TO_RAM_PARTIAL
-              : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
-    } else {
-      firstMmioInstruction =
-          firstDataTransferSingleTarget
-              ? MMIO_INST_LIMB_TO_RAM_ONE_TARGET
-              : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
-    }
+    final int firstMmioInstruction = dataTransferMicroInstruction(firstDataTransferSingleTarget);
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -671,14 +650,7 @@ public class AnyToRamWithPadding implements MmuInstruction {
 
   private void someDataMiddleNonTrivialInstruction(MmuData mmuData, int rowNumber) {
     final long sourceLimbOffset = minSourceLimbOffset + rowNumber;
-    int middleMmioInstruction;
-    if (dataSourceIsRam) {
-      middleMmioInstruction =
-          aligned ? MMIO_INST_RAM_TO_RAM_TRANSPLANT : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
-    } else {
-      middleMmioInstruction =
-          aligned ? MMIO_INST_LIMB_TO_RAM_TRANSPLANT : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
-    }
+    final int middleMmioInstruction = middleDataTransferMicroInstruction();
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -693,18 +665,7 @@ public class AnyToRamWithPadding implements MmuInstruction {
 
   private void someDataLastNonTrivialInstruction(MmuData mmuData) {
     final long sourceLimbOffset = minSourceLimbOffset + totInitialNonTrivial - 1;
-    int lastMmioInstruction;
-    if (dataSourceIsRam) {
-      lastMmioInstruction =
-          lastDataTransferSingleTarget
-              ? MMIO_INST_RAM_TO_RAM_PARTIAL
-              : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
-    } else {
-      lastMmioInstruction =
-          lastDataTransferSingleTarget
-              ? MMIO_INST_LIMB_TO_RAM_ONE_TARGET
-              : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
-    }
+    final int lastMmioInstruction = dataTransferMicroInstruction(lastDataTransferSingleTarget);
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
             .mmioInstruction(lastMmioInstruction)
@@ -749,4 +710,64 @@ public class AnyToRamWithPadding implements MmuInstruction {
     return mmioInstruction == MMIO_INST_RAM_TO_RAM_TWO_TARGET
         || mmioInstruction == MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
   }
+
+  private static int paddingMicroInstruction(boolean paddingIsFull) {
+    return paddingIsFull ? MMIO_INST_RAM_VANISHES : MMIO_INST_RAM_EXCISION;
+  }
+
+  private int dataTransferMicroInstruction(boolean singleTarget) {
+    if (dataSourceIsRam) {
+      return singleTarget ? MMIO_INST_RAM_TO_RAM_PARTIAL : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
+    }
+    return singleTarget ? MMIO_INST_LIMB_TO_RAM_ONE_TARGET : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
+  }
+
+  private int middleDataTransferMicroInstruction() {
+    if (dataSourceIsRam) {
+      return aligned ? MMIO_INST_RAM_TO_RAM_TRANSPLANT : MMIO_INST_RAM_TO_RAM_TWO_TARGET;
+    }
+    return aligned ? MMIO_INST_LIMB_TO_RAM_TRANSPLANT : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
+  }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return purePadding ? purePaddingMmioLineCount() : someDataMmioLineCount();
+  }
+
+  private int purePaddingMmioLineCount() {
+    if (totalRightZeroIsOne) {
+      return lineCountOfMmioInstruction(paddingMicroInstruction(onlyPaddingIsFull));
+    }
+
+    return lineCountOfMmioInstruction(paddingMicroInstruction(firstPaddingIsFull))
+        + Math.max(0, totInitialRightZeroes - 2)
+            * lineCountOfMmioInstruction(MMIO_INST_RAM_VANISHES)
+        + lineCountOfMmioInstruction(paddingMicroInstruction(lastPaddingIsFull));
+  }
+
+  private int someDataMmioLineCount() {
+    int lineCount = 0;
+    if (totalNonTrivialIsOne) {
+      lineCount +=
+          lineCountOfMmioInstruction(dataTransferMicroInstruction(onlyDataTransferSingleTarget));
+    } else {
+      lineCount +=
+          lineCountOfMmioInstruction(dataTransferMicroInstruction(firstDataTransferSingleTarget));
+      lineCount +=
+          Math.max(0, totInitialNonTrivial - 2)
+              * lineCountOfMmioInstruction(middleDataTransferMicroInstruction());
+      lineCount +=
+          lineCountOfMmioInstruction(dataTransferMicroInstruction(lastDataTransferSingleTarget));
+    }
+
+    if (totInitialRightZeroes != 0) {
+      lineCount += lineCountOfMmioInstruction(MMIO_INST_RAM_EXCISION);
+      if (!totalRightZeroIsOne) {
+        lineCount +=
+            Math.max(0, totInitialRightZeroes - 2)
+                * lineCountOfMmioInstruction(MMIO_INST_RAM_VANISHES);
+        lineCount += lineCountOfMmioInstruction(MMIO_INST_RAM_EXCISION);
+      }
+    }
+    return lineCount;
+  }
 }
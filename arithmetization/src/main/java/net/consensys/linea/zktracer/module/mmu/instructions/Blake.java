@@ -18,6 +18,7 @@ package net.consensys.linea.zktracer.module.mmu.instructions;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_MICRO_ROWS_TOT_BLAKE;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_PP_ROWS_BLAKE;
 import static net.consensys.linea.zktracer.types.Conversions.longToBytes;
@@ -129,10 +130,7 @@ public class Blake implements MmuInstruction {
     // First micro instruction
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(
-                blakeRSingleSource
-                    ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE
-                    : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE)
+            .mmioInstruction(firstMicroInstruction())
             .size((short) 4)
             .sourceLimbOffset(sourceLimbOffsetR)
             .sourceByteOffset(sourceByteOffsetR)
@@ -155,4 +153,13 @@ public class Blake implements MmuInstruction {
 
     return mmuData;
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return lineCountOfMmioInstruction(firstMicroInstruction())
+        + lineCountOfMmioInstruction(MMIO_INST_RAM_TO_LIMB_ONE_SOURCE);
+  }
+
+  private int firstMicroInstruction() {
+    return blakeRSingleSource ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
 }
@@ -17,6 +17,7 @@ package net.consensys.linea.zktracer.module.mmu.instructions;
 
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_TRANSPLANT;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_PP_ROWS_EXO_TO_RAM_TRANSPLANTS;
 
 import java.util.ArrayList;
@@ -104,4 +105,9 @@ public class ExoToRamTransplants implements MmuInstruction {
 
     return mmuData;
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return mmuData.totalNonTrivialInitials()
+        * lineCountOfMmioInstruction(MMIO_INST_LIMB_TO_RAM_TRANSPLANT);
+  }
 }
@@ -19,6 +19,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.EIP_
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGEMO;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_MICRO_ROWS_TOT_INVALID_CODE_PREFIX;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_PP_ROWS_INVALID_CODE_PREFIX;
 
@@ -57,8 +58,6 @@ public class InvalidCodePrefix implements MmuInstruction {
 
   @Override
   public MmuData preProcess(MmuData mmuData) {
-    mmuData.sourceRamBytes(mmuData.mmuCall().sourceRamBytes().get());
-
     // row n°1
     final long dividend1 = mmuData.hubToMmuValues().sourceOffsetLo().longValueExact();
     final EucOperation eucOp = euc.callEUC(Bytes.ofUnsignedLong(dividend1), Bytes.of(LLARGE));
@@ -122,4 +121,8 @@ public class InvalidCodePrefix implements MmuInstruction {
 
     return mmuData;
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return lineCountOfMmioInstruction(MMIO_INST_RAM_TO_LIMB_ONE_SOURCE);
+  }
 }
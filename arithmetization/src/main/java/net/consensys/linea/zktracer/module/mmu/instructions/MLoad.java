@@ -18,6 +18,7 @@ package net.consensys.linea.zktracer.module.mmu.instructions;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -96,8 +97,7 @@ public class MLoad implements MmuInstruction {
     // First micro-instruction.
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(
-                aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE)
+            .mmioInstruction(microInstruction())
             .size((short) LLARGE)
             .sourceLimbOffset(initialSourceLimbOffset)
             .sourceByteOffset(initialSourceByteOffset)
@@ -107,8 +107,7 @@ public class MLoad implements MmuInstruction {
     // Second micro-instruction.
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(
-                aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE)
+            .mmioInstruction(microInstruction())
             .size((short) LLARGE)
             .sourceLimbOffset(initialSourceLimbOffset + 1)
             .sourceByteOffset(initialSourceByteOffset)
@@ -117,4 +116,12 @@ public class MLoad implements MmuInstruction {
 
     return mmuData;
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return Trace.NB_MICRO_ROWS_TOT_MLOAD * lineCountOfMmioInstruction(microInstruction());
+  }
+
+  private int microInstruction() {
+    return aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
 }
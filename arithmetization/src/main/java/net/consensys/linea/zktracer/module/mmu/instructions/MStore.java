@@ -18,6 +18,7 @@ package net.consensys.linea.zktracer.module.mmu.instructions;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -107,8 +108,7 @@ public class MStore implements MmuInstruction {
     // First micro-instruction.
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(
-                aligned ? MMIO_INST_LIMB_TO_RAM_TRANSPLANT : MMIO_INST_LIMB_TO_RAM_TWO_TARGET)
+            .mmioInstruction(microInstruction())
             .size((short) LLARGE)
             .targetLimbOffset(initialTargetLimbOffset)
             .targetByteOffset(initialTargetByteOffset)
@@ -119,8 +119,7 @@ public class MStore implements MmuInstruction {
     // Second micro-instruction.
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
-            .mmioInstruction(
-                aligned ? MMIO_INST_LIMB_TO_RAM_TRANSPLANT : MMIO_INST_LIMB_TO_RAM_TWO_TARGET)
+            .mmioInstruction(microInstruction())
             .size((short) LLARGE)
             .targetLimbOffset(initialTargetLimbOffset + 1)
             .targetByteOffset(initialTargetByteOffset)
@@ -130,4 +129,12 @@ public class MStore implements MmuInstruction {
 
     return mmuData;
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return Trace.NB_MICRO_ROWS_TOT_MSTORE * lineCountOfMmioInstruction(microInstruction());
+  }
+
+  private int microInstruction() {
+    return aligned ? MMIO_INST_LIMB_TO_RAM_TRANSPLANT : MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
+  }
 }
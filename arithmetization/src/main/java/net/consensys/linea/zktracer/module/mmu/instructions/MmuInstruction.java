@@ -21,4 +21,13 @@ public interface MmuInstruction {
   MmuData preProcess(MmuData mmuData);
 
   MmuData setMicroInstructions(MmuData mmuData);
+
+  /**
+   * Count the MMIO lines of the micro-instructions built by {@link #setMicroInstructions(MmuData)},
+   * without building them. They are known as soon as the call has been preprocessed.
+   *
+   * @param mmuData the preprocessed call
+   * @return the number of MMIO lines generated by the call
+   */
+  int mmioLineCount(MmuData mmuData);
 }
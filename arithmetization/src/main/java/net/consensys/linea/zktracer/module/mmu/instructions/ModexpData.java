@@ -20,6 +20,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_MICRO_ROWS_TOT_MODEXP_DATA;
 import static net.consensys.linea.zktracer.types.Conversions.longToBytes;
 
@@ -261,7 +262,7 @@ public class ModexpData implements MmuInstruction {
     firstOrOnlyMicroInstruction(mmuData);
 
     middleFirstSourceLimbOffset = determineFirstMiddleSourceLimbOffset();
-    middleMicroInst = aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+    middleMicroInst = calculateMiddleMicroInstruction();
     for (int i = 1; i < mmuData.totalNonTrivialInitials() - 1; i++) {
       final long sourceLimbOffset = middleFirstSourceLimbOffset + i - 1;
       final int targetLimbOffset = initialTotalLeftZeroes + i;
@@ -289,8 +290,7 @@ public class ModexpData implements MmuInstruction {
   }
 
   private void firstOrOnlyMicroInstruction(MmuData mmuData) {
-    final int firstMicroInst =
-        firstLimbSingleSource ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+    final int firstMicroInst = calculateFirstOrOnlyMicroInstruction();
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
             .mmioInstruction(firstMicroInst)
@@ -315,8 +315,7 @@ public class ModexpData implements MmuInstruction {
   }
 
   private void lastMicroInstruction(MmuData mmuData) {
-    final int lastMicroInstruction =
-        lastLimbSingleSource ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+    final int lastMicroInstruction = calculateLastMicroInstruction();
     final long sourceLimbOffset = middleFirstSourceLimbOffset + initialTotalNonTrivial - 2;
 
     mmuData.mmuToMmioInstruction(
@@ -333,4 +332,31 @@ public class ModexpData implements MmuInstruction {
     if (aligned) return initialSourceLimbOffset + 1;
     return firstLimbSingleSource ? initialSourceLimbOffset : initialSourceLimbOffset + 1;
   }
+
+  private int calculateFirstOrOnlyMicroInstruction() {
+    return firstLimbSingleSource
+        ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE
+        : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  private int calculateMiddleMicroInstruction() {
+    return aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  private int calculateLastMicroInstruction() {
+    return lastLimbSingleSource
+        ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE
+        : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  public int mmioLineCount(MmuData mmuData) {
+    final int vanishingCount = initialTotalLeftZeroes + initialTotalRightZeroes;
+    final int middleCount = Math.max(0, mmuData.totalNonTrivialInitials() - 2);
+    return vanishingCount * lineCountOfMmioInstruction(MMIO_INST_LIMB_VANISHES)
+        + lineCountOfMmioInstruction(calculateFirstOrOnlyMicroInstruction())
+        + middleCount * lineCountOfMmioInstruction(calculateMiddleMicroInstruction())
+        + (initialTotalNonTrivial > 1
+            ? lineCountOfMmioInstruction(calculateLastMicroInstruction())
+            : 0);
+  }
 }
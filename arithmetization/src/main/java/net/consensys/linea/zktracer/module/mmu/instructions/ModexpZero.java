@@ -16,6 +16,7 @@
 package net.consensys.linea.zktracer.module.mmu.instructions;
 
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_VANISHES;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_MICRO_ROWS_TOT_MODEXP_ZERO;
 
 import java.util.ArrayList;
@@ -84,4 +85,8 @@ public class ModexpZero implements MmuInstruction {
             .targetLimbOffset(i)
             .build());
   }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return NB_MICRO_ROWS_TOT_MODEXP_ZERO * lineCountOfMmioInstruction(MMIO_INST_LIMB_VANISHES);
+  }
 }
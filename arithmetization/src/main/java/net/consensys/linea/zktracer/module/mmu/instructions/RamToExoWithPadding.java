@@ -20,6 +20,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Conversions.longToBytes;
 
@@ -205,8 +206,7 @@ public class RamToExoWithPadding implements MmuInstruction {
       onlyMicroInstruction(mmuData);
     } else {
       firstMicroInstruction(mmuData);
-      final int middleMicroInst =
-          aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+      final int middleMicroInst = calculateFirstOrMiddleMicroInstruction();
       for (int i = 1; i < mmuData.totalNonTrivialInitials() - 1; i++) {
         middleMicroInstruction(mmuData, i, middleMicroInst);
       }
@@ -266,8 +266,7 @@ public class RamToExoWithPadding implements MmuInstruction {
   }
 
   private void firstMicroInstruction(MmuData mmuData) {
-    final int firstMicroInst =
-        aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+    final int firstMicroInst = calculateFirstOrMiddleMicroInstruction();
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -291,4 +290,23 @@ public class RamToExoWithPadding implements MmuInstruction {
             .targetLimbOffset(rowIndex)
             .build());
   }
+
+  private int calculateFirstOrMiddleMicroInstruction() {
+    return aligned ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  public int mmioLineCount(MmuData mmuData) {
+    final int totalNonTrivial = mmuData.totalNonTrivialInitials();
+    final int paddingLineCount =
+        mmuData.totalRightZeroesInitials() * lineCountOfMmioInstruction(MMIO_INST_LIMB_VANISHES);
+    if (totalNonTrivial == 1) {
+      return lineCountOfMmioInstruction(calculateLastOrOnlyMicroInstruction()) + paddingLineCount;
+    }
+
+    final int firstAndMiddleCount = 1 + Math.max(0, totalNonTrivial - 2);
+    return firstAndMiddleCount
+            * lineCountOfMmioInstruction(calculateFirstOrMiddleMicroInstruction())
+        + lineCountOfMmioInstruction(calculateLastOrOnlyMicroInstruction())
+        + paddingLineCount;
+  }
 }
@@ -19,6 +19,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLAR
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_PARTIAL;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TWO_SOURCE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Conversions.longToBytes;
 
@@ -263,8 +264,7 @@ public class RamToRamSansPadding implements MmuInstruction {
 
       final int firstMiddleSlo =
           (int) (initialSloIncrement ? initialSourceLimbOffset + 1 : initialSourceLimbOffset);
-      final int middleMicroInst =
-          aligned ? MMIO_INST_RAM_TO_RAM_TRANSPLANT : MMIO_INST_RAM_TO_RAM_TWO_SOURCE;
+      final int middleMicroInst = calculateMiddleMicroInstruction();
       for (int i = 1; i < mmuData.totalNonTrivialInitials() - 1; i++) {
         middleMicroInstruction(mmuData, middleMicroInst, i, firstMiddleSlo);
       }
@@ -346,4 +346,20 @@ public class RamToRamSansPadding implements MmuInstruction {
       return firstLimbSingleSource ? MMIO_INST_RAM_TO_RAM_PARTIAL : MMIO_INST_RAM_TO_RAM_TWO_SOURCE;
     }
   }
+
+  private int calculateMiddleMicroInstruction() {
+    return aligned ? MMIO_INST_RAM_TO_RAM_TRANSPLANT : MMIO_INST_RAM_TO_RAM_TWO_SOURCE;
+  }
+
+  public int mmioLineCount(MmuData mmuData) {
+    final int totalNonTrivial = mmuData.totalNonTrivialInitials();
+    if (totalNonTrivial == 1) {
+      return lineCountOfMmioInstruction(calculateLastOrOnlyMicroInstruction());
+    }
+
+    return lineCountOfMmioInstruction(calculateFirstMicroInstruction())
+        + Math.max(0, totalNonTrivial - 2)
+            * lineCountOfMmioInstruction(calculateMiddleMicroInstruction())
+        + lineCountOfMmioInstruction(calculateLastOrOnlyMicroInstruction());
+  }
 }
@@ -22,6 +22,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.WORD_SIZE;
+import static net.consensys.linea.zktracer.module.mmio.MmioData.lineCountOfMmioInstruction;
 import static net.consensys.linea.zktracer.module.mmu.Trace.NB_MICRO_ROWS_TOT_RIGHT_PADDED_WORD_EXTRACTION;
 import static net.consensys.linea.zktracer.types.Conversions.*;
 
@@ -217,13 +218,7 @@ public class RightPaddedWordExtraction implements MmuInstruction {
   }
 
   private void firstMicroInstruction(MmuData mmuData) {
-    int firstMicroInst;
-    if (firstLimbSingleSource) {
-      firstMicroInst =
-          firstLimbIsFull ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
-    } else {
-      firstMicroInst = MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
-    }
+    final int firstMicroInst = calculateFirstMicroInstruction();
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -236,17 +231,7 @@ public class RightPaddedWordExtraction implements MmuInstruction {
   }
 
   private void secondMicroInstruction(MmuData mmuData) {
-    int secondMicroInst;
-    if (secondLimbVoid) {
-      secondMicroInst = MMIO_INST_LIMB_VANISHES;
-    } else {
-      if (secondLimbSingleSource) {
-        secondMicroInst =
-            secondLimbPadded ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE : MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
-      } else {
-        secondMicroInst = MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
-      }
-    }
+    final int secondMicroInst = calculateSecondMicroInstruction();
 
     mmuData.mmuToMmioInstruction(
         MmuToMmioInstruction.builder()
@@ -257,4 +242,26 @@ public class RightPaddedWordExtraction implements MmuInstruction {
             .limb(mmuData.hubToMmuValues().limb2())
             .build());
   }
+
+  private int calculateFirstMicroInstruction() {
+    if (firstLimbSingleSource) {
+      return firstLimbIsFull ? MMIO_INST_RAM_TO_LIMB_TRANSPLANT : MMIO_INST_RAM_TO_LIMB_ONE_SOURCE;
+    }
+    return MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  private int calculateSecondMicroInstruction() {
+    if (secondLimbVoid) {
+      return MMIO_INST_LIMB_VANISHES;
+    }
+    if (secondLimbSingleSource) {
+      return secondLimbPadded ? MMIO_INST_RAM_TO_LIMB_ONE_SOURCE : MMIO_INST_RAM_TO_LIMB_TRANSPLANT;
+    }
+    return MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
+  }
+
+  public int mmioLineCount(MmuData mmuData) {
+    return lineCountOfMmioInstruction(calculateFirstMicroInstruction())
+        + lineCountOfMmioInstruction(calculateSecondMicroInstruction());
+  }
 }
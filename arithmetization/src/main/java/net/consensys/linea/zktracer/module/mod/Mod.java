@@ -19,14 +19,17 @@ import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
 import java.util.List;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.OpCodeData;
 import net.consensys.linea.zktracer.opcode.OpCodes;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -36,6 +39,13 @@ public class Mod implements OperationSetModule<ModOperation> {
   private final ModuleOperationStackedSet<ModOperation> operations =
       new ModuleOperationStackedSet<>();
 
+  @Getter(AccessLevel.NONE)
+  private final WordPool words;
+
+  public Mod(final WordPool words) {
+    this.words = words;
+  }
+
   @Override
   public String moduleKey() {
     return "MOD";
@@ -44,19 +54,20 @@ public class Mod implements OperationSetModule<ModOperation> {
   @Override
   public void tracePreOpcode(final MessageFrame frame) {
     final OpCodeData opCodeData = OpCodes.of(frame.getCurrentOperation().getOpcode());
-    final Bytes32 arg1 = Bytes32.leftPad(frame.getStackItem(0));
-    final Bytes32 arg2 = Bytes32.leftPad(frame.getStackItem(1));
+    final Bytes32 arg1 = words.word(frame.getStackItem(0));
+    final Bytes32 arg2 = words.word(frame.getStackItem(1));
 
     operations.add(new ModOperation(opCodeData.mnemonic(), arg1, arg2));
   }
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-    int stamp = 0;
-    for (ModOperation op : operations.sortOperations(new ModOperationComparator())) {
-      op.trace(trace, ++stamp);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new ModOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (op, stamp, trace) -> op.trace(trace, stamp));
   }
 
   @Override
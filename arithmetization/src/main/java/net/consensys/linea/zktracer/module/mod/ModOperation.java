@@ -55,8 +55,8 @@ public class ModOperation extends ModuleOperation {
   private BaseTheta dBytes = BaseTheta.fromBytes32(Bytes32.ZERO);
   private final boolean[] cmp1 = new boolean[8];
   private final boolean[] cmp2 = new boolean[8];
-  private Boolean[] msb1 = new Boolean[8];
-  private Boolean[] msb2 = new Boolean[8];
+  private boolean[] msb1 = new boolean[8];
+  private boolean[] msb2 = new boolean[8];
 
   public ModOperation(OpCode opCode, Bytes32 arg1, Bytes32 arg2) {
     rawArg1 = arg1;
@@ -23,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.opcode.OpCode;
@@ -46,8 +47,8 @@ public class Mul implements OperationSetModule<MulOperation> {
   @Override
   public void tracePreOpcode(MessageFrame frame) {
     final OpCode opCode = this.hub.opCode();
-    final Bytes32 arg1 = Bytes32.leftPad(frame.getStackItem(0));
-    final Bytes32 arg2 = Bytes32.leftPad(frame.getStackItem(1));
+    final Bytes32 arg1 = hub.wordPool().word(frame.getStackItem(0));
+    final Bytes32 arg2 = hub.wordPool().word(frame.getStackItem(1));
 
     operations.add(new MulOperation(opCode, arg1, arg2));
   }
@@ -64,12 +65,15 @@ public class Mul implements OperationSetModule<MulOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (MulOperation op : operations.sortOperations(new MulOperationComparator())) {
-      op.trace(trace, ++stamp);
-    }
-    (new MulOperation(OpCode.EXP, Bytes32.ZERO, Bytes32.ZERO)).trace(trace, stamp + 1);
+    final List<MulOperation> sortedOperations =
+        operations.sortOperations(new MulOperationComparator());
+    ParallelOperationTracer.trace(
+        sortedOperations,
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (op, stamp, trace) -> op.trace(trace, stamp));
+    (new MulOperation(OpCode.EXP, Bytes32.ZERO, Bytes32.ZERO))
+        .trace(new Trace(buffers), sortedOperations.size() + 1);
   }
 }
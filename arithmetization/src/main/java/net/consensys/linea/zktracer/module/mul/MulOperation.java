@@ -66,7 +66,7 @@ public class MulOperation extends ModuleOperation {
   BaseTheta hBytes = BaseTheta.fromBytes32(Bytes32.ZERO);
   boolean squareAndMultiply = false;
   int index;
-  Boolean[] bits = new Boolean[8];
+  boolean[] bits = new boolean[8];
   String exponentBits = "0";
 
   BaseBytes res;
@@ -62,7 +62,6 @@ import static net.consensys.linea.zktracer.types.AddressUtils.getDeploymentAddre
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBoolean;
 import static net.consensys.linea.zktracer.types.Conversions.booleanToBigInteger;
 import static net.consensys.linea.zktracer.types.Conversions.longToUnsignedBigInteger;
-import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
 
 import java.math.BigInteger;
 import java.math.RoundingMode;
@@ -90,9 +89,11 @@ import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.Blak
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpCallDataSizeOobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpExtractOobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpLeadOobCall;
+import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpOobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpPricingOobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.ModexpXbsOobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.precompiles.PrecompileCommonOobCall;
+import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 import net.consensys.linea.zktracer.module.hub.section.CreateSection;
 import net.consensys.linea.zktracer.module.mod.Mod;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
@@ -358,15 +359,13 @@ public class OobOperation extends ModuleOperation {
     }
 
     if (isModexpPrecompile()) {
-      final Bytes unpaddedCallData = frame.shadowReadMemory(argsOffset, cds.longValue());
-      // pad unpaddedCallData to 96
-      final Bytes paddedCallData =
-          cds.intValue() < 96 ? rightPadTo(unpaddedCallData, 96) : unpaddedCallData;
+      // the call data is read in place through the view shared with the hub
+      final ModexpMetadata modexpMetadata = ((ModexpOobCall) oobCall).getModexpMetadata();
 
       // cds and the data below can be int when compared (after size check)
-      final BigInteger bbs = paddedCallData.slice(0, 32).toUnsignedBigInteger();
-      final BigInteger ebs = paddedCallData.slice(32, 32).toUnsignedBigInteger();
-      final BigInteger mbs = paddedCallData.slice(64, 32).toUnsignedBigInteger();
+      final BigInteger bbs = modexpMetadata.bbs().toUnsignedBigInteger();
+      final BigInteger ebs = modexpMetadata.ebs().toUnsignedBigInteger();
+      final BigInteger mbs = modexpMetadata.mbs().toUnsignedBigInteger();
 
       // Check if bbs, ebs and mbs are <= 512
       if (bbs.compareTo(BigInteger.valueOf(512)) > 0
@@ -375,15 +374,10 @@ public class OobOperation extends ModuleOperation {
         throw new IllegalArgumentException("byte sizes are too big");
       }
 
-      // pad paddedCallData to 96 + bbs + ebs
-      final Bytes doublePaddedCallData =
-          cds.intValue() < 96 + bbs.intValue() + ebs.intValue()
-              ? rightPadTo(paddedCallData, 96 + bbs.intValue() + ebs.intValue())
-              : paddedCallData;
-
       final BigInteger leadingBytesOfExponent =
-          doublePaddedCallData
-              .slice(96 + bbs.intValue(), min(ebs.intValue(), 32))
+          modexpMetadata
+              .callDataRange()
+              .slice(BASE_MIN_OFFSET + bbs.intValue(), min(ebs.intValue(), 32))
               .toUnsignedBigInteger();
 
       BigInteger exponentLog;
@@ -39,6 +39,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.StickyColumns;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.constants.GlobalConstants;
@@ -68,6 +69,36 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
   private static final UnsignedByte BYTES_LLARGE = UnsignedByte.of(LLARGE);
   final int recipe1NbRows = MAX_CT_CREATE + 1;
 
+  /** The columns holding the same value on all the rows of a CREATE2 operation. */
+  static final List<String> CREATE2_STICKY_COLUMNS =
+      List.of(
+          "rlpaddr.STAMP",
+          "rlpaddr.RECIPE",
+          "rlpaddr.RECIPE_1",
+          "rlpaddr.RECIPE_2",
+          "rlpaddr.RAW_ADDR_HI",
+          "rlpaddr.DEP_ADDR_HI",
+          "rlpaddr.DEP_ADDR_LO",
+          "rlpaddr.ADDR_HI",
+          "rlpaddr.ADDR_LO",
+          "rlpaddr.SALT_HI",
+          "rlpaddr.SALT_LO",
+          "rlpaddr.KEC_HI",
+          "rlpaddr.KEC_LO",
+          "rlpaddr.NONCE",
+          "rlpaddr.LC");
+
+  /** The columns only used by recipe 1, left blank on the rows of a CREATE2 operation. */
+  static final List<String> CREATE2_UNUSED_COLUMNS =
+      List.of(
+          "rlpaddr.ACC",
+          "rlpaddr.ACC_BYTESIZE",
+          "rlpaddr.BIT1",
+          "rlpaddr.BIT_ACC",
+          "rlpaddr.BYTE1",
+          "rlpaddr.POWER",
+          "rlpaddr.TINY_NON_ZERO_NONCE");
+
   private final Hub hub;
   private final Trm trm;
 
@@ -120,7 +151,8 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
     hub.trm().callTrimming(rawCreate2Address);
   }
 
-  private void traceCreate2(int stamp, RlpAddrOperation chunk, Trace trace) {
+  private void traceCreate2(
+      int stamp, RlpAddrOperation chunk, Trace trace, StickyColumns stickyColumns) {
     final Bytes rawAddressHi = chunk.rawHash().slice(0, LLARGE);
     final long depAddressHi = rawAddressHi.slice(12, 4).toLong();
     final Bytes depAddressLo = chunk.rawHash().slice(LLARGE, LLARGE);
@@ -128,24 +160,7 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
     final Bytes nonceBytes = bigIntegerToBytes(nonce);
 
     for (int ct = 0; ct <= MAX_CT_CREATE2; ct++) {
-      trace
-          .stamp(stamp)
-          .recipe(UnsignedByte.of(RLP_ADDR_RECIPE_2))
-          .recipe1(false)
-          .recipe2(true)
-          .rawAddrHi(rawAddressHi)
-          .depAddrHi(depAddressHi)
-          .depAddrLo(depAddressLo)
-          .addrHi(chunk.address().slice(0, 4).toLong())
-          .addrLo(chunk.address().slice(4, LLARGE))
-          .saltHi(chunk.salt().slice(0, LLARGE))
-          .saltLo(chunk.salt().slice(LLARGE, LLARGE))
-          .kecHi(chunk.keccak().slice(0, LLARGE))
-          .kecLo(chunk.keccak().slice(LLARGE, LLARGE))
-          .nonce(nonceBytes)
-          .lc(true)
-          .index(UnsignedByte.of(ct))
-          .counter(UnsignedByte.of(ct));
+      trace.index(UnsignedByte.of(ct)).counter(UnsignedByte.of(ct));
 
       switch (ct) {
         case 0 -> {
@@ -175,9 +190,33 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
             .selectorKeccakRes(false);
       }
 
-      // Columns unused for Recipe2
-      trace.fillAndValidateRow();
+      // The sticky columns are only set on the first row, and copied over the others at the end;
+      // the columns unused for Recipe2 are left blank.
+      if (ct == 0) {
+        trace
+            .stamp(stamp)
+            .recipe(UnsignedByte.of(RLP_ADDR_RECIPE_2))
+            .recipe1(false)
+            .recipe2(true)
+            .rawAddrHi(rawAddressHi)
+            .depAddrHi(depAddressHi)
+            .depAddrLo(depAddressLo)
+            .addrHi(chunk.address().slice(0, 4).toLong())
+            .addrLo(chunk.address().slice(4, LLARGE))
+            .saltHi(chunk.salt().slice(0, LLARGE))
+            .saltLo(chunk.salt().slice(LLARGE, LLARGE))
+            .kecHi(chunk.keccak().slice(0, LLARGE))
+            .kecLo(chunk.keccak().slice(LLARGE, LLARGE))
+            .nonce(nonceBytes)
+            .lc(true)
+            .fillAndValidateRow();
+        stickyColumns.capture();
+      } else {
+        stickyColumns.checkRow();
+        trace.fillAndValidateRow();
+      }
     }
+    stickyColumns.fillRows(MAX_CT_CREATE2);
   }
 
   private void traceCreate(int stamp, RlpAddrOperation chunk, Trace trace) {
@@ -244,8 +283,8 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
           .accBytesize(UnsignedByte.of(byteCounting.accByteSizeList().get(ct)))
           .power(
               bigIntegerToBytes(byteCounting.powerList().get(ct).divide(BigInteger.valueOf(256))))
-          .bit1(bitDecomposition.bitDecList().get(ct))
-          .bitAcc(UnsignedByte.of(bitDecomposition.bitAccList().get(ct)))
+          .bit1(bitDecomposition.bit(ct))
+          .bitAcc(UnsignedByte.of(bitDecomposition.bitAcc(ct)))
           .tinyNonZeroNonce(tinyNonZeroNonce);
 
       switch (ct) {
@@ -296,11 +335,12 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
     }
   }
 
-  private void traceOperation(RlpAddrOperation operation, int stamp, Trace trace) {
+  private void traceOperation(
+      RlpAddrOperation operation, int stamp, Trace trace, StickyColumns create2StickyColumns) {
     if (operation.opCode().equals(OpCode.CREATE)) {
       traceCreate(stamp, operation, trace);
     } else {
-      traceCreate2(stamp, operation, trace);
+      traceCreate2(stamp, operation, trace, create2StickyColumns);
     }
   }
 
@@ -312,9 +352,12 @@ public class RlpAddr implements OperationSetModule<RlpAddrOperation> {
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
     final Trace trace = new Trace(buffers);
+    final StickyColumns create2StickyColumns =
+        StickyColumns.of(
+            columnsHeaders(), buffers, CREATE2_STICKY_COLUMNS, CREATE2_UNUSED_COLUMNS);
     int stamp = 0;
     for (RlpAddrOperation op : operations.sortOperations(new RlpAddrOperationComparator())) {
-      traceOperation(op, ++stamp, trace);
+      traceOperation(op, ++stamp, trace, create2StickyColumns);
     }
   }
 }
@@ -41,7 +41,6 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_TXN_PHASE_VALUE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_TXN_PHASE_Y;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.byteCounting;
-import static net.consensys.linea.zktracer.module.rlputils.Pattern.innerRlpSize;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Conversions.longToUnsignedBigInteger;
@@ -49,8 +48,6 @@ import static net.consensys.linea.zktracer.types.TransactionUtils.getChainIdFrom
 import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
 import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
-import static org.hyperledger.besu.ethereum.core.encoding.EncodingContext.BLOCK_BODY;
-import static org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder.encodeOpaqueBytes;
 
 import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
@@ -68,19 +65,13 @@ import net.consensys.linea.zktracer.module.rlputils.ByteCountAndPowerOutput;
 import net.consensys.linea.zktracer.module.romlex.ContractMetadata;
 import net.consensys.linea.zktracer.module.romlex.RomLex;
 import net.consensys.linea.zktracer.types.BitDecOutput;
+import net.consensys.linea.zktracer.types.EncodedTransaction;
 import net.consensys.linea.zktracer.types.TransactionProcessingMetadata;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.units.bigints.UInt256;
-import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Transaction;
-import org.hyperledger.besu.datatypes.TransactionType;
-import org.hyperledger.besu.datatypes.Wei;
-import org.hyperledger.besu.ethereum.core.encoding.AccessListTransactionEncoder;
-import org.hyperledger.besu.ethereum.rlp.RLP;
-import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.evm.account.AccountState;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 
@@ -111,7 +102,7 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     final Transaction tx = txMetaData.getBesuTransaction();
     // Contract Creation
     if (tx.getTo().isEmpty() && !tx.getInit().get().isEmpty()) {
-      this.operations.add(new RlpTxnOperation(tx, true));
+      this.operations.add(new RlpTxnOperation(tx, txMetaData.getEncodedTransaction(), true));
     }
 
     // Call to a non-empty smart contract
@@ -119,10 +110,10 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
         && Optional.ofNullable(worldView.get(tx.getTo().orElseThrow()))
             .map(AccountState::hasCode)
             .orElse(false)) {
-      operations.add(new RlpTxnOperation(tx, true));
+      operations.add(new RlpTxnOperation(tx, txMetaData.getEncodedTransaction(), true));
     } else {
       // Contract doesn't require EVM execution
-      operations.add(new RlpTxnOperation(tx, false));
+      operations.add(new RlpTxnOperation(tx, txMetaData.getEncodedTransaction(), false));
     }
   }
 
@@ -147,65 +138,11 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     // Initialise RLP_LT and RLP_LX byte size + verify that we construct the right RLP
     this.reconstructedRlpLt = Bytes.EMPTY;
     this.reconstructedRlpLx = Bytes.EMPTY;
-    Bytes besuRlpLt =
-        encodeOpaqueBytes((org.hyperledger.besu.ethereum.core.Transaction) chunk.tx(), BLOCK_BODY);
-    // the encodeOpaqueBytes method already concatenate with the first byte "transaction  type"
-    if (traceValue.txType == 0) {
-      traceValue.rlpLtByteSize = innerRlpSize(besuRlpLt.size());
-    } else {
-      traceValue.rlpLtByteSize = innerRlpSize(besuRlpLt.size() - 1);
-    }
-
-    Bytes besuRlpLx;
-    switch (traceValue.txType) {
-      case 0 -> {
-        besuRlpLx =
-            frontierPreimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getGasPrice().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                chunk.tx().getChainId());
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size());
-      }
-      case 1 -> {
-        List<AccessListEntry> accessList = null;
-        if (chunk.tx().getAccessList().isPresent()) {
-          accessList = chunk.tx().getAccessList().orElseThrow();
-        }
-        besuRlpLx =
-            accessListPreimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getGasPrice().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                accessList,
-                chunk.tx().getChainId());
-        // the innerRlp method already concatenate with the first byte "transaction  type"
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size() - 1);
-      }
-      case 2 -> {
-        besuRlpLx =
-            eip1559Preimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getMaxPriorityFeePerGas().orElseThrow(),
-                (Wei) chunk.tx().getMaxFeePerGas().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                chunk.tx().getChainId(),
-                chunk.tx().getAccessList());
-        // the innerRlp method already concatenate with the first byte "transaction  type"
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size() - 1);
-      }
-      default -> throw new IllegalStateException(
-          "Transaction Type not supported: " + traceValue.txType);
-    }
+    final EncodedTransaction encoded = chunk.encoded();
+    final Bytes besuRlpLt = encoded.rlp();
+    traceValue.rlpLtByteSize = encoded.rlpPayloadSize();
+    final Bytes besuRlpLx = encoded.signingPayload();
+    traceValue.rlpLxByteSize = encoded.signingPayloadRlpPayloadSize();
 
     // Phase Global RLP prefix
     traceValue.dataLo = BigInteger.valueOf(traceValue.txType);
@@ -747,8 +684,8 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
       traceValue.acc1 = inputBytePadded.slice(0, ct + 1);
       traceValue.power = byteCountingOutput.powerList().get(ct);
       traceValue.accByteSize = byteCountingOutput.accByteSizeList().get(ct);
-      traceValue.bit = bitDecOutput.bitDecList().get(ct);
-      traceValue.bitAcc = bitDecOutput.bitAccList().get(ct);
+      traceValue.bit = bitDecOutput.bit(ct);
+      traceValue.bitAcc = bitDecOutput.bitAcc(ct);
 
       if (input.compareTo(BigInteger.valueOf(128)) >= 0 && ct == nStep - 2) {
         traceValue.limbConstructed = true;
@@ -799,8 +736,8 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
           traceValue.acc2 = traceValue.input2.slice(0, ct + 1);
           traceValue.accByteSize = byteCountingOutput.accByteSizeList().get(ct);
           traceValue.power = byteCountingOutput.powerList().get(ct);
-          traceValue.bit = bitDecOutput.bitDecList().get(ct);
-          traceValue.bitAcc = bitDecOutput.bitAccList().get(ct);
+          traceValue.bit = bitDecOutput.bit(ct);
+          traceValue.bitAcc = bitDecOutput.bitAcc(ct);
 
           // if input >= 128, there is a RLP prefix, nothing if 0 < input < 128
           if (ct == traceValue.nStep - 2 && input.compareTo(BigInteger.valueOf(128)) >= 0) {
@@ -927,104 +864,6 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     }
   }
 
-  private static Bytes frontierPreimage(
-      final long nonce,
-      final Wei gasPrice,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId) {
-    return RLP.encode(
-        rlpOutput -> {
-          rlpOutput.startList();
-          rlpOutput.writeLongScalar(nonce);
-          rlpOutput.writeUInt256Scalar(gasPrice);
-          rlpOutput.writeLongScalar(gasLimit);
-          rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
-          rlpOutput.writeUInt256Scalar(value);
-          rlpOutput.writeBytes(payload);
-          if (chainId.isPresent()) {
-            rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
-            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
-            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
-          }
-          rlpOutput.endList();
-        });
-  }
-
-  private static Bytes accessListPreimage(
-      final long nonce,
-      final Wei gasPrice,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final List<AccessListEntry> accessList,
-      final Optional<BigInteger> chainId) {
-    final Bytes encode =
-        RLP.encode(
-            rlpOutput -> {
-              rlpOutput.startList();
-              AccessListTransactionEncoder.encodeAccessListInner(
-                  chainId, nonce, gasPrice, gasLimit, to, value, payload, accessList, rlpOutput);
-              rlpOutput.endList();
-            });
-    return Bytes.concatenate(Bytes.of(TransactionType.ACCESS_LIST.getSerializedType()), encode);
-  }
-
-  private static Bytes eip1559Preimage(
-      final long nonce,
-      final Wei maxPriorityFeePerGas,
-      final Wei maxFeePerGas,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId,
-      final Optional<List<AccessListEntry>> accessList) {
-    final Bytes encoded =
-        RLP.encode(
-            rlpOutput -> {
-              rlpOutput.startList();
-              eip1559PreimageFields(
-                  nonce,
-                  maxPriorityFeePerGas,
-                  maxFeePerGas,
-                  gasLimit,
-                  to,
-                  value,
-                  payload,
-                  chainId,
-                  accessList,
-                  rlpOutput);
-              rlpOutput.endList();
-            });
-    return Bytes.concatenate(Bytes.of(TransactionType.EIP1559.getSerializedType()), encoded);
-  }
-
-  private static void eip1559PreimageFields(
-      final long nonce,
-      final Wei maxPriorityFeePerGas,
-      final Wei maxFeePerGas,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId,
-      final Optional<List<AccessListEntry>> accessList,
-      final RLPOutput rlpOutput) {
-    rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
-    rlpOutput.writeLongScalar(nonce);
-    rlpOutput.writeUInt256Scalar(maxPriorityFeePerGas);
-    rlpOutput.writeUInt256Scalar(maxFeePerGas);
-    rlpOutput.writeLongScalar(gasLimit);
-    rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
-    rlpOutput.writeUInt256Scalar(value);
-    rlpOutput.writeBytes(payload);
-    AccessListTransactionEncoder.writeAccessList(rlpOutput, accessList);
-  }
-
   private void traceZeroInt(
       RlpTxnColumnsValue traceValue,
       int phase,
@@ -23,16 +23,19 @@ import java.math.BigInteger;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.types.EncodedTransaction;
 import org.hyperledger.besu.datatypes.Transaction;
 
 @Accessors(fluent = true)
 @Getter
 public final class RlpTxnOperation extends ModuleOperation {
   private final Transaction tx;
+  private final EncodedTransaction encoded;
   private final boolean requireEvmExecution;
 
-  public RlpTxnOperation(Transaction tx, boolean requireEvmExecution) {
+  public RlpTxnOperation(Transaction tx, EncodedTransaction encoded, boolean requireEvmExecution) {
     this.tx = tx;
+    this.encoded = encoded;
     this.requireEvmExecution = requireEvmExecution;
   }
 
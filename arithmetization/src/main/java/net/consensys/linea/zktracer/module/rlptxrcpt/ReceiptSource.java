@@ -0,0 +1,40 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rlptxrcpt;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.data.TransactionReceipt;
+
+/**
+ * Gives access to the receipts the node already holds for a block, so that {@link RlpTxnRcpt} may
+ * reuse their logs bloom rather than recomputing it. When tracing blocks which are not (yet) part
+ * of the chain, e.g. when replaying captured conflations, there are no such receipts and the bloom
+ * is computed from the logs.
+ */
+@FunctionalInterface
+public interface ReceiptSource {
+  /** A source without any receipt, for which every bloom is computed locally. */
+  ReceiptSource NONE = blockHash -> Optional.empty();
+
+  /**
+   * @param blockHash the hash of a block
+   * @return the receipts of the transactions of the block, in order, if they are known
+   */
+  Optional<List<TransactionReceipt>> receiptsOf(Hash blockHash);
+}
@@ -25,16 +25,15 @@ import static net.consensys.linea.zktracer.module.rlputils.Pattern.byteCounting;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
-import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
 import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
 
-import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
 import java.util.List;
 import java.util.function.Function;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationListModule;
@@ -47,12 +46,19 @@ import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
+import org.hyperledger.besu.plugin.data.BlockBody;
+import org.hyperledger.besu.plugin.data.BlockHeader;
+import org.hyperledger.besu.plugin.data.TransactionReceipt;
 
 @Accessors(fluent = true)
 @RequiredArgsConstructor
 public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
   private static final Bytes BYTES_RLP_INT_SHORT = Bytes.minimalBytes(RLP_PREFIX_INT_SHORT);
   private static final Bytes BYTES_RLP_LIST_SHORT = Bytes.minimalBytes(RLP_PREFIX_LIST_SHORT);
+  private static final Bytes BYTES_RLP_ADDRESS_PREFIX = Bytes.of(RLP_PREFIX_INT_SHORT + 20);
+  private static final Bytes BYTES_RLP_TOPIC_PREFIX = Bytes.of(RLP_PREFIX_INT_SHORT + 32);
+  // The bloom filter is always 256 bytes long, hence a 3 bytes long RLP prefix
+  private static final Bytes BYTES_RLP_BLOOM_PREFIX = Bytes.of(RLP_PREFIX_INT_LONG + 2, 1, 0);
 
   @Getter
   private final ModuleOperationStackedList<RlpTxrcptOperation> operations =
@@ -60,6 +66,9 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
 
   private int absLogNum = 0;
 
+  /** Where to find the receipts already computed by the node for the traced blocks, if any. */
+  @Setter private ReceiptSource receiptSource = ReceiptSource.NONE;
+
   @Override
   public String moduleKey() {
     return "RLP_TXN_RCPT";
@@ -76,10 +85,42 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     operations.add(operation);
   }
 
+  /**
+   * Once all the transactions of a block are traced, hand over to their operations the logs bloom
+   * of their receipts, if the node already holds them. A mismatch between the receipts and the
+   * traced transactions simply falls back to computing the blooms locally.
+   */
+  @Override
+  public void traceEndBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
+    final int txCount = blockBody.getTransactions().size();
+    if (txCount == 0 || txCount > operations.size()) {
+      return;
+    }
+    final List<TransactionReceipt> receipts =
+        receiptSource.receiptsOf(blockHeader.getBlockHash()).orElse(List.of());
+    if (receipts.size() != txCount) {
+      return;
+    }
+
+    final int firstOperation = operations.size() - txCount;
+    for (int i = 0; i < txCount; i++) {
+      final RlpTxrcptOperation operation = operations.get(firstOperation + i);
+      final TransactionReceipt receipt = receipts.get(i);
+      if (receipt.getLogsList().size() == operation.logs().size()
+          && receipt.getCumulativeGasUsed() == operation.gasUsed()) {
+        operation.knownLogsBloom(receipt.getBloomFilter());
+      }
+    }
+  }
+
   public void traceOperation(
       final RlpTxrcptOperation chunk, int absTxNum, int absLogNumMax, Trace trace) {
+    // The sizes of the log entries are needed both for the receipt and the log series prefixes.
+    final int[] logSizes = logSizes(chunk.logs());
+    final int logSeriesSize = logSeriesSize(logSizes);
+
     RlpTxrcptColumns traceValue = new RlpTxrcptColumns();
-    traceValue.txrcptSize = txRcptSize(chunk);
+    traceValue.txrcptSize = txRcptSize(chunk, logSeriesSize);
     traceValue.absTxNum = absTxNum;
     traceValue.absLogNumMax = absLogNumMax;
 
@@ -93,10 +134,10 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     phase3(traceValue, chunk.gasUsed(), trace);
 
     // PHASE 4: Bloom Filter Rb.
-    phase4(traceValue, chunk.logs(), trace);
+    phase4(traceValue, chunk.logsBloom(), trace);
 
     // Phase 5: log series Rl.
-    phase5(traceValue, chunk.logs(), trace);
+    phase5(traceValue, chunk.logs(), logSizes, logSeriesSize, trace);
   }
 
   private void phase1(RlpTxrcptColumns traceValue, TransactionType txType, Trace trace) {
@@ -109,7 +150,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       traceValue.lcCorrection = true;
     } else {
       traceValue.limbConstructed = true;
-      traceValue.input1 = bigIntegerToBytes(BigInteger.valueOf(txType.getSerializedType()));
+      traceValue.input1 = Bytes.of(txType.getSerializedType());
       traceValue.limb = traceValue.input1;
       traceValue.nBytes = 1;
     }
@@ -127,7 +168,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     traceValue.limbConstructed = true;
 
     if (status) {
-      traceValue.input1 = bigIntegerToBytes(BigInteger.ONE);
+      traceValue.input1 = Bytes.of(1);
       traceValue.limb = traceValue.input1;
     } else {
       traceValue.input1 = Bytes.ofUnsignedShort(0);
@@ -158,26 +199,32 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     }
   }
 
-  private void phase4(RlpTxrcptColumns traceValue, List<Log> logList, Trace trace) {
+  /**
+   * Computes the logs bloom of a receipt from its logs; only used when the node did not provide it.
+   *
+   * @param logs the logs of the receipt
+   * @return the logs bloom
+   */
+  public static LogsBloomFilter logsBloom(final List<Log> logs) {
+    final LogsBloomFilter.Builder bloomFilterBuilder = LogsBloomFilter.builder();
+    for (Log log : logs) {
+      insertLog(bloomFilterBuilder, log);
+    }
+    return bloomFilterBuilder.build();
+  }
+
+  private void phase4(RlpTxrcptColumns traceValue, LogsBloomFilter bloomFilter, Trace trace) {
     final int phase = 4;
     // RLP prefix
     traceValue.partialReset(phase, 1);
     traceValue.isPrefix = true;
     traceValue.phaseSize = 256;
     traceValue.limbConstructed = true;
-    traceValue.limb =
-        Bytes.concatenate(
-            bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_LONG + 2)),
-            bigIntegerToBytes(BigInteger.valueOf(256)));
+    traceValue.limb = BYTES_RLP_BLOOM_PREFIX;
     traceValue.nBytes = 3;
     traceRow(traceValue, trace);
 
     // Concatenation of Byte slice of the bloom Filter.
-    LogsBloomFilter.Builder bloomFilterBuilder = LogsBloomFilter.builder();
-    for (Log log : logList) {
-      insertLog(bloomFilterBuilder, log);
-    }
-    final LogsBloomFilter bloomFilter = bloomFilterBuilder.build();
     for (int i = 0; i < 4; i++) {
       traceValue.partialReset(phase, LLARGE);
 
@@ -236,7 +283,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     traceValue.indexLocal = 0;
   }
 
-  private void phase5(RlpTxrcptColumns traceValue, List<Log> logList, Trace trace) {
+  private void phase5(
+      RlpTxrcptColumns traceValue,
+      List<Log> logList,
+      int[] logSizes,
+      int logSeriesSize,
+      Trace trace) {
     final int phase = 5;
     // Trivial case, there are no log entries.
     if (logList.isEmpty()) {
@@ -245,9 +297,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     } else {
       // RLP prefix of the list of log entries.
       int nbLog = logList.size();
-      for (Log log : logList) {
-        traceValue.phaseSize += outerRlpSize(logSize(log));
-      }
+      traceValue.phaseSize += logSeriesSize;
       traceValue.partialReset(phase, 8);
       rlpByteString(
           phase,
@@ -268,7 +318,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         this.absLogNum += 1;
 
         // Log Entry RLP Prefix.
-        traceValue.logEntrySize = logSize(logList.get(i));
+        traceValue.logEntrySize = logSizes[i];
         rlpByteString(
             phase,
             traceValue.logEntrySize,
@@ -291,7 +341,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         traceValue.limbConstructed = true;
 
         traceValue.counter = 0;
-        traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_SHORT + 20));
+        traceValue.limb = BYTES_RLP_ADDRESS_PREFIX;
         traceValue.nBytes = 1;
         traceRow(traceValue, trace);
 
@@ -313,18 +363,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         traceValue.localSize = 33 * logList.get(i).getTopics().size();
         traceValue.limbConstructed = true;
 
+        // At most 4 topics, i.e. 132 bytes, so that the long prefix is always 2 bytes long.
         if (logList.get(i).getTopics().isEmpty() || logList.get(i).getTopics().size() == 1) {
-          traceValue.limb =
-              bigIntegerToBytes(
-                  BYTES_RLP_LIST_SHORT
-                      .toUnsignedBigInteger()
-                      .add(BigInteger.valueOf(traceValue.localSize)));
+          traceValue.limb = Bytes.of(RLP_PREFIX_LIST_SHORT + traceValue.localSize);
           traceValue.nBytes = 1;
         } else {
-          traceValue.limb =
-              Bytes.concatenate(
-                  bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_LIST_LONG + 1)),
-                  bigIntegerToBytes(BigInteger.valueOf(traceValue.localSize)));
+          traceValue.limb = Bytes.of(RLP_PREFIX_LIST_LONG + 1, traceValue.localSize);
           traceValue.nBytes = 2;
         }
         traceRow(traceValue, trace);
@@ -341,7 +385,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
             traceValue.limbConstructed = true;
 
             traceValue.counter = 0;
-            traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_SHORT + 32));
+            traceValue.limb = BYTES_RLP_TOPIC_PREFIX;
             traceValue.nBytes = 1;
             traceValue.localSize -= traceValue.nBytes;
             traceRow(traceValue, trace);
@@ -386,7 +430,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
           rlpInt(
               3,
               phase,
-              logList.get(i).getData().toUnsignedBigInteger().longValueExact(),
+              logList.get(i).getData().get(0) & 0xff,
               true,
               true,
               true,
@@ -478,14 +522,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       int valueInput2,
       RlpTxrcptColumns traceValue,
       Trace trace) {
-    int lengthSize =
-        Bytes.ofUnsignedLong(length).size()
-            - Bytes.ofUnsignedLong(length).numberOfLeadingZeroBytes();
+    final int lengthSize = byteSize(length);
 
     ByteCountAndPowerOutput byteCountingOutput = byteCounting(lengthSize, 8);
 
     traceValue.partialReset(phase, 8);
-    traceValue.input1 = bigIntegerToBytes(BigInteger.valueOf(length));
+    traceValue.input1 = unsignedBytes(length);
     traceValue.isPrefix = isPrefix;
     traceValue.depth1 = depth1;
     traceValue.isData = isData;
@@ -493,7 +535,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       traceValue.input2 = Bytes.minimalBytes(valueInput2);
     }
 
-    Bytes input1RightShift = leftPadTo(traceValue.input1, traceValue.nStep);
+    final Bytes input1RightShift = Bytes.ofUnsignedLong(length);
     long acc2LastRow;
 
     if (length >= 56) {
@@ -502,8 +544,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       acc2LastRow = 55 - length;
     }
 
-    Bytes acc2LastRowShift =
-        leftPadTo(bigIntegerToBytes(BigInteger.valueOf(acc2LastRow)), traceValue.nStep);
+    final Bytes acc2LastRowShift = Bytes.ofUnsignedLong(acc2LastRow);
     for (int ct = 0; ct < 8; ct++) {
       traceValue.counter = ct;
       traceValue.accSize = byteCountingOutput.accByteSizeList().get(ct);
@@ -517,18 +558,13 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         if (ct == 6) {
           traceValue.limbConstructed = true;
           traceValue.nBytes = 1;
-          if (isList) {
-            traceValue.limb =
-                bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_LIST_LONG + lengthSize));
-          } else {
-            traceValue.limb =
-                bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_LONG + lengthSize));
-          }
+          traceValue.limb =
+              Bytes.of((isList ? RLP_PREFIX_LIST_LONG : RLP_PREFIX_INT_LONG) + lengthSize);
         }
 
         if (ct == 7) {
           traceValue.limbConstructed = true;
-          traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(length));
+          traceValue.limb = Bytes.minimalBytes(length);
           traceValue.nBytes = lengthSize;
           traceValue.bit = true;
           traceValue.bitAcc = 1;
@@ -537,11 +573,8 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       } else {
         if (ct == 7) {
           traceValue.limbConstructed = true;
-          if (isList) {
-            traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_LIST_SHORT + length));
-          } else {
-            traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_SHORT + length));
-          }
+          traceValue.limb =
+              Bytes.of((int) ((isList ? RLP_PREFIX_LIST_SHORT : RLP_PREFIX_INT_SHORT) + length));
           traceValue.nBytes = 1;
           traceValue.phaseEnd = endPhase;
         }
@@ -565,7 +598,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       RlpTxrcptColumns traceValue,
       Trace trace) {
 
-    final Bytes inputBytes = bigIntegerToBytes(BigInteger.valueOf(input));
+    final Bytes inputBytes = unsignedBytes(input);
 
     traceValue.partialReset(phase, 8);
 
@@ -590,7 +623,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     final int inputSize = inputBytes.size();
     ByteCountAndPowerOutput byteCountingOutput = byteCounting(inputSize, 8);
 
-    Bytes inputBytesPadded = leftPadTo(inputBytes, 8);
+    final Bytes inputBytesPadded = Bytes.ofUnsignedLong(input);
     BitDecOutput bitDecOutput =
         bitDecomposition(0xff & inputBytesPadded.get(inputBytesPadded.size() - 1), 8);
 
@@ -600,12 +633,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
       traceValue.acc1 = inputBytesPadded.slice(0, ct + 1);
       traceValue.power = byteCountingOutput.powerList().get(ct);
       traceValue.accSize = byteCountingOutput.accByteSizeList().get(ct);
-      traceValue.bit = bitDecOutput.bitDecList().get(ct);
-      traceValue.bitAcc = bitDecOutput.bitAccList().get(ct);
+      traceValue.bit = bitDecOutput.bit(ct);
+      traceValue.bitAcc = bitDecOutput.bitAcc(ct);
 
       if (input >= 128 && ct == 6) {
         traceValue.limbConstructed = true;
-        traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_SHORT + inputSize));
+        traceValue.limb = Bytes.of(RLP_PREFIX_INT_SHORT + inputSize);
         traceValue.nBytes = 1;
       }
 
@@ -613,11 +646,11 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         if (onlyPrefix) {
           traceValue.lcCorrection = true;
           traceValue.limbConstructed = false;
-          traceValue.limb = bigIntegerToBytes(BigInteger.ZERO);
+          traceValue.limb = Bytes.of(0);
           traceValue.nBytes = 0;
         } else {
           traceValue.limbConstructed = true;
-          traceValue.limb = bigIntegerToBytes(BigInteger.valueOf(input));
+          traceValue.limb = inputBytes;
           traceValue.nBytes = inputSize;
           traceValue.phaseEnd = endPhase;
         }
@@ -707,9 +740,10 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
    *
    * @param chunk an instance of {@link RlpTxrcptOperation} containing information pertaining to a
    *     transaction execution
+   * @param logSeriesSize the size of the RLP of the log entries WITHOUT its RLP prefix
    * @return the size of the RLP of a transaction receipt WITHOUT its RLP prefix
    */
-  private int txRcptSize(RlpTxrcptOperation chunk) {
+  private int txRcptSize(RlpTxrcptOperation chunk, int logSeriesSize) {
 
     // The encoded status code is always of size 1.
     int size = 1;
@@ -721,22 +755,34 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     size += 259;
 
     // Add the size of the RLP(Log).
-    int nbLog = chunk.logs().size();
-    if (nbLog == 0) {
+    if (chunk.logs().isEmpty()) {
       size += 1;
     } else {
-      int tmp = 0;
-      for (int i = 0; i < nbLog; i++) {
-        tmp += outerRlpSize(logSize(chunk.logs().get(i)));
-      }
-      size += outerRlpSize(tmp);
+      size += outerRlpSize(logSeriesSize);
     }
 
     return size;
   }
 
+  private static int[] logSizes(List<Log> logs) {
+    final int[] logSizes = new int[logs.size()];
+    for (int i = 0; i < logSizes.length; i++) {
+      logSizes[i] = logSize(logs.get(i));
+    }
+    return logSizes;
+  }
+
+  // Gives the byte size of the RLP-isation of the log entries WITHOUT their common RLP prefix.
+  private static int logSeriesSize(int[] logSizes) {
+    int size = 0;
+    for (int logSize : logSizes) {
+      size += outerRlpSize(logSize);
+    }
+    return size;
+  }
+
   // Gives the byte size of the RLP-isation of a log entry WITHOUT its RLP prefix.
-  private int logSize(Log log) {
+  private static int logSize(Log log) {
     // The size of RLP(Oa) is always 21.
     int logSize = 21;
 
@@ -749,7 +795,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     if (log.getData().size() == 1) {
       // If the byte is of value >= 128, its RLP is 2 byte, else 1 byte (no RLP
       // prefix).
-      if (log.getData().toUnsignedBigInteger().compareTo(BigInteger.valueOf(128)) >= 0) {
+      if ((log.getData().get(0) & 0xff) >= 128) {
         logSize += 2;
       } else {
         logSize += 1;
@@ -761,6 +807,16 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     return logSize;
   }
 
+  // The number of bytes of the minimal big-endian representation of a non-negative value.
+  private static int byteSize(long value) {
+    return (Long.SIZE - Long.numberOfLeadingZeros(value) + 7) / Byte.SIZE;
+  }
+
+  // The minimal big-endian representation of a non-negative value, 0 being represented as 0x00.
+  private static Bytes unsignedBytes(long value) {
+    return value == 0 ? Bytes.of(0) : Bytes.minimalBytes(value);
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
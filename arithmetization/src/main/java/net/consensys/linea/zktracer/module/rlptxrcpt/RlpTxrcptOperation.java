@@ -17,12 +17,15 @@ package net.consensys.linea.zktracer.module.rlptxrcpt;
 
 import java.util.List;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.container.ModuleOperation;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
 
 @RequiredArgsConstructor
 @Accessors(fluent = true)
@@ -33,6 +36,18 @@ public final class RlpTxrcptOperation extends ModuleOperation {
   private final long gasUsed;
   private final List<Log> logs;
 
+  /** The logs bloom of the receipt as already computed by the node, if known. */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.PACKAGE)
+  private LogsBloomFilter knownLogsBloom;
+
+  /**
+   * @return the logs bloom of the receipt, reusing the one computed by the node if available
+   */
+  public LogsBloomFilter logsBloom() {
+    return knownLogsBloom != null ? knownLogsBloom : RlpTxnRcpt.logsBloom(logs);
+  }
+
   @Override
   protected int computeLineCount() {
     // Phase 0 is always 1+8=9 row long, Phase 1, 1 row long, Phase 2 8 row long,
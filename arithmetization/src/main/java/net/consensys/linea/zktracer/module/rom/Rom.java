@@ -19,15 +19,29 @@ import java.nio.MappedByteBuffer;
 import java.util.List;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.StickyColumns;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.module.romlex.RomLex;
 import net.consensys.linea.zktracer.module.romlex.RomOperation;
 
 @RequiredArgsConstructor
 public class Rom implements Module {
+  private static final List<String> COLUMNS =
+      Trace.headers(0).stream().map(ColumnHeader::name).toList();
+  static final int CFI_COLUMN = COLUMNS.indexOf("rom.CODE_FRAGMENT_INDEX");
+  static final int CFI_INFINITY_COLUMN = COLUMNS.indexOf("rom.CODE_FRAGMENT_INDEX_INFTY");
+
+  /** The columns holding the same value on all the rows of a bytecode. */
+  static final List<String> STICKY_COLUMNS =
+      List.of("rom.CODE_FRAGMENT_INDEX", "rom.CODE_FRAGMENT_INDEX_INFTY", "rom.CODE_SIZE");
+
   private final RomLex romLex;
 
+  /** The ROM rows of the bytecodes already traced, possibly in previous conflations. */
+  @Setter private RomSegmentCache segmentCache = RomSegmentCache.DISABLED;
+
   @Override
   public String moduleKey() {
     return "ROM";
@@ -39,11 +53,20 @@ public class Rom implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     return romLex.operations().lineCount();
   }
 
+  /** The segment cache is retained across conflations, so it is accounted for by every one. */
+  @Override
+  public long footprint(final int bytesPerLine) {
+    return Module.super.footprint(bytesPerLine) + segmentCache.usedBytes();
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
@@ -52,11 +75,33 @@ public class Rom implements Module {
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
     final Trace trace = new Trace(buffers);
+    final StickyColumns stickyColumns =
+        StickyColumns.of(columnsHeaders(), buffers, STICKY_COLUMNS, List.of());
+    final boolean[] cfiColumns = new boolean[buffers.size()];
+    cfiColumns[CFI_COLUMN] = true;
+    cfiColumns[CFI_INFINITY_COLUMN] = true;
+    final int[] starts = new int[buffers.size()];
 
     int codeFragmentIndex = 0;
     final int codeFragmentIndexInfinity = romLex.sortedOperations().size();
     for (RomOperation chunk : romLex.sortedOperations()) {
-      chunk.trace(trace, ++codeFragmentIndex, codeFragmentIndexInfinity);
+      codeFragmentIndex++;
+      if (!segmentCache.enabled()) {
+        chunk.trace(trace, stickyColumns, codeFragmentIndex, codeFragmentIndexInfinity);
+        continue;
+      }
+
+      final RomSegment segment = segmentCache.get(chunk.codeHash());
+      if (segment != null) {
+        segment.copyInto(buffers, chunk.lineCount(), codeFragmentIndex, codeFragmentIndexInfinity);
+        continue;
+      }
+
+      for (int i = 0; i < buffers.size(); i++) {
+        starts[i] = buffers.get(i).position();
+      }
+      chunk.trace(trace, stickyColumns, codeFragmentIndex, codeFragmentIndexInfinity);
+      segmentCache.put(chunk.codeHash(), RomSegment.capture(buffers, starts, cfiColumns));
     }
   }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rom;
+
+import java.nio.MappedByteBuffer;
+import java.util.List;
+
+import com.google.common.primitives.Ints;
+import net.consensys.linea.zktracer.StickyColumns;
+
+/**
+ * The ROM rows of a bytecode, as they are written into every column but the code fragment index
+ * ones, which are the only ones depending on the conflation.
+ *
+ * @param columns the bytes of every column, or null for the code fragment index columns
+ */
+record RomSegment(byte[][] columns) {
+  /**
+   * Capture the rows just written into the given column buffers.
+   *
+   * @param buffers the column buffers
+   * @param starts the positions of the column buffers before the rows got written
+   * @param skipped whether each column is left out of the segment
+   * @return the segment
+   */
+  static RomSegment capture(
+      final List<MappedByteBuffer> buffers, final int[] starts, final boolean[] skipped) {
+    final byte[][] columns = new byte[buffers.size()][];
+    for (int i = 0; i < buffers.size(); i++) {
+      if (skipped[i]) {
+        continue;
+      }
+      final MappedByteBuffer buffer = buffers.get(i);
+      columns[i] = new byte[buffer.position() - starts[i]];
+      buffer.get(starts[i], columns[i]);
+    }
+    return new RomSegment(columns);
+  }
+
+  /**
+   * Write the rows of this segment into the given column buffers, filling the skipped columns
+   * with the given code fragment indices.
+   *
+   * @param buffers the column buffers
+   * @param rows the number of rows of the segment
+   * @param cfi the code fragment index of the bytecode
+   * @param cfiInfinity the number of code fragments in the conflation
+   */
+  void copyInto(
+      final List<MappedByteBuffer> buffers, final int rows, final int cfi, final int cfiInfinity) {
+    for (int i = 0; i < buffers.size(); i++) {
+      final MappedByteBuffer buffer = buffers.get(i);
+      if (columns[i] != null) {
+        buffer.put(columns[i]);
+        continue;
+      }
+      final int value = i == Rom.CFI_INFINITY_COLUMN ? cfiInfinity : cfi;
+      final byte[] bytes = Ints.toByteArray(value);
+      StickyColumns.repeat(buffer, buffer.position(), bytes, rows);
+      buffer.position(buffer.position() + bytes.length * rows);
+    }
+  }
+
+  /**
+   * @return the number of bytes held by this segment
+   */
+  long sizeInBytes() {
+    long size = 0;
+    for (byte[] column : columns) {
+      size += column == null ? 0 : column.length;
+    }
+    return size;
+  }
+}
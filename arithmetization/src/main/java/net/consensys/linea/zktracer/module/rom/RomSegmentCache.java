@@ -0,0 +1,79 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rom;
+
+import java.util.LinkedHashMap;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * A bounded cache of the ROM rows of bytecodes, keyed by code hash and shared across conflations,
+ * so that the same popular contracts (routers, tokens, proxies) are only ever traced once by the
+ * ROM, and then copied column by column. The least recently used bytecodes are evicted first.
+ */
+public final class RomSegmentCache {
+  /** A cache holding nothing, i.e. with which every bytecode is traced from scratch. */
+  public static final RomSegmentCache DISABLED = new RomSegmentCache(0);
+
+  /** The maximal number of bytes held by this cache. */
+  private final long capacity;
+
+  private final LinkedHashMap<Hash, RomSegment> segments = new LinkedHashMap<>(16, 0.75f, true);
+  private long usedBytes = 0;
+
+  public RomSegmentCache(final long capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * @return whether this cache may hold anything
+   */
+  public boolean enabled() {
+    return capacity > 0;
+  }
+
+  synchronized RomSegment get(final Hash codeHash) {
+    return segments.get(codeHash);
+  }
+
+  synchronized void put(final Hash codeHash, final RomSegment segment) {
+    final long size = segment.sizeInBytes();
+    if (size > capacity || segments.containsKey(codeHash)) {
+      return;
+    }
+    final var eldest = segments.entrySet().iterator();
+    while (usedBytes + size > capacity) {
+      usedBytes -= eldest.next().getValue().sizeInBytes();
+      eldest.remove();
+    }
+    segments.put(codeHash, segment);
+    usedBytes += size;
+  }
+
+  /**
+   * @return the number of bytes held by this cache
+   */
+  public synchronized long usedBytes() {
+    return usedBytes;
+  }
+
+  /**
+   * @return the number of bytecodes held by this cache
+   */
+  public synchronized int size() {
+    return segments.size();
+  }
+}
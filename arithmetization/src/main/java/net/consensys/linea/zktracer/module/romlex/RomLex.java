@@ -264,7 +264,7 @@ public class RomLex
       final int codeFragmentIndexInfinity,
       Trace trace) {
     final Hash codeHash =
-        operation.metadata().underDeployment() ? Hash.EMPTY : Hash.hash(operation.byteCode());
+        operation.metadata().underDeployment() ? Hash.EMPTY : operation.codeHash();
     trace
         .codeFragmentIndex(cfi)
         .codeFragmentIndexInfty(codeFragmentIndexInfinity)
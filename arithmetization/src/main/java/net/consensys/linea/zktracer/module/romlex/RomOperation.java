@@ -29,10 +29,12 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
+import net.consensys.linea.zktracer.StickyColumns;
 import net.consensys.linea.zktracer.container.ModuleOperation;
 import net.consensys.linea.zktracer.module.rom.Trace;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
 
 @RequiredArgsConstructor
 @Accessors(fluent = true)
@@ -49,7 +51,11 @@ public final class RomOperation extends ModuleOperation {
   private final boolean commitToTheState;
   private final Bytes byteCode;
 
-  public void trace(Trace trace, int cfi, int cfiInfty) {
+  /** The hash of the bytecode, shared by the ROM and the ROMLEX. */
+  @Getter(lazy = true)
+  private final Hash codeHash = Hash.hash(byteCode);
+
+  public void trace(Trace trace, StickyColumns stickyColumns, int cfi, int cfiInfty) {
     // WARN this is the tracing used by the ROM, not by the ROMLEX
     final int chunkRowSize = this.lineCount();
     final int codeSize = this.byteCode().size();
@@ -71,11 +77,8 @@ public final class RomOperation extends ModuleOperation {
 
       // Fill Generic columns
       trace
-          .codeFragmentIndex(cfi)
-          .codeFragmentIndexInfty(cfiInfty)
           .programCounter(i)
           .limb(dataPadded.slice(sliceNumber * LLARGE, LLARGE))
-          .codeSize(codeSize)
           .paddedBytecodeByte(UnsignedByte.of(dataPadded.get(i)))
           .acc(dataPadded.slice(sliceNumber * LLARGE, (i % LLARGE) + 1))
           .codesizeReached(codeSizeReached)
@@ -162,8 +165,17 @@ public final class RomOperation extends ModuleOperation {
         }
       }
 
-      trace.validateRow();
+      // The sticky columns are only set on the first row, and copied over the others at the end
+      if (i == 0) {
+        trace.codeFragmentIndex(cfi).codeFragmentIndexInfty(cfiInfty).codeSize(codeSize);
+        trace.validateRow();
+        stickyColumns.capture();
+      } else {
+        stickyColumns.checkRow();
+        trace.fillAndValidateRow();
+      }
     }
+    stickyColumns.fillRows(chunkRowSize - 1);
   }
 
   @Override
@@ -22,6 +22,7 @@ import lombok.Getter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes32;
@@ -54,11 +55,11 @@ public class Shf implements OperationSetModule<ShfOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (ShfOperation op : operations.sortOperations(new ShfOperationComparator())) {
-      op.trace(trace, ++stamp);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new ShfOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (op, stamp, trace) -> op.trace(trace, stamp));
   }
 }
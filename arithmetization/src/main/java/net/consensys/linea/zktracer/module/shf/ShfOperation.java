@@ -19,10 +19,6 @@ import static net.consensys.linea.zktracer.module.Util.byteBits;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGEMO;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -46,7 +42,7 @@ final class ShfOperation extends ModuleOperation {
   private boolean isKnown;
   private UnsignedByte low3;
   private UnsignedByte mshp;
-  private List<Boolean> bits;
+  private boolean[] bits;
   private Shb shb;
   private Res res;
   private boolean isBitB3;
@@ -86,7 +82,7 @@ final class ShfOperation extends ModuleOperation {
 
   private void compute() {
     this.isNegative = Long.compareUnsigned(arg2Hi().get(0), 128) >= 0;
-    this.isShiftRight = List.of(OpCode.SAR, OpCode.SHR).contains(opCode);
+    this.isShiftRight = opCode == OpCode.SAR || opCode == OpCode.SHR;
     this.isKnown = isKnown(opCode, arg1Hi(), arg1Lo());
 
     UnsignedByte msb = UnsignedByte.of(arg2Hi().get(0));
@@ -99,12 +95,12 @@ final class ShfOperation extends ModuleOperation {
       this.mshp = UnsignedByte.of(8 - low3.toInteger());
     }
 
-    Boolean[] lsbBits = byteBits(lsb);
-    Boolean[] msbBits = byteBits(msb);
+    final boolean[] lsbBits = byteBits(lsb);
+    final boolean[] msbBits = byteBits(msb);
 
-    this.bits = new ArrayList<>(lsbBits.length + msbBits.length);
-    Collections.addAll(this.bits, msbBits);
-    Collections.addAll(this.bits, lsbBits);
+    this.bits = new boolean[msbBits.length + lsbBits.length];
+    System.arraycopy(msbBits, 0, this.bits, 0, msbBits.length);
+    System.arraycopy(lsbBits, 0, this.bits, msbBits.length, lsbBits.length);
 
     this.shb = Shb.create(opCode, arg2, lsb);
     this.res = Res.create(opCode, arg1, arg2);
@@ -173,7 +169,7 @@ final class ShfOperation extends ModuleOperation {
           .byte3(UnsignedByte.of(this.arg2Lo().get(i)))
           .byte4(UnsignedByte.of(res.getResHi().get(i)))
           .byte5(UnsignedByte.of(res.getResLo().get(i)))
-          .bits(bits.get(i))
+          .bits(bits[i])
           .counter((short) i)
           .inst(UnsignedByte.of(opCode.byteValue()))
           .known(isKnown)
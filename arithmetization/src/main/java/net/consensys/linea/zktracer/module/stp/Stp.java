@@ -26,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.StpCall;
 import net.consensys.linea.zktracer.module.mod.Mod;
@@ -84,11 +85,11 @@ public class Stp implements OperationSetModule<StpOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (StpOperation operation : operations.sortOperations(new StpOperationComparator())) {
-      operation.trace(trace, ++stamp);
-    }
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new StpOperationComparator()),
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (operation, stamp, trace) -> operation.trace(trace, stamp));
   }
 }
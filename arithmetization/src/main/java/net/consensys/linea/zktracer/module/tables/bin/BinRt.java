@@ -36,11 +36,20 @@ public class BinRt implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     return 3 * 256 * 256 + 256; // 256*256 lines for AND, OR and XOR, and 256 lines for NOT
   }
 
+  @Override
+  public long footprint(final int bytesPerLine) {
+    // Reference tables are only generated when committed
+    return 0;
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
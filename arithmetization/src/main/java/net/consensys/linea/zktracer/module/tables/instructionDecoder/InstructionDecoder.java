@@ -104,11 +104,20 @@ public final class InstructionDecoder implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     return 256;
   }
 
+  @Override
+  public long footprint(final int bytesPerLine) {
+    // Reference tables are only generated when committed
+    return 0;
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return headers(this.lineCount());
@@ -35,11 +35,20 @@ public record ShfRt() implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {}
+
   @Override
   public int lineCount() {
     return 256 * 9;
   }
 
+  @Override
+  public long footprint(final int bytesPerLine) {
+    // Reference tables are only generated when committed
+    return 0;
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
@@ -23,7 +23,9 @@ import java.util.List;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.StickyColumns;
 import net.consensys.linea.zktracer.container.module.OperationSetModule;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.types.EWord;
 import org.apache.tuweni.bytes.Bytes;
@@ -39,6 +41,17 @@ public class Trm implements OperationSetModule<TrmOperation> {
   static final int MAX_CT = LLARGE;
   static final int PIVOT_BIT_FLIPS_TO_TRUE = 12;
 
+  /** The columns holding the same value on all the rows of an operation. */
+  static final List<String> STICKY_COLUMNS =
+      List.of(
+          "trm.STAMP",
+          "trm.IS_PRECOMPILE",
+          "trm.RAW_ADDRESS_HI",
+          "trm.RAW_ADDRESS_LO",
+          "trm.TRM_ADDRESS_HI");
+
+  private record StickyTrace(Trace trace, StickyColumns stickyColumns) {}
+
   @Override
   public String moduleKey() {
     return "TRM";
@@ -60,11 +73,15 @@ public class Trm implements OperationSetModule<TrmOperation> {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
-    for (TrmOperation operation : operations.sortOperations(new TrmOperationComparator())) {
-      operation.trace(trace, ++stamp);
-    }
+    final List<ColumnHeader> headers = columnsHeaders();
+    ParallelOperationTracer.trace(
+        operations.sortOperations(new TrmOperationComparator()),
+        headers,
+        buffers,
+        columns ->
+            new StickyTrace(
+                new Trace(columns), StickyColumns.of(headers, columns, STICKY_COLUMNS, List.of())),
+        (operation, stamp, trace) ->
+            operation.trace(trace.trace(), trace.stickyColumns(), stamp));
   }
 }
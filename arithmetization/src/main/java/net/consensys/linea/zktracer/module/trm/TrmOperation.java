@@ -22,13 +22,13 @@ import static net.consensys.linea.zktracer.types.AddressUtils.isPrecompile;
 import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
 
-import java.util.List;
-
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
+import net.consensys.linea.zktracer.StickyColumns;
 import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.types.BitDecOutput;
 import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
@@ -40,32 +40,42 @@ import org.hyperledger.besu.datatypes.Address;
 public class TrmOperation extends ModuleOperation {
   @EqualsAndHashCode.Include @Getter private final EWord rawAddress;
 
-  void trace(Trace trace, final int stamp) {
+  void trace(Trace trace, StickyColumns stickyColumns, final int stamp) {
     final Bytes trmHiBytes =
         leftPadTo(this.rawAddress.hi().slice(PIVOT_BIT_FLIPS_TO_TRUE, 4), LLARGE);
     final long trmHi = trmHiBytes.slice(PIVOT_BIT_FLIPS_TO_TRUE, 4).toLong();
     final Boolean isPrec = isPrecompile(Address.extract(this.rawAddress));
     final int accLastByte =
         isPrec ? 9 - (0xff & this.rawAddress.get(31)) : (0xff & this.rawAddress.get(31)) - 10;
-    List<Boolean> ones = bitDecomposition(accLastByte, MAX_CT).bitDecList();
+    final BitDecOutput ones = bitDecomposition(accLastByte, MAX_CT);
 
     for (int ct = 0; ct < MAX_CT; ct++) {
       trace
           .ct(ct)
-          .stamp(stamp)
-          .isPrecompile(isPrec)
           .plateauBit(ct >= PIVOT_BIT_FLIPS_TO_TRUE)
-          .rawAddressHi(this.rawAddress.hi())
-          .rawAddressLo(this.rawAddress.lo())
-          .trmAddressHi(trmHi)
           .accHi(this.rawAddress.hi().slice(0, ct + 1))
           .accLo(this.rawAddress.lo().slice(0, ct + 1))
           .accT(trmHiBytes.slice(0, ct + 1).trimLeadingZeros().toLong())
           .byteHi(UnsignedByte.of(this.rawAddress.hi().get(ct)))
           .byteLo(UnsignedByte.of(this.rawAddress.lo().get(ct)))
-          .one(ones.get(ct))
-          .validateRow();
+          .one(ones.bit(ct));
+
+      // The sticky columns are only set on the first row, and copied over the others at the end
+      if (ct == 0) {
+        trace
+            .stamp(stamp)
+            .isPrecompile(isPrec)
+            .rawAddressHi(this.rawAddress.hi())
+            .rawAddressLo(this.rawAddress.lo())
+            .trmAddressHi(trmHi)
+            .validateRow();
+        stickyColumns.capture();
+      } else {
+        stickyColumns.checkRow();
+        trace.fillAndValidateRow();
+      }
     }
+    stickyColumns.fillRows(MAX_CT - 1);
   }
 
   @Override
@@ -25,14 +25,17 @@ import static net.consensys.linea.zktracer.module.wcp.WcpOperation.SGTbv;
 import static net.consensys.linea.zktracer.module.wcp.WcpOperation.SLTbv;
 
 import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
 import net.consensys.linea.zktracer.container.stacked.CountOnlyOperation;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import net.consensys.linea.zktracer.opcode.OpCode;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -40,6 +43,7 @@ import org.hyperledger.besu.evm.worldstate.WorldView;
 
 @RequiredArgsConstructor
 public class Wcp implements Module {
+  private final WordPool words;
 
   private final ModuleOperationStackedSet<WcpOperation> ltOperations =
       new ModuleOperationStackedSet<>();
@@ -97,12 +101,20 @@ public class Wcp implements Module {
     additionalRows.pop();
   }
 
+  @Override
+  public void rollbackToTransaction(final int transactionCount) {
+    for (ModuleOperationStackedSet<WcpOperation> operationsSet : operations) {
+      operationsSet.rollback(transactionCount);
+    }
+    additionalRows.rollback(transactionCount);
+  }
+
   @Override
   public void tracePreOpcode(final MessageFrame frame) {
     final OpCode opCode = OpCode.of(frame.getCurrentOperation().getOpcode());
-    final Bytes32 arg1 = Bytes32.leftPad(frame.getStackItem(0));
+    final Bytes32 arg1 = words.word(frame.getStackItem(0));
     final Bytes32 arg2 =
-        (opCode != OpCode.ISZERO) ? Bytes32.leftPad(frame.getStackItem(1)) : Bytes32.ZERO;
+        (opCode != OpCode.ISZERO) ? words.word(frame.getStackItem(1)) : Bytes32.ZERO;
 
     switch (opCode) {
       case LT -> ltOperations.add(new WcpOperation(LTbv, arg1, arg2));
@@ -122,15 +134,17 @@ public class Wcp implements Module {
 
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
-    final Trace trace = new Trace(buffers);
-
-    int stamp = 0;
     final WcpOperationComparator comparator = new WcpOperationComparator();
+    final List<WcpOperation> sortedOperations = new ArrayList<>();
     for (ModuleOperationStackedSet<WcpOperation> operationsSet : operations) {
-      for (WcpOperation operation : operationsSet.sortOperations(comparator)) {
-        operation.trace(trace, ++stamp);
-      }
+      sortedOperations.addAll(operationsSet.sortOperations(comparator));
     }
+    ParallelOperationTracer.trace(
+        sortedOperations,
+        columnsHeaders(),
+        buffers,
+        Trace::new,
+        (operation, stamp, trace) -> operation.trace(trace, stamp));
   }
 
   @Override
@@ -145,7 +159,7 @@ public class Wcp implements Module {
   }
 
   public boolean callLT(final Bytes arg1, final Bytes arg2) {
-    return callLT(Bytes32.leftPad(arg1), Bytes32.leftPad(arg2));
+    return callLT(words.word(arg1), words.word(arg2));
   }
 
   public boolean callLT(final long arg1, final long arg2) {
@@ -158,7 +172,7 @@ public class Wcp implements Module {
   }
 
   public boolean callGT(final Bytes arg1, final Bytes arg2) {
-    return callGT(Bytes32.leftPad(arg1), Bytes32.leftPad(arg2));
+    return callGT(words.word(arg1), words.word(arg2));
   }
 
   public boolean callGT(final int arg1, final int arg2) {
@@ -171,7 +185,7 @@ public class Wcp implements Module {
   }
 
   public boolean callEQ(final Bytes arg1, final Bytes arg2) {
-    return callEQ(Bytes32.leftPad(arg1), Bytes32.leftPad(arg2));
+    return callEQ(words.word(arg1), words.word(arg2));
   }
 
   public boolean callISZERO(final Bytes32 arg1) {
@@ -180,7 +194,7 @@ public class Wcp implements Module {
   }
 
   public boolean callISZERO(final Bytes arg1) {
-    return callISZERO(Bytes32.leftPad(arg1));
+    return callISZERO(words.word(arg1));
   }
 
   public boolean callLEQ(final Bytes32 arg1, final Bytes32 arg2) {
@@ -193,7 +207,7 @@ public class Wcp implements Module {
   }
 
   public boolean callLEQ(final Bytes arg1, final Bytes arg2) {
-    return callLEQ(Bytes32.leftPad(arg1), Bytes32.leftPad(arg2));
+    return callLEQ(words.word(arg1), words.word(arg2));
   }
 
   public boolean callGEQ(final Bytes32 arg1, final Bytes32 arg2) {
@@ -202,7 +216,7 @@ public class Wcp implements Module {
   }
 
   public boolean callGEQ(final Bytes arg1, final Bytes arg2) {
-    return callGEQ(Bytes32.leftPad(arg1), Bytes32.leftPad(arg2));
+    return callGEQ(words.word(arg1), words.word(arg2));
   }
 
   @Override
@@ -33,7 +33,6 @@ import java.math.BigInteger;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -80,7 +79,7 @@ public class WcpOperation extends ModuleOperation {
   private Boolean bit4;
   private Boolean resLo;
 
-  final List<Boolean> bits = new ArrayList<>(LLARGE);
+  final boolean[] bits = new boolean[LLARGE];
 
   public WcpOperation(final byte wcpInst, final Bytes32 arg1, final Bytes32 arg2) {
     this.wcpInst = wcpInst;
@@ -116,18 +115,15 @@ public class WcpOperation extends ModuleOperation {
       // meaningful only for signed OpCode with LLARGE argument
       UnsignedByte msb1 = UnsignedByte.of(arg1Hi.get(0));
       UnsignedByte msb2 = UnsignedByte.of(arg2Hi.get(0));
-      Boolean[] msb1Bits = byteBits(msb1);
-      Boolean[] msb2Bits = byteBits(msb2);
+      final boolean[] msb1Bits = byteBits(msb1);
+      final boolean[] msb2Bits = byteBits(msb2);
       neg1 = msb1Bits[0];
       neg2 = msb2Bits[0];
-      Collections.addAll(bits, msb1Bits);
-      Collections.addAll(bits, msb2Bits);
+      System.arraycopy(msb1Bits, 0, bits, 0, msb1Bits.length);
+      System.arraycopy(msb2Bits, 0, bits, msb1Bits.length, msb2Bits.length);
     } else {
       neg1 = false;
       neg2 = false;
-      for (int ct = 0; ct <= ctMax; ct++) {
-        bits.add(ct, false);
-      }
     }
 
     // Set bit 1 and 2
@@ -184,7 +180,7 @@ public class WcpOperation extends ModuleOperation {
           .argument2Hi(arg2Hi)
           .argument2Lo(arg2Lo)
           .result(resLo)
-          .bits(bits.get(ct))
+          .bits(bits[ct])
           .neg1(neg1)
           .neg2(neg2)
           .byte1(UnsignedByte.of(arg1Hi.get(ct)))
@@ -17,7 +17,6 @@ package net.consensys.linea.zktracer.opcode;
 
 import static com.google.common.base.Preconditions.*;
 
-import net.consensys.linea.zktracer.opcode.gas.MxpType;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 
 /** Represents the entire set of opcodes that are required by the arithmetization process. */
@@ -215,30 +214,30 @@ public enum OpCode {
 
   /** Returns true for PUSH-type instructions */
   public boolean isPush() {
-    return getData().isPush();
+    return OpCodes.hasAny(this, OpCodeFlags.PUSH);
   }
 
   /** Returns true for JUMP-type instructions */
   public boolean isJump() {
-    return getData().isJump();
+    return OpCodes.hasAny(this, OpCodeFlags.JUMP);
   }
 
   public boolean isLog() {
-    return getData().isLog();
+    return OpCodes.hasAny(this, OpCodeFlags.LOG);
   }
 
   /** Returns whether the {@link OpCode} entails a contract creation. */
   public boolean isCreate() {
-    return getData().isCreate();
+    return OpCodes.hasAny(this, OpCodeFlags.CREATE);
   }
 
   /** Returns whether the {@link OpCode} is one of the CALL opcodes */
   public boolean isCall() {
-    return getData().isCall();
+    return OpCodes.hasAny(this, OpCodeFlags.CALL);
   }
 
   public boolean isCallOrCreate() {
-    return isCall() || isCreate();
+    return OpCodes.hasAny(this, OpCodeFlags.CALL | OpCodeFlags.CREATE);
   }
 
   public boolean callHasNoValueArgument() {
@@ -268,22 +267,22 @@ public enum OpCode {
   }
 
   public short numberOfStackRows() {
-    return (short) (this.getData().numberOfStackRows());
+    return (short) (OpCodes.hasAny(this, OpCodeFlags.TWO_LINES) ? 2 : 1);
   }
 
   public boolean mayTriggerStackUnderflow() {
-    return this.getData().stackSettings().delta() > 0;
+    return OpCodes.hasAny(this, OpCodeFlags.MAY_UNDERFLOW);
   }
 
   public boolean mayTriggerStackOverflow() {
-    return this.getData().stackSettings().alpha() > 0;
+    return OpCodes.hasAny(this, OpCodeFlags.MAY_OVERFLOW);
   }
 
   public boolean mayTriggerStaticException() {
-    return this.getData().stackSettings().forbiddenInStatic();
+    return OpCodes.hasAny(this, OpCodeFlags.FORBIDDEN_IN_STATIC);
   }
 
   public boolean mayTriggerMemoryExpansionException() {
-    return this != MSIZE && this.getData().billing().type() != MxpType.NONE;
+    return OpCodes.hasAny(this, OpCodeFlags.MAY_EXPAND_MEMORY);
   }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.opcode;
+
+import net.consensys.linea.zktracer.opcode.gas.MxpType;
+
+/**
+ * The properties of an {@link OpCode} most often queried while tracing, packed as bits of an
+ * <code>int</code> so that they may be tested for, possibly several at once, without going through
+ * its {@link OpCodeData}.
+ */
+public final class OpCodeFlags {
+  public static final int PUSH = 1;
+  public static final int JUMP = 1 << 1;
+  public static final int CALL = 1 << 2;
+  public static final int CREATE = 1 << 3;
+  public static final int LOG = 1 << 4;
+
+  /** The instruction fills two stack lines. */
+  public static final int TWO_LINES = 1 << 5;
+
+  /** The instruction pops items from the stack, and may hence underflow it. */
+  public static final int MAY_UNDERFLOW = 1 << 6;
+
+  /** The instruction pushes items on the stack, and may hence overflow it. */
+  public static final int MAY_OVERFLOW = 1 << 7;
+
+  public static final int FORBIDDEN_IN_STATIC = 1 << 8;
+
+  /** The instruction may expand the memory, and hence trigger a memory expansion exception. */
+  public static final int MAY_EXPAND_MEMORY = 1 << 9;
+
+  private OpCodeFlags() {}
+
+  /**
+   * Compute the flags of an opcode from its metadata.
+   *
+   * @param data the opcode metadata
+   * @return the flags of the opcode
+   */
+  static int of(final OpCodeData data) {
+    int flags = 0;
+    flags |= data.isPush() ? PUSH : 0;
+    flags |= data.isJump() ? JUMP : 0;
+    flags |= data.isCall() ? CALL : 0;
+    flags |= data.isCreate() ? CREATE : 0;
+    flags |= data.isLog() ? LOG : 0;
+    flags |= data.stackSettings().twoLineInstruction() ? TWO_LINES : 0;
+    flags |= data.stackSettings().delta() > 0 ? MAY_UNDERFLOW : 0;
+    flags |= data.stackSettings().alpha() > 0 ? MAY_OVERFLOW : 0;
+    flags |= data.stackSettings().forbiddenInStatic() ? FORBIDDEN_IN_STATIC : 0;
+    flags |=
+        data.mnemonic() != OpCode.MSIZE && data.billing().type() != MxpType.NONE
+            ? MAY_EXPAND_MEMORY
+            : 0;
+    return flags;
+  }
+}
@@ -15,48 +15,47 @@
 
 package net.consensys.linea.zktracer.opcode;
 
-import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.databind.type.TypeFactory;
-import lombok.SneakyThrows;
-import net.consensys.linea.zktracer.json.JsonConverter;
-
-/** Responsible for managing opcode loading and opcode metadata retrieval. */
+/**
+ * Responsible for managing opcode loading and opcode metadata retrieval.
+ *
+ * <p>The metadata are compiled from src/main/resources/opcodes.yml into {@link OpCodesTable} at
+ * build time, and indexed once, when this class is initialized, by opcode value and by {@link
+ * OpCode} ordinal, so that decoding an opcode on the hot path is a single array load rather than a
+ * boxed map lookup.
+ */
 public class OpCodes {
-  private static final JsonConverter YAML_CONVERTER = JsonConverter.builder().enableYaml().build();
+  /** The metadata of every opcode value, undefined values mapping to {@link OpCode#INVALID}. */
+  private static final OpCodeData[] BY_VALUE = new OpCodeData[256];
 
-  static Map<Integer, OpCodeData> valueToOpCodeDataMap;
-  public static Map<OpCode, OpCodeData> opCodeToOpCodeDataMap;
+  /** The metadata of every {@link OpCode}, indexed by ordinal. */
+  private static final OpCodeData[] BY_MNEMONIC = new OpCodeData[OpCode.values().length];
 
-  static {
-    init();
-  }
+  /** The {@link OpCodeFlags} of every {@link OpCode}, indexed by ordinal. */
+  private static final int[] FLAGS = new int[OpCode.values().length];
 
-  /** Loads all opcode metadata from src/main/resources/opcodes.yml. */
-  @SneakyThrows(IOException.class)
-  private static void init() {
-    JsonNode rootNode =
-        YAML_CONVERTER
-            .getObjectMapper()
-            .readTree(OpCodes.class.getClassLoader().getResourceAsStream("opcodes.yml"))
-            .get("opcodes");
+  public static final Map<OpCode, OpCodeData> opCodeToOpCodeDataMap;
 
-    CollectionType typeReference =
-        TypeFactory.defaultInstance().constructCollectionType(List.class, OpCodeData.class);
-
-    List<OpCodeData> opCodes =
-        YAML_CONVERTER.getObjectMapper().treeToValue(rootNode, typeReference);
-
-    valueToOpCodeDataMap = opCodes.stream().collect(Collectors.toMap(OpCodeData::value, e -> e));
-    opCodeToOpCodeDataMap =
-        opCodes.stream().collect(Collectors.toMap(OpCodeData::mnemonic, e -> e));
+  static {
+    final Map<OpCode, OpCodeData> byMnemonic = new EnumMap<>(OpCode.class);
+    for (OpCodeData opCode : OpCodesTable.OPCODES) {
+      BY_VALUE[opCode.value()] = opCode;
+      BY_MNEMONIC[opCode.mnemonic().ordinal()] = opCode;
+      FLAGS[opCode.mnemonic().ordinal()] = OpCodeFlags.of(opCode);
+      byMnemonic.put(opCode.mnemonic(), opCode);
+    }
+    final OpCodeData invalid = BY_MNEMONIC[OpCode.INVALID.ordinal()];
+    for (int value = 0; value < BY_VALUE.length; value++) {
+      if (BY_VALUE[value] == null) {
+        BY_VALUE[value] = invalid;
+      }
+    }
+    opCodeToOpCodeDataMap = Collections.unmodifiableMap(byMnemonic);
   }
 
   /**
@@ -70,7 +69,7 @@ public class OpCodes {
       throw new IllegalArgumentException("No OpCode with value %s is defined.".formatted(value));
     }
 
-    return valueToOpCodeDataMap.getOrDefault(value, of(OpCode.INVALID));
+    return BY_VALUE[value];
   }
 
   /**
@@ -80,11 +79,23 @@ public class OpCodes {
    * @return an instance of {@link OpCodeData} corresponding to mnemonic of type {@link OpCode}.
    */
   public static OpCodeData of(final OpCode code) {
-    return Optional.ofNullable(opCodeToOpCodeDataMap.get(code))
-        .orElseThrow(
-            () ->
-                new IllegalArgumentException(
-                    "No OpCode of mnemonic %s is defined.".formatted(code)));
+    final OpCodeData data = BY_MNEMONIC[code.ordinal()];
+    if (data == null) {
+      throw new IllegalArgumentException("No OpCode of mnemonic %s is defined.".formatted(code));
+    }
+
+    return data;
+  }
+
+  /**
+   * Check whether an opcode has any of the given {@link OpCodeFlags}.
+   *
+   * @param code opcode mnemonic of type {@link OpCode}.
+   * @param flags a bitwise OR of {@link OpCodeFlags}.
+   * @return whether the opcode has any of the flags.
+   */
+  public static boolean hasAny(final OpCode code, final int flags) {
+    return (FLAGS[code.ordinal()] & flags) != 0;
   }
 
   /**
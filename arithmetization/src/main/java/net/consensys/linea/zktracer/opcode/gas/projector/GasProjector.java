@@ -25,10 +25,63 @@ import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.internal.Words;
 
+/**
+ * Computes the {@link GasProjection} of instructions.
+ *
+ * <p>Constant-cost instructions share stateless singleton projections. Whilst an instruction is
+ * being pre-processed by the hub (see {@link #open(MessageFrame, OpCode)}), the projection of this
+ * instruction is computed at most once and then served from a reusable slot to every section,
+ * fragment and exception check asking for it. Outside of this window, projections are computed
+ * afresh from the current state of the frame.
+ */
 public class GasProjector {
+  private static final GasProjection ZERO = new Zero();
+  private static final GasProjection VERY_LOW = new VeryLow();
+  private static final GasProjection LOW = new Low();
+  private static final GasProjection MID = new Mid();
+  private static final GasProjection HIGH = new High();
+  private static final GasProjection BASE = new Base();
+  private static final GasProjection BLOCK_HASH = new BlockHash();
+  private static final GasProjection JUMP_DEST = new JumpDest();
+  private static final GasProjection INVALID = new GasProjection() {};
+
+  private MessageFrame slotFrame;
+  private OpCode slotOpCode;
+  private GasProjection slot;
+
+  /**
+   * Start serving the projection of the given instruction from the slot; it will only be computed
+   * upon first request.
+   *
+   * @param frame the frame executing the instruction
+   * @param opCode the instruction about to be executed
+   */
+  public void open(MessageFrame frame, OpCode opCode) {
+    this.slotFrame = frame;
+    this.slotOpCode = opCode;
+    this.slot = null;
+  }
+
+  /** Stop serving the projection of the current instruction, as the frame is about to change. */
+  public void close() {
+    this.slotFrame = null;
+    this.slotOpCode = null;
+    this.slot = null;
+  }
+
   public GasProjection of(MessageFrame frame, OpCode opCode) {
+    if (frame != this.slotFrame || opCode != this.slotOpCode) {
+      return project(frame, opCode);
+    }
+    if (this.slot == null) {
+      this.slot = project(frame, opCode);
+    }
+    return this.slot;
+  }
+
+  static GasProjection project(MessageFrame frame, OpCode opCode) {
     return switch (opCode) {
-      case STOP -> new Zero();
+      case STOP -> ZERO;
       case ADD,
           SUB,
           NOT,
@@ -109,9 +162,9 @@ public class GasProjector {
           SWAP13,
           SWAP14,
           SWAP15,
-          SWAP16 -> new VeryLow();
-      case MUL, DIV, SDIV, MOD, SMOD, SIGNEXTEND, SELFBALANCE -> new Low();
-      case ADDMOD, MULMOD, JUMP -> new Mid();
+          SWAP16 -> VERY_LOW;
+      case MUL, DIV, SDIV, MOD, SMOD, SIGNEXTEND, SELFBALANCE -> LOW;
+      case ADDMOD, MULMOD, JUMP -> MID;
       case EXP -> new Exp(frame);
       case SHA3 -> new Sha3(frame);
       case ADDRESS,
@@ -132,17 +185,17 @@ public class GasProjector {
           PC,
           MSIZE,
           GAS,
-          BASEFEE -> new Base();
+          BASEFEE -> BASE;
       case BALANCE, EXTCODESIZE, EXTCODEHASH -> new AccountAccess(frame);
       case CALLDATACOPY, CODECOPY, RETURNDATACOPY -> new DataCopy(frame, opCode);
       case EXTCODECOPY -> new ExtCodeCopy(frame);
-      case BLOCKHASH -> new BlockHash();
+      case BLOCKHASH -> BLOCK_HASH;
       case MLOAD, MSTORE -> new MLoadStore(frame);
       case MSTORE8 -> new MStore8(frame);
       case SLOAD -> new SLoad(frame);
       case SSTORE -> new SStore(frame);
-      case JUMPI -> new High();
-      case JUMPDEST -> new JumpDest();
+      case JUMPI -> HIGH;
+      case JUMPDEST -> JUMP_DEST;
       case LOG0 -> new Log(frame, 0);
       case LOG1 -> new Log(frame, 1);
       case LOG2 -> new Log(frame, 2);
@@ -222,7 +275,7 @@ public class GasProjector {
       }
       case RETURN -> new Return(frame);
       case REVERT -> new Revert(frame);
-      case INVALID -> new GasProjection() {};
+      case INVALID -> INVALID;
       case SELFDESTRUCT -> new SelfDestruct(frame);
       default -> throw new IllegalStateException("Unexpected value: " + opCode);
     };
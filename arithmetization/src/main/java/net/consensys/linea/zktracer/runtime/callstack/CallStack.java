@@ -16,7 +16,6 @@
 package net.consensys.linea.zktracer.runtime.callstack;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 import com.google.common.base.Preconditions;
@@ -44,15 +43,23 @@ public final class CallStack {
 
   /** a never-pruned-tree of the {@link CallFrame} executed by the {@link Hub} */
   @Getter
-  private final List<CallFrame> callFrames =
-      new ArrayList<>(
-          50) { // TODO: PERF as the List of TraceSection, we should have an estimate based on
-        // gasLimit on the nb of CallFrame a tx might have
+  private final ArrayList<CallFrame> callFrames =
+      new ArrayList<>(50) {
         {
           add(CallFrame.EMPTY);
         }
       };
 
+  /**
+   * Make room for the call frames expected in the conflation, as estimated from its gas used by a
+   * {@link net.consensys.linea.zktracer.container.CapacityPlanner}.
+   *
+   * @param expectedCallFrames the expected number of call frames
+   */
+  public void ensureCapacity(final int expectedCallFrames) {
+    callFrames.ensureCapacity(expectedCallFrames);
+  }
+
   /** the current depth of the call stack. */
   @Getter private int depth;
 
@@ -212,6 +219,17 @@ public final class CallStack {
     this.currentId = this.currentCallFrame().parentId();
   }
 
+  /**
+   * Forget every {@link CallFrame} created after the first <code>callFrameCount</code> ones, e.g.
+   * those of transactions which are being rolled back. Must only be called between transactions.
+   *
+   * @param callFrameCount the number of {@link CallFrame} to keep
+   */
+  public void rollback(final int callFrameCount) {
+    this.callFrames.subList(callFrameCount, this.callFrames.size()).clear();
+    this.currentId = Math.min(this.currentId, this.callFrames.size() - 1);
+  }
+
   /**
    * @return whether the call stack is in an overflow state
    */
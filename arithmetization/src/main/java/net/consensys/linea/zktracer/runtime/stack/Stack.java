@@ -24,6 +24,7 @@ import net.consensys.linea.zktracer.module.hub.transients.StackHeightCheck;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.OpCodeData;
 import net.consensys.linea.zktracer.runtime.callstack.CallFrame;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -39,6 +40,9 @@ public class Stack {
   Status status;
   int stamp;
 
+  /** Interns the captured stack items, set by the hub with every instruction */
+  private WordPool words = null;
+
   public Stack() {
     height = 0;
     heightNew = 0;
@@ -60,7 +64,8 @@ public class Stack {
   }
 
   private Bytes getStack(MessageFrame frame, int i) {
-    return frame.getStackItem(i);
+    final Bytes value = frame.getStackItem(i);
+    return words == null ? value : words.intern(value);
   }
 
   private void oneZero(MessageFrame frame, StackContext pending) {
@@ -376,6 +381,7 @@ public class Stack {
   public void processInstruction(final Hub hub, MessageFrame frame, int stackStamp) {
     final CallFrame callFrame = hub.currentFrame();
     stamp = stackStamp;
+    words = hub.wordPool();
     currentOpcodeData = hub.opCodeData();
     callFrame.pending(new StackContext(currentOpcodeData.mnemonic()));
 
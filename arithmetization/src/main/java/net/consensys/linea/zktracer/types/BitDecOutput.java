@@ -15,6 +15,22 @@
 
 package net.consensys.linea.zktracer.types;
 
-import java.util.List;
+/**
+ * The bit decomposition of a byte spread over nbStep rows: the first nbStep - 8 rows hold zeroes,
+ * the last 8 rows hold the bits of the byte, most significant first, along with their running
+ * accumulator. The bits are kept as an int rather than as lists of boxed values.
+ *
+ * @param bits the decomposed byte
+ * @param nbStep the number of rows the decomposition spans
+ */
+public record BitDecOutput(int bits, int nbStep) {
+  public boolean bit(int ct) {
+    final int shift = nbStep - 1 - ct;
+    return shift < 8 && ((bits >> shift) & 1) == 1;
+  }
 
-public record BitDecOutput(List<Boolean> bitDecList, List<Integer> bitAccList) {}
+  public int bitAcc(int ct) {
+    final int shift = nbStep - 1 - ct;
+    return shift < 8 ? bits >> shift : 0;
+  }
+}
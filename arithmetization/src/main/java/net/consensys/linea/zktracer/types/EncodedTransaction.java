@@ -0,0 +1,250 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static com.google.common.base.Preconditions.checkState;
+import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
+import static org.hyperledger.besu.ethereum.core.encoding.EncodingContext.BLOCK_BODY;
+import static org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder.encodeOpaqueBytes;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.encoding.AccessListTransactionEncoder;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+
+/**
+ * The RLP encodings of a signed transaction, computed once at the start of the transaction and
+ * shared by every module measuring or tracing them (RLP_TXN, the block size limit, the keccak
+ * line counting).
+ *
+ * <p>It holds:
+ *
+ * <ul>
+ *   <li>the opaque encoding of the transaction (the type byte, if any, followed by the RLP list of
+ *       its fields), as found in block bodies;
+ *   <li>the signing payload, i.e. the RLP of the fields covered by the signature, only computed
+ *       when traced by RLP_TXN, as line counting does not need it.
+ * </ul>
+ */
+@Accessors(fluent = true)
+public final class EncodedTransaction {
+  /** the opaque encoding, i.e. (type ||) RLP([fields]) */
+  @Getter private final Bytes rlp;
+
+  @Getter private final TransactionType type;
+
+  /** the offset of the first byte of the RLP list, i.e. 1 for typed transactions and 0 otherwise */
+  private final int listOffset;
+
+  private final Transaction tx;
+
+  /** the (type ||) RLP([signed fields]) preimage of the signature */
+  @Getter(lazy = true)
+  private final Bytes signingPayload = encodeSigningPayload(tx);
+
+  private EncodedTransaction(Transaction tx, Bytes rlp, int listOffset) {
+    this.tx = tx;
+    this.type = tx.getType();
+    this.rlp = rlp;
+    this.listOffset = listOffset;
+  }
+
+  public static EncodedTransaction of(final Transaction tx) {
+    final Bytes rlp =
+        encodeOpaqueBytes((org.hyperledger.besu.ethereum.core.Transaction) tx, BLOCK_BODY);
+    final int listOffset = tx.getType() == TransactionType.FRONTIER ? 0 : 1;
+    return new EncodedTransaction(tx, rlp, listOffset);
+  }
+
+  /**
+   * @return the byte size of the payload of the RLP list of the transaction fields
+   */
+  public int rlpPayloadSize() {
+    return rlp.size() - listOffset - itemPrefixSize(rlp, listOffset);
+  }
+
+  /**
+   * @return the byte size of the payload of the RLP list of the signed transaction fields
+   */
+  public int signingPayloadRlpPayloadSize() {
+    final Bytes signingPayload = signingPayload();
+    checkState(!signingPayload.isEmpty(), "Transaction Type not supported: %s", type);
+    return signingPayload.size() - listOffset - itemPrefixSize(signingPayload, listOffset);
+  }
+
+  /**
+   * @return the byte size of the transaction in a block body, where typed transactions are wrapped
+   *     into an RLP byte string
+   */
+  public int blockBodySize() {
+    return listOffset == 0 ? rlp.size() : outerRlpSize(rlp.size());
+  }
+
+  private static int itemPrefixSize(Bytes rlp, int offset) {
+    final int prefix = rlp.get(offset) & 0xff;
+    if (prefix < 0x80) {
+      return 0;
+    }
+    if (prefix <= 0xb7 || (prefix >= 0xc0 && prefix <= 0xf7)) {
+      return 1;
+    }
+    return 1 + prefix - (prefix < 0xc0 ? 0xb7 : 0xf7);
+  }
+
+  private static Bytes encodeSigningPayload(final Transaction tx) {
+    return switch (tx.getType()) {
+      case FRONTIER -> frontierPreimage(
+          tx.getNonce(),
+          (Wei) tx.getGasPrice().orElseThrow(),
+          tx.getGasLimit(),
+          tx.getTo().map(x -> (Address) x),
+          (Wei) tx.getValue(),
+          tx.getPayload(),
+          tx.getChainId());
+      case ACCESS_LIST -> accessListPreimage(
+          tx.getNonce(),
+          (Wei) tx.getGasPrice().orElseThrow(),
+          tx.getGasLimit(),
+          tx.getTo().map(x -> (Address) x),
+          (Wei) tx.getValue(),
+          tx.getPayload(),
+          tx.getAccessList().orElse(null),
+          tx.getChainId());
+      case EIP1559 -> eip1559Preimage(
+          tx.getNonce(),
+          (Wei) tx.getMaxPriorityFeePerGas().orElseThrow(),
+          (Wei) tx.getMaxFeePerGas().orElseThrow(),
+          tx.getGasLimit(),
+          tx.getTo().map(x -> (Address) x),
+          (Wei) tx.getValue(),
+          tx.getPayload(),
+          tx.getChainId(),
+          tx.getAccessList());
+        // the signing payload of other transaction types is never traced
+      default -> Bytes.EMPTY;
+    };
+  }
+
+  private static Bytes frontierPreimage(
+      final long nonce,
+      final Wei gasPrice,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final Bytes payload,
+      final Optional<BigInteger> chainId) {
+    return RLP.encode(
+        rlpOutput -> {
+          rlpOutput.startList();
+          rlpOutput.writeLongScalar(nonce);
+          rlpOutput.writeUInt256Scalar(gasPrice);
+          rlpOutput.writeLongScalar(gasLimit);
+          rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
+          rlpOutput.writeUInt256Scalar(value);
+          rlpOutput.writeBytes(payload);
+          if (chainId.isPresent()) {
+            rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
+            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
+            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
+          }
+          rlpOutput.endList();
+        });
+  }
+
+  private static Bytes accessListPreimage(
+      final long nonce,
+      final Wei gasPrice,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final Bytes payload,
+      final List<AccessListEntry> accessList,
+      final Optional<BigInteger> chainId) {
+    final Bytes encode =
+        RLP.encode(
+            rlpOutput -> {
+              rlpOutput.startList();
+              AccessListTransactionEncoder.encodeAccessListInner(
+                  chainId, nonce, gasPrice, gasLimit, to, value, payload, accessList, rlpOutput);
+              rlpOutput.endList();
+            });
+    return Bytes.concatenate(Bytes.of(TransactionType.ACCESS_LIST.getSerializedType()), encode);
+  }
+
+  private static Bytes eip1559Preimage(
+      final long nonce,
+      final Wei maxPriorityFeePerGas,
+      final Wei maxFeePerGas,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final Bytes payload,
+      final Optional<BigInteger> chainId,
+      final Optional<List<AccessListEntry>> accessList) {
+    final Bytes encoded =
+        RLP.encode(
+            rlpOutput -> {
+              rlpOutput.startList();
+              eip1559PreimageFields(
+                  nonce,
+                  maxPriorityFeePerGas,
+                  maxFeePerGas,
+                  gasLimit,
+                  to,
+                  value,
+                  payload,
+                  chainId,
+                  accessList,
+                  rlpOutput);
+              rlpOutput.endList();
+            });
+    return Bytes.concatenate(Bytes.of(TransactionType.EIP1559.getSerializedType()), encoded);
+  }
+
+  private static void eip1559PreimageFields(
+      final long nonce,
+      final Wei maxPriorityFeePerGas,
+      final Wei maxFeePerGas,
+      final long gasLimit,
+      final Optional<Address> to,
+      final Wei value,
+      final Bytes payload,
+      final Optional<BigInteger> chainId,
+      final Optional<List<AccessListEntry>> accessList,
+      final RLPOutput rlpOutput) {
+    rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
+    rlpOutput.writeLongScalar(nonce);
+    rlpOutput.writeUInt256Scalar(maxPriorityFeePerGas);
+    rlpOutput.writeUInt256Scalar(maxFeePerGas);
+    rlpOutput.writeLongScalar(gasLimit);
+    rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
+    rlpOutput.writeUInt256Scalar(value);
+    rlpOutput.writeBytes(payload);
+    AccessListTransactionEncoder.writeAccessList(rlpOutput, accessList);
+  }
+}
@@ -14,9 +14,10 @@
  */
 package net.consensys.linea.zktracer.types;
 
-import static net.consensys.linea.zktracer.module.Util.rightPaddedSlice;
+import static com.google.common.base.Preconditions.checkArgument;
 import static net.consensys.linea.zktracer.types.Conversions.safeLongToInt;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -33,15 +34,24 @@ import org.hyperledger.besu.evm.frame.MessageFrame;
  * {@link #extract}-able from the {@link #rawData} using the {@link #range} and zero-right-padding
  * to the expected size ({@link Range#size()}) if necessary.
  *
+ * <p>The data may also be read piecewise through {@link #get} and {@link #slice}, which view
+ * {@link #rawData} in place and read zeroes past the end of the data, so that reading a few fields
+ * of a large call data never copies it. {@link #extract} is computed at most once.
+ *
  * <p>W
  */
 @Getter
 public class MemoryRange {
+  /** Shared padding, large enough for the operands read by the precompiles. */
+  private static final Bytes ZEROES = Bytes.wrap(new byte[4096]);
 
   private final long contextNumber;
   private final Range range;
   private final Bytes rawData;
 
+  @Getter(AccessLevel.NONE)
+  private Bytes extracted;
+
   public static final MemoryRange EMPTY = new MemoryRange(0);
 
   /**
@@ -103,9 +113,68 @@ public class MemoryRange {
   }
 
   public Bytes extract() {
-    return isEmpty()
-        ? Bytes.EMPTY
-        : rightPaddedSlice(rawData, safeLongToInt(range.offset()), safeLongToInt(range.size()));
+    if (extracted == null) {
+      extracted = isEmpty() ? Bytes.EMPTY : slice(0, safeLongToInt(range.size()));
+    }
+    return extracted;
+  }
+
+  /**
+   * @return the number of bytes of the data which are actually backed by {@link #rawData}, the
+   *     remaining ones being implicit zeroes
+   */
+  private int backedSize() {
+    if (isEmpty()) {
+      return 0;
+    }
+    final long available = Math.max(0, rawData.size() - range.offset());
+    return safeLongToInt(Math.min(range.size(), available));
+  }
+
+  /**
+   * Read a single byte of the data, without extracting it.
+   *
+   * @param index the index of the byte within the data
+   * @return the byte, or zero if index lies past the end of the data
+   */
+  public byte get(long index) {
+    checkArgument(index >= 0, "Index must be non-negative");
+    return index < backedSize() ? rawData.get(safeLongToInt(range.offset() + index)) : 0;
+  }
+
+  /**
+   * Read a slice of the data, right-padded with zeroes past its end. The slice is a view over
+   * {@link #rawData}, and padding is a view over shared zeroes, so that no data is copied. Only
+   * padding longer than the shared zeroes is allocated.
+   *
+   * @param index the index of the first byte of the slice within the data
+   * @param length the size of the slice
+   * @return a read-only view of the slice
+   */
+  public Bytes slice(long index, int length) {
+    checkArgument(index >= 0, "Index must be non-negative");
+    checkArgument(length >= 0, "Length must be non-negative");
+    final int backedSize = backedSize();
+
+    // pure padding
+    if (index >= backedSize) {
+      return zeroes(length);
+    }
+
+    final int offset = safeLongToInt(range.offset() + index);
+
+    // pure data
+    if (index + length <= backedSize) {
+      return rawData.slice(offset, length);
+    }
+
+    // data followed by padding
+    final int dataLength = backedSize - (int) index;
+    return Bytes.wrap(rawData.slice(offset, dataLength), zeroes(length - dataLength));
+  }
+
+  private static Bytes zeroes(int length) {
+    return length <= ZEROES.size() ? ZEROES.slice(0, length) : Bytes.wrap(new byte[length]);
   }
 
   public boolean isEmpty() {
@@ -51,6 +51,7 @@ public class TransactionProcessingMetadata {
   final int relativeBlockNumber;
 
   final Transaction besuTransaction;
+  final EncodedTransaction encodedTransaction;
   final Address coinbase;
   final long baseFee;
 
@@ -135,6 +136,7 @@ public class TransactionProcessingMetadata {
     baseFee = block.baseFee().toLong();
 
     besuTransaction = transaction;
+    encodedTransaction = EncodedTransaction.of(transaction);
     this.relativeTransactionNumber = relativeTransactionNumber;
 
     isDeployment = transaction.getTo().isEmpty();
@@ -61,34 +61,16 @@ public class Utils {
     final int nbStepMin = 8;
     checkArgument(nbStep >= nbStepMin, "Number of steps must be at least " + nbStepMin);
 
-    ArrayList<Boolean> bit = new ArrayList<>(nbStep);
-    ArrayList<Integer> acc = new ArrayList<>(nbStep);
-    for (int i = 0; i < nbStep - nbStepMin; i++) {
-      bit.add(i, false);
-      acc.add(i, 0);
-    }
-    BitDecOutput output = new BitDecOutput(bit, acc);
-
-    int bitAcc = 0;
-    boolean bitDec = false;
-    double div = 0;
-
+    int bits = 0;
     for (int i = nbStepMin - 1; i >= 0; i--) {
-      div = Math.pow(2, i);
-      bitAcc *= 2;
-
+      final int div = 1 << i;
+      bits <<= 1;
       if (input >= div) {
-        bitDec = true;
-        bitAcc += 1;
-        input -= (int) div;
-      } else {
-        bitDec = false;
+        bits |= 1;
+        input -= div;
       }
-
-      output.bitDecList().add(nbStep - i - 1, bitDec);
-      output.bitAccList().add(nbStep - i - 1, bitAcc);
     }
-    return output;
+    return new BitDecOutput(bits, nbStep);
   }
 
   /**
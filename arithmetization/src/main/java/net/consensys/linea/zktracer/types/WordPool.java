@@ -0,0 +1,189 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An interning pool for values of at most 256 bits, such as stack items or the arguments of the
+ * arithmetic modules. The same few values (0, 1, 32, addresses, selectors, storage keys) show up
+ * again and again over a conflation; interning them makes duplicates share a single instance, and
+ * makes equality checks between interned values succeed on reference equality.
+ *
+ * <p>Values are hashed on their four 64-bit limbs, without allocating anything if they are already
+ * present. Values are only interned along with their exact representation, i.e. {@link
+ * #intern(Bytes)} never changes the size of a value, while {@link #word(Bytes)} always returns a
+ * left-padded {@link Bytes32}. Once {@link #MAX_WORDS} values are held, new values are returned as
+ * is.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class WordPool {
+  public static final int MAX_WORDS = 1 << 18;
+
+  private static final int LIMBS = 4;
+
+  private int mask = 1023;
+  private long[] limbs = new long[LIMBS * (mask + 1)];
+  private Bytes[] words = new Bytes[mask + 1];
+  private int size = 0;
+
+  /** The limbs of the value being looked up. */
+  private final long[] key = new long[LIMBS];
+
+  /**
+   * Return the interned instance of a value, left-padded to 32 bytes.
+   *
+   * @param value a value of at most 32 bytes
+   * @return a {@link Bytes32} equal to <code>Bytes32.leftPad(value)</code>
+   */
+  public Bytes32 word(final Bytes value) {
+    checkArgument(value.size() <= Bytes32.SIZE, "Expected at most 32 bytes, got %s", value.size());
+    computeKey(value);
+    final int slot = find(Bytes32.SIZE);
+    final Bytes existing = words[slot];
+    if (existing instanceof Bytes32 word) {
+      return word;
+    }
+
+    final Bytes32 word =
+        value instanceof Bytes32 bytes32
+            ? bytes32
+            : existing != null ? Bytes32.wrap(existing) : Bytes32.leftPad(value);
+    store(slot, word);
+    return word;
+  }
+
+  /**
+   * Return the interned instance of a value.
+   *
+   * @param value a value
+   * @return a value with the same size and content as <code>value</code>
+   */
+  public Bytes intern(final Bytes value) {
+    if (value.size() > Bytes32.SIZE) {
+      return value;
+    }
+    computeKey(value);
+    final int slot = find(value.size());
+    if (words[slot] != null) {
+      return words[slot];
+    }
+    store(slot, value);
+    return value;
+  }
+
+  /**
+   * @return the number of values held by the pool
+   */
+  public int size() {
+    return size;
+  }
+
+  /** Drop every interned value, e.g. at the start of a new conflation. */
+  public void clear() {
+    Arrays.fill(words, null);
+    size = 0;
+  }
+
+  private void computeKey(final Bytes value) {
+    final int valueSize = value.size();
+    if (valueSize == Bytes32.SIZE) {
+      for (int i = 0; i < LIMBS; i++) {
+        key[i] = value.getLong(8 * i);
+      }
+      return;
+    }
+
+    Arrays.fill(key, 0);
+    for (int i = 0; i < valueSize; i++) {
+      final int position = Bytes32.SIZE - valueSize + i;
+      key[position >>> 3] |= (value.get(i) & 0xFFL) << (8 * (7 - (position & 7)));
+    }
+  }
+
+  /**
+   * @return the slot holding the value of the given size matching the current key, or else the
+   *     free slot where it should be stored
+   */
+  private int find(final int valueSize) {
+    long hash = valueSize;
+    for (long limb : key) {
+      hash = 31 * hash + limb;
+    }
+    hash *= 0x9E3779B97F4A7C15L;
+
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while (words[slot] != null && !matches(slot, valueSize)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private boolean matches(final int slot, final int valueSize) {
+    if (words[slot].size() != valueSize) {
+      return false;
+    }
+    final int offset = LIMBS * slot;
+    for (int i = 0; i < LIMBS; i++) {
+      if (limbs[offset + i] != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void store(final int slot, final Bytes value) {
+    if (words[slot] != null) {
+      // Replacing a value by an equal one of another type
+      words[slot] = value;
+      return;
+    }
+    if (size == MAX_WORDS) {
+      return;
+    }
+
+    System.arraycopy(key, 0, limbs, LIMBS * slot, LIMBS);
+    words[slot] = value;
+    size++;
+    if (2 * size > mask + 1) {
+      grow();
+    }
+  }
+
+  private void grow() {
+    final long[] oldLimbs = limbs;
+    final Bytes[] oldWords = words;
+
+    mask = 2 * mask + 1;
+    limbs = new long[LIMBS * (mask + 1)];
+    words = new Bytes[mask + 1];
+    for (int oldSlot = 0; oldSlot < oldWords.length; oldSlot++) {
+      if (oldWords[oldSlot] == null) {
+        continue;
+      }
+      System.arraycopy(oldLimbs, LIMBS * oldSlot, key, 0, LIMBS);
+      final int slot = find(oldWords[oldSlot].size());
+      System.arraycopy(key, 0, limbs, LIMBS * slot, LIMBS);
+      words[slot] = oldWords[oldSlot];
+    }
+  }
+}
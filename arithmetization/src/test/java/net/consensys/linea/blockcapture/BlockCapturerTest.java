@@ -0,0 +1,80 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.blockcapture;
+
+import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_MAINNET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.replaytests.ReplayTestTools;
+import net.consensys.linea.testing.ReplayExecutionEnvironment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("replay")
+@ExtendWith(UnitTestWatcher.class)
+public class BlockCapturerTest {
+  private static BlockCapturer capturer;
+
+  @BeforeAll
+  static void capture() {
+    capturer =
+        ReplayExecutionEnvironment.builder()
+            .build()
+            .capture(LINEA_MAINNET, ReplayTestTools.load("5995097.mainnet.json.gz"));
+  }
+
+  @Test
+  void streamedJsonMatchesCollapsedSnapshot() throws IOException {
+    final StringWriter writer = new StringWriter();
+    capturer.writeJson(writer);
+
+    assertThat(writer.toString()).isEqualTo(capturer.toJson());
+  }
+
+  @Test
+  void gzippedFileMatchesCollapsedSnapshot(@TempDir Path directory) throws IOException {
+    final Path path = directory.resolve("capture.json.gz");
+    capturer.writeGzip(path);
+
+    try (InputStream stream = new GZIPInputStream(Files.newInputStream(path))) {
+      assertThat(new String(stream.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo(capturer.toJson());
+    }
+    assertThat(directory.resolve("capture.json.gz.tmp")).doesNotExist();
+  }
+
+  @Test
+  void failedWriteLeavesNoTemporaryFile(@TempDir Path directory) throws IOException {
+    // A non-empty directory cannot be replaced by the capture file
+    final Path path = directory.resolve("capture.json.gz");
+    Files.createDirectories(path.resolve("occupied"));
+
+    assertThatThrownBy(() -> capturer.writeGzip(path)).isInstanceOf(IOException.class);
+    assertThat(directory.resolve("capture.json.gz.tmp")).doesNotExist();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
+import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class RequestLimiterTest {
+  private final PluginRpcRequest request = mock(PluginRpcRequest.class);
+
+  @Test
+  void permitsAreHeldUntilTimedOutWorkStops() throws InterruptedException {
+    final RequestLimiter limiter =
+        RequestLimiter.builder()
+            .concurrentRequestsCount(1)
+            .requestTimeout(Duration.ofMillis(50))
+            .build();
+    final CountDownLatch finish = new CountDownLatch(1);
+    final CountDownLatch finished = new CountDownLatch(1);
+
+    assertThatThrownBy(
+            () ->
+                limiter.execute(
+                    request,
+                    r -> {
+                      // Tracing which only checks for interruptions between blocks
+                      finish.awaitUninterruptibly();
+                      finished.countDown();
+                      return null;
+                    }))
+        .isInstanceOf(PluginRpcEndpointException.class);
+
+    // The timed out request still runs, so no other request may start
+    assertThat(limiter.isNodeAtMaxCapacity()).isTrue();
+    assertThatThrownBy(() -> limiter.execute(request, r -> "second"))
+        .isInstanceOf(PluginRpcEndpointException.class)
+        .hasMessageContaining("in progress");
+
+    finish.countDown();
+    assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+    awaitAvailableSlot(limiter);
+    assertThat(limiter.execute(request, r -> "third")).isEqualTo("third");
+  }
+
+  @Test
+  void permitsAreReleasedAfterFailures() {
+    final RequestLimiter limiter =
+        RequestLimiter.builder().concurrentRequestsCount(1).requestTimeout(Duration.ZERO).build();
+
+    assertThatThrownBy(
+            () ->
+                limiter.execute(
+                    request,
+                    r -> {
+                      throw new IllegalStateException("block not found");
+                    }))
+        .isInstanceOf(PluginRpcEndpointException.class);
+
+    assertThat(limiter.availableConcurrentRequestSlots()).isEqualTo(1);
+  }
+
+  private static void awaitAvailableSlot(final RequestLimiter limiter) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (limiter.isNodeAtMaxCapacity() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class RpcExecutorTest {
+  @Test
+  void stagesRunOffTheCallingThread() {
+    final RpcExecutor executor = new RpcExecutor(1, Duration.ZERO);
+    final Thread caller = Thread.currentThread();
+
+    final String result =
+        executor.run(
+            () -> {
+              assertThat(Thread.currentThread()).isNotSameAs(caller);
+              assertThat(Thread.currentThread().isVirtual()).isFalse();
+              return 21;
+            },
+            traced -> {
+              assertThat(Thread.currentThread().isVirtual()).isTrue();
+              return Integer.toString(2 * traced);
+            });
+
+    assertThat(result).isEqualTo("42");
+  }
+
+  @Test
+  void expiredRequestsAreCancelled() throws InterruptedException {
+    final RpcExecutor executor = new RpcExecutor(1, Duration.ofMillis(50));
+    final CountDownLatch interrupted = new CountDownLatch(1);
+
+    assertThatThrownBy(
+            () ->
+                executor.run(
+                    () -> {
+                      try {
+                        Thread.sleep(Duration.ofMinutes(1));
+                      } catch (InterruptedException e) {
+                        interrupted.countDown();
+                      }
+                      return null;
+                    }))
+        .isInstanceOf(PluginRpcEndpointException.class);
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void workIsOnlyReportedStoppedOnceItStops() throws InterruptedException {
+    final RpcExecutor executor = new RpcExecutor(1, Duration.ofMillis(50));
+    final CountDownLatch finish = new CountDownLatch(1);
+    final CountDownLatch stopped = new CountDownLatch(1);
+
+    assertThatThrownBy(
+            () ->
+                executor.run(
+                    () -> {
+                      // Work which does not react to interruptions
+                      while (true) {
+                        try {
+                          finish.await();
+                          return null;
+                        } catch (InterruptedException e) {
+                          // keep going
+                        }
+                      }
+                    },
+                    stopped::countDown))
+        .isInstanceOf(PluginRpcEndpointException.class);
+
+    assertThat(stopped.await(200, TimeUnit.MILLISECONDS)).isFalse();
+    finish.countDown();
+    assertThat(stopped.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void failuresArePropagated() {
+    final RpcExecutor executor = new RpcExecutor(1, Duration.ZERO);
+
+    assertThatThrownBy(
+            () ->
+                executor.run(
+                    () -> {
+                      throw new IllegalStateException("block not found");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("block not found");
+  }
+
+  @Test
+  void shutdownInterruptsTheWorkInProgress() throws InterruptedException {
+    final RpcExecutor executor = new RpcExecutor(1, Duration.ZERO);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+
+    final Thread request =
+        Thread.ofVirtual()
+            .start(
+                () ->
+                    executor.run(
+                        () -> {
+                          started.countDown();
+                          try {
+                            Thread.sleep(Duration.ofMinutes(1));
+                          } catch (InterruptedException e) {
+                            interrupted.countDown();
+                          }
+                          return null;
+                        }));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    executor.shutdown();
+
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    request.join();
+    assertThatThrownBy(() -> executor.run(() -> null))
+        .isInstanceOf(RejectedExecutionException.class);
+  }
+}
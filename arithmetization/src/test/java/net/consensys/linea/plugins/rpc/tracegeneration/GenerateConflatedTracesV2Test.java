@@ -0,0 +1,78 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.plugins.rpc.RequestLimiter;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.mmu.MmuPayloadArena;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.ServiceManager;
+import org.hyperledger.besu.plugin.services.BlockchainService;
+import org.hyperledger.besu.plugin.services.TraceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class GenerateConflatedTracesV2Test {
+  @TempDir Path tracesOutputPath;
+
+  @Test
+  void failingConflationsReturnTheirSlabs() {
+    final TraceService traceService = mock(TraceService.class);
+    final ServiceManager besuContext = mock(ServiceManager.class);
+    when(besuContext.getService(TraceService.class)).thenReturn(Optional.of(traceService));
+    when(besuContext.getService(BlockchainService.class))
+        .thenReturn(Optional.of(mock(BlockchainService.class)));
+
+    final AtomicReference<MmuPayloadArena> payloads = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              final ZkTracer tracer = invocation.getArgument(4);
+              payloads.set(tracer.getHub().mmu().payloads());
+              payloads.get().store(Bytes.fromHexString("0xdeadbeef"));
+              assertThat(payloads.get().slabCount()).isPositive();
+              throw new IllegalStateException("block not found");
+            })
+        .when(traceService)
+        .trace(anyLong(), anyLong(), any(), any(), any());
+
+    final GenerateConflatedTracesV2 endpoint =
+        new GenerateConflatedTracesV2(
+            besuContext,
+            RequestLimiter.builder().concurrentRequestsCount(1).build(),
+            TracesEndpointConfiguration.builder()
+                .tracesOutputPath(tracesOutputPath.toString())
+                .build());
+
+    assertThatThrownBy(() -> endpoint.computeTrace(new TraceRequestParams(1, 2, "test")))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(payloads.get().slabCount()).isZero();
+  }
+}
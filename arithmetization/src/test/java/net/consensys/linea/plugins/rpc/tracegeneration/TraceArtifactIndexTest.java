@@ -0,0 +1,226 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.plugins.rpc.RequestTimeoutException;
+import net.consensys.linea.tracewriter.TraceWriter;
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class TraceArtifactIndexTest {
+  private static final String VERSION = "test";
+
+  @TempDir Path tracesOutputPath;
+
+  private Path writeTrace(long start, long end, int size) {
+    final Path path = TraceWriter.traceFilePath(tracesOutputPath, start, end, VERSION);
+    try {
+      Files.write(path, new byte[size]);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return path.toAbsolutePath();
+  }
+
+  private Path writeShards(long start, long end, int size) {
+    final Path manifest = TraceWriter.shardManifestPath(tracesOutputPath, start, end, VERSION);
+    try {
+      Files.createDirectories(manifest.getParent());
+      Files.write(manifest.resolveSibling("HUB.lt"), new byte[size]);
+      Files.writeString(manifest, "{}");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return manifest.toAbsolutePath();
+  }
+
+  @Test
+  void existingTraceFileIsReturnedWithoutTracing() {
+    final TraceArtifactIndex index = new TraceArtifactIndex(tracesOutputPath, 0);
+    final Path existing = writeTrace(1, 10, 16);
+
+    final Path path =
+        index.getOrCompute(
+            1,
+            10,
+            VERSION,
+            () -> {
+              throw new AssertionError("should not trace again");
+            });
+
+    assertThat(path).isEqualTo(existing);
+  }
+
+  @Test
+  void concurrentIdenticalRequestsAreCoalesced() throws Exception {
+    final TraceArtifactIndex index = new TraceArtifactIndex(tracesOutputPath, 0);
+    final AtomicInteger tracings = new AtomicInteger();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      final Future<Path> first =
+          pool.submit(
+              () ->
+                  index.getOrCompute(
+                      1,
+                      10,
+                      VERSION,
+                      () -> {
+                        tracings.incrementAndGet();
+                        started.countDown();
+                        try {
+                          release.await();
+                        } catch (InterruptedException e) {
+                          throw new RuntimeException(e);
+                        }
+                        return writeTrace(1, 10, 16);
+                      }));
+      started.await();
+      final Future<Path> second =
+          pool.submit(
+              () ->
+                  index.getOrCompute(
+                      1,
+                      10,
+                      VERSION,
+                      () -> {
+                        tracings.incrementAndGet();
+                        return writeTrace(1, 10, 16);
+                      }));
+      release.countDown();
+
+      assertThat(second.get()).isEqualTo(first.get());
+      assertThat(tracings.get()).isEqualTo(1);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void coalescedRequestGivesUpAfterTheRequestTimeout() throws Exception {
+    final TraceArtifactIndex index =
+        new TraceArtifactIndex(tracesOutputPath, 0, false, Duration.ofMillis(50));
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Path> first =
+          pool.submit(
+              () ->
+                  index.getOrCompute(
+                      1,
+                      10,
+                      VERSION,
+                      () -> {
+                        started.countDown();
+                        try {
+                          release.await();
+                        } catch (InterruptedException e) {
+                          throw new RuntimeException(e);
+                        }
+                        return writeTrace(1, 10, 16);
+                      }));
+      started.await();
+
+      assertThatThrownBy(
+              () ->
+                  index.getOrCompute(
+                      1,
+                      10,
+                      VERSION,
+                      () -> {
+                        throw new AssertionError("should wait for the identical request");
+                      }))
+          .isInstanceOfSatisfying(
+              PluginRpcEndpointException.class,
+              e -> assertThat(e.getRpcMethodError()).isInstanceOf(RequestTimeoutException.class));
+
+      // The identical request is not affected
+      release.countDown();
+      assertThat(first.get()).exists();
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void leastRecentlyUsedTraceFilesAreDeletedBeyondBudget() throws IOException {
+    final TraceArtifactIndex index = new TraceArtifactIndex(tracesOutputPath, 100);
+    final Path oldest = writeTrace(1, 10, 40);
+    final Path older = writeTrace(11, 20, 40);
+    Files.setLastModifiedTime(oldest, FileTime.fromMillis(1_000));
+    Files.setLastModifiedTime(older, FileTime.fromMillis(2_000));
+
+    final Path newest = index.getOrCompute(21, 30, VERSION, () -> writeTrace(21, 30, 40));
+
+    assertThat(Files.exists(oldest)).isFalse();
+    assertThat(Files.exists(older)).isTrue();
+    assertThat(Files.exists(newest)).isTrue();
+  }
+
+  @Test
+  void existingShardManifestIsReturnedWithoutTracing() {
+    final TraceArtifactIndex index = new TraceArtifactIndex(tracesOutputPath, 0, true);
+    final Path existing = writeShards(1, 10, 16);
+
+    final Path path =
+        index.getOrCompute(
+            1,
+            10,
+            VERSION,
+            () -> {
+              throw new AssertionError("should not trace again");
+            });
+
+    assertThat(path).isEqualTo(existing);
+  }
+
+  @Test
+  void leastRecentlyUsedShardDirectoriesAreDeletedBeyondBudget() throws IOException {
+    final TraceArtifactIndex index = new TraceArtifactIndex(tracesOutputPath, 100, true);
+    final Path oldest = writeShards(1, 10, 40);
+    final Path older = writeShards(11, 20, 40);
+    Files.setLastModifiedTime(oldest.getParent(), FileTime.fromMillis(1_000));
+    Files.setLastModifiedTime(older.getParent(), FileTime.fromMillis(2_000));
+
+    final Path newest = index.getOrCompute(21, 30, VERSION, () -> writeShards(21, 30, 40));
+
+    assertThat(Files.exists(oldest.getParent())).isFalse();
+    assertThat(Files.exists(older)).isTrue();
+    assertThat(Files.exists(newest)).isTrue();
+  }
+}
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,9 +34,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
 
+import com.google.gson.Gson;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+import net.consensys.linea.testing.ParallelReplayRunner;
 import net.consensys.linea.testing.ReplayExecutionEnvironment;
+import net.consensys.linea.zktracer.ZkTracer;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.Arguments;
 
@@ -71,6 +77,36 @@ public class ReplayTestTools {
    *     disable this for specific tests on a case-by-case basis.
    */
   public static void replay(BigInteger chainId, String filename, boolean resultChecking) {
+    ReplayExecutionEnvironment.builder()
+        .txResultChecking(resultChecking)
+        .build()
+        .replay(chainId, open(filename));
+  }
+
+  /**
+   * Executes a replay file without checking its trace, leaving the trace to be inspected.
+   *
+   * @param chainId Chain for testing (e.g. mainnet or sepolia, etc)
+   * @param filename the file in resources/replays/ containing the replay
+   * @return the tracer having traced the replay
+   */
+  public static ZkTracer execute(BigInteger chainId, String filename) {
+    final ReplayExecutionEnvironment environment = ReplayExecutionEnvironment.builder().build();
+    environment.execute(chainId, load(filename));
+    return environment.getZkTracer();
+  }
+
+  /**
+   * Loads a replay file, without executing it.
+   *
+   * @param filename the file in resources/replays/ containing the replay
+   * @return the conflation held by the replay file
+   */
+  public static ConflationSnapshot load(String filename) {
+    return new Gson().fromJson(open(filename), ConflationSnapshot.class);
+  }
+
+  private static BufferedReader open(String filename) {
     final InputStream fileStream =
         ReplayTestTools.class
             .getClassLoader()
@@ -86,10 +122,7 @@ public class ReplayTestTools {
       log.error("while loading {}: {}", filename, e.getMessage());
       throw new RuntimeException(e);
     }
-    ReplayExecutionEnvironment.builder()
-        .txResultChecking(resultChecking)
-        .build()
-        .replay(chainId, new BufferedReader(new InputStreamReader(stream)));
+    return new BufferedReader(new InputStreamReader(stream));
   }
 
   /**
@@ -102,6 +135,37 @@ public class ReplayTestTools {
     replay(chainId, filename, true);
   }
 
+  /**
+   * Replays several replay files from resources/replays/ concurrently, sharing their bytecode, and
+   * reports the throughput achieved over all of them.
+   *
+   * @param chainId Chain for testing (e.g. mainnet or sepolia, etc)
+   * @param parallelism Maximal number of conflations replayed at the same time
+   * @param filenames Names of the replay files
+   * @return the throughput achieved over all replays
+   */
+  public static ParallelReplayRunner.Report parallelReplay(
+      BigInteger chainId, int parallelism, String... filenames) {
+    final List<Path> paths = new ArrayList<>();
+    for (String filename : filenames) {
+      final URL url =
+          ReplayTestTools.class.getClassLoader().getResource("replays/%s".formatted(filename));
+      if (url == null) {
+        fail("unable to find %s in replay resources".formatted(filename));
+      }
+      try {
+        paths.add(Paths.get(url.toURI()));
+      } catch (URISyntaxException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    return ParallelReplayRunner.builder()
+        .chainId(chainId)
+        .parallelism(parallelism)
+        .build()
+        .replayFiles(paths);
+  }
+
   /**
    * Run replay with the specific file path of a replay file. The conflated trace will be written to
    * the same directory as the replay file. Usage: replayAt("/path/to/your/star-end.json.gz");
@@ -19,16 +19,26 @@ import static net.consensys.linea.replaytests.ReplayTestTools.add;
 import static net.consensys.linea.replaytests.ReplayTestTools.replay;
 import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_MAINNET;
 import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_SEPOLIA;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.stream.Stream;
 
 import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
+import net.consensys.linea.testing.ParallelReplayRunner;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.rom.Rom;
+import net.consensys.linea.zktracer.module.rom.RomSegmentCache;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -54,6 +64,64 @@ public class ReplayTests {
     // bulkReplay(LINEA_MAINNET, "");
   }
 
+  /**
+   * Replays several conflations concurrently, sharing their bytecode, to check that replays do not
+   * interfere with one another. One of them is replayed twice, so that some bytecode is bound to
+   * be shared across snapshots.
+   */
+  @Test
+  void parallelReplay() {
+    final String[] files = {
+      "5995162.mainnet.json.gz",
+      "5995097.mainnet.json.gz",
+      "6569423.mainnet.json.gz",
+      "5000544.mainnet.json.gz",
+      "5995097.mainnet.json.gz"
+    };
+    final ParallelReplayRunner.Report report =
+        ReplayTestTools.parallelReplay(LINEA_MAINNET, 3, files);
+    assertThat(report.conflations()).isEqualTo(files.length);
+
+    // Every bytecode has been served from the shared cache, some of them to several snapshots
+    long bytecodesPerSnapshot = 0;
+    for (String file : files) {
+      bytecodesPerSnapshot +=
+          ReplayTestTools.load(file).accounts().stream()
+              .map(AccountSnapshot::code)
+              .distinct()
+              .count();
+    }
+    assertThat(report.codeCacheHits()).isEqualTo(report.accounts());
+    assertThat(report.sharedBytecodes()).isLessThan((int) bytecodesPerSnapshot);
+
+    // Concurrent replays trace exactly what sequential ones do
+    for (int i = 0; i < files.length; i++) {
+      assertThat(report.lineCounts().get(i))
+          .as(files[i])
+          .isEqualTo(ReplayTestTools.execute(LINEA_MAINNET, files[i]).getModulesLineCount());
+    }
+  }
+
+  /** The ROM trace must be byte-identical whether the ROM rows are traced or copied from cache. */
+  @Test
+  void romSegmentCacheIsTransparent(@TempDir Path directory) throws IOException {
+    final ZkTracer tracer = ReplayTestTools.execute(LINEA_MAINNET, "5995097.mainnet.json.gz");
+    final Rom rom = tracer.getHub().rom();
+    final RomSegmentCache cache = new RomSegmentCache(1L << 30);
+
+    rom.setSegmentCache(RomSegmentCache.DISABLED);
+    tracer.writeModulesToFile(directory.resolve("uncached.lt"), List.of(rom));
+    rom.setSegmentCache(cache);
+    tracer.writeModulesToFile(directory.resolve("filling.lt"), List.of(rom));
+    tracer.writeModulesToFile(directory.resolve("cached.lt"), List.of(rom));
+
+    assertThat(cache.size()).isPositive();
+    assertThat(rom.footprint(0)).isEqualTo(cache.usedBytes());
+    final byte[] uncached = Files.readAllBytes(directory.resolve("uncached.lt"));
+    assertThat(Files.readAllBytes(directory.resolve("filling.lt"))).isEqualTo(uncached);
+    assertThat(Files.readAllBytes(directory.resolve("cached.lt"))).isEqualTo(uncached);
+  }
+
   @Test
   void failingMmuModexp() {
     replay(LINEA_MAINNET, "5995162.mainnet.json.gz");
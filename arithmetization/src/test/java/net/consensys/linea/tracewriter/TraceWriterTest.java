@@ -0,0 +1,109 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.tracewriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.BytecodeRunner;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.json.JsonConverter;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class TraceWriterTest {
+  private static final JsonConverter CONVERTER = JsonConverter.builder().build();
+
+  @TempDir Path tracesOutputPath;
+
+  @Test
+  void shardedTraceIsDescribedByItsManifest() throws IOException {
+    final BytecodeRunner runner =
+        BytecodeRunner.of(
+            BytecodeCompiler.newProgram()
+                .push(Bytes.of(0x20))
+                .push(Bytes.of(0x40))
+                .op(OpCode.MSTORE)
+                .push(Bytes.of(0x20))
+                .push(Bytes.of(0))
+                .op(OpCode.SHA3)
+                .push(Bytes.of(0xF1))
+                .op(OpCode.ADD)
+                .compile());
+    runner.run();
+    final ZkTracer tracer = runner.getZkTracer();
+
+    final Path manifestPath =
+        new TraceWriter(tracer)
+            .writeShardedTraceToDirectory(tracesOutputPath, 1, 1, "test", Module::moduleKey, 4);
+
+    final TraceShardManifest manifest =
+        CONVERTER.fromJson(Files.readString(manifestPath), TraceShardManifest.class);
+    assertThat(manifest.shards()).hasSize(tracer.getHub().getModulesToTrace().size());
+
+    for (TraceShardManifest.Shard shard : manifest.shards()) {
+      final byte[] shardBytes = Files.readAllBytes(manifestPath.resolveSibling(shard.file()));
+      assertThat((long) shardBytes.length).isEqualTo(shard.size());
+
+      final CRC32C crc = new CRC32C();
+      crc.update(shardBytes);
+      assertThat(Long.toHexString(crc.getValue())).isEqualTo(shard.crc32c());
+
+      // Every shard is a standalone trace file, whose header agrees with the manifest
+      final Map<String, Long> offsets = columnOffsets(shardBytes);
+      assertThat(offsets).hasSize(shard.columns().size());
+      for (TraceShardManifest.Column column : shard.columns()) {
+        assertThat(offsets.get(column.name())).isEqualTo(column.offset());
+      }
+    }
+  }
+
+  /** Parse the header of a trace file, and compute the offset of each column's data. */
+  private static Map<String, Long> columnOffsets(byte[] trace) {
+    final ByteBuffer header = ByteBuffer.wrap(trace);
+    final int columnCount = header.getInt();
+    final String[] names = new String[columnCount];
+    final int[] sizes = new int[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      final byte[] name = new byte[header.getShort()];
+      header.get(name);
+      names[i] = new String(name);
+      final int bytesPerElement = header.get();
+      sizes[i] = bytesPerElement * header.getInt();
+    }
+    final Map<String, Long> offsets = new HashMap<>();
+    long offset = header.position();
+    for (int i = 0; i < columnCount; i++) {
+      offsets.put(names[i], offset);
+      offset += sizes[i];
+    }
+    return offsets;
+  }
+}
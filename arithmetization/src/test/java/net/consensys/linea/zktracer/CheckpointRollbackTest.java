@@ -0,0 +1,181 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.zktracer;
+
+import static net.consensys.linea.testing.TraceAssertions.assertSameTrace;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.StepwiseExecutionEnvironment;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyTransaction;
+import net.consensys.linea.zktracer.module.hub.Hub;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Checks that tracing transactions, then rolling them back, leaves the tracer exactly as if they
+ * had never been traced.
+ */
+@ExtendWith(UnitTestWatcher.class)
+public class CheckpointRollbackTest {
+  private final List<ToyAccount> accounts = new ArrayList<>();
+  private Transaction x;
+  private Transaction a;
+  private Transaction b;
+  private Transaction c;
+  private Transaction d;
+
+  @BeforeEach
+  void setUp() {
+    // Bumps a counter in storage, then logs its call data, so that the transactions touch the
+    // storage, memory and log related modules
+    final ToyAccount counter =
+        ToyAccount.builder()
+            .balance(Wei.ONE)
+            .nonce(1)
+            .address(Address.fromHexString("0xc0ffee"))
+            .code(
+                BytecodeCompiler.newProgram()
+                    .push(0)
+                    .op(OpCode.SLOAD)
+                    .push(1)
+                    .op(OpCode.ADD)
+                    .push(0)
+                    .op(OpCode.SSTORE)
+                    .op(OpCode.CALLDATASIZE)
+                    .push(0)
+                    .push(0)
+                    .op(OpCode.CALLDATACOPY)
+                    .op(OpCode.CALLDATASIZE)
+                    .push(0)
+                    .op(OpCode.LOG0)
+                    .compile())
+            .build();
+    accounts.add(counter);
+
+    x = callCounter(counter, 1);
+    a = callCounter(counter, 2);
+    b = callCounter(counter, 3);
+    c = callCounter(counter, 4);
+    d = callCounter(counter, 5);
+  }
+
+  private Transaction callCounter(final ToyAccount counter, final int seed) {
+    final KeyPair keyPair = new SECP256K1().generateKeyPair();
+    final ToyAccount sender =
+        ToyAccount.builder()
+            .balance(Wei.fromEth(10))
+            .nonce(seed)
+            .address(Address.extract(Hash.hash(keyPair.getPublicKey().getEncodedBytes())))
+            .build();
+    accounts.add(sender);
+
+    final byte[] callData = new byte[64 * seed];
+    for (int i = 0; i < callData.length; i++) {
+      callData[i] = (byte) (i * seed + 1);
+    }
+    return ToyTransaction.builder()
+        .sender(sender)
+        .to(counter)
+        .keyPair(keyPair)
+        .gasLimit(100_000L)
+        .payload(Bytes.wrap(callData))
+        .build();
+  }
+
+  @Test
+  void rollbackWithinBlockMatchesDirectTrace() {
+    final StepwiseExecutionEnvironment direct = new StepwiseExecutionEnvironment(accounts, 1);
+    direct.startBlock(List.of(a, d));
+    direct.execute(a, true);
+    direct.execute(d, true);
+    direct.endBlock();
+    direct.endConflation();
+
+    final StepwiseExecutionEnvironment rolledBack = new StepwiseExecutionEnvironment(accounts, 1);
+    rolledBack.startBlock(List.of(a, d));
+    rolledBack.execute(a, true);
+    final Hub.Checkpoint checkpoint = rolledBack.getZkTracer().checkpoint();
+    rolledBack.execute(b, false);
+    rolledBack.execute(c, false);
+    rolledBack.getZkTracer().rollbackTo(checkpoint);
+    rolledBack.execute(d, true);
+    rolledBack.endBlock();
+    rolledBack.endConflation();
+
+    assertSameTrace(direct.getZkTracer(), rolledBack.getZkTracer());
+  }
+
+  @Test
+  void rollbackInLaterBlockLeavesEarlierBlocksUntouched() {
+    final StepwiseExecutionEnvironment direct = new StepwiseExecutionEnvironment(accounts, 2);
+    direct.startBlock(List.of(x));
+    direct.execute(x, true);
+    direct.endBlock();
+    direct.startBlock(List.of(a, d));
+    direct.execute(a, true);
+    direct.execute(d, true);
+    direct.endBlock();
+    direct.endConflation();
+
+    final StepwiseExecutionEnvironment rolledBack = new StepwiseExecutionEnvironment(accounts, 2);
+    rolledBack.startBlock(List.of(x));
+    rolledBack.execute(x, true);
+    rolledBack.endBlock();
+    rolledBack.startBlock(List.of(a, d));
+    // Rolling back to the very start of the block discards everything but the previous blocks
+    final Hub.Checkpoint blockStart = rolledBack.getZkTracer().checkpoint();
+    rolledBack.execute(b, false);
+    rolledBack.getZkTracer().rollbackTo(blockStart);
+    rolledBack.execute(a, true);
+    final Hub.Checkpoint checkpoint = rolledBack.getZkTracer().checkpoint();
+    rolledBack.execute(b, false);
+    rolledBack.execute(c, false);
+    rolledBack.getZkTracer().rollbackTo(checkpoint);
+    rolledBack.execute(d, true);
+    rolledBack.endBlock();
+    rolledBack.endConflation();
+
+    assertSameTrace(direct.getZkTracer(), rolledBack.getZkTracer());
+  }
+
+  @Test
+  void rollbackAcrossBlockBoundaryIsRejected() {
+    final StepwiseExecutionEnvironment environment = new StepwiseExecutionEnvironment(accounts, 2);
+    environment.startBlock(List.of(x));
+    environment.execute(x, true);
+    final Hub.Checkpoint checkpoint = environment.getZkTracer().checkpoint();
+    environment.endBlock();
+    environment.startBlock(List.of(a));
+    environment.execute(a, true);
+
+    assertThatThrownBy(() -> environment.getZkTracer().rollbackTo(checkpoint))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
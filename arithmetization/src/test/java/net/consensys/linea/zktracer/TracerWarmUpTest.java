@@ -0,0 +1,131 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_MAINNET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.replaytests.ReplayTestTools;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@Slf4j
+@ExtendWith(UnitTestWatcher.class)
+public class TracerWarmUpTest {
+  private static final String FIRST_REQUEST = "FIRST_REQUEST_NANOS=";
+  private static final String REPLAY = "5995097.mainnet.json.gz";
+
+  @Test
+  void warmUpIsInProgressUntilItsWorkloadIsDone() {
+    final AtomicBoolean inProgressDuringWorkload = new AtomicBoolean();
+
+    TracerWarmUp.run(() -> inProgressDuringWorkload.set(TracerWarmUp.inProgress()));
+
+    assertThat(inProgressDuringWorkload).isTrue();
+    assertThat(TracerWarmUp.inProgress()).isFalse();
+  }
+
+  @Test
+  void backgroundWarmUpIsInProgressAsSoonAsStarted() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final CompletableFuture<Duration> done =
+        TracerWarmUp.start(
+            () -> {
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    assertThat(TracerWarmUp.inProgress()).isTrue();
+
+    release.countDown();
+    done.get(1, TimeUnit.MINUTES);
+    assertThat(TracerWarmUp.inProgress()).isFalse();
+  }
+
+  /**
+   * Compare how long the first request served by a fresh JVM takes, with and without warm-up. Every
+   * measurement runs in its own JVM, as classes loaded by other tests would otherwise warm this one
+   * up.
+   */
+  @Tag("replay")
+  @Test
+  void warmUpShortensTheFirstRequest() throws Exception {
+    final long cold = firstRequestNanos(false);
+    final long warm = firstRequestNanos(true);
+    log.info("first request: {} ms cold, {} ms warm", cold / 1_000_000, warm / 1_000_000);
+    assertThat(warm).isLessThan(cold);
+  }
+
+  private static long firstRequestNanos(boolean warmUp) throws IOException, InterruptedException {
+    final List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-Xmx4g");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(TracerWarmUpTest.class.getName());
+    command.add(String.valueOf(warmUp));
+
+    final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    long nanos = -1;
+    try (BufferedReader output =
+        new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      String line;
+      while ((line = output.readLine()) != null) {
+        if (line.startsWith(FIRST_REQUEST)) {
+          nanos = Long.parseLong(line.substring(FIRST_REQUEST.length()));
+        }
+      }
+    }
+    assertThat(process.waitFor()).isZero();
+    assertThat(nanos).isPositive();
+    return nanos;
+  }
+
+  /** Serve a single tracing request from a fresh JVM, optionally warmed up, and time it. */
+  public static void main(String[] args) throws IOException {
+    if (Boolean.parseBoolean(args[0])) {
+      TracerWarmUp.run();
+    }
+
+    final Path traceFile = Files.createTempFile("first-request", ".lt");
+    try {
+      final long start = System.nanoTime();
+      ReplayTestTools.execute(LINEA_MAINNET, REPLAY).writeToFile(traceFile);
+      System.out.println(FIRST_REQUEST + (System.nanoTime() - start));
+    } finally {
+      Files.deleteIfExists(traceFile);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.containers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.container.CapacityPlanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class CapacityPlannerTests {
+  private static final long GAS_USED = 10_000_000L;
+
+  @Test
+  void estimatesScaleWithGasUsed() {
+    final CapacityPlanner planner = new CapacityPlanner();
+    assertThat(planner.expectedSize("ADD", GAS_USED)).isZero();
+
+    planner.record("ADD", 1_000, GAS_USED);
+
+    assertThat(planner.expectedSize("ADD", GAS_USED)).isEqualTo(1_000);
+    assertThat(planner.expectedSize("ADD", 2 * GAS_USED)).isEqualTo(2_000);
+  }
+
+  @Test
+  void nothingIsEstimatedBeforeAnyConflation() {
+    final CapacityPlanner planner = new CapacityPlanner();
+
+    assertThat(planner.expectedSize(CapacityPlanner.TRANSACTIONS, GAS_USED)).isZero();
+    assertThat(planner.expectedSize(CapacityPlanner.CALL_FRAMES, GAS_USED)).isZero();
+  }
+
+  @Test
+  void smallerConflationsOnlySlowlyDecreaseEstimates() {
+    final CapacityPlanner planner = new CapacityPlanner();
+    planner.record("ADD", 1_000, GAS_USED);
+    planner.record("ADD", 10, GAS_USED);
+
+    assertThat(planner.expectedSize("ADD", GAS_USED)).isEqualTo(900);
+  }
+
+  @Test
+  void historySurvivesRestarts(@TempDir Path directory) {
+    final Path history = directory.resolve("capacity.properties");
+    final CapacityPlanner planner = new CapacityPlanner();
+    planner.record("ADD", 1_000, GAS_USED);
+    planner.save(history);
+
+    assertThat(CapacityPlanner.load(history).expectedSize("ADD", GAS_USED)).isEqualTo(1_000);
+    assertThat(CapacityPlanner.load(directory.resolve("missing")).expectedSize("ADD", GAS_USED))
+        .isZero();
+  }
+
+  @Test
+  void failedSavesLeaveNoTemporaryFile(@TempDir Path directory) throws IOException {
+    final Path history = Files.createDirectory(directory.resolve("capacity.properties"));
+    Files.createFile(history.resolve("occupied"));
+    final CapacityPlanner planner = new CapacityPlanner();
+    planner.record("ADD", 1_000, GAS_USED);
+    planner.save(history);
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files).containsExactly(history);
+    }
+  }
+}
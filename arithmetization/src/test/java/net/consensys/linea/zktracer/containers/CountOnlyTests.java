@@ -53,4 +53,31 @@ public class CountOnlyTests {
     state.add(0);
     assertThat(state.lineCount()).isEqualTo(1);
   }
+
+  @Test
+  void testRollback() {
+    final CountOnlyOperation state = new CountOnlyOperation();
+
+    state.enter();
+    state.add(1);
+    state.enter();
+    state.add(2);
+    state.enter();
+    state.add(4);
+    assertThat(state.lineCount()).isEqualTo(7);
+
+    state.rollback(3);
+    assertThat(state.lineCount()).isEqualTo(7);
+
+    state.rollback(1);
+    assertThat(state.lineCount()).isEqualTo(1);
+    assertThat(state.countInTransaction()).isEqualTo(1);
+
+    state.enter();
+    state.add(8);
+    assertThat(state.lineCount()).isEqualTo(9);
+
+    state.rollback(0);
+    assertThat(state.lineCount()).isEqualTo(0);
+  }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.containers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.ExecutionEnvironment;
+import net.consensys.linea.testing.MultiBlockExecutionEnvironment;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyTransaction;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.HeapBudget;
+import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.exceptions.HeapBudgetExceededException;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class HeapBudgetTests {
+  /** Comfortably above the footprint of a block made of a single light transaction. */
+  private static final long BUDGET = 1 << 20;
+
+  /** Copied to memory, then hashed, by the memory-heavy transactions. */
+  private static final int CALL_DATA_SIZE = 128 * 1024;
+
+  private static Module module(String key, int lineCount, int bytesPerLine) {
+    final Module module = mock(Module.class);
+    when(module.moduleKey()).thenReturn(key);
+    when(module.lineCount()).thenReturn(lineCount);
+    when(module.columnsHeaders())
+        .thenReturn(List.of(new ColumnHeader(key + ".A", bytesPerLine, lineCount)));
+    when(module.footprint(anyInt())).thenCallRealMethod();
+    return module;
+  }
+
+  @Test
+  void footprintIsLinesTimesLineWidth() {
+    final Module small = module("SMALL", 10, 8);
+    final Module large = module("LARGE", 100, 32);
+    final List<Module> modules = List.of(small, large);
+    final HeapBudget budget = new HeapBudget(10 * 8 + 100 * 32);
+    budget.start(modules);
+
+    budget.check(1, modules);
+
+    when(small.lineCount()).thenReturn(11);
+    assertThatThrownBy(() -> budget.check(2, modules))
+        .isInstanceOfSatisfying(
+            HeapBudgetExceededException.class,
+            e -> {
+              assertThat(e.getBlockNumber()).isEqualTo(2);
+              assertThat(e.getFootprint()).isEqualTo(11 * 8 + 100 * 32);
+              assertThat(e.getDominantModule()).isEqualTo("LARGE");
+              assertThat(e.getDominantFootprint()).isEqualTo(100 * 32);
+            });
+  }
+
+  @Test
+  void unlimitedBudgetNeverEstimates() {
+    final Module module = module("MODULE", Integer.MAX_VALUE, 32);
+
+    HeapBudget.UNLIMITED.start(List.of(module));
+    HeapBudget.UNLIMITED.check(1, List.of(module));
+
+    verify(module, never()).columnsHeaders();
+    verify(module, never()).footprint(anyInt());
+  }
+
+  @Test
+  void memoryHeavyBlockAbortsTheConflation() {
+    final MultiBlockExecutionEnvironment.MultiBlockExecutionEnvironmentBuilder conflation =
+        memoryHeavyConflation();
+
+    assertThatThrownBy(() -> conflation.heapBudget(new HeapBudget(BUDGET)).build().run())
+        .isInstanceOfSatisfying(
+            HeapBudgetExceededException.class,
+            e -> {
+              // The first block, made of a single light transaction, fits within the budget
+              assertThat(e.getBlockNumber()).isEqualTo(firstBlockNumber() + 1);
+              assertThat(e.getFootprint()).isGreaterThan(BUDGET);
+              assertThat(e.getDominantModule()).isIn("MMU", "MMIO", "SHAKIRA_DATA", "RLP_TXN");
+            });
+  }
+
+  @Test
+  void memoryHeavyConflationFitsWithinALargeBudget() {
+    memoryHeavyConflation().heapBudget(new HeapBudget(1L << 32)).build().run();
+  }
+
+  private static long firstBlockNumber() {
+    return ExecutionEnvironment.getLineaBlockHeaderBuilder(Optional.empty())
+        .coinbase(Address.ZERO)
+        .buildBlockHeader()
+        .getNumber();
+  }
+
+  /**
+   * @return a conflation made of a light transaction, followed by two blocks each copying a large
+   *     call data to memory and hashing it
+   */
+  private static MultiBlockExecutionEnvironment.MultiBlockExecutionEnvironmentBuilder
+      memoryHeavyConflation() {
+    final KeyPair keyPair = new SECP256K1().generateKeyPair();
+    final Address senderAddress =
+        Address.extract(Hash.hash(keyPair.getPublicKey().getEncodedBytes()));
+    final ToyAccount senderAccount =
+        ToyAccount.builder().balance(Wei.fromEth(100)).nonce(1).address(senderAddress).build();
+
+    final ToyAccount hasherAccount =
+        ToyAccount.builder()
+            .balance(Wei.ONE)
+            .nonce(1)
+            .address(Address.fromHexString("0x1234"))
+            .code(
+                BytecodeCompiler.newProgram()
+                    .op(OpCode.CALLDATASIZE)
+                    .push(0)
+                    .push(0)
+                    .op(OpCode.CALLDATACOPY)
+                    .op(OpCode.CALLDATASIZE)
+                    .push(0)
+                    .op(OpCode.SHA3)
+                    .op(OpCode.POP)
+                    .compile())
+            .build();
+
+    final Transaction transfer =
+        ToyTransaction.builder()
+            .sender(senderAccount)
+            .to(hasherAccount)
+            .keyPair(keyPair)
+            .value(Wei.of(1))
+            .nonce(1L)
+            .build();
+
+    final MultiBlockExecutionEnvironment.MultiBlockExecutionEnvironmentBuilder builder =
+        MultiBlockExecutionEnvironment.builder()
+            .accounts(List.of(senderAccount, hasherAccount))
+            .addBlock(List.of(transfer));
+    for (long nonce = 2; nonce <= 3; nonce++) {
+      final byte[] callData = new byte[CALL_DATA_SIZE];
+      for (int i = 0; i < callData.length; i++) {
+        callData[i] = (byte) (i * nonce + 1);
+      }
+      builder.addBlock(
+          List.of(
+              ToyTransaction.builder()
+                  .sender(senderAccount)
+                  .to(hasherAccount)
+                  .keyPair(keyPair)
+                  .nonce(nonce)
+                  .gasLimit(10_000_000L)
+                  .payload(Bytes.wrap(callData))
+                  .build()));
+    }
+    return builder;
+  }
+}
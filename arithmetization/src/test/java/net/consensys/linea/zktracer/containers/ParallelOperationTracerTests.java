@@ -0,0 +1,111 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.containers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.ModuleOperation;
+import net.consensys.linea.zktracer.container.module.ParallelOperationTracer;
+import net.consensys.linea.zktracer.container.module.RowOffsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class ParallelOperationTracerTests {
+  private static final int OPERATIONS = 50_000;
+
+  /** An operation spanning one to three rows, each holding its stamp and its row index. */
+  private static class RowsOperation extends ModuleOperation {
+    private final int rows;
+
+    RowsOperation(int rows) {
+      this.rows = rows;
+    }
+
+    @Override
+    protected int computeLineCount() {
+      return rows;
+    }
+
+    void trace(int stamp, List<MappedByteBuffer> columns) {
+      for (int row = 0; row < rows; row++) {
+        columns.get(0).putInt(stamp);
+        columns.get(1).put((byte) row);
+      }
+    }
+  }
+
+  @Test
+  void rowsAreTracedInOrder(@TempDir Path directory) throws IOException {
+    final List<RowsOperation> operations = new ArrayList<>();
+    int totalRows = 0;
+    for (int i = 0; i < OPERATIONS; i++) {
+      operations.add(new RowsOperation(1 + i % 3));
+      totalRows += 1 + i % 3;
+    }
+    final List<ColumnHeader> headers =
+        List.of(ColumnHeader.make("STAMP", 4, totalRows), ColumnHeader.make("CT", 1, totalRows));
+
+    final Path file = Files.createFile(directory.resolve("trace"));
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      final FileChannel channel = raf.getChannel();
+      final List<MappedByteBuffer> buffers =
+          List.of(
+              channel.map(FileChannel.MapMode.READ_WRITE, 0, 4L * totalRows),
+              channel.map(FileChannel.MapMode.READ_WRITE, 4L * totalRows, totalRows));
+
+      ParallelOperationTracer.trace(
+          operations, headers, buffers, columns -> columns, RowsOperation::trace);
+
+      assertThat(buffers.get(0).position()).isEqualTo(4 * totalRows);
+      assertThat(buffers.get(1).position()).isEqualTo(totalRows);
+
+      int row = 0;
+      for (int i = 0; i < OPERATIONS; i++) {
+        for (int ct = 0; ct < 1 + i % 3; ct++) {
+          assertThat(buffers.get(0).getInt(4 * row)).isEqualTo(i + 1);
+          assertThat(buffers.get(1).get(row)).isEqualTo((byte) ct);
+          row++;
+        }
+      }
+    }
+  }
+
+  @Test
+  void rowOffsetsFollowLineCounts() {
+    final RowOffsets rows =
+        RowOffsets.of(
+            List.of(new RowsOperation(2), new RowsOperation(1), new RowsOperation(3)), 10);
+
+    assertThat(rows.firstRow(0)).isEqualTo(10);
+    assertThat(rows.firstRow(1)).isEqualTo(12);
+    assertThat(rows.firstRow(2)).isEqualTo(13);
+    assertThat(rows.rowCount(1, 3)).isEqualTo(4);
+    assertThat(rows.end()).isEqualTo(16);
+  }
+}
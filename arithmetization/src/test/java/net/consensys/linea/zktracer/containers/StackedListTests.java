@@ -18,6 +18,7 @@ package net.consensys.linea.zktracer.containers;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import net.consensys.linea.UnitTestWatcher;
@@ -101,4 +102,30 @@ public class StackedListTests {
     chunks.pop();
     Assertions.assertEquals(2, chunks.size());
   }
+
+  @Test
+  public void rollback() {
+    ModuleOperationStackedList<AddOperation> chunks = new ModuleOperationStackedList<>();
+    chunks.enter();
+    chunks.add(ONE_PLUS_ONE);
+    chunks.enter();
+    chunks.add(ONE_PLUS_TWO);
+    chunks.add(ONE_PLUS_TWO);
+    chunks.enter();
+    chunks.add(ONE_PLUS_ONE);
+    Assertions.assertEquals(4, chunks.size());
+
+    chunks.rollback(2);
+    Assertions.assertEquals(3, chunks.size());
+    Assertions.assertEquals(List.of(ONE_PLUS_TWO, ONE_PLUS_TWO), chunks.operationsInTransaction());
+
+    chunks.pop();
+    Assertions.assertEquals(List.of(ONE_PLUS_ONE), chunks.operationsInTransaction());
+
+    chunks.enter();
+    chunks.add(ONE_PLUS_TWO);
+    Assertions.assertEquals(2, chunks.size());
+    Assertions.assertEquals(
+        chunks.get(0).lineCount() + chunks.get(1).lineCount(), chunks.lineCount());
+  }
 }
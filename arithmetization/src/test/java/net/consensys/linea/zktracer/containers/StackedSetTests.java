@@ -71,4 +71,28 @@ public class StackedSetTests {
     chunks.pop();
     Assertions.assertEquals(1, chunks.size());
   }
+
+  @Test
+  public void rollback() {
+    ModuleOperationStackedSet<AddOperation> chunks = new ModuleOperationStackedSet<>();
+    chunks.enter();
+    chunks.add(ONE_PLUS_ONE);
+    final int lineCountAfterFirstTransaction = chunks.lineCount();
+
+    chunks.enter();
+    chunks.add(ONE_PLUS_TWO);
+    chunks.enter();
+    chunks.add(ONE_PLUS_ONE);
+    Assertions.assertEquals(2, chunks.size());
+
+    chunks.rollback(1);
+    Assertions.assertEquals(1, chunks.size());
+    Assertions.assertFalse(chunks.contains(ONE_PLUS_TWO));
+    Assertions.assertEquals(lineCountAfterFirstTransaction, chunks.lineCount());
+
+    chunks.enter();
+    Assertions.assertTrue(chunks.add(ONE_PLUS_TWO));
+    Assertions.assertFalse(chunks.add(ONE_PLUS_ONE));
+    Assertions.assertEquals(2, chunks.size());
+  }
 }
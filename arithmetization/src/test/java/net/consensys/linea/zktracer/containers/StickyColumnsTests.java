@@ -0,0 +1,159 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.containers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.StickyColumns;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class StickyColumnsTests {
+  private static final int ROWS = 10;
+
+  private static final List<ColumnHeader> HEADERS =
+      List.of(
+          ColumnHeader.make("STAMP", 4, ROWS),
+          ColumnHeader.make("CT", 1, ROWS),
+          ColumnHeader.make("UNUSED", 2, ROWS));
+
+  private static List<MappedByteBuffer> map(Path file) throws IOException {
+    Files.createFile(file);
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      final FileChannel channel = raf.getChannel();
+      return List.of(
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, 4 * ROWS),
+          channel.map(FileChannel.MapMode.READ_WRITE, 4 * ROWS, ROWS),
+          channel.map(FileChannel.MapMode.READ_WRITE, 5 * ROWS, 2 * ROWS));
+    }
+  }
+
+  /** Mimics the generated fillAndValidateRow(), which skips the columns which have not been set. */
+  private static void fillAndValidateRow(List<MappedByteBuffer> buffers, int row) {
+    for (int i = 0; i < buffers.size(); i++) {
+      final int end = HEADERS.get(i).offsetOf(row + 1);
+      if (buffers.get(i).position() < end) {
+        buffers.get(i).position(end);
+      }
+    }
+  }
+
+  @Test
+  void stickyColumnsAreFilledOverTheRun(@TempDir Path directory) throws IOException {
+    final List<MappedByteBuffer> buffers = map(directory.resolve("trace"));
+    final StickyColumns sticky = StickyColumns.of(HEADERS, buffers, List.of("STAMP"), List.of());
+
+    for (int run = 0; run < 2; run++) {
+      final int firstRow = run * ROWS / 2;
+      buffers.get(0).putInt(run + 1);
+      buffers.get(1).put((byte) 0);
+      buffers.get(2).putShort((short) 7);
+      sticky.capture();
+      for (int ct = 1; ct < ROWS / 2; ct++) {
+        buffers.get(1).put((byte) ct);
+        buffers.get(2).putShort((short) 7);
+        sticky.checkRow();
+        fillAndValidateRow(buffers, firstRow + ct);
+      }
+      sticky.fillRows(ROWS / 2 - 1);
+    }
+
+    for (int row = 0; row < ROWS; row++) {
+      assertThat(buffers.get(0).getInt(4 * row)).isEqualTo(1 + row / (ROWS / 2));
+      assertThat(buffers.get(1).get(row)).isEqualTo((byte) (row % (ROWS / 2)));
+      assertThat(buffers.get(2).getShort(2 * row)).isEqualTo((short) 7);
+    }
+    assertThat(buffers.get(0).position()).isEqualTo(4 * ROWS);
+  }
+
+  @Test
+  void unsetColumnsAreCaught(@TempDir Path directory) throws IOException {
+    final List<MappedByteBuffer> buffers = map(directory.resolve("trace"));
+    final StickyColumns sticky =
+        StickyColumns.of(HEADERS, buffers, List.of("STAMP"), List.of("UNUSED"));
+
+    buffers.get(0).putInt(1);
+    buffers.get(1).put((byte) 0);
+    buffers.get(2).putShort((short) 0);
+    sticky.capture();
+
+    // CT has not been set
+    assertThatThrownBy(sticky::checkRow)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("CT has not been filled");
+  }
+
+  @Test
+  void setStickyColumnsAreCaught(@TempDir Path directory) throws IOException {
+    final List<MappedByteBuffer> buffers = map(directory.resolve("trace"));
+    final StickyColumns sticky =
+        StickyColumns.of(HEADERS, buffers, List.of("STAMP"), List.of("UNUSED"));
+
+    buffers.get(0).putInt(1);
+    buffers.get(1).put((byte) 0);
+    sticky.capture();
+    buffers.get(0).putInt(1);
+    buffers.get(1).put((byte) 1);
+
+    assertThatThrownBy(sticky::checkRow)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("STAMP is sticky and may not be set");
+  }
+
+  @Test
+  void fillingMoreRowsThanCheckedIsRejected(@TempDir Path directory) throws IOException {
+    final List<MappedByteBuffer> buffers = map(directory.resolve("trace"));
+    final StickyColumns sticky =
+        StickyColumns.of(HEADERS, buffers, List.of("STAMP"), List.of("UNUSED"));
+
+    buffers.get(0).putInt(1);
+    buffers.get(1).put((byte) 0);
+    sticky.capture();
+
+    assertThatThrownBy(() -> sticky.fillRows(1)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void repeatWritesEveryCopy() {
+    for (int count = 0; count < 40; count++) {
+      final ByteBuffer buffer = ByteBuffer.allocate(3 * count + 2);
+      StickyColumns.repeat(buffer, 1, new byte[] {1, 2, 3}, count);
+
+      assertThat(buffer.position()).isZero();
+      assertThat(buffer.get(0)).isZero();
+      for (int i = 0; i < count; i++) {
+        assertThat(buffer.get(1 + 3 * i)).isEqualTo((byte) 1);
+        assertThat(buffer.get(2 + 3 * i)).isEqualTo((byte) 2);
+        assertThat(buffer.get(3 + 3 * i)).isEqualTo((byte) 3);
+      }
+      assertThat(buffer.get(3 * count + 1)).isZero();
+    }
+  }
+}
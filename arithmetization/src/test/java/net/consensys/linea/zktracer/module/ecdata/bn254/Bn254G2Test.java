@@ -0,0 +1,204 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata.bn254;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
+import org.hyperledger.besu.crypto.altbn128.Fq2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Checks the limb-based BN254 arithmetic and G2 membership test against Besu and BigInteger. */
+@ExtendWith(UnitTestWatcher.class)
+public class Bn254G2Test {
+  private static final BigInteger P = Bn254Fp.P;
+  private static final BigInteger R =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+  private static final Bn254G2 GENERATOR =
+      Bn254G2.affine(
+          Bn254Fp2.of(
+              new BigInteger(
+                  "10857046999023057135944570762232829481370756359578518086990519993285655852781"),
+              new BigInteger(
+                  "11559732032986387107991004021392285783925812861821192530917403151452391805634")),
+          Bn254Fp2.of(
+              new BigInteger(
+                  "8495653923123431417604973247489272438418190587263600148770280649306958101930"),
+              new BigInteger(
+                  "4082367875863433681332203403145435568316851327593401208105741076214120093531")));
+
+  private static final int SAMPLES = 32;
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void fieldArithmeticMatchesBigInteger(long seed) {
+    final Random random = new Random(seed);
+    for (int i = 0; i < 1000; i++) {
+      final BigInteger a = randomFieldElement(random);
+      final BigInteger b = randomFieldElement(random);
+      final long[] fa = Bn254Fp.of(a);
+      final long[] fb = Bn254Fp.of(b);
+      assertThat(Bn254Fp.toBigInteger(Bn254Fp.mul(fa, fb))).isEqualTo(a.multiply(b).mod(P));
+      assertThat(Bn254Fp.toBigInteger(Bn254Fp.add(fa, fb))).isEqualTo(a.add(b).mod(P));
+      assertThat(Bn254Fp.toBigInteger(Bn254Fp.sub(fa, fb))).isEqualTo(a.subtract(b).mod(P));
+    }
+    final long[] max = Bn254Fp.of(P.subtract(BigInteger.ONE));
+    assertThat(Bn254Fp.toBigInteger(Bn254Fp.mul(max, max))).isEqualTo(BigInteger.ONE);
+    assertThat(Bn254Fp.toBigInteger(Bn254Fp.add(max, Bn254Fp.ONE))).isEqualTo(BigInteger.ZERO);
+  }
+
+  @Test
+  void generatorIsInG2() {
+    assertThat(GENERATOR.isOnCurve()).isTrue();
+    assertThat(GENERATOR.multiply(R).isInfinity()).isTrue();
+    assertThat(Bn254G2.isOnG2(encode(GENERATOR))).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void subgroupPointsAgreeWithBesu(long seed) {
+    final Random random = new Random(seed);
+    for (int i = 0; i < SAMPLES; i++) {
+      final Bytes point = encode(GENERATOR.multiply(new BigInteger(256, random)));
+      assertThat(Bn254G2.isOnG2(point)).isTrue().isEqualTo(besuIsOnG2(point));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void twistPointsAgreeWithBesu(long seed) {
+    final Random random = new Random(seed);
+    for (int i = 0; i < SAMPLES; i++) {
+      final Bytes point = encode(randomTwistPoint(random));
+      assertThat(Bn254G2.isOnG2(point)).isEqualTo(besuIsOnG2(point));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void malformedPointsAgreeWithBesu(long seed) {
+    final Random random = new Random(seed);
+    for (int i = 0; i < SAMPLES; i++) {
+      final byte[] offCurve = encode(GENERATOR.multiply(new BigInteger(256, random))).toArray();
+      offCurve[Bn254G2.ENCODING_SIZE - 1] ^= 1;
+      assertThat(Bn254G2.isOnG2(Bytes.wrap(offCurve)))
+          .isFalse()
+          .isEqualTo(besuIsOnG2(Bytes.wrap(offCurve)));
+
+      final byte[] random128 = new byte[Bn254G2.ENCODING_SIZE];
+      random.nextBytes(random128);
+      assertThat(Bn254G2.isOnG2(Bytes.wrap(random128)))
+          .isEqualTo(besuIsOnG2(Bytes.wrap(random128)));
+    }
+  }
+
+  /** Coordinates of at least p are taken modulo p, as they used to be through Besu's Fq2. */
+  @ParameterizedTest
+  @ValueSource(ints = {0, 32, 64, 96})
+  void nonCanonicalCoordinatesAgreeWithBesu(int coordinateOffset) {
+    final Random random = new Random(coordinateOffset);
+    for (int i = 0; i < SAMPLES; i++) {
+      final Bytes point = encode(GENERATOR.multiply(new BigInteger(256, random)));
+      final Bytes shifted = addP(point, coordinateOffset);
+      assertThat(Bn254G2.isOnG2(shifted)).isEqualTo(besuIsOnG2(shifted));
+
+      final Bytes offTwist = addP(encode(randomTwistPoint(random)), coordinateOffset);
+      assertThat(Bn254G2.isOnG2(offTwist)).isEqualTo(besuIsOnG2(offTwist));
+    }
+  }
+
+  @Test
+  void infinityIsInG2() {
+    final Bytes infinity = Bytes.wrap(new byte[Bn254G2.ENCODING_SIZE]);
+    assertThat(Bn254G2.isOnG2(infinity)).isTrue().isEqualTo(besuIsOnG2(infinity));
+  }
+
+  private static boolean besuIsOnG2(Bytes encoding) {
+    final Fq2 x =
+        Fq2.create(
+            encoding.slice(32, 32).toUnsignedBigInteger(),
+            encoding.slice(0, 32).toUnsignedBigInteger());
+    final Fq2 y =
+        Fq2.create(
+            encoding.slice(96, 32).toUnsignedBigInteger(),
+            encoding.slice(64, 32).toUnsignedBigInteger());
+    final AltBn128Fq2Point point = new AltBn128Fq2Point(x, y);
+    return point.isOnCurve() && point.isInGroup();
+  }
+
+  private static Bytes encode(Bn254G2 point) {
+    final Bn254Fp2[] affine = point.toAffine();
+    return Bytes.concatenate(
+        toBytes32(affine[0].imaginary()),
+        toBytes32(affine[0].real()),
+        toBytes32(affine[1].imaginary()),
+        toBytes32(affine[1].real()));
+  }
+
+  /** Add p to one of the four coordinates of an encoded point, which still fits in 32 bytes. */
+  private static Bytes addP(Bytes encoding, int coordinateOffset) {
+    final BigInteger shifted = encoding.slice(coordinateOffset, 32).toUnsignedBigInteger().add(P);
+    return Bytes.concatenate(
+        encoding.slice(0, coordinateOffset),
+        toBytes32(shifted),
+        encoding.slice(coordinateOffset + 32));
+  }
+
+  private static Bytes32 toBytes32(BigInteger value) {
+    return Bytes32.leftPad(Bytes.wrap(value.toByteArray()).trimLeadingZeros());
+  }
+
+  private static BigInteger randomFieldElement(Random random) {
+    return new BigInteger(256, random).mod(P);
+  }
+
+  /** A random point of the twist, which most likely is not in G2 as the cofactor is large. */
+  private static Bn254G2 randomTwistPoint(Random random) {
+    while (true) {
+      final Bn254Fp2 x = Bn254Fp2.of(randomFieldElement(random), randomFieldElement(random));
+      final Bn254Fp2 y = sqrt(x.square().mul(x).add(Bn254G2.B));
+      if (y != null) {
+        return Bn254G2.affine(x, y);
+      }
+    }
+  }
+
+  /** Square root in F_p2 for p = 3 mod 4, see Adj and Rodríguez-Henríquez, algorithm 9. */
+  private static Bn254Fp2 sqrt(Bn254Fp2 a) {
+    final Bn254Fp2 minusOne = Bn254Fp2.ONE.neg();
+    final Bn254Fp2 a1 = a.pow(P.subtract(BigInteger.valueOf(3)).shiftRight(2));
+    final Bn254Fp2 alpha = a1.square().mul(a);
+    if (alpha.conjugate().mul(alpha).equals(minusOne)) {
+      return null;
+    }
+    final Bn254Fp2 x0 = a1.mul(a);
+    final Bn254Fp2 x =
+        alpha.equals(minusOne)
+            ? x0.mul(Bn254Fp2.of(BigInteger.ZERO, BigInteger.ONE))
+            : Bn254Fp2.ONE.add(alpha).pow(P.subtract(BigInteger.ONE).shiftRight(1)).mul(x0);
+    return x.square().equals(a) ? x : null;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.zktracer.module.hub;
+
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.BytecodeRunner;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Checks that the stack-only sections, whose stack rows are kept in the {@link StackRowStore},
+ * trace HUB rows satisfying the constraints.
+ */
+@ExtendWith(UnitTestWatcher.class)
+public class StackRowStoreTest {
+  private static final List<OpCode> BINARY_OPERATIONS =
+      List.of(
+          OpCode.ADD,
+          OpCode.SUB,
+          OpCode.MUL,
+          OpCode.DIV,
+          OpCode.SDIV,
+          OpCode.MOD,
+          OpCode.SMOD,
+          OpCode.LT,
+          OpCode.GT,
+          OpCode.SLT,
+          OpCode.SGT,
+          OpCode.EQ,
+          OpCode.AND,
+          OpCode.OR,
+          OpCode.XOR,
+          OpCode.BYTE,
+          OpCode.SHL,
+          OpCode.SHR,
+          OpCode.SAR,
+          OpCode.SIGNEXTEND);
+
+  @Test
+  void stackRowStoreTracesValidStackRows() {
+    final BytecodeCompiler program = BytecodeCompiler.newProgram();
+    // Fill the stack with words of every width
+    for (int width = 1; width <= 32; width += 2) {
+      final byte[] word = new byte[width];
+      for (int i = 0; i < width; i++) {
+        word[i] = (byte) (0x81 + 7 * i + width);
+      }
+      program.push(width, word);
+    }
+    // Shuffle it; DUP and SWAP rows are unlatched without any result
+    for (int k = 0; k < 16; k++) {
+      program.op(OpCode.of(OpCode.DUP1.getData().value() + k));
+      program.op(OpCode.of(OpCode.SWAP1.getData().value() + k));
+      program.op(OpCode.POP);
+    }
+    // Binary and ternary operations, whose result is set retroactively in the stack row
+    for (OpCode op : BINARY_OPERATIONS) {
+      program.op(OpCode.DUP2).op(OpCode.DUP2).op(op).op(OpCode.SWAP1).op(OpCode.POP);
+    }
+    program.op(OpCode.DUP3).op(OpCode.DUP3).op(OpCode.DUP3).op(OpCode.ADDMOD);
+    program.op(OpCode.DUP3).op(OpCode.DUP3).op(OpCode.DUP3).op(OpCode.MULMOD);
+    program.op(OpCode.ISZERO).op(OpCode.NOT).push(0).op(OpCode.ISZERO);
+    // Machine state instructions
+    program.op(OpCode.PC).op(OpCode.GAS).op(OpCode.MSIZE);
+
+    BytecodeRunner.of(program).run();
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.hub.precompiles;
+
+import static net.consensys.linea.zktracer.module.Util.rightPaddedSlice;
+import static net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata.BASE_MIN_OFFSET;
+import static net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata.BBS_MIN_OFFSET;
+import static net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata.EBS_MIN_OFFSET;
+import static net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata.MBS_MIN_OFFSET;
+import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.types.EWord;
+import net.consensys.linea.zktracer.types.MemoryRange;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.evm.internal.Words;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@Slf4j
+@ExtendWith(UnitTestWatcher.class)
+public class ModexpMetadataTest {
+  private static final int[] BYTE_SIZES = {0, 1, 31, 32, 33, 512, 1024};
+
+  /** Where the call data starts in the caller memory, which holds garbage around it. */
+  private static final int CALL_DATA_OFFSET = 7;
+
+  /**
+   * The straightforward reading of the call data, extracting and padding it anew for every field.
+   */
+  private record Reference(Bytes callData) {
+    EWord bbs() {
+      return EWord.of(rightPaddedSlice(callData, BBS_MIN_OFFSET, 32));
+    }
+
+    EWord ebs() {
+      return EWord.of(rightPaddedSlice(callData, EBS_MIN_OFFSET, 32));
+    }
+
+    EWord mbs() {
+      return EWord.of(rightPaddedSlice(callData, MBS_MIN_OFFSET, 32));
+    }
+
+    Bytes component(int offset, int size) {
+      Bytes unpadded = Bytes.EMPTY;
+      if (callData.size() > offset) {
+        unpadded = callData.slice(offset, Math.min(size, callData.size() - offset));
+      }
+      return rightPadTo(unpadded, size);
+    }
+  }
+
+  private static Bytes callData(int bbs, int ebs, int mbs, Random random) {
+    final byte[] components = new byte[bbs + ebs + mbs];
+    random.nextBytes(components);
+    return Bytes.concatenate(
+        Bytes32.leftPad(Bytes.ofUnsignedInt(bbs)),
+        Bytes32.leftPad(Bytes.ofUnsignedInt(ebs)),
+        Bytes32.leftPad(Bytes.ofUnsignedInt(mbs)),
+        Bytes.wrap(components));
+  }
+
+  private static MemoryRange callDataRange(Bytes fullCallData, int size, Random random) {
+    final byte[] memory = new byte[CALL_DATA_OFFSET + fullCallData.size() + 64];
+    random.nextBytes(memory);
+    fullCallData.slice(0, size).copyTo(memory, CALL_DATA_OFFSET);
+    return new MemoryRange(1, CALL_DATA_OFFSET, size, Bytes.wrap(memory));
+  }
+
+  @Test
+  void fieldsMatchTheReferenceReading() {
+    final Random random = new Random(0x5eed);
+    for (int bbs : BYTE_SIZES) {
+      for (int ebs : BYTE_SIZES) {
+        for (int mbs : BYTE_SIZES) {
+          final Bytes fullCallData = callData(bbs, ebs, mbs, random);
+          for (int size :
+              new int[] {
+                0,
+                1,
+                EBS_MIN_OFFSET + 1,
+                BASE_MIN_OFFSET,
+                BASE_MIN_OFFSET + bbs,
+                BASE_MIN_OFFSET + bbs + ebs / 2,
+                BASE_MIN_OFFSET + bbs + ebs + mbs / 2,
+                fullCallData.size()
+              }) {
+            final MemoryRange range = callDataRange(fullCallData, size, random);
+            final ModexpMetadata metadata = new ModexpMetadata(range);
+            final Reference reference = new Reference(range.extract());
+            final String context = "bbs=%d ebs=%d mbs=%d cds=%d".formatted(bbs, ebs, mbs, size);
+
+            assertThat(metadata.callData()).as(context).isEqualTo(fullCallData.slice(0, size));
+            assertThat(metadata.callDataSize()).as(context).isEqualTo(size);
+            assertThat(metadata.bbs()).as(context).isEqualTo(reference.bbs());
+            assertThat(metadata.ebs()).as(context).isEqualTo(reference.ebs());
+            assertThat(metadata.mbs()).as(context).isEqualTo(reference.mbs());
+
+            final int bbsInt = (int) Words.clampedToLong(reference.bbs());
+            final int ebsInt = (int) Words.clampedToLong(reference.ebs());
+            final int mbsInt = (int) Words.clampedToLong(reference.mbs());
+            assertThat(metadata.base())
+                .as(context)
+                .isEqualTo(reference.component(BASE_MIN_OFFSET, bbsInt));
+            assertThat(metadata.exp())
+                .as(context)
+                .isEqualTo(reference.component(BASE_MIN_OFFSET + bbsInt, ebsInt));
+            assertThat(metadata.mod())
+                .as(context)
+                .isEqualTo(reference.component(BASE_MIN_OFFSET + bbsInt + ebsInt, mbsInt));
+            assertThat(metadata.rawLeadingWord())
+                .as(context)
+                .isEqualTo(
+                    EWord.of(
+                        rightPaddedSlice(
+                            range.getRawData(), CALL_DATA_OFFSET + BASE_MIN_OFFSET + bbsInt, 32)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void memoryRangeReadsZeroesPastTheCallData() {
+    final Bytes memory = Bytes.fromHexString("0xaabbccddeeff");
+    final MemoryRange range = new MemoryRange(1, 1, 3, memory);
+
+    assertThat(range.extract()).isEqualTo(Bytes.fromHexString("0xbbccdd"));
+    assertThat(range.extract()).isSameAs(range.extract());
+    assertThat(range.get(0)).isEqualTo((byte) 0xbb);
+    assertThat(range.get(2)).isEqualTo((byte) 0xdd);
+    assertThat(range.get(3)).isZero();
+    assertThat(range.slice(1, 4)).isEqualTo(Bytes.fromHexString("0xccdd0000"));
+    assertThat(range.slice(5, 2)).isEqualTo(Bytes.fromHexString("0x0000"));
+
+    // raw data shorter than the range itself
+    final MemoryRange truncated = new MemoryRange(1, 4, 4, memory);
+    assertThat(truncated.extract()).isEqualTo(Bytes.fromHexString("0xeeff0000"));
+    assertThat(truncated.slice(1, 2)).isEqualTo(Bytes.fromHexString("0xff00"));
+  }
+
+  @Test
+  void largeOperandsAreNotCopied() {
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final int operandSize = 4096;
+    final int iterations = 10_000;
+    final Bytes fullCallData = callData(operandSize, operandSize, operandSize, new Random(1));
+    final MemoryRange range = callDataRange(fullCallData, fullCallData.size(), new Random(2));
+    // only the sizes are provided, the operands being read as zeroes
+    final MemoryRange padded = callDataRange(fullCallData, BASE_MIN_OFFSET, new Random(3));
+
+    // warm up, so that class loading does not count towards the allocations
+    long sum = 0;
+    for (int i = 0; i < 100; i++) {
+      sum += read(new ModexpMetadata(range)) + read(new ModexpMetadata(padded));
+    }
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      sum += read(new ModexpMetadata(range));
+    }
+    final long viewNanos = System.nanoTime() - start;
+    final long viewAllocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    before = threads.getCurrentThreadAllocatedBytes();
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      sum += read(new ModexpMetadata(padded));
+    }
+    final long paddingNanos = System.nanoTime() - start;
+    final long paddingAllocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    log.info(
+        "{} bytes MODEXP operands: data {} ns, {} B per call; padding {} ns, {} B per call",
+        operandSize,
+        viewNanos / iterations,
+        viewAllocated / iterations,
+        paddingNanos / iterations,
+        paddingAllocated / iterations);
+
+    assertThat(sum).isNotZero();
+    // reading the three operands should neither copy them, nor allocate their padding
+    assertThat(viewAllocated).isLessThan((long) iterations * operandSize);
+    assertThat(paddingAllocated).isLessThan((long) iterations * operandSize);
+  }
+
+  private static long read(ModexpMetadata metadata) {
+    return metadata.bbsInt()
+        + metadata.ebsInt()
+        + metadata.mbsInt()
+        + metadata.base().get(0)
+        + metadata.exp().get(0)
+        + metadata.mod().get(0);
+  }
+}
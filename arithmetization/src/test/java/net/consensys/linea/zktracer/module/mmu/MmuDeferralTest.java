@@ -0,0 +1,63 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.zktracer.module.mmu;
+
+import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_MAINNET;
+import static net.consensys.linea.testing.TraceAssertions.assertSameTrace;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+import net.consensys.linea.replaytests.ReplayTestTools;
+import net.consensys.linea.testing.ReplayExecutionEnvironment;
+import net.consensys.linea.zktracer.ZkTracer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that deferring the MMIO micro-instructions of the MMU until commit, as trace generation
+ * does, yields the very same trace as building them when the MMU is called.
+ */
+@Tag("replay")
+@ExtendWith(UnitTestWatcher.class)
+public class MmuDeferralTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"5995097.mainnet.json.gz", "6569423.mainnet.json.gz"})
+  void deferredMicroInstructionsTraceLikeEagerOnes(String replayFile) {
+    final ConflationSnapshot conflation = ReplayTestTools.load(replayFile);
+    final ZkTracer eager = execute(conflation, false);
+    final ZkTracer deferred = execute(conflation, true);
+
+    final Map<String, Integer> eagerLineCounts = eager.getModulesLineCount();
+    final Map<String, Integer> deferredLineCounts = deferred.getModulesLineCount();
+    assertThat(eagerLineCounts.get("MMU")).isPositive();
+    assertThat(deferredLineCounts.get("MMU")).isEqualTo(eagerLineCounts.get("MMU"));
+    assertThat(deferredLineCounts.get("MMIO")).isEqualTo(eagerLineCounts.get("MMIO"));
+    assertSameTrace(eager, deferred);
+  }
+
+  private static ZkTracer execute(
+      final ConflationSnapshot conflation, final boolean deferMicroInstructions) {
+    final ReplayExecutionEnvironment environment = ReplayExecutionEnvironment.builder().build();
+    environment.getZkTracer().getHub().mmu().deferMicroInstructions(deferMicroInstructions);
+    environment.execute(LINEA_MAINNET, conflation);
+    return environment.getZkTracer();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.mmu;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class MmuPayloadArenaTest {
+  @Test
+  void storedPayloadsAreReadBack() {
+    final MmuPayloadArena arena = new MmuPayloadArena();
+    final Bytes small = Bytes.fromHexString("0x0102030405");
+    final Bytes large = Bytes.repeat((byte) 7, 3 << 20);
+
+    arena.enter();
+    assertThat(arena.store(small)).isEqualTo(small);
+    assertThat(arena.store(large)).isEqualTo(large);
+    assertThat(arena.store(Bytes.EMPTY)).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  void identicalPayloadsAreStoredOnce() {
+    final MmuPayloadArena arena = new MmuPayloadArena();
+    final Bytes code = Bytes.fromHexString("0x6001600101");
+
+    arena.enter();
+    final Bytes first = arena.store(code);
+    final long used = arena.usedBytes();
+    assertThat(arena.store(code)).isSameAs(first);
+    assertThat(arena.store(Bytes.fromHexString("0x6001600101"))).isSameAs(first);
+    assertThat(arena.usedBytes()).isEqualTo(used);
+  }
+
+  @Test
+  void storedPayloadsAreNotRetained() {
+    final MmuPayloadArena arena = new MmuPayloadArena();
+    Bytes payload = Bytes.wrap(new byte[] {1, 2, 3, 4});
+    final WeakReference<Bytes> reference = new WeakReference<>(payload);
+
+    arena.enter();
+    final Bytes view = arena.store(payload);
+    payload = null;
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+    }
+
+    assertThat(reference.get()).isNull();
+    assertThat(view).isEqualTo(Bytes.fromHexString("0x01020304"));
+  }
+
+  @Test
+  void freedSlabsAreReusedByOtherArenas() {
+    final MmuPayloadArena first = new MmuPayloadArena();
+    first.enter();
+    first.store(Bytes.fromHexString("0x0102"));
+    final int pooled = MmuPayloadArena.pooledSlabCount();
+
+    first.free();
+    assertThat(first.usedBytes()).isZero();
+    assertThat(MmuPayloadArena.pooledSlabCount()).isEqualTo(pooled + 1);
+
+    final MmuPayloadArena second = new MmuPayloadArena();
+    second.enter();
+    final Bytes payload = Bytes.fromHexString("0x0304");
+    assertThat(second.store(payload)).isEqualTo(payload);
+    assertThat(MmuPayloadArena.pooledSlabCount()).isEqualTo(pooled);
+  }
+
+  @Test
+  void popAndRollbackReuseTheMemory() {
+    final MmuPayloadArena arena = new MmuPayloadArena();
+    final Bytes kept = Bytes.fromHexString("0xaaaa");
+
+    arena.enter();
+    final Bytes keptView = arena.store(kept);
+    final long used = arena.usedBytes();
+
+    arena.enter();
+    arena.store(Bytes.fromHexString("0xbbbbbb"));
+    arena.pop();
+    assertThat(arena.usedBytes()).isEqualTo(used);
+
+    arena.enter();
+    arena.store(Bytes.fromHexString("0xcccc"));
+    arena.enter();
+    arena.store(Bytes.fromHexString("0xdddd"));
+    arena.rollback(1);
+    assertThat(arena.usedBytes()).isEqualTo(used);
+    assertThat(keptView).isEqualTo(kept);
+
+    arena.release();
+    assertThat(arena.usedBytes()).isZero();
+  }
+}
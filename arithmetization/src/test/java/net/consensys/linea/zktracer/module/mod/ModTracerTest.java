@@ -21,12 +21,13 @@ import java.util.stream.Stream;
 import net.consensys.linea.testing.DynamicTests;
 import net.consensys.linea.testing.OpcodeCall;
 import net.consensys.linea.zktracer.container.module.Module;
+import net.consensys.linea.zktracer.types.WordPool;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestFactory;
 
 class ModTracerTest {
-  private static final Module MODULE = new Mod();
+  private static final Module MODULE = new Mod(new WordPool());
   private static final DynamicTests DYN_TESTS = DynamicTests.forModule(MODULE);
 
   @TestFactory
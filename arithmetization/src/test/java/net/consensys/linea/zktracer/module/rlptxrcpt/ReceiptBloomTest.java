@@ -0,0 +1,165 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rlptxrcpt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.ColumnHeader;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.log.LogTopic;
+import org.hyperledger.besu.evm.log.LogsBloomFilter;
+import org.hyperledger.besu.plugin.data.BlockBody;
+import org.hyperledger.besu.plugin.data.BlockHeader;
+import org.hyperledger.besu.plugin.data.TransactionReceipt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(UnitTestWatcher.class)
+public class ReceiptBloomTest {
+  private static final Hash BLOCK_HASH = Hash.hash(Bytes.of(1));
+
+  private static final List<Log> LOGS =
+      List.of(
+          new Log(Address.fromHexString("0x1234"), Bytes.EMPTY, List.of()),
+          new Log(
+              Address.fromHexString("0xdead"),
+              Bytes.of(0x80),
+              List.of(LogTopic.of(Bytes.repeat((byte) 0x11, 32)))),
+          new Log(
+              Address.fromHexString("0xbeef"),
+              Bytes.repeat((byte) 0xaa, 100),
+              List.of(
+                  LogTopic.of(Bytes.repeat((byte) 0x22, 32)),
+                  LogTopic.of(Bytes.repeat((byte) 0x33, 32)),
+                  LogTopic.of(Bytes.repeat((byte) 0x44, 32)),
+                  LogTopic.of(Bytes.repeat((byte) 0x55, 32)))));
+
+  private static LogsBloomFilter besuBloom(List<Log> logs) {
+    final LogsBloomFilter.Builder builder = LogsBloomFilter.builder();
+    logs.forEach(builder::insertLog);
+    return builder.build();
+  }
+
+  private static RlpTxnRcpt moduleWith(ReceiptSource receiptSource) {
+    final RlpTxnRcpt module = new RlpTxnRcpt();
+    module.receiptSource(receiptSource);
+    module
+        .operations()
+        .add(new RlpTxrcptOperation(TransactionType.FRONTIER, true, 21000, List.of()));
+    module.operations().add(new RlpTxrcptOperation(TransactionType.EIP1559, false, 90000, LOGS));
+
+    final BlockHeader header = mock(BlockHeader.class);
+    when(header.getBlockHash()).thenReturn(BLOCK_HASH);
+    final BlockBody body = mock(BlockBody.class);
+    when(body.getTransactions())
+        .then(invocation -> List.of(mock(Transaction.class), mock(Transaction.class)));
+    module.traceEndBlock(header, body);
+    module.traceEndConflation(null);
+    return module;
+  }
+
+  private static TransactionReceipt receipt(long cumulativeGasUsed, List<Log> logs) {
+    final TransactionReceipt receipt = mock(TransactionReceipt.class);
+    when(receipt.getCumulativeGasUsed()).thenReturn(cumulativeGasUsed);
+    when(receipt.getLogsList()).then(invocation -> logs);
+    when(receipt.getBloomFilter()).thenReturn(besuBloom(logs));
+    return receipt;
+  }
+
+  private static ReceiptSource receipts(TransactionReceipt... receipts) {
+    return blockHash ->
+        blockHash.equals(BLOCK_HASH) ? Optional.of(List.of(receipts)) : Optional.empty();
+  }
+
+  @Test
+  void localBloomMatchesBesu() {
+    assertThat(RlpTxnRcpt.logsBloom(List.of())).isEqualTo(besuBloom(List.of()));
+    assertThat(RlpTxnRcpt.logsBloom(LOGS)).isEqualTo(besuBloom(LOGS));
+  }
+
+  @Test
+  void knownBloomIsReused() {
+    final TransactionReceipt first = receipt(21000, List.of());
+    final TransactionReceipt second = receipt(90000, LOGS);
+    final RlpTxnRcpt module = moduleWith(receipts(first, second));
+
+    assertThat(module.operations().get(0).logsBloom()).isSameAs(first.getBloomFilter());
+    assertThat(module.operations().get(1).logsBloom()).isSameAs(second.getBloomFilter());
+  }
+
+  @Test
+  void mismatchingReceiptsFallBackToLocalBloom() {
+    final TransactionReceipt first = receipt(21000, List.of());
+    final TransactionReceipt second = receipt(12345, LOGS);
+    final RlpTxnRcpt module = moduleWith(receipts(first, second));
+
+    assertThat(module.operations().get(0).logsBloom()).isSameAs(first.getBloomFilter());
+    assertThat(module.operations().get(1).logsBloom()).isNotSameAs(second.getBloomFilter());
+    assertThat(module.operations().get(1).logsBloom()).isEqualTo(besuBloom(LOGS));
+
+    final RlpTxnRcpt withoutReceipts = moduleWith(receipts(first));
+    assertThat(withoutReceipts.operations().get(0).logsBloom()).isNotSameAs(first.getBloomFilter());
+  }
+
+  @Test
+  void tracesAreIdenticalWithAndWithoutKnownReceipts(@TempDir Path directory) throws IOException {
+    final RlpTxnRcpt withReceipts =
+        moduleWith(receipts(receipt(21000, List.of()), receipt(90000, LOGS)));
+    final RlpTxnRcpt withoutReceipts = moduleWith(ReceiptSource.NONE);
+
+    assertThat(withReceipts.lineCount()).isEqualTo(withoutReceipts.lineCount());
+    assertThat(trace(withReceipts, directory.resolve("with")))
+        .isEqualTo(trace(withoutReceipts, directory.resolve("without")));
+  }
+
+  private static byte[] trace(RlpTxnRcpt module, Path file) throws IOException {
+    final List<ColumnHeader> headers = module.columnsHeaders();
+    Files.createFile(file);
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      final FileChannel channel = raf.getChannel();
+      final List<MappedByteBuffer> buffers = new ArrayList<>(headers.size());
+      long offset = 0;
+      for (ColumnHeader header : headers) {
+        buffers.add(channel.map(FileChannel.MapMode.READ_WRITE, offset, header.dataSize()));
+        offset += header.dataSize();
+      }
+      module.commit(buffers);
+      for (MappedByteBuffer buffer : buffers) {
+        buffer.force();
+      }
+    }
+    return Files.readAllBytes(file);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.trm;
+
+import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
+import static net.consensys.linea.zktracer.module.trm.Trm.MAX_CT;
+import static net.consensys.linea.zktracer.module.trm.Trm.PIVOT_BIT_FLIPS_TO_TRUE;
+import static net.consensys.linea.zktracer.types.AddressUtils.isPrecompile;
+import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
+import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.StickyColumns;
+import net.consensys.linea.zktracer.types.BitDecOutput;
+import net.consensys.linea.zktracer.types.EWord;
+import net.consensys.linea.zktracer.types.UnsignedByte;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.datatypes.Address;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Checks that filling the sticky columns once per operation leaves the trace unchanged. */
+@ExtendWith(UnitTestWatcher.class)
+public class TrmStickyColumnsTest {
+  private static final List<EWord> RAW_ADDRESSES =
+      List.of(
+          EWord.of(Bytes32.ZERO),
+          EWord.of(Bytes32.leftPad(Bytes.of(9))),
+          EWord.of(Bytes32.leftPad(Bytes.of(10))),
+          EWord.of(
+              Bytes32.fromHexString(
+                  "0xb18cd834b6192fcf9f51322ea31b31bebf8fd38bb3e8d5123273df519650f978")),
+          EWord.of(
+              Bytes32.fromHexString(
+                  "0xffffffffffffffffffffffff0000000000000000000000000000000000000001")));
+
+  /** Traces an operation the way it was before sticky columns, setting every column on each row. */
+  private static void traceEveryRow(EWord rawAddress, Trace trace, int stamp) {
+    final Bytes trmHiBytes = leftPadTo(rawAddress.hi().slice(PIVOT_BIT_FLIPS_TO_TRUE, 4), LLARGE);
+    final long trmHi = trmHiBytes.slice(PIVOT_BIT_FLIPS_TO_TRUE, 4).toLong();
+    final Boolean isPrec = isPrecompile(Address.extract(rawAddress));
+    final int accLastByte =
+        isPrec ? 9 - (0xff & rawAddress.get(31)) : (0xff & rawAddress.get(31)) - 10;
+    final BitDecOutput ones = bitDecomposition(accLastByte, MAX_CT);
+
+    for (int ct = 0; ct < MAX_CT; ct++) {
+      trace
+          .ct(ct)
+          .stamp(stamp)
+          .isPrecompile(isPrec)
+          .plateauBit(ct >= PIVOT_BIT_FLIPS_TO_TRUE)
+          .rawAddressHi(rawAddress.hi())
+          .rawAddressLo(rawAddress.lo())
+          .trmAddressHi(trmHi)
+          .accHi(rawAddress.hi().slice(0, ct + 1))
+          .accLo(rawAddress.lo().slice(0, ct + 1))
+          .accT(trmHiBytes.slice(0, ct + 1).trimLeadingZeros().toLong())
+          .byteHi(UnsignedByte.of(rawAddress.hi().get(ct)))
+          .byteLo(UnsignedByte.of(rawAddress.lo().get(ct)))
+          .one(ones.bit(ct))
+          .validateRow();
+    }
+  }
+
+  private static List<MappedByteBuffer> map(Path file, List<ColumnHeader> headers)
+      throws IOException {
+    Files.createFile(file);
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      final FileChannel channel = raf.getChannel();
+      final List<MappedByteBuffer> buffers = new ArrayList<>(headers.size());
+      long offset = 0;
+      for (ColumnHeader header : headers) {
+        buffers.add(channel.map(FileChannel.MapMode.READ_WRITE, offset, header.dataSize()));
+        offset += header.dataSize();
+      }
+      return buffers;
+    }
+  }
+
+  @Test
+  void stickyColumnsProduceIdenticalTraces(@TempDir Path directory) throws IOException {
+    final List<ColumnHeader> headers = Trace.headers(RAW_ADDRESSES.size() * MAX_CT);
+
+    final List<MappedByteBuffer> expectedBuffers = map(directory.resolve("expected"), headers);
+    final Trace expected = new Trace(expectedBuffers);
+    final List<MappedByteBuffer> actualBuffers = map(directory.resolve("actual"), headers);
+    final Trace actual = new Trace(actualBuffers);
+    final StickyColumns stickyColumns =
+        StickyColumns.of(headers, actualBuffers, Trm.STICKY_COLUMNS, List.of());
+
+    for (int i = 0; i < RAW_ADDRESSES.size(); i++) {
+      traceEveryRow(RAW_ADDRESSES.get(i), expected, i + 1);
+      new TrmOperation(RAW_ADDRESSES.get(i)).trace(actual, stickyColumns, i + 1);
+    }
+
+    for (int i = 0; i < headers.size(); i++) {
+      assertThat(actualBuffers.get(i).position()).isEqualTo(headers.get(i).dataSize());
+      assertThat(actualBuffers.get(i).rewind())
+          .as(headers.get(i).name())
+          .isEqualTo(expectedBuffers.get(i).rewind());
+    }
+  }
+}
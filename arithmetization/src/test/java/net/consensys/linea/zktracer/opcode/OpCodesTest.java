@@ -0,0 +1,49 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.opcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class OpCodesTest {
+  @Test
+  void everyValueDecodes() {
+    for (int value = 0; value < 256; value++) {
+      final OpCodeData data = OpCodes.of(value);
+      assertThat(data.value() == value || data.mnemonic() == OpCode.INVALID).isTrue();
+    }
+  }
+
+  @Test
+  void flagsMatchMetadata() {
+    for (OpCodeData data : OpCodes.opCodeToOpCodeDataMap.values()) {
+      final OpCode opCode = data.mnemonic();
+      assertThat(OpCodes.of(opCode)).isSameAs(data);
+      assertThat(opCode.isPush()).isEqualTo(data.isPush());
+      assertThat(opCode.isJump()).isEqualTo(data.isJump());
+      assertThat(opCode.isCallOrCreate()).isEqualTo(data.isCall() || data.isCreate());
+      assertThat(opCode.numberOfStackRows()).isEqualTo((short) data.numberOfStackRows());
+      assertThat(opCode.mayTriggerStackUnderflow())
+          .isEqualTo(data.stackSettings().delta() > 0);
+      assertThat(opCode.mayTriggerStaticException())
+          .isEqualTo(data.stackSettings().forbiddenInStatic());
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.opcode.gas.projector;
+
+import static net.consensys.linea.ThreadAllocations.allocatedBytes;
+import static net.consensys.linea.testing.ReplayExecutionEnvironment.LINEA_MAINNET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.replaytests.ReplayTestTools;
+import net.consensys.linea.testing.ReplayExecutionEnvironment;
+import net.consensys.linea.zktracer.ConflationAwareOperationTracer;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+
+@Slf4j
+@ExtendWith(UnitTestWatcher.class)
+public class GasProjectorTest {
+  /** How many times the hub asks for the projection of an instruction, e.g. for an SSTORE. */
+  private static final int REQUESTS_PER_INSTRUCTION = 4;
+
+  private static final OpCode[] CONSTANT_COST =
+      new OpCode[] {
+        OpCode.STOP,
+        OpCode.ADD,
+        OpCode.MUL,
+        OpCode.ADDMOD,
+        OpCode.JUMPI,
+        OpCode.CALLER,
+        OpCode.BLOCKHASH,
+        OpCode.JUMPDEST,
+        OpCode.PUSH1,
+        OpCode.INVALID
+      };
+
+  @Test
+  void constantCostProjectionsAreShared() {
+    final GasProjector projector = new GasProjector();
+    final MessageFrame frame = Mockito.mock(MessageFrame.class);
+    for (OpCode opCode : CONSTANT_COST) {
+      assertThat(projector.of(frame, opCode)).isSameAs(projector.of(null, opCode));
+    }
+    Mockito.verifyNoInteractions(frame);
+  }
+
+  @Test
+  void projectionIsComputedOncePerInstruction() {
+    final GasProjector projector = new GasProjector();
+    final MessageFrame frame = Mockito.mock(MessageFrame.class);
+
+    projector.open(frame, OpCode.SLOAD);
+    final GasProjection projection = projector.of(frame, OpCode.SLOAD);
+    assertThat(projector.of(frame, OpCode.SLOAD)).isSameAs(projection);
+    assertThat(projector.of(frame, OpCode.MLOAD)).isNotSameAs(projection);
+    Mockito.verify(frame, Mockito.times(2)).stackSize();
+
+    projector.close();
+    assertThat(projector.of(frame, OpCode.SLOAD)).isNotSameAs(projection);
+  }
+
+  @Tag("replay")
+  @Test
+  void slotAllocatesOneProjectionPerInstructionOverAReplay() {
+    final ProjectionAllocations allocations = new ProjectionAllocations();
+    ReplayExecutionEnvironment.builder()
+        .build()
+        .execute(LINEA_MAINNET, ReplayTestTools.load("5000544.mainnet.json.gz"), allocations);
+
+    log.info(
+        "{} instructions: {} B from the slot, {} B from fresh projections",
+        allocations.instructions,
+        allocations.fromSlot,
+        allocations.fresh);
+    assertThat(allocations.fresh).isPositive();
+    assertThat(2 * allocations.fromSlot).isLessThan(allocations.fresh);
+  }
+
+  /**
+   * Serves the projection of every instruction of a replay as the hub does, first from the slot,
+   * then afresh, and records the bytes allocated by either.
+   */
+  private static class ProjectionAllocations implements ConflationAwareOperationTracer {
+    private final GasProjector projector = new GasProjector();
+    private GasProjection sink;
+    private long instructions;
+    private long fromSlot;
+    private long fresh;
+
+    @Override
+    public void tracePreExecution(MessageFrame frame) {
+      if (frame.getCode().getSize() == 0) {
+        return;
+      }
+      final OpCode opCode = OpCode.of(frame.getCurrentOperation().getOpcode());
+      instructions++;
+
+      long before = allocatedBytes();
+      projector.open(frame, opCode);
+      for (int i = 0; i < REQUESTS_PER_INSTRUCTION; i++) {
+        sink = projector.of(frame, opCode);
+      }
+      projector.close();
+      fromSlot += allocatedBytes() - before;
+
+      before = allocatedBytes();
+      for (int i = 0; i < REQUESTS_PER_INSTRUCTION; i++) {
+        sink = projector.of(frame, opCode);
+      }
+      fresh += allocatedBytes() - before;
+    }
+
+    @Override
+    public void traceStartConflation(long numBlocksInConflation) {}
+
+    @Override
+    public void traceEndConflation(WorldView state) {}
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.encoding.EncodingContext.BLOCK_BODY;
+import static org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder.encodeOpaqueBytes;
+
+import java.util.List;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.blockcapture.snapshots.BlockSnapshot;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+import net.consensys.linea.blockcapture.snapshots.TransactionSnapshot;
+import net.consensys.linea.replaytests.ReplayTestTools;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyTransaction;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@ExtendWith(UnitTestWatcher.class)
+public class EncodedTransactionTest {
+  private static final SECP256K1 SIGNATURE_ALGORITHM = new SECP256K1();
+
+  static List<Arguments> transactions() {
+    return List.of(
+        Arguments.of(TransactionType.FRONTIER, 0),
+        Arguments.of(TransactionType.FRONTIER, 1000),
+        Arguments.of(TransactionType.ACCESS_LIST, 0),
+        Arguments.of(TransactionType.ACCESS_LIST, 1000),
+        Arguments.of(TransactionType.EIP1559, 0),
+        Arguments.of(TransactionType.EIP1559, 1000));
+  }
+
+  @ParameterizedTest
+  @MethodSource("transactions")
+  void encodingsMatchBesu(TransactionType type, int payloadSize) {
+    final KeyPair keyPair = SIGNATURE_ALGORITHM.generateKeyPair();
+    final Address senderAddress =
+        Address.extract(Hash.hash(keyPair.getPublicKey().getEncodedBytes()));
+    final ToyAccount sender =
+        ToyAccount.builder().balance(Wei.fromEth(1)).nonce(300).address(senderAddress).build();
+    final ToyAccount recipient =
+        ToyAccount.builder()
+            .balance(Wei.ONE)
+            .nonce(1)
+            .address(Address.fromHexString("0x1234"))
+            .build();
+    final List<AccessListEntry> accessList =
+        List.of(
+            AccessListEntry.createAccessListEntry(
+                Address.fromHexString("0x1234"), List.of("0x0123", "0xdeadbeef")));
+    final Transaction tx =
+        ToyTransaction.builder()
+            .sender(sender)
+            .to(recipient)
+            .keyPair(keyPair)
+            .transactionType(type)
+            .accessList(type == TransactionType.FRONTIER ? null : accessList)
+            .payload(Bytes.wrap(new byte[payloadSize]))
+            .gasLimit(100_000L)
+            .build();
+
+    assertMatchesBesu(tx);
+  }
+
+  /**
+   * The encodings feed RLP_TXN and the block size limit, so agreeing with Besu over the replay
+   * corpus keeps their traces and line counts unchanged.
+   */
+  @Tag("replay")
+  @ParameterizedTest
+  @ValueSource(
+      strings = {"5000544.mainnet.json.gz", "5995097.mainnet.json.gz", "6569423.mainnet.json.gz"})
+  void replayEncodingsMatchBesu(String replayFile) {
+    final ConflationSnapshot conflation = ReplayTestTools.load(replayFile);
+    int transactions = 0;
+    for (BlockSnapshot block : conflation.blocks()) {
+      for (TransactionSnapshot tx : block.txs()) {
+        assertMatchesBesu(tx.toTransaction());
+        transactions++;
+      }
+    }
+    assertThat(transactions).isPositive();
+  }
+
+  private static void assertMatchesBesu(Transaction tx) {
+    final EncodedTransaction encoded = EncodedTransaction.of(tx);
+
+    assertThat(encoded.rlp()).isEqualTo(encodeOpaqueBytes(tx, BLOCK_BODY));
+    assertThat(encoded.blockBodySize()).isEqualTo(tx.encoded().size());
+
+    // the signing payload is what the sender signed
+    assertThat(
+            SIGNATURE_ALGORITHM
+                .recoverPublicKeyFromSignature(
+                    Hash.hash(encoded.signingPayload()), tx.getSignature())
+                .map(key -> Address.extract(Hash.hash(key.getEncodedBytes()))))
+        .contains(tx.getSender());
+  }
+}
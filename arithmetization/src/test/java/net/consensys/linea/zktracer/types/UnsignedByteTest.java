@@ -0,0 +1,75 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import net.consensys.linea.UnitTestWatcher;
+import net.consensys.linea.zktracer.module.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class UnsignedByteTest {
+  @Test
+  void unsignedBytesAreInterned() {
+    for (int i = 0; i < 256; i++) {
+      final UnsignedByte b = UnsignedByte.of(i);
+      assertThat(b.toInteger()).isEqualTo(i);
+      assertThat(UnsignedByte.of((byte) i)).isSameAs(b);
+      assertThat(UnsignedByte.of((long) i)).isSameAs(b);
+      assertThat(b.shiftLeft(1)).isSameAs(UnsignedByte.of((i << 1) & 0xff));
+      assertThat(b.shiftRight(3)).isSameAs(UnsignedByte.of(i >> 3));
+      assertThat(b.mod(7)).isSameAs(UnsignedByte.of(i % 7));
+    }
+  }
+
+  @Test
+  void bitsAndSlicesMatchTheBinaryRepresentation() {
+    for (int i = 0; i < 256; i++) {
+      final UnsignedByte b = UnsignedByte.of(i);
+      final String binary = String.format("%8s", Integer.toBinaryString(i)).replace(' ', '0');
+      final boolean[] bits = Util.byteBits(b);
+      for (int k = 0; k < 8; k++) {
+        assertThat(b.get(k)).isEqualTo(binary.charAt(k) == '1');
+        assertThat(bits[k]).isEqualTo(binary.charAt(k) == '1');
+        for (int length = 1; k + length <= 8; length++) {
+          assertThat(b.slice(k, length))
+              .isEqualTo(Integer.parseInt(binary.substring(k, k + length), 2));
+        }
+      }
+    }
+  }
+
+  @Test
+  void bitDecompositionSpreadsTheBitsOverTheLastRows() {
+    final int nbStep = 16;
+    for (int i = 0; i < 256; i++) {
+      final BitDecOutput decomposition = bitDecomposition(i, nbStep);
+      for (int ct = 0; ct < nbStep - 8; ct++) {
+        assertThat(decomposition.bit(ct)).isFalse();
+        assertThat(decomposition.bitAcc(ct)).isZero();
+      }
+      for (int ct = nbStep - 8; ct < nbStep; ct++) {
+        final int shift = nbStep - 1 - ct;
+        assertThat(decomposition.bit(ct)).isEqualTo(((i >> shift) & 1) == 1);
+        assertThat(decomposition.bitAcc(ct)).isEqualTo(i >> shift);
+      }
+    }
+    assertThat(bitDecomposition(-1, 8).bits()).isZero();
+  }
+}
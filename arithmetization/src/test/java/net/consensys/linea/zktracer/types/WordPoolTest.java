@@ -0,0 +1,65 @@
+/*
+ * Copyright ConsenSys Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import net.consensys.linea.UnitTestWatcher;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(UnitTestWatcher.class)
+public class WordPoolTest {
+  @Test
+  void equalWordsShareTheSameInstance() {
+    final WordPool pool = new WordPool();
+    final Bytes32 word = pool.word(Bytes.of(32));
+
+    assertThat(word).isEqualTo(Bytes32.leftPad(Bytes.of(32)));
+    assertThat(pool.word(Bytes.fromHexString("0x0020"))).isSameAs(word);
+    assertThat(pool.word(Bytes32.leftPad(Bytes.of(32)))).isSameAs(word);
+    assertThat(pool.word(Bytes.of(33))).isNotSameAs(word);
+  }
+
+  @Test
+  void internedValuesKeepTheirSize() {
+    final WordPool pool = new WordPool();
+    final Bytes short1 = pool.intern(Bytes.of(1));
+    final Bytes long1 = pool.intern(Bytes.fromHexString("0x0001"));
+
+    assertThat(short1.size()).isEqualTo(1);
+    assertThat(long1.size()).isEqualTo(2);
+    assertThat(pool.intern(Bytes.of(1))).isSameAs(short1);
+    assertThat(pool.word(Bytes.of(1)))
+        .isInstanceOf(Bytes32.class)
+        .isEqualTo(Bytes32.leftPad(short1));
+  }
+
+  @Test
+  void poolGrows() {
+    final WordPool pool = new WordPool();
+    for (long i = 0; i < 10_000; i++) {
+      pool.word(Bytes.ofUnsignedLong(i));
+    }
+    assertThat(pool.size()).isEqualTo(10_000);
+    for (long i = 0; i < 10_000; i++) {
+      assertThat(pool.word(Bytes.ofUnsignedLong(i)).toLong()).isEqualTo(i);
+    }
+    assertThat(pool.size()).isEqualTo(10_000);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import org.yaml.snakeyaml.Yaml
+
+/**
+ * Compiles opcodes.yml into the OpCodesTable class, holding the metadata of every opcode as Java
+ * constants.
+ */
+abstract class OpCodesTableTask extends DefaultTask {
+
+  private static final String PACKAGE = "net.consensys.linea.zktracer.opcode"
+
+  private static final List<String> STACK_FLAGS = [
+    'twoLineInstruction',
+    'forbiddenInStatic',
+    'addressTrimmingInstruction',
+    'oobFlag',
+    'flag1',
+    'flag2',
+    'flag3',
+    'flag4'
+  ]
+
+  @InputFile
+  @PathSensitive(PathSensitivity.RELATIVE)
+  abstract RegularFileProperty getOpCodes()
+
+  @OutputDirectory
+  abstract DirectoryProperty getOutputDir()
+
+  @TaskAction
+  void generate() {
+    def yaml = opCodes.get().asFile.withInputStream { new Yaml().load(it) }
+    def entries = yaml.opcodes.collect { opCodeData(it as Map) }.join(",\n")
+
+    def output = outputDir.get().file("${PACKAGE.replace('.', '/')}/OpCodesTable.java").asFile
+    output.parentFile.mkdirs()
+    output.text = """\
+package ${PACKAGE};
+
+import java.util.List;
+
+import ${PACKAGE}.gas.Billing;
+import ${PACKAGE}.gas.GasConstants;
+import ${PACKAGE}.gas.MxpType;
+import ${PACKAGE}.stack.Pattern;
+import ${PACKAGE}.stack.StackSettings;
+
+/** Generated from opcodes.yml by the generateOpCodesTable task, do not edit. */
+final class OpCodesTable {
+  static final List<OpCodeData> OPCODES =
+      List.of(
+${entries});
+
+  private OpCodesTable() {}
+}
+"""
+  }
+
+  private static String opCodeData(Map opCode) {
+    def stack = opCode.stackSettings
+    def flags = STACK_FLAGS.collect { stack[it] ?: false }.join(', ')
+    def arguments = [
+      "OpCode.${opCode.mnemonic}",
+      String.format("0x%02x", opCode.value as int),
+      "InstructionFamily.${opCode.instructionFamily}",
+      "new StackSettings(Pattern.${stack.pattern}, ${stack.alpha}, ${stack.delta}, GasConstants.${stack.staticGas}, ${flags})",
+      ramSettings(opCode.ramSettings as Map),
+      billing(opCode.mnemonic as String, opCode.billing as Map)
+    ]
+
+    return "          new OpCodeData(\n              ${arguments.join(",\n              ")})"
+  }
+
+  private static String ramSettings(Map ram) {
+    if (ram == null) {
+      return "null"
+    }
+
+    def location = { it == null ? "null" : "DataLocation.${it}" }
+    return "new RamSettings(${location(ram.source)}, ${location(ram.target)})"
+  }
+
+  private static String billing(String mnemonic, Map billing) {
+    if (billing == null) {
+      return "null"
+    }
+    if (billing.byWord != null) {
+      return "Billing.byWord(MxpType.${required(mnemonic, billing.byWord, 'type')}, GasConstants.${required(mnemonic, billing.byWord, 'wordPrice')})"
+    }
+    if (billing.byMxp != null) {
+      return "Billing.byMxp(MxpType.${required(mnemonic, billing.byMxp, 'type')})"
+    }
+    if (billing.byByte != null) {
+      return "Billing.byByte(MxpType.${required(mnemonic, billing.byByte, 'type')}, GasConstants.${required(mnemonic, billing.byByte, 'bytePrice')})"
+    }
+
+    return "new Billing()"
+  }
+
+  private static Object required(String mnemonic, Map billing, String property) {
+    if (billing[property] == null) {
+      throw new GradleException("'${property}' is mandatory in the billing of ${mnemonic}")
+    }
+
+    return billing[property]
+  }
+}
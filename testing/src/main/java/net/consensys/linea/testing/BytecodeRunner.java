@@ -136,4 +136,8 @@ public final class BytecodeRunner {
   public Hub getHub() {
     return toyExecutionEnvironmentV2.getHub();
   }
+
+  public ZkTracer getZkTracer() {
+    return toyExecutionEnvironmentV2.getZkTracer();
+  }
 }
@@ -24,6 +24,7 @@ import lombok.Builder;
 import lombok.Singular;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.blockcapture.snapshots.*;
+import net.consensys.linea.zktracer.container.HeapBudget;
 import org.hyperledger.besu.ethereum.core.*;
 
 @Builder
@@ -42,6 +43,9 @@ public class MultiBlockExecutionEnvironment {
   private final TransactionProcessingResultValidator transactionProcessingResultValidator =
       TransactionProcessingResultValidator.DEFAULT_VALIDATOR;
 
+  /** Bounds the estimated memory footprint of the conflation; by default, there is no bound. */
+  @Builder.Default private final HeapBudget heapBudget = HeapBudget.UNLIMITED;
+
   public static class MultiBlockExecutionEnvironmentBuilder {
 
     private List<BlockSnapshot> blocks = new ArrayList<>();
@@ -64,6 +68,7 @@ public class MultiBlockExecutionEnvironment {
     ReplayExecutionEnvironment.builder()
         .useCoinbaseAddressFromBlockHeader(true)
         .transactionProcessingResultValidator(this.transactionProcessingResultValidator)
+        .heapBudget(this.heapBudget)
         .build()
         .replay(ToyExecutionEnvironmentV2.CHAIN_ID, this.buildConflationSnapshot());
   }
@@ -0,0 +1,214 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.testing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import com.google.gson.Gson;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.blockcapture.snapshots.BlockSnapshot;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+
+/**
+ * Replays a whole corpus of {@link ConflationSnapshot}s concurrently on a bounded pool of threads.
+ * Every replay runs in its own {@link ReplayExecutionEnvironment} (and hence its own world state and
+ * {@link net.consensys.linea.zktracer.ZkTracer}), whilst decoded bytecode is shared across all of
+ * them through a single, read-only {@link ReplayCodeCache}.
+ */
+@Builder
+@Slf4j
+public class ParallelReplayRunner {
+  /** The chain on which the replays have been captured. */
+  private final BigInteger chainId;
+
+  /** The maximum number of conflations replayed at the same time. */
+  @Builder.Default
+  private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /** Whether transaction results should be checked against those embedded in the replays. */
+  @Builder.Default private final boolean txResultChecking = true;
+
+  /**
+   * Whether the trace of each conflation should be validated by Corset. This should be disabled
+   * when measuring tracing throughput.
+   */
+  @Builder.Default private final boolean traceChecking = true;
+
+  /**
+   * Throughput figures for a whole corpus.
+   *
+   * @param conflations number of conflations replayed
+   * @param transactions number of transactions replayed
+   * @param gas total gas used by the replayed blocks
+   * @param accounts total number of accounts initialized by the replays, i.e. of bytecode lookups
+   * @param sharedBytecodes number of distinct bytecodes shared between the replays
+   * @param codeCacheHits number of bytecode lookups served from the shared cache
+   * @param lineCounts the line counts of every conflation, in the order they were given
+   * @param elapsedNanos wall-clock time taken by the replays
+   */
+  public record Report(
+      int conflations,
+      long transactions,
+      long gas,
+      long accounts,
+      int sharedBytecodes,
+      long codeCacheHits,
+      List<Map<String, Integer>> lineCounts,
+      long elapsedNanos) {
+    public double conflationsPerSecond() {
+      return conflations / seconds();
+    }
+
+    public double gasPerSecond() {
+      return gas / seconds();
+    }
+
+    private double seconds() {
+      return Math.max(elapsedNanos, 1) / 1e9;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d conflations (%d txs, %d gas, %d shared bytecodes) in %.3fs: %.2f conflations/s, %.0f gas/s",
+          conflations,
+          transactions,
+          gas,
+          sharedBytecodes,
+          seconds(),
+          conflationsPerSecond(),
+          gasPerSecond());
+    }
+  }
+
+  /**
+   * Load and replay every given replay file (either <code>.json</code> or <code>.json.gz</code>).
+   *
+   * @param replayFiles the replay files making up the corpus
+   * @return the throughput achieved over the corpus
+   */
+  public Report replayFiles(Collection<Path> replayFiles) {
+    final List<ConflationSnapshot> conflations = new ArrayList<>(replayFiles.size());
+    for (Path replayFile : replayFiles) {
+      conflations.add(load(replayFile));
+    }
+    return this.replay(conflations);
+  }
+
+  /**
+   * Replay every given conflation, failing if any of them fails.
+   *
+   * @param conflations the conflations making up the corpus
+   * @return the throughput achieved over the corpus
+   */
+  public Report replay(List<ConflationSnapshot> conflations) {
+    final ReplayCodeCache codeCache = ReplayCodeCache.of(conflations);
+    long transactions = 0;
+    long gas = 0;
+    long accounts = 0;
+    for (ConflationSnapshot conflation : conflations) {
+      accounts += conflation.accounts().size();
+      for (BlockSnapshot block : conflation.blocks()) {
+        transactions += block.txs().size();
+        gas += block.header().gasUsed();
+      }
+    }
+
+    final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, this.parallelism));
+    final long start = System.nanoTime();
+    final List<Map<String, Integer>> lineCounts = new ArrayList<>(conflations.size());
+    try {
+      final List<Future<Map<String, Integer>>> replays = new ArrayList<>(conflations.size());
+      for (ConflationSnapshot conflation : conflations) {
+        replays.add(pool.submit(() -> this.replayOne(conflation, codeCache)));
+      }
+      for (Future<Map<String, Integer>> replay : replays) {
+        lineCounts.add(replay.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+
+    final Report report =
+        new Report(
+            conflations.size(),
+            transactions,
+            gas,
+            accounts,
+            codeCache.size(),
+            codeCache.hits(),
+            lineCounts,
+            System.nanoTime() - start);
+    log.info("[REPLAY] {}", report);
+    return report;
+  }
+
+  private Map<String, Integer> replayOne(
+      ConflationSnapshot conflation, ReplayCodeCache codeCache) {
+    final ReplayExecutionEnvironment environment =
+        ReplayExecutionEnvironment.builder()
+            .txResultChecking(this.txResultChecking)
+            .codeCache(codeCache)
+            .build();
+    if (this.traceChecking) {
+      environment.replay(this.chainId, conflation);
+    } else {
+      environment.execute(this.chainId, conflation);
+    }
+    return environment.getZkTracer().getModulesLineCount();
+  }
+
+  /**
+   * Load a replay file, either <code>.json</code> or <code>.json.gz</code>.
+   *
+   * @param replayFile the replay file
+   * @return the conflation it holds
+   */
+  static ConflationSnapshot load(Path replayFile) {
+    try (InputStream fileStream = Files.newInputStream(replayFile);
+        InputStream stream =
+            replayFile.toString().toLowerCase().endsWith("gz")
+                ? new GZIPInputStream(fileStream)
+                : fileStream) {
+      return new Gson()
+          .fromJson(new BufferedReader(new InputStreamReader(stream)), ConflationSnapshot.class);
+    } catch (IOException e) {
+      log.error("while loading {}: {}", replayFile, e.getMessage());
+      throw new RuntimeException(e);
+    }
+  }
+}
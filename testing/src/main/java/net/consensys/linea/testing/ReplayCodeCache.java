@@ -0,0 +1,95 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.testing;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
+import net.consensys.linea.blockcapture.snapshots.ConflationSnapshot;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An immutable cache of decoded contract bytecode, shared between replays of several {@link
+ * ConflationSnapshot}s. Many replay files touch the same hot contracts (routers, tokens, proxies);
+ * decoding their bytecode once and handing out the same {@link Bytes} instance to every replay
+ * avoids both the repeated hex decoding and the duplicated heap footprint.
+ *
+ * <p>The cache only ever holds immutable {@link Bytes}, so it can be freely read from many threads.
+ * Everything mutable (nonces, balances, storage) lives in the per-replay world state, which acts as
+ * an overlay on top of the shared code.
+ */
+public final class ReplayCodeCache {
+  /** A cache which holds nothing, and simply decodes the code of every account it is asked for. */
+  public static final ReplayCodeCache EMPTY = new ReplayCodeCache(Map.of());
+
+  private final Map<String, Bytes> code;
+
+  /** How many lookups have been served with a shared instance. */
+  private final AtomicLong hits = new AtomicLong();
+
+  private ReplayCodeCache(Map<String, Bytes> code) {
+    this.code = code;
+  }
+
+  /**
+   * Build a cache holding the bytecode of every account appearing in any of the given conflations.
+   *
+   * @param conflations the conflations which will be replayed against this cache
+   * @return an immutable cache
+   */
+  public static ReplayCodeCache of(Collection<ConflationSnapshot> conflations) {
+    final Map<String, Bytes> code = new HashMap<>();
+    for (ConflationSnapshot conflation : conflations) {
+      for (AccountSnapshot account : conflation.accounts()) {
+        code.computeIfAbsent(account.code(), Bytes::fromHexString);
+      }
+    }
+    return new ReplayCodeCache(Map.copyOf(code));
+  }
+
+  /**
+   * Return the decoded bytecode of the given account, shared with any other account having the
+   * same code if it is known to this cache.
+   *
+   * @param account an account snapshot
+   * @return its decoded bytecode
+   */
+  public Bytes codeOf(AccountSnapshot account) {
+    final Bytes cached = this.code.get(account.code());
+    if (cached == null) {
+      return Bytes.fromHexString(account.code());
+    }
+    this.hits.incrementAndGet();
+    return cached;
+  }
+
+  /**
+   * @return the number of lookups which have been served with a shared instance so far
+   */
+  public long hits() {
+    return this.hits.get();
+  }
+
+  /**
+   * @return the number of distinct bytecodes held by this cache
+   */
+  public int size() {
+    return this.code.size();
+  }
+}
@@ -25,6 +25,7 @@ import java.util.*;
 
 import com.google.gson.Gson;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.blockcapture.BlockCapturer;
 import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
@@ -36,6 +37,7 @@ import net.consensys.linea.blockcapture.snapshots.TransactionSnapshot;
 import net.consensys.linea.corset.CorsetValidator;
 import net.consensys.linea.zktracer.ConflationAwareOperationTracer;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.container.HeapBudget;
 import net.consensys.linea.zktracer.module.constants.GlobalConstants;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import org.apache.commons.io.FileUtils;
@@ -97,7 +99,16 @@ public class ReplayExecutionEnvironment {
   private final TransactionProcessingResultValidator transactionProcessingResultValidator =
       TransactionProcessingResultValidator.EMPTY_VALIDATOR;
 
-  private final ZkTracer zkTracer = new ZkTracer();
+  /**
+   * Decoded contract bytecode which may be shared with other environments replaying different
+   * conflations; by default, nothing is shared.
+   */
+  @Builder.Default private final ReplayCodeCache codeCache = ReplayCodeCache.EMPTY;
+
+  /** Bounds the estimated memory footprint of the conflation; by default, there is no bound. */
+  @Builder.Default private final HeapBudget heapBudget = HeapBudget.UNLIMITED;
+
+  @Getter private final ZkTracer zkTracer = new ZkTracer();
 
   public void checkTracer(String inputFilePath) {
     // Generate the output file path based on the input file path
@@ -147,6 +158,58 @@ public class ReplayExecutionEnvironment {
     ExecutionEnvironment.checkTracer(zkTracer, CORSET_VALIDATOR, Optional.of(log));
   }
 
+  /**
+   * Replays a conflation without checking the resulting trace, e.g. when only measuring tracing
+   * throughput.
+   *
+   * @param chainId the chain on which the conflation was captured
+   * @param conflation the conflation to replay
+   */
+  public void execute(BigInteger chainId, ConflationSnapshot conflation) {
+    this.executeFrom(chainId, conflation);
+  }
+
+  /**
+   * Replays a conflation through the given tracer alone, e.g. to measure a tracing component
+   * against the frames of real transactions.
+   *
+   * @param chainId the chain on which the conflation was captured
+   * @param conflation the conflation to replay
+   * @param tracer the tracer to replay the conflation through
+   */
+  public void execute(
+      BigInteger chainId, ConflationSnapshot conflation, ConflationAwareOperationTracer tracer) {
+    executeFrom(
+        chainId,
+        conflation,
+        this.codeCache,
+        tracer,
+        this.txResultChecking,
+        this.useCoinbaseAddressFromBlockHeader,
+        this.transactionProcessingResultValidator);
+  }
+
+  /**
+   * Replays a conflation through a {@link BlockCapturer} alone, e.g. to check what it captures.
+   *
+   * @param chainId the chain on which the conflation was captured
+   * @param conflation the conflation to replay
+   * @return the capturer having captured the conflation
+   */
+  public BlockCapturer capture(BigInteger chainId, ConflationSnapshot conflation) {
+    final BlockCapturer capturer = new BlockCapturer();
+    capturer.setWorld(initWorld(conflation, this.codeCache).updater());
+    executeFrom(
+        chainId,
+        conflation,
+        this.codeCache,
+        capturer,
+        this.txResultChecking,
+        this.useCoinbaseAddressFromBlockHeader,
+        this.transactionProcessingResultValidator);
+    return capturer;
+  }
+
   /**
    * Loads the states and the conflation defined in a {@link ConflationSnapshot}, mimick the
    * accounts, storage and blocks state as it was on the blockchain before the conflation played
@@ -155,12 +218,13 @@ public class ReplayExecutionEnvironment {
    * @param conflation the conflation to replay
    */
   private void executeFrom(final BigInteger chainId, final ConflationSnapshot conflation) {
+    this.zkTracer.setHeapBudget(this.heapBudget);
     ConflationAwareOperationTracer tracer = this.zkTracer;
     BlockCapturer capturer = null;
     // Configure block capturer (if applicable)
     if (debugBlockCapturer) {
       // Initialise world state from conflation
-      MutableWorldState world = initWorld(conflation);
+      MutableWorldState world = initWorld(conflation, this.codeCache);
       capturer = new BlockCapturer();
       capturer.setWorld(world.updater());
       // Sequence zktracer and capturer
@@ -170,6 +234,7 @@ public class ReplayExecutionEnvironment {
     executeFrom(
         chainId,
         conflation,
+        this.codeCache,
         tracer,
         this.txResultChecking,
         this.useCoinbaseAddressFromBlockHeader,
@@ -183,13 +248,14 @@ public class ReplayExecutionEnvironment {
   private static void executeFrom(
       final BigInteger chainId,
       final ConflationSnapshot conflation,
+      final ReplayCodeCache codeCache,
       final ConflationAwareOperationTracer tracer,
       final boolean txResultChecking,
       final boolean useCoinbaseAddressFromBlockHeader,
       final TransactionProcessingResultValidator resultValidator) {
     BlockHashOperation.BlockHashLookup blockHashLookup = conflation.toBlockHashLookup();
     // Initialise world state from conflation
-    MutableWorldState world = initWorld(conflation);
+    MutableWorldState world = initWorld(conflation, codeCache);
     // Construct the transaction processor
     final MainnetTransactionProcessor transactionProcessor =
         ExecutionEnvironment.getProtocolSpec(chainId).getTransactionProcessor();
@@ -238,8 +304,10 @@ public class ReplayExecutionEnvironment {
    * Initialise a fresh world state from a conflation.
    *
    * @param conflation The conflation from which to initialise.
+   * @param codeCache The cache from which to obtain decoded contract bytecode.
    */
-  private static MutableWorldState initWorld(final ConflationSnapshot conflation) {
+  private static MutableWorldState initWorld(
+      final ConflationSnapshot conflation, final ReplayCodeCache codeCache) {
     ReferenceTestWorldState world =
         ReferenceTestWorldState.create(new HashMap<>(), EvmConfiguration.DEFAULT);
     WorldUpdater updater = world.updater();
@@ -251,7 +319,7 @@ public class ReplayExecutionEnvironment {
           updater.createAccount(
               Words.toAddress(addr), account.nonce(), Wei.fromHexString(account.balance()));
       // Update code
-      acc.setCode(Bytes.fromHexString(account.code()));
+      acc.setCode(codeCache.codeOf(account));
     }
     // Initialise storage
     for (StorageSnapshot s : conflation.storage()) {
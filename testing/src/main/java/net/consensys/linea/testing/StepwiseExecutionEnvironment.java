@@ -0,0 +1,113 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.testing;
+
+import static net.consensys.linea.testing.ToyExecutionEnvironmentV2.CHAIN_ID;
+import static net.consensys.linea.testing.ToyExecutionEnvironmentV2.DEFAULT_COINBASE_ADDRESS;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import net.consensys.linea.zktracer.ZkTracer;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.referencetests.ReferenceTestWorldState;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+/**
+ * Traces a conflation one transaction at a time, so that tests may act on the tracer between two
+ * transactions, e.g. to checkpoint and roll it back. A transaction may be discarded once executed,
+ * its effects on the world state being dropped, as a block builder would do.
+ */
+public class StepwiseExecutionEnvironment {
+  private final MainnetTransactionProcessor transactionProcessor =
+      ExecutionEnvironment.getProtocolSpec(CHAIN_ID).getTransactionProcessor();
+  private final ReferenceTestWorldState world;
+  @Getter private final ZkTracer zkTracer = new ZkTracer(CHAIN_ID);
+  private BlockHeader header;
+  private BlockBody body;
+
+  /**
+   * @param accounts the state before the conflation
+   * @param blockCount the number of blocks of the conflation
+   */
+  public StepwiseExecutionEnvironment(final List<ToyAccount> accounts, final long blockCount) {
+    this.world =
+        ReferenceTestWorldState.create(
+            accounts.stream()
+                .collect(
+                    Collectors.toMap(
+                        account -> account.getAddress().toHexString(), ToyAccount::toAccountMock)),
+            EvmConfiguration.DEFAULT);
+    this.zkTracer.traceStartConflation(blockCount);
+  }
+
+  /**
+   * Start the next block of the conflation.
+   *
+   * @param transactions the transactions the block eventually holds, i.e. without the discarded
+   *     ones
+   */
+  public void startBlock(final List<Transaction> transactions) {
+    this.header =
+        ExecutionEnvironment.getLineaBlockHeaderBuilder(Optional.ofNullable(this.header))
+            .coinbase(DEFAULT_COINBASE_ADDRESS)
+            .buildBlockHeader();
+    this.body = new BlockBody(transactions, Collections.emptyList());
+    this.zkTracer.traceStartBlock(this.header, this.body);
+  }
+
+  /**
+   * Execute a transaction in the current block.
+   *
+   * @param tx the transaction to execute
+   * @param commit whether to keep the effects of the transaction on the world state
+   * @return the outcome of the transaction
+   */
+  public TransactionProcessingResult execute(final Transaction tx, final boolean commit) {
+    final WorldUpdater updater = this.world.updater();
+    final TransactionProcessingResult outcome =
+        this.transactionProcessor.processTransaction(
+            updater,
+            this.header,
+            tx,
+            DEFAULT_COINBASE_ADDRESS,
+            this.zkTracer,
+            blockNumber -> Hash.ZERO,
+            false,
+            Wei.ZERO);
+    if (commit) {
+      updater.commit();
+    }
+    return outcome;
+  }
+
+  public void endBlock() {
+    this.zkTracer.traceEndBlock(this.header, this.body);
+  }
+
+  public void endConflation() {
+    this.zkTracer.traceEndConflation(this.world.updater());
+  }
+}
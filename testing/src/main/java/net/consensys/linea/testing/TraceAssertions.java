@@ -0,0 +1,54 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package net.consensys.linea.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import net.consensys.linea.zktracer.ZkTracer;
+
+/** Assertions comparing the traces of two tracers, e.g. produced through different code paths. */
+public final class TraceAssertions {
+  private TraceAssertions() {}
+
+  /**
+   * Assert that two tracers have the same line counts, and produce byte-identical trace files. The
+   * trace files are kept if they differ.
+   *
+   * @param expected the reference tracer
+   * @param actual the tracer under test
+   */
+  public static void assertSameTrace(final ZkTracer expected, final ZkTracer actual) {
+    assertThat(actual.getModulesLineCount()).isEqualTo(expected.getModulesLineCount());
+
+    try {
+      final Path expectedTrace = Files.createTempFile("expected", ".lt");
+      final Path actualTrace = Files.createTempFile("actual", ".lt");
+      expected.writeToFile(expectedTrace);
+      actual.writeToFile(actualTrace);
+      assertThat(Files.mismatch(expectedTrace, actualTrace))
+          .withFailMessage("trace files %s and %s differ", expectedTrace, actualTrace)
+          .isEqualTo(-1);
+      Files.delete(expectedTrace);
+      Files.delete(actualTrace);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}